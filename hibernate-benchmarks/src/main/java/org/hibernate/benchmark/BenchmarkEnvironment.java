@@ -0,0 +1,228 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.benchmark;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.benchmark.model.Car;
+import org.hibernate.benchmark.model.Category;
+import org.hibernate.benchmark.model.Item;
+import org.hibernate.benchmark.model.Truck;
+import org.hibernate.benchmark.model.Vehicle;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.cfg.Environment;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.service.ServiceRegistryBuilder;
+
+/**
+ * Builds the H2 in-memory {@link SessionFactory} the benchmarks run against and the data they operate on.  Every
+ * factory gets its own database, so benchmarks running in the same JVM cannot see each other's data.
+ */
+public final class BenchmarkEnvironment {
+	private static final AtomicInteger DATABASE_COUNT = new AtomicInteger();
+
+	private static final int CATEGORY_COUNT = 10;
+	private static final int JDBC_BATCH_SIZE = 50;
+
+	private final Configuration configuration;
+	private ServiceRegistry serviceRegistry;
+	private SessionFactoryImplementor sessionFactory;
+
+	public BenchmarkEnvironment() {
+		this( true );
+	}
+
+	/**
+	 * @param createSchema Whether the schema should be exported when the session factory is built
+	 */
+	public BenchmarkEnvironment(boolean createSchema) {
+		configuration = createConfiguration( createSchema );
+	}
+
+	/**
+	 * The standard benchmark configuration: H2 in-memory, no second level cache, the {@link Item} and
+	 * {@link Category} entities and the {@link Vehicle} hierarchy mapped.
+	 *
+	 * @param createSchema Whether the schema should be exported when the session factory is built
+	 *
+	 * @return The configuration
+	 */
+	public static Configuration createConfiguration(boolean createSchema) {
+		Configuration cfg = new Configuration();
+		cfg.setProperty( Environment.DIALECT, H2Dialect.class.getName() );
+		cfg.setProperty( Environment.DRIVER, "org.h2.Driver" );
+		cfg.setProperty(
+				Environment.URL,
+				"jdbc:h2:mem:benchmark" + DATABASE_COUNT.incrementAndGet() + ";DB_CLOSE_DELAY=-1"
+		);
+		cfg.setProperty( Environment.USER, "sa" );
+		cfg.setProperty( Environment.USE_NEW_ID_GENERATOR_MAPPINGS, "true" );
+		cfg.setProperty( Environment.USE_SECOND_LEVEL_CACHE, "false" );
+		cfg.setProperty( Environment.STATEMENT_BATCH_SIZE, Integer.toString( JDBC_BATCH_SIZE ) );
+		if ( createSchema ) {
+			cfg.setProperty( Environment.HBM2DDL_AUTO, "create-drop" );
+		}
+		cfg.addAnnotatedClass( Category.class );
+		cfg.addAnnotatedClass( Item.class );
+		cfg.addAnnotatedClass( Vehicle.class );
+		cfg.addAnnotatedClass( Car.class );
+		cfg.addAnnotatedClass( Truck.class );
+		return cfg;
+	}
+
+	/**
+	 * The configuration the session factory is built from; may be adjusted until {@link #buildSessionFactory()}.
+	 *
+	 * @return The configuration
+	 */
+	public Configuration getConfiguration() {
+		return configuration;
+	}
+
+	public SessionFactoryImplementor buildSessionFactory() {
+		serviceRegistry = new ServiceRegistryBuilder()
+				.applySettings( configuration.getProperties() )
+				.buildServiceRegistry();
+		sessionFactory = (SessionFactoryImplementor) configuration.buildSessionFactory( serviceRegistry );
+		return sessionFactory;
+	}
+
+	public SessionFactoryImplementor getSessionFactory() {
+		return sessionFactory;
+	}
+
+	/**
+	 * Insert {@code itemCount} items, spread over a few categories.
+	 *
+	 * @param itemCount The number of items to insert
+	 *
+	 * @return The identifiers of the inserted items, in insertion order
+	 */
+	public Long[] populate(int itemCount) {
+		Long[] ids = new Long[itemCount];
+		Session session = sessionFactory.openSession();
+		session.beginTransaction();
+		Category[] categories = new Category[CATEGORY_COUNT];
+		for ( int i = 0; i < categories.length; i++ ) {
+			categories[i] = new Category( "category " + i );
+			session.persist( categories[i] );
+		}
+		Item[] items = new Item[itemCount];
+		for ( int i = 0; i < itemCount; i++ ) {
+			items[i] = new Item(
+					"item " + i,
+					"description of item " + i,
+					i,
+					BigDecimal.valueOf( i, 2 ),
+					categories[i % categories.length]
+			);
+			session.persist( items[i] );
+			if ( i % JDBC_BATCH_SIZE == 0 ) {
+				session.flush();
+			}
+		}
+		session.getTransaction().commit();
+		session.close();
+		for ( int i = 0; i < itemCount; i++ ) {
+			ids[i] = items[i].getId();
+		}
+		return ids;
+	}
+
+	/**
+	 * Insert {@code vehicleCount} vehicles, alternating between cars and trucks.
+	 *
+	 * @param vehicleCount The number of vehicles to insert
+	 */
+	public void populateVehicles(int vehicleCount) {
+		Session session = sessionFactory.openSession();
+		session.beginTransaction();
+		for ( int i = 0; i < vehicleCount; i++ ) {
+			if ( i % 2 == 0 ) {
+				session.persist( new Car( "car " + i, i % 7 ) );
+			}
+			else {
+				session.persist( new Truck( "truck " + i, BigDecimal.valueOf( i, 1 ), 2 + i % 3 ) );
+			}
+			if ( i % JDBC_BATCH_SIZE == 0 ) {
+				session.flush();
+			}
+		}
+		session.getTransaction().commit();
+		session.close();
+	}
+
+	/**
+	 * Load all vehicles into the given session, resolving the subclass of each row from its discriminator.
+	 *
+	 * @param session The session to load into
+	 *
+	 * @return The loaded vehicles
+	 */
+	@SuppressWarnings( {"unchecked"})
+	public static List<Vehicle> loadVehicles(Session session) {
+		return session.createQuery( "from Vehicle" ).list();
+	}
+
+	/**
+	 * Load all items into the given session.
+	 *
+	 * @param session The session to load into
+	 *
+	 * @return The loaded items
+	 */
+	@SuppressWarnings( {"unchecked"})
+	public static List<Item> loadItems(Session session) {
+		return session.createQuery( "from Item" ).list();
+	}
+
+	/**
+	 * Load all items together with their (join fetched) categories into the given session.
+	 *
+	 * @param session The session to load into
+	 *
+	 * @return The loaded items
+	 */
+	@SuppressWarnings( {"unchecked"})
+	public static List<Item> loadItemsWithCategories(Session session) {
+		return session.createQuery( "from Item i join fetch i.category" ).list();
+	}
+
+	public void close() {
+		if ( sessionFactory != null ) {
+			sessionFactory.close();
+			sessionFactory = null;
+		}
+		if ( serviceRegistry != null ) {
+			ServiceRegistryBuilder.destroy( serviceRegistry );
+			serviceRegistry = null;
+		}
+	}
+}
@@ -0,0 +1,72 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Environment;
+
+/**
+ * Measures building a {@link SessionFactory} from a fresh configuration, excluding schema export.  Run as single
+ * shot, since a JVM only ever bootstraps a handful of factories.  The parallelism parameter compares the sequential
+ * bootstrap with the parallel one.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.SingleShotTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Warmup( iterations = 10 )
+@Measurement( iterations = 30 )
+@Fork( 2 )
+public class BootstrapBenchmark {
+	@Param( {"1", "4"} )
+	private String parallelism;
+
+	private BenchmarkEnvironment environment;
+
+	@Benchmark
+	public SessionFactory bootstrap() {
+		environment = new BenchmarkEnvironment( false );
+		environment.getConfiguration().setProperty( Environment.BOOTSTRAP_PARALLELISM, parallelism );
+		return environment.buildSessionFactory();
+	}
+
+	@TearDown( Level.Invocation )
+	public void closeSessionFactory() {
+		environment.close();
+	}
+}
@@ -0,0 +1,164 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+import org.hibernate.benchmark.model.Item;
+import org.hibernate.cache.ehcache.EhCacheRegionFactory;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.cfg.Environment;
+
+/**
+ * Compares the locking and the optimistic (compare-and-swap based) hibernate-ehcache read/write access strategies,
+ * for cache hits and for updates of cached entities, single threaded and contended.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 5 )
+@Measurement( iterations = 10 )
+@Fork( 2 )
+public class EhcacheReadWriteBenchmark {
+	private static final int ENTITY_COUNT = 1000;
+
+	@Param( {"locking", "optimistic"} )
+	private String strategy;
+
+	private BenchmarkEnvironment environment;
+	private Long[] ids;
+
+	@Setup( Level.Trial )
+	public void setUp() {
+		environment = new BenchmarkEnvironment();
+		Configuration cfg = environment.getConfiguration();
+		cfg.setProperty( Environment.USE_SECOND_LEVEL_CACHE, "true" );
+		cfg.setProperty( Environment.CACHE_REGION_FACTORY, EhCacheRegionFactory.class.getName() );
+		if ( "optimistic".equals( strategy ) ) {
+			cfg.setProperty( "net.sf.ehcache.hibernate.optimistic_read_write", "true" );
+		}
+		else if ( !"locking".equals( strategy ) ) {
+			throw new IllegalArgumentException( "Unknown strategy: " + strategy );
+		}
+		cfg.setCacheConcurrencyStrategy( Item.class.getName(), "read-write" );
+		environment.buildSessionFactory();
+		ids = environment.populate( ENTITY_COUNT );
+
+		Session session = environment.getSessionFactory().openSession();
+		// prime the cache
+		for ( Long id : ids ) {
+			session.get( Item.class, id );
+		}
+		session.close();
+	}
+
+	/**
+	 * Per-thread session and position in the id array.
+	 */
+	@State( Scope.Thread )
+	public static class ThreadSession {
+		private Session session;
+		private int position;
+
+		Session session(SessionFactory sessionFactory) {
+			if ( session == null ) {
+				session = sessionFactory.openSession();
+			}
+			return session;
+		}
+
+		Long next(Long[] ids) {
+			return ids[position++ % ids.length];
+		}
+
+		@TearDown( Level.Trial )
+		public void tearDown() {
+			if ( session != null ) {
+				session.close();
+			}
+		}
+	}
+
+	@Benchmark
+	public Object cacheHit(ThreadSession state) {
+		return get( state );
+	}
+
+	@Benchmark
+	@Threads( 4 )
+	public Object cacheHitContended(ThreadSession state) {
+		return get( state );
+	}
+
+	@Benchmark
+	public Object update(ThreadSession state) {
+		return increment( state );
+	}
+
+	@Benchmark
+	@Threads( 4 )
+	public Object updateContended(ThreadSession state) {
+		return increment( state );
+	}
+
+	private Object get(ThreadSession state) {
+		Session session = state.session( environment.getSessionFactory() );
+		Object item = session.get( Item.class, state.next( ids ) );
+		session.clear();
+		return item;
+	}
+
+	private Object increment(ThreadSession state) {
+		Session session = state.session( environment.getSessionFactory() );
+		Transaction transaction = session.beginTransaction();
+		Item item = (Item) session.get( Item.class, state.next( ids ) );
+		item.setQuantity( item.getQuantity() + 1 );
+		transaction.commit();
+		session.clear();
+		return item;
+	}
+
+	@TearDown( Level.Trial )
+	public void tearDown() {
+		environment.close();
+	}
+}
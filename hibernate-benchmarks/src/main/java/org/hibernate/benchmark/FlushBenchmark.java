@@ -0,0 +1,102 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.hibernate.Session;
+import org.hibernate.benchmark.model.Item;
+
+/**
+ * Measures {@link Session#flush()} with a given number of managed entities, i.e. the cost of dirty checking the
+ * persistence context: once with no entity modified and once with a single modified entity.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 5 )
+@Measurement( iterations = 10 )
+@Fork( 2 )
+public class FlushBenchmark {
+	@Param( {"100", "1000", "10000"} )
+	private int entityCount;
+
+	private BenchmarkEnvironment environment;
+	private Session session;
+	private List<Item> items;
+	private int counter;
+
+	@Setup( Level.Trial )
+	public void setUp() {
+		environment = new BenchmarkEnvironment();
+		environment.buildSessionFactory();
+		environment.populate( entityCount );
+	}
+
+	@Setup( Level.Iteration )
+	public void openSession() {
+		session = environment.getSessionFactory().openSession();
+		session.beginTransaction();
+		items = BenchmarkEnvironment.loadItems( session );
+	}
+
+	@Benchmark
+	public void flushClean() {
+		session.flush();
+	}
+
+	@Benchmark
+	public void flushOneDirty() {
+		items.get( counter % entityCount ).setQuantity( ++counter );
+		session.flush();
+	}
+
+	@TearDown( Level.Iteration )
+	public void closeSession() {
+		session.getTransaction().rollback();
+		session.close();
+		session = null;
+		items = null;
+	}
+
+	@TearDown( Level.Trial )
+	public void tearDown() {
+		environment.close();
+	}
+}
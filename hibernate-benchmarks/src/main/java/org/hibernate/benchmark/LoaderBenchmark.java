@@ -0,0 +1,100 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.hibernate.Session;
+import org.hibernate.benchmark.model.Item;
+import org.hibernate.benchmark.model.Vehicle;
+
+/**
+ * Measures loading a list of entities through HQL, which is dominated by the row processing and entity hydration
+ * in {@code Loader.doQuery()}, for a single entity return, for a join fetch that hydrates two entities per row and
+ * for a polymorphic query whose rows are of different subclasses.  The session is cleared after every query, so each invocation hydrates all rows again.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 5 )
+@Measurement( iterations = 10 )
+@Fork( 2 )
+public class LoaderBenchmark {
+	@Param( {"10", "100", "1000"} )
+	private int rowCount;
+
+	private BenchmarkEnvironment environment;
+	private Session session;
+
+	@Setup( Level.Trial )
+	public void setUp() {
+		environment = new BenchmarkEnvironment();
+		environment.buildSessionFactory();
+		environment.populate( rowCount );
+		environment.populateVehicles( rowCount );
+		session = environment.getSessionFactory().openSession();
+	}
+
+	@Benchmark
+	public List<Item> hydrateRows() {
+		List<Item> items = BenchmarkEnvironment.loadItems( session );
+		session.clear();
+		return items;
+	}
+
+	@Benchmark
+	public List<Item> hydrateJoinedRows() {
+		List<Item> items = BenchmarkEnvironment.loadItemsWithCategories( session );
+		session.clear();
+		return items;
+	}
+
+	@Benchmark
+	public List<Vehicle> hydratePolymorphicRows() {
+		List<Vehicle> vehicles = BenchmarkEnvironment.loadVehicles( session );
+		session.clear();
+		return vehicles;
+	}
+
+	@TearDown( Level.Trial )
+	public void tearDown() {
+		session.close();
+		environment.close();
+	}
+}
@@ -0,0 +1,112 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.hibernate.Session;
+import org.hibernate.benchmark.model.Item;
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.EntityKey;
+import org.hibernate.engine.spi.PersistenceContext;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+
+/**
+ * Measures the {@link PersistenceContext} lookups performed for every entity a session touches: by
+ * {@link EntityKey} and by entity instance.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.NANOSECONDS )
+@Warmup( iterations = 5 )
+@Measurement( iterations = 10 )
+@Fork( 2 )
+public class PersistenceContextBenchmark {
+	@Param( {"100", "10000"} )
+	private int entityCount;
+
+	private BenchmarkEnvironment environment;
+	private Session session;
+	private PersistenceContext persistenceContext;
+	private EntityKey[] keys;
+	private Object[] entities;
+	private int position;
+
+	@Setup( Level.Trial )
+	public void setUp() {
+		environment = new BenchmarkEnvironment();
+		environment.buildSessionFactory();
+		environment.populate( entityCount );
+
+		session = environment.getSessionFactory().openSession();
+		SessionImplementor sessionImplementor = (SessionImplementor) session;
+		persistenceContext = sessionImplementor.getPersistenceContext();
+		EntityPersister persister = environment.getSessionFactory().getEntityPersister( Item.class.getName() );
+		List<Item> items = BenchmarkEnvironment.loadItems( session );
+		keys = new EntityKey[items.size()];
+		entities = new Object[items.size()];
+		for ( int i = 0; i < items.size(); i++ ) {
+			// build distinct key instances, as the session would for an incoming lookup
+			keys[i] = sessionImplementor.generateEntityKey( items.get( i ).getId(), persister );
+			entities[i] = items.get( i );
+		}
+	}
+
+	@Benchmark
+	public Object getEntityByKey() {
+		return persistenceContext.getEntity( keys[position++ % keys.length] );
+	}
+
+	@Benchmark
+	public EntityEntry getEntryByInstance() {
+		return persistenceContext.getEntry( entities[position++ % entities.length] );
+	}
+
+	@Benchmark
+	public boolean containsEntity() {
+		return persistenceContext.containsEntity( keys[position++ % keys.length] );
+	}
+
+	@TearDown( Level.Trial )
+	public void tearDown() {
+		session.close();
+		environment.close();
+	}
+}
@@ -0,0 +1,105 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.benchmark;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.hibernate.engine.query.spi.HQLQueryPlan;
+import org.hibernate.engine.query.spi.QueryPlanCache;
+
+/**
+ * Measures {@link QueryPlanCache} lookups of already compiled HQL plans, single threaded and contended.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.NANOSECONDS )
+@Warmup( iterations = 5 )
+@Measurement( iterations = 10 )
+@Fork( 2 )
+public class QueryPlanCacheBenchmark {
+	@Param( {"10", "1000"} )
+	private int queryCount;
+
+	private BenchmarkEnvironment environment;
+	private QueryPlanCache queryPlanCache;
+	private String[] queries;
+	private final Map enabledFilters = Collections.EMPTY_MAP;
+
+	@Setup( Level.Trial )
+	public void setUp() {
+		environment = new BenchmarkEnvironment( false );
+		environment.buildSessionFactory();
+		queryPlanCache = environment.getSessionFactory().getQueryPlanCache();
+		queries = new String[queryCount];
+		for ( int i = 0; i < queryCount; i++ ) {
+			queries[i] = "from Item i where i.quantity > " + i + " and i.category.name = :name";
+			queryPlanCache.getHQLQueryPlan( queries[i], false, enabledFilters );
+		}
+	}
+
+	/**
+	 * Per-thread position in the query array, so contended runs do not also contend on the index.
+	 */
+	@State( Scope.Thread )
+	public static class Cursor {
+		private int position;
+
+		String next(String[] queries) {
+			return queries[position++ % queries.length];
+		}
+	}
+
+	@Benchmark
+	public HQLQueryPlan lookup(Cursor cursor) {
+		return queryPlanCache.getHQLQueryPlan( cursor.next( queries ), false, enabledFilters );
+	}
+
+	@Benchmark
+	@Threads( 4 )
+	public HQLQueryPlan lookupContended(Cursor cursor) {
+		return queryPlanCache.getHQLQueryPlan( cursor.next( queries ), false, enabledFilters );
+	}
+
+	@TearDown( Level.Trial )
+	public void tearDown() {
+		environment.close();
+	}
+}
@@ -0,0 +1,113 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import org.hibernate.Session;
+import org.hibernate.benchmark.model.Item;
+import org.hibernate.cache.ehcache.EhCacheRegionFactory;
+import org.hibernate.cache.infinispan.InfinispanRegionFactory;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.cfg.Environment;
+
+/**
+ * Measures entity loads served from the second level cache, through hibernate-ehcache and (non-clustered)
+ * hibernate-infinispan.  The session is cleared after every load, so each invocation is a cache hit rather than a
+ * persistence context hit.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 5 )
+@Measurement( iterations = 10 )
+@Fork( 2 )
+public class SecondLevelCacheBenchmark {
+	private static final int ENTITY_COUNT = 1000;
+
+	@Param( {"ehcache", "infinispan"} )
+	private String regionFactory;
+
+	private BenchmarkEnvironment environment;
+	private Session session;
+	private Long[] ids;
+	private int position;
+
+	@Setup( Level.Trial )
+	public void setUp() {
+		environment = new BenchmarkEnvironment();
+		Configuration cfg = environment.getConfiguration();
+		cfg.setProperty( Environment.USE_SECOND_LEVEL_CACHE, "true" );
+		if ( "ehcache".equals( regionFactory ) ) {
+			cfg.setProperty( Environment.CACHE_REGION_FACTORY, EhCacheRegionFactory.class.getName() );
+		}
+		else if ( "infinispan".equals( regionFactory ) ) {
+			cfg.setProperty( Environment.CACHE_REGION_FACTORY, InfinispanRegionFactory.class.getName() );
+			cfg.setProperty(
+					InfinispanRegionFactory.INFINISPAN_CONFIG_RESOURCE_PROP,
+					"org/hibernate/benchmark/infinispan-local.xml"
+			);
+		}
+		else {
+			throw new IllegalArgumentException( "Unknown region factory: " + regionFactory );
+		}
+		cfg.setCacheConcurrencyStrategy( Item.class.getName(), "read-only" );
+		environment.buildSessionFactory();
+		ids = environment.populate( ENTITY_COUNT );
+
+		session = environment.getSessionFactory().openSession();
+		// prime the cache
+		for ( Long id : ids ) {
+			session.get( Item.class, id );
+		}
+		session.clear();
+	}
+
+	@Benchmark
+	public Object cacheHit() {
+		Object item = session.get( Item.class, ids[position++ % ids.length] );
+		session.clear();
+		return item;
+	}
+
+	@TearDown( Level.Trial )
+	public void tearDown() {
+		session.close();
+		environment.close();
+	}
+}
@@ -0,0 +1,62 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.benchmark.model;
+
+import java.math.BigDecimal;
+import javax.persistence.Entity;
+
+/**
+ * A {@link Vehicle} subclass.
+ */
+@Entity
+public class Truck extends Vehicle {
+	private BigDecimal payload;
+
+	private int axles;
+
+	public Truck() {
+	}
+
+	public Truck(String registration, BigDecimal payload, int axles) {
+		super( registration );
+		this.payload = payload;
+		this.axles = axles;
+	}
+
+	public BigDecimal getPayload() {
+		return payload;
+	}
+
+	public void setPayload(BigDecimal payload) {
+		this.payload = payload;
+	}
+
+	public int getAxles() {
+		return axles;
+	}
+
+	public void setAxles(int axles) {
+		this.axles = axles;
+	}
+}
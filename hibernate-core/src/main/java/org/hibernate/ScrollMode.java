@@ -55,6 +55,24 @@ public enum ScrollMode {
 	 */
 	SCROLL_INSENSITIVE(
 			ResultSet.TYPE_SCROLL_INSENSITIVE
+	),
+	/**
+	 * A read-only, forward-only cursor for walking huge results in constant
+	 * memory.  The dialect's {@link org.hibernate.dialect.Dialect#getStreamingFetchSize() streaming fetch size}
+	 * is applied unless a fetch size was set on the query, and entities read
+	 * by a row are detached from the session, together with their collections,
+	 * when the cursor moves past that row.  Only
+	 * {@link ScrollableResults#next()} and forward {@link ScrollableResults#scroll(int)}
+	 * are supported, and the array returned by {@link ScrollableResults#get()} is
+	 * reused from one row to the next.
+	 * <p/>
+	 * Note that some drivers (PostgreSQL for example) only stream rows when
+	 * auto-commit is disabled.
+	 *
+	 * @see java.sql.ResultSet#TYPE_FORWARD_ONLY
+	 */
+	STREAMING(
+			ResultSet.TYPE_FORWARD_ONLY
 	);
 	private final int resultSetType;
 
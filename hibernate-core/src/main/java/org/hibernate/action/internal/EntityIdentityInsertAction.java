@@ -24,6 +24,8 @@
 package org.hibernate.action.internal;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.hibernate.AssertionFailure;
 import org.hibernate.HibernateException;
@@ -35,6 +37,7 @@ import org.hibernate.event.spi.PostInsertEvent;
 import org.hibernate.event.spi.PostInsertEventListener;
 import org.hibernate.event.spi.PreInsertEvent;
 import org.hibernate.event.spi.PreInsertEventListener;
+import org.hibernate.persister.entity.AbstractEntityPersister;
 import org.hibernate.persister.entity.EntityPersister;
 import org.hibernate.event.service.spi.EventListenerGroup;
 
@@ -65,24 +68,13 @@ public final class EntityIdentityInsertAction extends EntityAction  {
 
 	@Override
 	public void execute() throws HibernateException {
-		final EntityPersister persister = getPersister();
-		final SessionImplementor session = getSession();
-		final Object instance = getInstance();
-
 		boolean veto = preInsert();
 
 		// Don't need to lock the cache here, since if someone
 		// else inserted the same pk first, the insert would fail
 
 		if ( !veto ) {
-			generatedId = persister.insert( state, instance, session );
-			if ( persister.hasInsertGeneratedProperties() ) {
-				persister.processInsertGeneratedProperties( generatedId, instance, state, session );
-			}
-			//need to do that here rather than in the save event listener to let
-			//the post insert events to have a id-filled entity when IDENTITY is used (EJB3)
-			persister.setIdentifier( instance, generatedId, session );
-			getSession().getPersistenceContext().registerInsertedKey( getPersister(), generatedId );
+			afterInsert( getPersister().insert( state, getInstance(), getSession() ) );
 		}
 
 
@@ -94,12 +86,81 @@ public final class EntityIdentityInsertAction extends EntityAction  {
 			persister.getCache().insert(generatedId, cacheEntry);
 		}*/
 
+		completeExecution( veto );
+	}
+
+	/**
+	 * Execute several delayed identity inserts of the same entity as one JDBC batch.  The caller is
+	 * responsible for only grouping actions whose state does not reference another member of the
+	 * group, since those references are bound before any of the identifiers are known.
+	 *
+	 * @param actions The actions to execute, all sharing the same batchable persister
+	 */
+	public static void executeBatch(List<EntityIdentityInsertAction> actions) throws HibernateException {
+		final int size = actions.size();
+		final boolean[] vetoes = new boolean[size];
+		final List<EntityIdentityInsertAction> inserted = new ArrayList<EntityIdentityInsertAction>( size );
+		for ( int i = 0; i < size; i++ ) {
+			final EntityIdentityInsertAction action = actions.get( i );
+			vetoes[i] = action.preInsert();
+			if ( !vetoes[i] ) {
+				inserted.add( action );
+			}
+		}
+
+		if ( !inserted.isEmpty() ) {
+			final EntityIdentityInsertAction first = inserted.get( 0 );
+			final Object[][] states = new Object[inserted.size()][];
+			final Object[] instances = new Object[inserted.size()];
+			for ( int i = 0; i < states.length; i++ ) {
+				states[i] = inserted.get( i ).state;
+				instances[i] = inserted.get( i ).getInstance();
+			}
+			final Serializable[] ids = ( (AbstractEntityPersister) first.getPersister() )
+					.insert( states, instances, first.getSession() );
+			for ( int i = 0; i < ids.length; i++ ) {
+				inserted.get( i ).afterInsert( ids[i] );
+			}
+		}
+
+		for ( int i = 0; i < size; i++ ) {
+			actions.get( i ).completeExecution( vetoes[i] );
+		}
+	}
+
+	/**
+	 * Can this action take part in {@link #executeBatch}?
+	 *
+	 * @return True if the insert was delayed and its persister supports batched identity inserts.
+	 */
+	public boolean isBatchable() {
+		return isDelayed
+				&& getPersister() instanceof AbstractEntityPersister
+				&& ( (AbstractEntityPersister) getPersister() ).isIdentityInsertBatchable();
+	}
+
+	private void afterInsert(Serializable id) {
+		final EntityPersister persister = getPersister();
+		final SessionImplementor session = getSession();
+		final Object instance = getInstance();
+
+		generatedId = id;
+		if ( persister.hasInsertGeneratedProperties() ) {
+			persister.processInsertGeneratedProperties( generatedId, instance, state, session );
+		}
+		//need to do that here rather than in the save event listener to let
+		//the post insert events to have a id-filled entity when IDENTITY is used (EJB3)
+		persister.setIdentifier( instance, generatedId, session );
+		session.getPersistenceContext().registerInsertedKey( persister, generatedId );
+	}
+
+	private void completeExecution(boolean veto) {
 		postInsert();
 
+		final SessionImplementor session = getSession();
 		if ( session.getFactory().getStatistics().isStatisticsEnabled() && !veto ) {
 			session.getFactory().getStatisticsImplementor().insertEntity( getPersister().getEntityName() );
 		}
-
 	}
 
 	@Override
@@ -174,6 +235,10 @@ public final class EntityIdentityInsertAction extends EntityAction  {
 		return veto;
 	}
 
+	public Object[] getState() {
+		return state;
+	}
+
 	public final Serializable getGeneratedId() {
 		return generatedId;
 	}
@@ -106,55 +106,55 @@ public final class FieldInterceptorImpl extends AbstractFieldInterceptor impleme
 	}
 
 	public boolean writeBoolean(Object target, String name, boolean oldValue, boolean newValue) {
-		dirty();
+		dirty( name );
 		intercept( target, name, oldValue ? Boolean.TRUE : Boolean.FALSE );
 		return newValue;
 	}
 
 	public byte writeByte(Object target, String name, byte oldValue, byte newValue) {
-		dirty();
+		dirty( name );
 		intercept( target, name, Byte.valueOf( oldValue ) );
 		return newValue;
 	}
 
 	public char writeChar(Object target, String name, char oldValue, char newValue) {
-		dirty();
+		dirty( name );
 		intercept( target, name, Character.valueOf( oldValue ) );
 		return newValue;
 	}
 
 	public double writeDouble(Object target, String name, double oldValue, double newValue) {
-		dirty();
+		dirty( name );
 		intercept( target, name, Double.valueOf( oldValue ) );
 		return newValue;
 	}
 
 	public float writeFloat(Object target, String name, float oldValue, float newValue) {
-		dirty();
+		dirty( name );
 		intercept( target, name, Float.valueOf( oldValue ) );
 		return newValue;
 	}
 
 	public int writeInt(Object target, String name, int oldValue, int newValue) {
-		dirty();
+		dirty( name );
 		intercept( target, name, Integer.valueOf( oldValue ) );
 		return newValue;
 	}
 
 	public long writeLong(Object target, String name, long oldValue, long newValue) {
-		dirty();
+		dirty( name );
 		intercept( target, name, Long.valueOf( oldValue ) );
 		return newValue;
 	}
 
 	public short writeShort(Object target, String name, short oldValue, short newValue) {
-		dirty();
+		dirty( name );
 		intercept( target, name, Short.valueOf( oldValue ) );
 		return newValue;
 	}
 
 	public Object writeObject(Object target, String name, Object oldValue, Object newValue) {
-		dirty();
+		dirty( name );
 		intercept( target, name, oldValue );
 		return newValue;
 	}
@@ -163,6 +163,7 @@ public final class FieldInterceptorImpl extends AbstractFieldInterceptor impleme
 		return "FieldInterceptorImpl(" +
 		       "entityName=" + getEntityName() +
 		       ",dirty=" + isDirty() +
+		       ",dirtyFields=" + getDirtyFields() +
 		       ",uninitializedFields=" + getUninitializedFields() +
 		       ')';
 	}
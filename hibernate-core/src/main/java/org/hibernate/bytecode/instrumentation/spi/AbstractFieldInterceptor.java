@@ -23,6 +23,8 @@
  */
 package org.hibernate.bytecode.instrumentation.spi;
 import java.io.Serializable;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.Set;
 import org.hibernate.LazyInitializationException;
 import org.hibernate.engine.spi.SessionImplementor;
@@ -38,6 +40,8 @@ public abstract class AbstractFieldInterceptor implements FieldInterceptor, Seri
 
 	private transient boolean initializing;
 	private boolean dirty;
+	// the fields written to since the last clearDirty(); null if dirty() was forced
+	private Set dirtyFields;
 
 	protected AbstractFieldInterceptor(SessionImplementor session, Set uninitializedFields, String entityName) {
 		this.session = session;
@@ -62,19 +66,43 @@ public abstract class AbstractFieldInterceptor implements FieldInterceptor, Seri
 
 	public final void dirty() {
 		dirty = true;
+		dirtyFields = null;
 	}
 
 	public final boolean isDirty() {
 		return dirty;
 	}
 
+	public final Set getDirtyFields() {
+		if ( !dirty ) {
+			return Collections.EMPTY_SET;
+		}
+		return dirtyFields == null ? null : Collections.unmodifiableSet( dirtyFields );
+	}
+
 	public final void clearDirty() {
 		dirty = false;
+		dirtyFields = null;
 	}
 
 
 	// subclass accesses ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
 
+	/**
+	 * Mark the entity as dirty because of a write to the given field.
+	 *
+	 * @param fieldName The name of the field written to
+	 */
+	protected final void dirty(String fieldName) {
+		if ( !dirty ) {
+			dirty = true;
+			dirtyFields = new HashSet();
+		}
+		if ( dirtyFields != null ) {
+			dirtyFields.add( fieldName );
+		}
+	}
+
 	protected final Object intercept(Object target, String fieldName, Object value) {
 		if ( initializing ) {
 			return value;
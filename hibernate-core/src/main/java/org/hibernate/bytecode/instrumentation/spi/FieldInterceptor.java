@@ -23,6 +23,8 @@
  */
 package org.hibernate.bytecode.instrumentation.spi;
 
+import java.util.Set;
+
 import org.hibernate.engine.spi.SessionImplementor;
 
 /**
@@ -66,6 +68,14 @@ public interface FieldInterceptor {
 	 */
 	public boolean isDirty();
 
+	/**
+	 * The names of the fields written to since the dirty flag was last cleared.
+	 *
+	 * @return The dirty field names (empty if not {@link #isDirty() dirty}), or null if the entity was
+	 * {@link #dirty() forcefully} marked dirty, in which case any field may have changed.
+	 */
+	public Set getDirtyFields();
+
 	/**
 	 * Clear the internal dirty flag.
 	 */
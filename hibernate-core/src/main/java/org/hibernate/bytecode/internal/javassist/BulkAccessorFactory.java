@@ -26,6 +26,7 @@ package org.hibernate.bytecode.internal.javassist;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.security.ProtectionDomain;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javassist.CannotCompileException;
 import javassist.bytecode.AccessFlag;
@@ -52,7 +53,7 @@ class BulkAccessorFactory {
 	private static final String GET_SETTER_DESC = "(Ljava/lang/Object;[Ljava/lang/Object;)V";
 	private static final String THROWABLE_CLASS_NAME = Throwable.class.getName();
 	private static final String BULKEXCEPTION_CLASS_NAME = BulkAccessorException.class.getName();
-	private static int counter = 0;
+	private static final AtomicInteger COUNTER = new AtomicInteger();
 
 	private Class targetBean;
 	private String[] getterNames;
@@ -107,7 +108,7 @@ class BulkAccessorFactory {
 	private ClassFile make(Method[] getters, Method[] setters) throws CannotCompileException {
 		String className = targetBean.getName();
 		// set the name of bulk accessor.
-		className = className + "_$$_bulkaccess_" + counter++;
+		className = className + "_$$_bulkaccess_" + COUNTER.getAndIncrement();
 		if ( className.startsWith( "java." ) ) {
 			className = "org.javassist.tmp." + className;
 		}
@@ -23,6 +23,11 @@
  */
 package org.hibernate.cache.spi;
 
+import java.util.Collection;
+import java.util.Map;
+
+import org.hibernate.cache.CacheException;
+
 /**
  * Defines the contract for a cache region which will specifically be used to
  * store entity "update timestamps".
@@ -30,4 +35,13 @@ package org.hibernate.cache.spi;
  * @author Steve Ebersole
  */
 public interface TimestampsRegion extends GeneralDataRegion {
+
+	/**
+	 * Get the timestamps of several spaces in one region read.
+	 *
+	 * @param keys The spaces whose timestamps are to be retrieved.
+	 * @return The timestamps keyed by space; spaces without a cached timestamp are not contained.
+	 * @throws CacheException Indicates a problem accessing the region.
+	 */
+	public Map getAll(Collection keys) throws CacheException;
 }
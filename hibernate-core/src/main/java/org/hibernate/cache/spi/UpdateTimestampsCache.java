@@ -24,9 +24,12 @@
 package org.hibernate.cache.spi;
 
 import java.io.Serializable;
+import java.util.Collections;
+import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.jboss.logging.Logger;
 
@@ -42,6 +45,9 @@ import org.hibernate.internal.CoreMessageLogger;
  * to a higher value than the timeouts of any of the query caches. In fact, we
  * recommend that the the underlying cache not be configured for expiry at all.
  * Note, in particular, that an LRU cache expiry policy is never appropriate.
+ * <p/>
+ * Invalidations are serialized per table space (striped locks) and validation takes no lock at all, so
+ * query cache lookups do not contend with flushes.
  *
  * @author Gavin King
  * @author Mikheil Kapanadze
@@ -52,7 +58,9 @@ public class UpdateTimestampsCache {
     private static final CoreMessageLogger LOG = Logger.getMessageLogger(CoreMessageLogger.class,
                                                                                 UpdateTimestampsCache.class.getName());
 
-	private ReentrantReadWriteLock readWriteLock = new ReentrantReadWriteLock();
+	private static final int LOCK_STRIPES = 16;
+
+	private final Lock[] spaceLocks = new Lock[LOCK_STRIPES];
 	private final TimestampsRegion region;
 	private final SessionFactoryImplementor factory;
 
@@ -62,6 +70,9 @@ public class UpdateTimestampsCache {
 		String regionName = prefix == null ? REGION_NAME : prefix + '.' + REGION_NAME;
         LOG.startingUpdateTimestampsCache(regionName);
 		this.region = settings.getRegionFactory().buildTimestampsRegion( regionName, props );
+		for ( int i = 0; i < spaceLocks.length; i++ ) {
+			spaceLocks[i] = new ReentrantLock();
+		}
 	}
     @SuppressWarnings({"UnusedDeclaration"})
     public UpdateTimestampsCache(Settings settings, Properties props)
@@ -71,81 +82,87 @@ public class UpdateTimestampsCache {
 
 	@SuppressWarnings({"UnnecessaryBoxing"})
 	public void preinvalidate(Serializable[] spaces) throws CacheException {
-		readWriteLock.writeLock().lock();
-
-		try {
-			Long ts = new Long( region.nextTimestamp() + region.getTimeout() );
-			for ( Serializable space : spaces ) {
-	            LOG.debugf("Pre-invalidating space [%s]", space);
+		for ( Serializable space : spaces ) {
+			final Lock lock = lockFor( space );
+			lock.lock();
+			try {
+				Long ts = new Long( region.nextTimestamp() + region.getTimeout() );
+				LOG.debugf("Pre-invalidating space [%s]", space);
 				//put() has nowait semantics, is this really appropriate?
 				//note that it needs to be async replication, never local or sync
 				region.put( space, ts );
-				if ( factory != null && factory.getStatistics().isStatisticsEnabled() ) {
-					factory.getStatisticsImplementor().updateTimestampsCachePut();
-				}
 			}
-		}
-		finally {
-			readWriteLock.writeLock().unlock();
+			finally {
+				lock.unlock();
+			}
+			if ( factory != null && factory.getStatistics().isStatisticsEnabled() ) {
+				factory.getStatisticsImplementor().updateTimestampsCachePut();
+			}
 		}
 	}
 
-	 @SuppressWarnings({"UnnecessaryBoxing"})
+	@SuppressWarnings({"UnnecessaryBoxing"})
 	public void invalidate(Serializable[] spaces) throws CacheException {
-		readWriteLock.writeLock().lock();
-
-		try {
-			Long ts = new Long( region.nextTimestamp() );
-			for (Serializable space : spaces) {
-		        LOG.debugf("Invalidating space [%s], timestamp: %s", space, ts);
-		        //put() has nowait semantics, is this really appropriate?
+		for ( Serializable space : spaces ) {
+			final Lock lock = lockFor( space );
+			lock.lock();
+			try {
+				Long ts = new Long( region.nextTimestamp() );
+				LOG.debugf("Invalidating space [%s], timestamp: %s", space, ts);
+				//put() has nowait semantics, is this really appropriate?
 				//note that it needs to be async replication, never local or sync
 				region.put( space, ts );
-				if ( factory != null && factory.getStatistics().isStatisticsEnabled() ) {
-					factory.getStatisticsImplementor().updateTimestampsCachePut();
-				}
 			}
-		}
-		finally {
-		    readWriteLock.writeLock().unlock();
+			finally {
+				lock.unlock();
+			}
+			if ( factory != null && factory.getStatistics().isStatisticsEnabled() ) {
+				factory.getStatisticsImplementor().updateTimestampsCachePut();
+			}
 		}
 	}
 
 	@SuppressWarnings({"unchecked", "UnnecessaryUnboxing"})
 	public boolean isUpToDate(Set spaces, Long timestamp) throws HibernateException {
-		readWriteLock.readLock().lock();
-
-		try {
-			for ( Serializable space : (Set<Serializable>) spaces ) {
-				Long lastUpdate = (Long) region.get( space );
-				if ( lastUpdate == null ) {
-					if ( factory != null && factory.getStatistics().isStatisticsEnabled() ) {
-						factory.getStatisticsImplementor().updateTimestampsCacheMiss();
-					}
-					//the last update timestamp was lost from the cache
-					//(or there were no updates since startup!)
-					//updateTimestamps.put( space, new Long( updateTimestamps.nextTimestamp() ) );
-					//result = false; // safer
+		// no locking here: a single region read for all spaces of the query
+		final Map lastUpdates = spaces.isEmpty() ? Collections.emptyMap() : region.getAll( spaces );
+		final boolean stats = factory != null && factory.getStatistics().isStatisticsEnabled();
+		for ( Serializable space : (Set<Serializable>) spaces ) {
+			Long lastUpdate = (Long) lastUpdates.get( space );
+			if ( lastUpdate == null ) {
+				if ( stats ) {
+					factory.getStatisticsImplementor().updateTimestampsCacheMiss();
 				}
-				else {
-                    if ( LOG.isDebugEnabled() ) {
-                        LOG.debugf(
-                                "[%s] last update timestamp: %s",
-                                space,
-                                lastUpdate + ", result set timestamp: " + timestamp
-                        );
-                    }
-					if ( factory != null && factory.getStatistics().isStatisticsEnabled() ) {
-						factory.getStatisticsImplementor().updateTimestampsCacheHit();
-					}
-					if ( lastUpdate >= timestamp ) return false;
+				//the last update timestamp was lost from the cache
+				//(or there were no updates since startup!)
+				//updateTimestamps.put( space, new Long( updateTimestamps.nextTimestamp() ) );
+				//result = false; // safer
+			}
+			else {
+				if ( LOG.isDebugEnabled() ) {
+					LOG.debugf(
+							"[%s] last update timestamp: %s",
+							space,
+							lastUpdate + ", result set timestamp: " + timestamp
+					);
+				}
+				if ( stats ) {
+					factory.getStatisticsImplementor().updateTimestampsCacheHit();
 				}
+				if ( lastUpdate >= timestamp ) return false;
 			}
-			return true;
-		}
-		finally {
-			readWriteLock.readLock().unlock();
 		}
+		return true;
+	}
+
+	/**
+	 * Writes to a space are serialized so that a timestamp computed earlier can never overwrite a later one;
+	 * unrelated spaces hash to different stripes and do not contend.
+	 */
+	private Lock lockFor(Serializable space) {
+		int hash = space.hashCode();
+		hash ^= ( hash >>> 16 );
+		return spaceLocks[hash & ( spaceLocks.length - 1 )];
 	}
 
 	public void clear() throws CacheException {
@@ -23,6 +23,9 @@
  */
 package org.hibernate.cache.spi.access;
 
+import java.util.Collection;
+import java.util.Map;
+
 import org.hibernate.cache.CacheException;
 
 /**
@@ -40,6 +43,18 @@ public interface RegionAccessStrategy {
 	 */
 	Object get(Object key, long txTimestamp) throws CacheException;
 
+	/**
+	 * Attempt to retrieve several objects from the cache in one call.  Used when
+	 * building a batch fetch, so that only the keys missing from the cache need
+	 * to be loaded from the database.
+	 *
+	 * @param keys The keys of the items to be retrieved.
+	 * @param txTimestamp a timestamp prior to the transaction start time
+	 * @return the cached objects keyed by their key; keys which are not cached have no mapping
+	 * @throws org.hibernate.cache.CacheException Propogated from underlying {@link org.hibernate.cache.spi.Region}
+	 */
+	Map getAll(Collection keys, long txTimestamp) throws CacheException;
+
 	/**
 	 * Attempt to cache an object, after loading from the database.
 	 *
@@ -185,6 +185,12 @@ public interface AvailableSettings {
 	 * Should versioned data be included in batching?
 	 */
 	public static final String BATCH_VERSIONED_DATA = "hibernate.jdbc.batch_versioned_data";
+	/**
+	 * Should inserts of entities using IDENTITY columns be delayed until flush and executed as a JDBC
+	 * batch? Only honoured when batching and <tt>getGeneratedKeys()</tt> are enabled and the dialect
+	 * reports {@link org.hibernate.dialect.Dialect#supportsBatchedIdentityInserts()}.
+	 */
+	public static final String BATCH_IDENTITY_INSERTS = "hibernate.jdbc.batch_identity_inserts";
 	/**
 	 * An XSLT resource used to generate "custom" XML
 	 */
@@ -240,6 +246,44 @@ public interface AvailableSettings {
 	 */
 	public static final String PROXOOL_POOL_ALIAS = "hibernate.proxool.pool_alias";
 
+	/**
+	 * Minimum number of connections kept open by the hibernate-pool connection pool
+	 */
+	public static final String POOL_MIN_SIZE = "hibernate.pool.min_size";
+	/**
+	 * Maximum number of connections opened by the hibernate-pool connection pool; defaults to {@link #POOL_SIZE}
+	 */
+	public static final String POOL_MAX_SIZE = "hibernate.pool.max_size";
+	/**
+	 * Maximum time, in milliseconds, to wait for a hibernate-pool connection before failing
+	 */
+	public static final String POOL_ACQUIRE_TIMEOUT = "hibernate.pool.acquire_timeout";
+	/**
+	 * Time, in milliseconds, after which an idle hibernate-pool connection above the minimum pool size is closed
+	 */
+	public static final String POOL_IDLE_TIMEOUT = "hibernate.pool.idle_timeout";
+	/**
+	 * Maximum lifetime, in milliseconds, of a hibernate-pool connection; <tt>0</tt> means unlimited
+	 */
+	public static final String POOL_MAX_LIFETIME = "hibernate.pool.max_lifetime";
+	/**
+	 * Period, in milliseconds, of the hibernate-pool background validation and eviction of idle connections
+	 */
+	public static final String POOL_VALIDATION_INTERVAL = "hibernate.pool.validation_interval";
+	/**
+	 * Timeout, in seconds, of a hibernate-pool connection validation
+	 */
+	public static final String POOL_VALIDATION_TIMEOUT = "hibernate.pool.validation_timeout";
+	/**
+	 * Maximum number of prepared statements cached per hibernate-pool connection; <tt>0</tt> disables caching
+	 */
+	public static final String POOL_STATEMENT_CACHE_SIZE = "hibernate.pool.statement_cache_size";
+	/**
+	 * Time, in milliseconds, a connection may be checked out of the hibernate-pool before it is reported as a
+	 * possible leak; <tt>0</tt> disables leak detection
+	 */
+	public static final String POOL_LEAK_DETECTION_THRESHOLD = "hibernate.pool.leak_detection_threshold";
+
 	/**
 	 * Enable automatic session close at end of transaction
 	 */
@@ -349,6 +393,13 @@ public interface AvailableSettings {
 	 */
 	public static final String QUERY_SUBSTITUTIONS = "hibernate.query.substitutions";
 
+	/**
+	 * How HQL bulk updates and deletes against multi-table entities determine the affected identifiers; one of
+	 * the {@link org.hibernate.hql.spi.MultiTableBulkIdStrategy} names.  Defaults to the strategy of the
+	 * {@link org.hibernate.dialect.Dialect}.
+	 */
+	public static final String HQL_BULK_ID_STRATEGY = "hibernate.hql.bulk_id_strategy";
+
 	/**
 	 * Should named queries be checked during startup (the default is enabled).
 	 * <p/>
@@ -356,6 +407,12 @@ public interface AvailableSettings {
 	 */
 	public static final String QUERY_STARTUP_CHECKING = "hibernate.query.startup_check";
 
+	/**
+	 * The number of threads used to build persisters and check named queries while building the
+	 * {@link org.hibernate.SessionFactory}.  The default, <tt>1</tt>, builds everything on the calling thread.
+	 */
+	public static final String BOOTSTRAP_PARALLELISM = "hibernate.bootstrap.parallelism";
+
 	/**
 	 * Auto export/update schema using hbm2ddl tool. Valid values are <tt>update</tt>,
 	 * <tt>create</tt>, <tt>create-drop</tt> and <tt>validate</tt>.
@@ -434,14 +491,31 @@ public interface AvailableSettings {
 
 	/**
 	 * The maximum number of strong references maintained by {@link org.hibernate.internal.util.collections.SoftLimitMRUCache}. Default is 128.
+	 *
+	 * @deprecated Use {@link #QUERY_PLAN_CACHE_PARAMETER_METADATA_MAX_SIZE} instead; only used as its default
 	 */
+	@Deprecated
 	public static final String QUERY_PLAN_CACHE_MAX_STRONG_REFERENCES = "hibernate.query.plan_cache_max_strong_references";
 
 	/**
 	 * The maximum number of soft references maintained by {@link org.hibernate.internal.util.collections.SoftLimitMRUCache}. Default is 2048.
+	 *
+	 * @deprecated Use {@link #QUERY_PLAN_CACHE_MAX_SIZE} instead; only used as its default
 	 */
+	@Deprecated
 	public static final String QUERY_PLAN_CACHE_MAX_SOFT_REFERENCES = "hibernate.query.plan_cache_max_soft_references";
 
+	/**
+	 * The maximum number of entries in the {@link org.hibernate.engine.query.spi.QueryPlanCache}. Default is 2048.
+	 */
+	public static final String QUERY_PLAN_CACHE_MAX_SIZE = "hibernate.query.plan_cache_max_size";
+
+	/**
+	 * The maximum number of native-sql parameter metadata entries in the
+	 * {@link org.hibernate.engine.query.spi.QueryPlanCache}. Default is 128.
+	 */
+	public static final String QUERY_PLAN_CACHE_PARAMETER_METADATA_MAX_SIZE = "hibernate.query.plan_parameter_metadata_max_size";
+
 	/**
 	 * Should we not use contextual LOB creation (aka based on {@link java.sql.Connection#createBlob()} et al).
 	 */
@@ -486,6 +560,8 @@ public interface AvailableSettings {
 
 	public static final String PROXOOL_CONFIG_PREFIX = "hibernate.proxool";
 
+	public static final String POOL_CONFIG_PREFIX = "hibernate.pool";
+
 
 	public static final String JMX_ENABLED = "hibernate.jmx.enabled";
 	public static final String JMX_PLATFORM_SERVER = "hibernate.jmx.usePlatformServer";
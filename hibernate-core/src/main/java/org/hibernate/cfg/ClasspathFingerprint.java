@@ -0,0 +1,158 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cfg;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.StringTokenizer;
+
+import org.hibernate.HibernateException;
+import org.hibernate.Version;
+
+/**
+ * Computes a fingerprint of the Hibernate version and of the classpath, which changes whenever a classpath entry
+ * (or, for directories, any file below it) is added, removed or modified.  Used to detect stale
+ * {@link Configuration#writeCachedMappings cached mappings}.
+ */
+final class ClasspathFingerprint {
+	private ClasspathFingerprint() {
+	}
+
+	/**
+	 * Computes the fingerprint of the <tt>java.class.path</tt> entries and of the URLs of the context class loader,
+	 * of the class loader of Hibernate, and of their parents.
+	 */
+	static String compute() {
+		final Set<String> entries = new LinkedHashSet<String>();
+		final String classPath = System.getProperty( "java.class.path" );
+		if ( classPath != null ) {
+			StringTokenizer tokens = new StringTokenizer( classPath, File.pathSeparator );
+			while ( tokens.hasMoreTokens() ) {
+				entries.add( new File( tokens.nextToken() ).getAbsolutePath() );
+			}
+		}
+		addEntries( Thread.currentThread().getContextClassLoader(), entries );
+		addEntries( ClasspathFingerprint.class.getClassLoader(), entries );
+
+		final MessageDigest digest = createDigest();
+		update( digest, Version.getVersionString() );
+		final Set<String> visitedDirectories = new HashSet<String>();
+		for ( String entry : entries ) {
+			final File file = new File( entry );
+			if ( file.exists() ) {
+				update( digest, file, entry, visitedDirectories );
+			}
+			else {
+				update( digest, entry );
+			}
+		}
+
+		final StringBuilder fingerprint = new StringBuilder();
+		for ( byte b : digest.digest() ) {
+			fingerprint.append( Character.forDigit( ( b >> 4 ) & 0xF, 16 ) ).append( Character.forDigit( b & 0xF, 16 ) );
+		}
+		return fingerprint.toString();
+	}
+
+	private static void addEntries(ClassLoader classLoader, Set<String> entries) {
+		for ( ClassLoader loader = classLoader; loader != null; loader = loader.getParent() ) {
+			if ( loader instanceof URLClassLoader ) {
+				for ( URL url : ( (URLClassLoader) loader ).getURLs() ) {
+					entries.add( toEntry( url ) );
+				}
+			}
+		}
+	}
+
+	private static String toEntry(URL url) {
+		if ( "file".equals( url.getProtocol() ) ) {
+			try {
+				return new File( url.toURI() ).getAbsolutePath();
+			}
+			catch ( URISyntaxException e ) {
+				// fall through to the url itself
+			}
+			catch ( IllegalArgumentException e ) {
+				// fall through to the url itself
+			}
+		}
+		return url.toExternalForm();
+	}
+
+	/**
+	 * Digests a file and, for a directory, the files below it.  Each directory is only descended into once, identified
+	 * by its canonical path, so that symbolic links to an enclosing directory do not recurse endlessly.
+	 */
+	private static void update(MessageDigest digest, File file, String path, Set<String> visitedDirectories) {
+		update( digest, path + ':' + file.length() + ':' + file.lastModified() );
+		if ( file.isDirectory() && visitedDirectories.add( canonicalPath( file ) ) ) {
+			final String[] children = file.list();
+			if ( children != null ) {
+				// sorted, since File.list() does not guarantee any order
+				Arrays.sort( children );
+				for ( String child : children ) {
+					update( digest, new File( file, child ), path + '/' + child, visitedDirectories );
+				}
+			}
+		}
+	}
+
+	private static String canonicalPath(File file) {
+		try {
+			return file.getCanonicalPath();
+		}
+		catch ( IOException e ) {
+			return file.getAbsolutePath();
+		}
+	}
+
+	private static void update(MessageDigest digest, String value) {
+		try {
+			digest.update( value.getBytes( "UTF-8" ) );
+			digest.update( (byte) 0 );
+		}
+		catch ( UnsupportedEncodingException e ) {
+			throw new HibernateException( e );
+		}
+	}
+
+	private static MessageDigest createDigest() {
+		try {
+			return MessageDigest.getInstance( "SHA-1" );
+		}
+		catch ( NoSuchAlgorithmException e ) {
+			throw new HibernateException( "SHA-1 digest not available", e );
+		}
+	}
+}
@@ -26,6 +26,10 @@ package org.hibernate.cfg;
 import javax.persistence.Embeddable;
 import javax.persistence.Entity;
 import javax.persistence.MapsId;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
@@ -33,6 +37,7 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.ObjectInputStream;
+import java.io.OutputStream;
 import java.io.Serializable;
 import java.io.StringReader;
 import java.net.URL;
@@ -69,6 +74,7 @@ import org.hibernate.HibernateException;
 import org.hibernate.engine.spi.FilterDefinition;
 import org.hibernate.engine.spi.Mapping;
 import org.hibernate.engine.spi.NamedQueryDefinition;
+import org.hibernate.hql.spi.MultiTableBulkIdStrategy;
 import org.hibernate.id.factory.internal.DefaultIdentifierGeneratorFactory;
 import org.hibernate.id.factory.spi.MutableIdentifierGeneratorFactory;
 import org.hibernate.internal.CoreMessageLogger;
@@ -119,6 +125,7 @@ import org.hibernate.mapping.IdGenerator;
 import org.hibernate.mapping.IdentifierCollection;
 import org.hibernate.mapping.Index;
 import org.hibernate.mapping.Join;
+import org.hibernate.mapping.JoinedSubclass;
 import org.hibernate.mapping.MappedSuperclass;
 import org.hibernate.mapping.MetadataSource;
 import org.hibernate.mapping.PersistentClass;
@@ -127,6 +134,7 @@ import org.hibernate.mapping.RootClass;
 import org.hibernate.mapping.SimpleValue;
 import org.hibernate.mapping.Table;
 import org.hibernate.mapping.TypeDef;
+import org.hibernate.mapping.UnionSubclass;
 import org.hibernate.mapping.UniqueKey;
 import org.hibernate.proxy.EntityNotFoundDelegate;
 import org.hibernate.secure.internal.JACCConfiguration;
@@ -990,6 +998,11 @@ public class Configuration implements Serializable {
 
 		}
 
+		// id tables are referenced unqualified by the bulk statements
+		for ( Table idTable : getGlobalTemporaryIdTables( dialect ) ) {
+			script.add( idTable.sqlDropString( dialect, null, null ) );
+		}
+
 		itr = iterateGenerators( dialect );
 		while ( itr.hasNext() ) {
 			String[] lines = ( (PersistentIdentifierGenerator) itr.next() ).sqlDropStrings( dialect );
@@ -1035,6 +1048,10 @@ public class Configuration implements Serializable {
 			}
 		}
 
+		for ( Table idTable : getGlobalTemporaryIdTables( dialect ) ) {
+			script.add( idTable.sqlGlobalTemporaryTableCreateString( dialect, mapping ) );
+		}
+
 		iter = getTableMappings();
 		while ( iter.hasNext() ) {
 			Table table = (Table) iter.next();
@@ -1097,6 +1114,50 @@ public class Configuration implements Serializable {
 		return ArrayHelper.toStringArray( script );
 	}
 
+	/**
+	 * The id tables used by {@link MultiTableBulkIdStrategy#GLOBAL_TEMPORARY_TABLE} are not created at runtime,
+	 * so they are part of the schema: one per entity mapped to more than one table, holding its primary key columns.
+	 */
+	private List<Table> getGlobalTemporaryIdTables(Dialect dialect) {
+		MultiTableBulkIdStrategy bulkIdStrategy = MultiTableBulkIdStrategy.interpret(
+				properties.get( Environment.HQL_BULK_ID_STRATEGY )
+		);
+		if ( bulkIdStrategy == null ) {
+			bulkIdStrategy = dialect.getDefaultMultiTableBulkIdStrategy();
+		}
+		if ( bulkIdStrategy != MultiTableBulkIdStrategy.GLOBAL_TEMPORARY_TABLE || !dialect.supportsTemporaryTables() ) {
+			return Collections.emptyList();
+		}
+		Map<String, Table> idTables = new LinkedHashMap<String, Table>();
+		for ( PersistentClass persistentClass : classes.values() ) {
+			if ( isMultiTable( persistentClass ) ) {
+				Table idTable = persistentClass.buildTemporaryIdTable( dialect );
+				if ( !idTables.containsKey( idTable.getName() ) ) {
+					idTables.put( idTable.getName(), idTable );
+				}
+			}
+		}
+		return new ArrayList<Table>( idTables.values() );
+	}
+
+	/**
+	 * Mirrors the persister chosen by {@link org.hibernate.persister.internal.StandardPersisterClassResolver} and
+	 * its {@link org.hibernate.persister.entity.Queryable#isMultiTable()}.
+	 */
+	private static boolean isMultiTable(PersistentClass persistentClass) {
+		PersistentClass hierarchyKind = persistentClass;
+		if ( persistentClass instanceof RootClass && persistentClass.hasSubclasses() ) {
+			hierarchyKind = (PersistentClass) persistentClass.getDirectSubclasses().next();
+		}
+		if ( hierarchyKind instanceof JoinedSubclass ) {
+			return true;
+		}
+		if ( hierarchyKind instanceof UnionSubclass ) {
+			return Boolean.TRUE.equals( persistentClass.isAbstract() ) || persistentClass.hasSubclasses();
+		}
+		return persistentClass.getJoinClosureSpan() > 0;
+	}
+
 	/**
 	 * @param dialect The dialect for which to generate the creation script
 	 * @param databaseMetadata The database catalog information for the database to be updated; needed to work out what
@@ -1299,6 +1360,106 @@ public class Configuration implements Serializable {
 		secondPassCompile();
 	}
 
+	/**
+	 * Read a configuration, along with its bound mappings, cached by {@link #writeCachedMappings(File)}.  Reading
+	 * the cache skips parsing, scanning and binding the mapping sources, which is most of the bootstrap work
+	 * preceding the creation of the persisters.
+	 * <p/>
+	 * The cache is only used if it was written by the same version of Hibernate for the same classpath, see
+	 * {@link #writeCachedMappings(File)}.
+	 *
+	 * @param cacheFile The cache file to read.
+	 * @return The cached configuration, or <tt>null</tt> if the cache file does not exist, cannot be read or was
+	 * written for a different classpath.
+	 */
+	public static Configuration readCachedMappings(File cacheFile) {
+		if ( !cacheFile.exists() ) {
+			LOG.debugf( "Cached mappings not found: %s", cacheFile );
+			return null;
+		}
+		try {
+			final InputStream inputStream = new BufferedInputStream( new FileInputStream( cacheFile ) );
+			try {
+				final String fingerprint = new DataInputStream( inputStream ).readUTF();
+				if ( !fingerprint.equals( ClasspathFingerprint.compute() ) ) {
+					LOG.debugf( "Ignoring cached mappings written for a different classpath: %s", cacheFile );
+					return null;
+				}
+				LOG.readingCachedMappings( cacheFile );
+				return ( Configuration ) SerializationHelper.deserialize( inputStream );
+			}
+			finally {
+				inputStream.close();
+			}
+		}
+		catch ( SerializationException e ) {
+			LOG.unableToDeserializeCache( cacheFile.getPath(), e );
+		}
+		catch ( IOException e ) {
+			LOG.unableToDeserializeCache( cacheFile.getPath(), new SerializationException( e.getMessage(), e ) );
+		}
+		catch ( ClassCastException e ) {
+			LOG.unableToDeserializeCache( cacheFile.getPath(), new SerializationException( e.getMessage(), e ) );
+		}
+		return null;
+	}
+
+	/**
+	 * Build the mappings of this configuration (see {@link #buildMappings()}), then write this configuration along
+	 * with its bound mappings to a cache file, for {@link #readCachedMappings(File)} to read on the next startup.
+	 * <p/>
+	 * The cache file records a fingerprint of the Hibernate version and of the classpath, which covers the mapped
+	 * classes and the mapping documents read from the classpath.  Mapping documents read from elsewhere (see
+	 * {@link #addFile(File)}) and properties changed after reading the cache are not covered: the cache file must be
+	 * deleted when those change.
+	 * <p/>
+	 * Properties naming a password (such as {@link Environment#PASS}) are not written to the cache file; they must be
+	 * set again on the configuration returned by {@link #readCachedMappings(File)}.  All other properties are written
+	 * as they are, so the cache file should be kept where only the application can read it.
+	 *
+	 * @param cacheFile The cache file to write.
+	 * @return this (for method chaining purposes)
+	 * @throws MappingException Indicates problems building the mappings.
+	 */
+	public Configuration writeCachedMappings(File cacheFile) throws MappingException {
+		buildMappings();
+		try {
+			LOG.debugf( "Writing cached mappings to: %s", cacheFile );
+			final OutputStream outputStream = new BufferedOutputStream( new FileOutputStream( cacheFile ) );
+			try {
+				new DataOutputStream( outputStream ).writeUTF( ClasspathFingerprint.compute() );
+				final Properties properties = this.properties;
+				this.properties = withoutPasswords( properties );
+				try {
+					SerializationHelper.serialize( this, outputStream );
+				}
+				finally {
+					this.properties = properties;
+				}
+			}
+			finally {
+				outputStream.close();
+			}
+		}
+		catch ( Exception e ) {
+			LOG.unableToWriteCachedFile( cacheFile.getPath(), e.getMessage() );
+			// a partially written cache file would only be rejected on the next startup
+			cacheFile.delete();
+		}
+		return this;
+	}
+
+	private static Properties withoutPasswords(Properties properties) {
+		final Properties copy = new Properties();
+		for ( Map.Entry<Object, Object> entry : properties.entrySet() ) {
+			if ( !( entry.getKey() instanceof String )
+					|| !( (String) entry.getKey() ).toLowerCase().endsWith( "password" ) ) {
+				copy.put( entry.getKey(), entry.getValue() );
+			}
+		}
+		return copy;
+	}
+
 	protected void secondPassCompile() throws MappingException {
         LOG.trace("Starting secondPassCompile() processing");
 
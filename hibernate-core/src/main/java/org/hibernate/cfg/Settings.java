@@ -29,6 +29,7 @@ import org.hibernate.EntityMode;
 import org.hibernate.MultiTenancyStrategy;
 import org.hibernate.cache.spi.QueryCacheFactory;
 import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.hql.spi.MultiTableBulkIdStrategy;
 import org.hibernate.hql.spi.QueryTranslatorFactory;
 import org.hibernate.service.jta.platform.spi.JtaPlatform;
 import org.hibernate.tuple.entity.EntityTuplizerFactory;
@@ -62,6 +63,7 @@ public final class Settings {
 	private boolean commentsEnabled;
 	private boolean statisticsEnabled;
 	private boolean jdbcBatchVersionedData;
+	private boolean jdbcBatchIdentityInserts;
 	private boolean identifierRollbackEnabled;
 	private boolean flushBeforeCompletionEnabled;
 	private boolean autoCloseSessionEnabled;
@@ -69,6 +71,7 @@ public final class Settings {
 	private RegionFactory regionFactory;
 	private QueryCacheFactory queryCacheFactory;
 	private QueryTranslatorFactory queryTranslatorFactory;
+	private MultiTableBulkIdStrategy multiTableBulkIdStrategy;
 	private boolean wrapResultSetsEnabled;
 	private boolean orderUpdatesEnabled;
 	private boolean orderInsertsEnabled;
@@ -77,6 +80,7 @@ public final class Settings {
 	private boolean dataDefinitionInTransactionSupported;
 	private boolean strictJPAQLCompliance;
 	private boolean namedQueryStartupCheckingEnabled;
+	private int bootstrapParallelism;
 	private EntityTuplizerFactory entityTuplizerFactory;
 	private boolean checkNullability;
 //	private ComponentTuplizerFactory componentTuplizerFactory; todo : HHH-3517 and HHH-1907
@@ -194,6 +198,10 @@ public final class Settings {
 		return jdbcBatchVersionedData;
 	}
 
+	public boolean isJdbcBatchIdentityInserts() {
+		return jdbcBatchIdentityInserts;
+	}
+
 	public boolean isFlushBeforeCompletionEnabled() {
 		return flushBeforeCompletionEnabled;
 	}
@@ -210,6 +218,10 @@ public final class Settings {
 		return queryTranslatorFactory;
 	}
 
+	public MultiTableBulkIdStrategy getMultiTableBulkIdStrategy() {
+		return multiTableBulkIdStrategy;
+	}
+
 	public boolean isWrapResultSetsEnabled() {
 		return wrapResultSetsEnabled;
 	}
@@ -250,6 +262,10 @@ public final class Settings {
 		return namedQueryStartupCheckingEnabled;
 	}
 
+	public int getBootstrapParallelism() {
+		return bootstrapParallelism;
+	}
+
 	public EntityTuplizerFactory getEntityTuplizerFactory() {
 		return entityTuplizerFactory;
 	}
@@ -352,6 +368,10 @@ public final class Settings {
 		this.jdbcBatchVersionedData = jdbcBatchVersionedData;
 	}
 
+	void setJdbcBatchIdentityInserts(boolean jdbcBatchIdentityInserts) {
+		this.jdbcBatchIdentityInserts = jdbcBatchIdentityInserts;
+	}
+
 	void setFlushBeforeCompletionEnabled(boolean flushBeforeCompletionEnabled) {
 		this.flushBeforeCompletionEnabled = flushBeforeCompletionEnabled;
 	}
@@ -368,6 +388,10 @@ public final class Settings {
 		this.queryTranslatorFactory = queryTranslatorFactory;
 	}
 
+	void setMultiTableBulkIdStrategy(MultiTableBulkIdStrategy multiTableBulkIdStrategy) {
+		this.multiTableBulkIdStrategy = multiTableBulkIdStrategy;
+	}
+
 	void setWrapResultSetsEnabled(boolean wrapResultSetsEnabled) {
 		this.wrapResultSetsEnabled = wrapResultSetsEnabled;
 	}
@@ -408,6 +432,10 @@ public final class Settings {
 		this.namedQueryStartupCheckingEnabled = namedQueryStartupCheckingEnabled;
 	}
 
+	void setBootstrapParallelism(int bootstrapParallelism) {
+		this.bootstrapParallelism = bootstrapParallelism;
+	}
+
 	void setEntityTuplizerFactory(EntityTuplizerFactory entityTuplizerFactory) {
 		this.entityTuplizerFactory = entityTuplizerFactory;
 	}
@@ -41,6 +41,7 @@ import org.hibernate.cache.spi.RegionFactory;
 import org.hibernate.engine.jdbc.spi.ExtractedDatabaseMetaData;
 import org.hibernate.engine.jdbc.spi.JdbcServices;
 import org.hibernate.engine.transaction.spi.TransactionFactory;
+import org.hibernate.hql.spi.MultiTableBulkIdStrategy;
 import org.hibernate.hql.spi.QueryTranslatorFactory;
 import org.hibernate.internal.CoreMessageLogger;
 import org.hibernate.internal.util.StringHelper;
@@ -132,6 +133,15 @@ public class SettingsFactory implements Serializable {
         LOG.debugf( "JDBC3 getGeneratedKeys(): %s", enabledDisabled(useGetGeneratedKeys) );
 		settings.setGetGeneratedKeysEnabled(useGetGeneratedKeys);
 
+		boolean jdbcBatchIdentityInserts = batchSize > 0
+				&& useGetGeneratedKeys
+				&& jdbcServices.getDialect().supportsBatchedIdentityInserts()
+				&& ConfigurationHelper.getBoolean( Environment.BATCH_IDENTITY_INSERTS, properties, false );
+		if ( batchSize > 0 ) {
+			LOG.debugf( "JDBC batch updates for identity inserts: %s", enabledDisabled(jdbcBatchIdentityInserts) );
+		}
+		settings.setJdbcBatchIdentityInserts(jdbcBatchIdentityInserts);
+
 		Integer statementFetchSize = ConfigurationHelper.getInteger(Environment.STATEMENT_FETCH_SIZE, properties);
         if (statementFetchSize != null) {
 			LOG.debugf( "JDBC result set fetch size: %s", statementFetchSize );
@@ -193,6 +203,13 @@ public class SettingsFactory implements Serializable {
 
 		settings.setQueryTranslatorFactory( createQueryTranslatorFactory( properties, serviceRegistry ) );
 
+		MultiTableBulkIdStrategy bulkIdStrategy = MultiTableBulkIdStrategy.interpret( properties.get( Environment.HQL_BULK_ID_STRATEGY ) );
+		if ( bulkIdStrategy == null ) {
+			bulkIdStrategy = jdbcServices.getDialect().getDefaultMultiTableBulkIdStrategy();
+		}
+		LOG.debugf( "Multi-table bulk id strategy: %s", bulkIdStrategy );
+		settings.setMultiTableBulkIdStrategy( bulkIdStrategy );
+
         Map querySubstitutions = ConfigurationHelper.toMap( Environment.QUERY_SUBSTITUTIONS, " ,=;:\n\t\r\f", properties );
         LOG.debugf( "Query language substitutions: %s", querySubstitutions );
 		settings.setQuerySubstitutions( querySubstitutions );
@@ -274,6 +291,10 @@ public class SettingsFactory implements Serializable {
         LOG.debugf( "Named query checking : %s", enabledDisabled(namedQueryChecking) );
 		settings.setNamedQueryStartupCheckingEnabled( namedQueryChecking );
 
+		int bootstrapParallelism = ConfigurationHelper.getInt( Environment.BOOTSTRAP_PARALLELISM, properties, 1 );
+		LOG.debugf( "Bootstrap parallelism: %s", bootstrapParallelism );
+		settings.setBootstrapParallelism( bootstrapParallelism );
+
 		boolean checkNullability = ConfigurationHelper.getBoolean(Environment.CHECK_NULLABILITY, properties, true);
         LOG.debugf( "Check Nullability in Core (should be disabled when Bean Validation is on): %s", enabledDisabled(checkNullability) );
 		settings.setCheckNullability(checkNullability);
@@ -60,6 +60,7 @@ import org.hibernate.engine.jdbc.LobCreator;
 import org.hibernate.exception.spi.SQLExceptionConverter;
 import org.hibernate.exception.internal.SQLStateConverter;
 import org.hibernate.exception.spi.ViolatedConstraintNameExtracter;
+import org.hibernate.hql.spi.MultiTableBulkIdStrategy;
 import org.hibernate.id.IdentityGenerator;
 import org.hibernate.id.SequenceGenerator;
 import org.hibernate.id.TableHiLoGenerator;
@@ -666,6 +667,17 @@ public abstract class Dialect {
 		return false;
 	}
 
+	/**
+	 * Does the driver return one generated IDENTITY value per row from
+	 * {@link java.sql.Statement#getGeneratedKeys()} after executing a batch
+	 * of inserts, in the order the rows were added to the batch?
+	 *
+	 * @return True if identity inserts can be batched; false otherwise.
+	 */
+	public boolean supportsBatchedIdentityInserts() {
+		return false;
+	}
+
 	/**
 	 * Whether this dialect have an Identity clause added to the data type or a
 	 * completely separate identity data type
@@ -1363,6 +1375,27 @@ public abstract class Dialect {
 		return "drop table";
 	}
 
+	/**
+	 * Command used to create a global temporary table, whose definition is part of the schema while its rows
+	 * are private to the session.  Used for the id tables of
+	 * {@link MultiTableBulkIdStrategy#GLOBAL_TEMPORARY_TABLE}, which are created along with the schema.
+	 *
+	 * @return The command used to create a global temporary table.
+	 */
+	public String getCreateGlobalTemporaryTableString() {
+		return "create global temporary table";
+	}
+
+	/**
+	 * Get any fragments needing to be postfixed to the command for
+	 * global temporary table creation.
+	 *
+	 * @return Any required postfix.
+	 */
+	public String getCreateGlobalTemporaryTablePostfix() {
+		return "";
+	}
+
 	/**
 	 * Does the dialect require that temporary table DDL statements occur in
 	 * isolation from other statements?  This would be the case if the creation
@@ -1399,6 +1432,17 @@ public abstract class Dialect {
 		return true;
 	}
 
+	/**
+	 * The strategy used by HQL bulk updates and deletes against multi-table entities unless
+	 * {@link org.hibernate.cfg.Environment#HQL_BULK_ID_STRATEGY} says otherwise.  By default temporary id tables
+	 * if supported, otherwise inline id lists.
+	 *
+	 * @return The default strategy
+	 */
+	public MultiTableBulkIdStrategy getDefaultMultiTableBulkIdStrategy() {
+		return supportsTemporaryTables() ? MultiTableBulkIdStrategy.TEMPORARY_TABLE : MultiTableBulkIdStrategy.INLINE;
+	}
+
 
 	// callable statement support ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
 
@@ -1632,6 +1676,17 @@ public abstract class Dialect {
 		return bool ? "1" : "0";
 	}
 
+	/**
+	 * The JDBC fetch size to use for {@link org.hibernate.ScrollMode#STREAMING}
+	 * results when none was requested explicitly, chosen so that the driver
+	 * streams rows from a database cursor instead of buffering the whole result.
+	 *
+	 * @return The fetch size, or 0 to leave the driver default in place.
+	 */
+	public int getStreamingFetchSize() {
+		return 0;
+	}
+
 
 	// identifier quoting support ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
 
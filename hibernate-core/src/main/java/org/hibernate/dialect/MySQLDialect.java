@@ -194,6 +194,10 @@ public class MySQLDialect extends Dialect {
 	public boolean supportsIdentityColumns() {
 		return true;
 	}
+
+	public boolean supportsBatchedIdentityInserts() {
+		return true;
+	}
 	
 	public String getIdentitySelectString() {
 		return "select last_insert_id()";
@@ -365,4 +369,10 @@ public class MySQLDialect extends Dialect {
 	public boolean supportsSubqueryOnMutatingTable() {
 		return false;
 	}
+
+	@Override
+	public int getStreamingFetchSize() {
+		// Connector/J only streams rows one at a time when asked for this magic value
+		return Integer.MIN_VALUE;
+	}
 }
@@ -420,6 +420,12 @@ public class PostgreSQLDialect extends Dialect {
 		return false;
 	}
 
+	@Override
+	public int getStreamingFetchSize() {
+		// the driver only uses a cursor when auto-commit is disabled and a fetch size is set
+		return 1000;
+	}
+
 	// locking support
 	public String getForUpdateString() {
 		return " for update";
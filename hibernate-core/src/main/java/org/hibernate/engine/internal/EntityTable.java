@@ -0,0 +1,719 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.engine.internal;
+
+import java.lang.ref.WeakReference;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.EntityKey;
+
+/**
+ * The per-session table of entity state kept by {@link StatefulPersistenceContext}.
+ * <p/>
+ * One row groups everything the persistence context knows about an entity: its
+ * {@link EntityKey}, the managed instance, its {@link EntityEntry}, its proxy (weakly
+ * referenced) and its database snapshot.  Rows are stored in parallel arrays, in the
+ * order their entries were added, and are located through two open-addressed indexes:
+ * one by key and one by instance identity.
+ * <p/>
+ * A row may carry only a key part (key, entity, proxy, snapshot) or only an entry part
+ * (instance, entry): entries exist before their key is known for delayed identity inserts,
+ * and proxies and snapshots exist for entities which are not loaded.  When a row carries
+ * both, the entity registered under the key is the instance owning the entry.
+ */
+final class EntityTable {
+	static final int ENTITIES = 0;
+	static final int PROXIES = 1;
+	static final int SNAPSHOTS = 2;
+
+	private static final int INIT_CAPACITY = 8;
+
+	private EntityKey[] keys;
+	private Object[] instances;
+	private EntityEntry[] entries;
+	// allocated on first use, most sessions have few proxies or snapshots
+	private WeakReference[] proxies;
+	private Object[] snapshots;
+
+	// both indexes hold row + 1, zero marking an empty slot
+	private int[] keyIndex;
+	private int[] instanceIndex;
+
+	private int rowCount;
+	private int liveRows;
+	private int entryCount;
+	private int layoutCount;
+
+	private transient Map.Entry[] entryArray;
+
+	EntityTable() {
+		allocate( INIT_CAPACITY );
+	}
+
+	private void allocate(int capacity) {
+		keys = new EntityKey[capacity];
+		instances = new Object[capacity];
+		entries = new EntityEntry[capacity];
+		proxies = null;
+		snapshots = null;
+		keyIndex = new int[capacity * 2];
+		instanceIndex = new int[capacity * 2];
+		rowCount = 0;
+		liveRows = 0;
+		entryCount = 0;
+		layoutCount++;
+		entryArray = null;
+	}
+
+	void clear() {
+		allocate( INIT_CAPACITY );
+	}
+
+	// entities ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	Object getEntity(EntityKey key) {
+		final int row = findKey( key );
+		return row < 0 ? null : instances[row];
+	}
+
+	Object putEntity(EntityKey key, Object entity) {
+		ensureSpareRow();
+		int row = findKey( key );
+		if ( row < 0 ) {
+			row = findInstance( entity );
+			if ( row < 0 || keys[row] != null ) {
+				row = newRow();
+				instances[row] = entity;
+			}
+			keys[row] = key;
+			index( keyIndex, keyHash( key ), row );
+			return null;
+		}
+		final Object old = instances[row];
+		if ( old != entity ) {
+			if ( entries[row] != null ) {
+				// the entry stays with its instance
+				row = splitKey( row );
+				instances[row] = entity;
+			}
+			else {
+				final int entryRow = findInstance( entity );
+				if ( entryRow >= 0 && keys[entryRow] == null ) {
+					joinKey( row, entryRow );
+				}
+				else {
+					instances[row] = entity;
+				}
+			}
+		}
+		return old;
+	}
+
+	Object removeEntity(EntityKey key) {
+		ensureSpareRow();
+		final int row = findKey( key );
+		if ( row < 0 ) {
+			return null;
+		}
+		final Object old = instances[row];
+		if ( entries[row] == null ) {
+			instances[row] = null;
+			releaseIfEmpty( row );
+		}
+		else if ( proxyAt( row ) != null || snapshotAt( row ) != null ) {
+			splitKey( row );
+		}
+		else {
+			unindex( keyIndex, keyHash( key ), row );
+			keys[row] = null;
+		}
+		return old;
+	}
+
+	// entries ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	EntityEntry getEntry(Object instance) {
+		final int row = findInstance( instance );
+		return row < 0 ? null : entries[row];
+	}
+
+	/**
+	 * Associate the entry with the instance.  A new entry is ordered after all existing ones; when the
+	 * instance is already registered under {@code key} it joins that row.
+	 */
+	EntityEntry putEntry(Object instance, EntityEntry entry, EntityKey key) {
+		int row = findInstance( instance );
+		if ( row >= 0 ) {
+			final EntityEntry old = entries[row];
+			entries[row] = entry;
+			entryArray = null;
+			return old;
+		}
+		ensureSpareRow();
+		row = key == null ? -1 : findKey( key );
+		if ( row >= 0 && instances[row] == instance ) {
+			if ( row != rowCount - 1 ) {
+				row = moveToEnd( row );
+			}
+		}
+		else {
+			row = newRow();
+			instances[row] = instance;
+		}
+		entries[row] = entry;
+		index( instanceIndex, identityHash( instance ), row );
+		entryCount++;
+		entryArray = null;
+		return null;
+	}
+
+	EntityEntry removeEntry(Object instance) {
+		final int row = findInstance( instance );
+		if ( row < 0 ) {
+			return null;
+		}
+		final EntityEntry old = entries[row];
+		unindex( instanceIndex, identityHash( instance ), row );
+		entries[row] = null;
+		entryCount--;
+		entryArray = null;
+		if ( keys[row] == null ) {
+			instances[row] = null;
+			releaseIfEmpty( row );
+		}
+		return old;
+	}
+
+	int entryCount() {
+		return entryCount;
+	}
+
+	/**
+	 * @return The instance/entry pairs in entry order, safe to use while the table is modified.
+	 */
+	Map.Entry[] entryArray() {
+		if ( entryArray == null ) {
+			final Map.Entry[] result = new Map.Entry[entryCount];
+			int i = 0;
+			for ( int row = 0; row < rowCount; row++ ) {
+				if ( entries[row] != null ) {
+					result[i++] = new AbstractMap.SimpleImmutableEntry( instances[row], entries[row] );
+				}
+			}
+			entryArray = result;
+		}
+		return entryArray;
+	}
+
+	// proxies ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	Object getProxy(EntityKey key) {
+		final int row = findKey( key );
+		return row < 0 ? null : proxyAt( row );
+	}
+
+	Object putProxy(EntityKey key, Object proxy) {
+		ensureSpareRow();
+		final int row = keyedRow( key );
+		if ( proxies == null ) {
+			proxies = new WeakReference[keys.length];
+		}
+		final Object old = proxyAt( row );
+		proxies[row] = new WeakReference( proxy );
+		return old;
+	}
+
+	Object removeProxy(EntityKey key) {
+		final int row = findKey( key );
+		if ( row < 0 ) {
+			return null;
+		}
+		final Object old = proxyAt( row );
+		if ( proxies != null ) {
+			proxies[row] = null;
+		}
+		releaseIfEmpty( row );
+		return old;
+	}
+
+	boolean containsProxy(Object proxy) {
+		if ( proxies != null ) {
+			for ( int row = 0; row < rowCount; row++ ) {
+				if ( proxies[row] != null && proxies[row].get() == proxy ) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	// snapshots ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	Object getSnapshot(EntityKey key) {
+		final int row = findKey( key );
+		return row < 0 ? null : snapshotAt( row );
+	}
+
+	void putSnapshot(EntityKey key, Object snapshot) {
+		ensureSpareRow();
+		final int row = keyedRow( key );
+		if ( snapshots == null ) {
+			snapshots = new Object[keys.length];
+		}
+		snapshots[row] = snapshot;
+	}
+
+	void removeSnapshot(EntityKey key) {
+		final int row = findKey( key );
+		if ( row >= 0 && snapshots != null && snapshots[row] != null ) {
+			snapshots[row] = null;
+			releaseIfEmpty( row );
+		}
+	}
+
+	// views ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	/**
+	 * An unmodifiable view of one of the key columns ({@link #ENTITIES}, {@link #PROXIES} or {@link #SNAPSHOTS}).
+	 */
+	Map keyedView(final int column) {
+		return new AbstractMap() {
+			@Override
+			public Object get(Object key) {
+				if ( !( key instanceof EntityKey ) ) {
+					return null;
+				}
+				final int row = findKey( (EntityKey) key );
+				return row < 0 ? null : valueAt( column, row );
+			}
+
+			@Override
+			public boolean containsKey(Object key) {
+				return get( key ) != null;
+			}
+
+			@Override
+			public Set entrySet() {
+				return new AbstractSet() {
+					@Override
+					public Iterator iterator() {
+						return new RowIterator() {
+							@Override
+							Map.Entry entryAt(int row) {
+								if ( keys[row] == null ) {
+									return null;
+								}
+								final Object value = valueAt( column, row );
+								return value == null ? null : new AbstractMap.SimpleImmutableEntry( keys[row], value );
+							}
+						};
+					}
+
+					@Override
+					public int size() {
+						int size = 0;
+						for ( int row = 0; row < rowCount; row++ ) {
+							if ( keys[row] != null && valueAt( column, row ) != null ) {
+								size++;
+							}
+						}
+						return size;
+					}
+				};
+			}
+		};
+	}
+
+	/**
+	 * An unmodifiable view of the entries, keyed by instance identity and iterated in entry order.
+	 */
+	Map entryView() {
+		return new AbstractMap() {
+			@Override
+			public Object get(Object instance) {
+				return getEntry( instance );
+			}
+
+			@Override
+			public boolean containsKey(Object instance) {
+				return findInstance( instance ) >= 0;
+			}
+
+			@Override
+			public int size() {
+				return entryCount;
+			}
+
+			@Override
+			public Set entrySet() {
+				return new AbstractSet() {
+					@Override
+					public Iterator iterator() {
+						return new RowIterator() {
+							@Override
+							Map.Entry entryAt(int row) {
+								return entries[row] == null
+										? null
+										: new AbstractMap.SimpleImmutableEntry( instances[row], entries[row] );
+							}
+						};
+					}
+
+					@Override
+					public int size() {
+						return entryCount;
+					}
+				};
+			}
+		};
+	}
+
+	private Object valueAt(int column, int row) {
+		switch ( column ) {
+			case ENTITIES:
+				return instances[row];
+			case PROXIES:
+				return proxyAt( row );
+			default:
+				return snapshotAt( row );
+		}
+	}
+
+	private abstract class RowIterator implements Iterator {
+		private final int expectedLayout = layoutCount;
+		private int row = -1;
+		private Map.Entry next;
+
+		abstract Map.Entry entryAt(int row);
+
+		public boolean hasNext() {
+			if ( expectedLayout != layoutCount ) {
+				throw new ConcurrentModificationException();
+			}
+			while ( next == null && ++row < rowCount ) {
+				next = entryAt( row );
+			}
+			return next != null;
+		}
+
+		public Object next() {
+			if ( !hasNext() ) {
+				throw new NoSuchElementException();
+			}
+			final Map.Entry result = next;
+			next = null;
+			return result;
+		}
+
+		public void remove() {
+			throw new UnsupportedOperationException();
+		}
+	}
+
+	// rows ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	private Object proxyAt(int row) {
+		return proxies == null || proxies[row] == null ? null : proxies[row].get();
+	}
+
+	private Object snapshotAt(int row) {
+		return snapshots == null ? null : snapshots[row];
+	}
+
+	private int keyedRow(EntityKey key) {
+		int row = findKey( key );
+		if ( row < 0 ) {
+			row = newRow();
+			keys[row] = key;
+			index( keyIndex, keyHash( key ), row );
+		}
+		return row;
+	}
+
+	/**
+	 * Makes sure {@link #newRow} will not need to move rows, so that row numbers held by the
+	 * caller stay valid.
+	 */
+	private void ensureSpareRow() {
+		if ( rowCount == keys.length ) {
+			expungeStaleProxies();
+			if ( liveRows < keys.length - ( keys.length >> 2 ) ) {
+				compact();
+			}
+			else {
+				resize( keys.length << 1 );
+			}
+		}
+	}
+
+	private int newRow() {
+		liveRows++;
+		return rowCount++;
+	}
+
+	private boolean isFree(int row) {
+		return keys[row] == null && entries[row] == null;
+	}
+
+	private void releaseIfEmpty(int row) {
+		if ( entries[row] != null || instances[row] != null || proxyAt( row ) != null || snapshotAt( row ) != null ) {
+			return;
+		}
+		if ( keys[row] != null ) {
+			unindex( keyIndex, keyHash( keys[row] ), row );
+			keys[row] = null;
+		}
+		if ( proxies != null ) {
+			proxies[row] = null;
+		}
+		liveRows--;
+		while ( rowCount > 0 && isFree( rowCount - 1 ) ) {
+			rowCount--;
+		}
+	}
+
+	/**
+	 * Moves the key part of the row (key, proxy and snapshot) to a new row, leaving the entry part behind.
+	 */
+	private int splitKey(int row) {
+		final int target = newRow();
+		keys[target] = keys[row];
+		reindex( keyIndex, keyHash( keys[row] ), row, target );
+		keys[row] = null;
+		if ( proxies != null ) {
+			proxies[target] = proxies[row];
+			proxies[row] = null;
+		}
+		if ( snapshots != null ) {
+			snapshots[target] = snapshots[row];
+			snapshots[row] = null;
+		}
+		return target;
+	}
+
+	/**
+	 * Moves the key part of the row to the row holding the entry of the entity registered under that key.
+	 */
+	private void joinKey(int row, int entryRow) {
+		keys[entryRow] = keys[row];
+		reindex( keyIndex, keyHash( keys[row] ), row, entryRow );
+		keys[row] = null;
+		instances[row] = null;
+		if ( proxies != null ) {
+			proxies[entryRow] = proxies[row];
+			proxies[row] = null;
+		}
+		if ( snapshots != null ) {
+			snapshots[entryRow] = snapshots[row];
+			snapshots[row] = null;
+		}
+		releaseIfEmpty( row );
+	}
+
+	private int moveToEnd(int row) {
+		final int target = newRow();
+		keys[target] = keys[row];
+		instances[target] = instances[row];
+		reindex( keyIndex, keyHash( keys[row] ), row, target );
+		keys[row] = null;
+		instances[row] = null;
+		if ( proxies != null ) {
+			proxies[target] = proxies[row];
+			proxies[row] = null;
+		}
+		if ( snapshots != null ) {
+			snapshots[target] = snapshots[row];
+			snapshots[row] = null;
+		}
+		liveRows--;
+		return target;
+	}
+
+	private void expungeStaleProxies() {
+		if ( proxies != null ) {
+			for ( int row = 0; row < rowCount; row++ ) {
+				if ( proxies[row] != null && proxies[row].get() == null ) {
+					proxies[row] = null;
+					releaseIfEmpty( row );
+				}
+			}
+		}
+	}
+
+	private void compact() {
+		int target = 0;
+		for ( int row = 0; row < rowCount; row++ ) {
+			if ( !isFree( row ) ) {
+				if ( target != row ) {
+					keys[target] = keys[row];
+					instances[target] = instances[row];
+					entries[target] = entries[row];
+					if ( proxies != null ) {
+						proxies[target] = proxies[row];
+					}
+					if ( snapshots != null ) {
+						snapshots[target] = snapshots[row];
+					}
+				}
+				target++;
+			}
+		}
+		Arrays.fill( keys, target, rowCount, null );
+		Arrays.fill( instances, target, rowCount, null );
+		Arrays.fill( entries, target, rowCount, null );
+		if ( proxies != null ) {
+			Arrays.fill( proxies, target, rowCount, null );
+		}
+		if ( snapshots != null ) {
+			Arrays.fill( snapshots, target, rowCount, null );
+		}
+		rowCount = target;
+		resize( keys.length );
+	}
+
+	private void resize(int capacity) {
+		if ( capacity != keys.length ) {
+			keys = Arrays.copyOf( keys, capacity );
+			instances = Arrays.copyOf( instances, capacity );
+			entries = Arrays.copyOf( entries, capacity );
+			if ( proxies != null ) {
+				proxies = Arrays.copyOf( proxies, capacity );
+			}
+			if ( snapshots != null ) {
+				snapshots = Arrays.copyOf( snapshots, capacity );
+			}
+		}
+		keyIndex = new int[capacity * 2];
+		instanceIndex = new int[capacity * 2];
+		for ( int row = 0; row < rowCount; row++ ) {
+			if ( keys[row] != null ) {
+				index( keyIndex, keyHash( keys[row] ), row );
+			}
+			if ( entries[row] != null ) {
+				index( instanceIndex, identityHash( instances[row] ), row );
+			}
+		}
+		layoutCount++;
+	}
+
+	// indexes ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	private static int spread(int hash) {
+		return hash ^ ( hash >>> 16 );
+	}
+
+	private static int keyHash(EntityKey key) {
+		return spread( key.hashCode() );
+	}
+
+	private static int identityHash(Object instance) {
+		return spread( System.identityHashCode( instance ) );
+	}
+
+	private int findKey(EntityKey key) {
+		if ( key == null ) {
+			return -1;
+		}
+		final int mask = keyIndex.length - 1;
+		int slot = keyHash( key ) & mask;
+		int value;
+		while ( ( value = keyIndex[slot] ) != 0 ) {
+			final EntityKey candidate = keys[value - 1];
+			if ( candidate == key || candidate.equals( key ) ) {
+				return value - 1;
+			}
+			slot = ( slot + 1 ) & mask;
+		}
+		return -1;
+	}
+
+	private int findInstance(Object instance) {
+		final int mask = instanceIndex.length - 1;
+		int slot = identityHash( instance ) & mask;
+		int value;
+		while ( ( value = instanceIndex[slot] ) != 0 ) {
+			if ( instances[value - 1] == instance ) {
+				return value - 1;
+			}
+			slot = ( slot + 1 ) & mask;
+		}
+		return -1;
+	}
+
+	private static void index(int[] index, int hash, int row) {
+		final int mask = index.length - 1;
+		int slot = hash & mask;
+		while ( index[slot] != 0 ) {
+			slot = ( slot + 1 ) & mask;
+		}
+		index[slot] = row + 1;
+	}
+
+	private static int slotOf(int[] index, int hash, int row) {
+		final int mask = index.length - 1;
+		int slot = hash & mask;
+		while ( index[slot] != row + 1 ) {
+			slot = ( slot + 1 ) & mask;
+		}
+		return slot;
+	}
+
+	private static void reindex(int[] index, int hash, int row, int target) {
+		index[slotOf( index, hash, row )] = target + 1;
+	}
+
+	/**
+	 * Removes the row from a linear-probing index, shifting later slots of the probe
+	 * sequence back so that lookups never need tombstones.
+	 */
+	private void unindex(int[] index, int hash, int row) {
+		final int mask = index.length - 1;
+		int hole = slotOf( index, hash, row );
+		int slot = hole;
+		while ( true ) {
+			slot = ( slot + 1 ) & mask;
+			final int value = index[slot];
+			if ( value == 0 ) {
+				break;
+			}
+			final int home = ( index == keyIndex ? keyHash( keys[value - 1] ) : identityHash( instances[value - 1] ) ) & mask;
+			final boolean movable = hole <= slot
+					? home <= hole || home > slot
+					: home <= hole && home > slot;
+			if ( movable ) {
+				index[hole] = value;
+				hole = slot;
+			}
+		}
+		index[hole] = 0;
+	}
+}
@@ -29,14 +29,13 @@ import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
-import org.apache.commons.collections.map.AbstractReferenceMap;
-import org.apache.commons.collections.map.ReferenceMap;
 import org.jboss.logging.Logger;
 
 import org.hibernate.AssertionFailure;
@@ -93,22 +92,13 @@ public class StatefulPersistenceContext implements PersistenceContext {
 
 	private SessionImplementor session;
 
-	// Loaded entity instances, by EntityKey
-	private Map entitiesByKey;
+	// Loaded entity instances, their EntityEntry instances, proxies and
+	// database snapshots, by EntityKey and by entity instance
+	private EntityTable entityTable;
 
 	// Loaded entity instances, by EntityUniqueKey
 	private Map entitiesByUniqueKey;
 
-	// Identity map of EntityEntry instances, by the entity instance
-	private Map entityEntries;
-
-	// Entity proxies, by EntityKey
-	private Map proxiesByKey;
-
-	// Snapshots of current database state for entities
-	// that have *not* been loaded
-	private Map entitySnapshotsByKey;
-
 	// Identity map of array holder ArrayHolder instances, by the array instance
 	private Map arrayHolders;
 
@@ -156,12 +146,9 @@ public class StatefulPersistenceContext implements PersistenceContext {
 	public StatefulPersistenceContext(SessionImplementor session) {
 		this.session = session;
 
-		entitiesByKey = new HashMap( INIT_COLL_SIZE );
+		entityTable = new EntityTable();
 		entitiesByUniqueKey = new HashMap( INIT_COLL_SIZE );
-		proxiesByKey = new ReferenceMap( AbstractReferenceMap.HARD, AbstractReferenceMap.WEAK );
-		entitySnapshotsByKey = new HashMap( INIT_COLL_SIZE );
 
-		entityEntries = IdentityMap.instantiateSequenced( INIT_COLL_SIZE );
 		collectionEntries = IdentityMap.instantiateSequenced( INIT_COLL_SIZE );
 		collectionsByKey = new HashMap( INIT_COLL_SIZE );
 		arrayHolders = IdentityMap.instantiate( INIT_COLL_SIZE );
@@ -220,7 +207,7 @@ public class StatefulPersistenceContext implements PersistenceContext {
 	}
 
 	public void clear() {
-		for ( Object o : proxiesByKey.values() ) {
+		for ( Object o : getProxiesByKey().values() ) {
 			final LazyInitializer li = ((HibernateProxy) o).getHibernateLazyInitializer();
 			li.unsetSession();
 		}
@@ -229,17 +216,14 @@ public class StatefulPersistenceContext implements PersistenceContext {
 			((PersistentCollection) aCollectionEntryArray.getKey()).unsetSession( getSession() );
 		}
 		arrayHolders.clear();
-		entitiesByKey.clear();
+		entityTable.clear();
 		entitiesByUniqueKey.clear();
-		entityEntries.clear();
 		parentsByChild.clear();
-		entitySnapshotsByKey.clear();
 		collectionsByKey.clear();
 		collectionEntries.clear();
 		if ( unownedCollections != null ) {
 			unownedCollections.clear();
 		}
-		proxiesByKey.clear();
 		nullifiableEntityKeys.clear();
 		if ( batchFetchQueue != null ) {
 			batchFetchQueue.clear();
@@ -283,8 +267,8 @@ public class StatefulPersistenceContext implements PersistenceContext {
 	public void afterTransactionCompletion() {
 		cleanUpInsertedKeysAfterTransaction();
 		// Downgrade locks
-		for ( Object o : entityEntries.values() ) {
-			((EntityEntry) o).setLockMode( LockMode.NONE );
+		for ( Map.Entry me : entityTable.entryArray() ) {
+			((EntityEntry) me.getValue()).setLockMode( LockMode.NONE );
 		}
 	}
 
@@ -295,13 +279,13 @@ public class StatefulPersistenceContext implements PersistenceContext {
 	public Object[] getDatabaseSnapshot(Serializable id, EntityPersister persister)
 	throws HibernateException {
 		final EntityKey key = session.generateEntityKey( id, persister );
-		Object cached = entitySnapshotsByKey.get(key);
+		Object cached = entityTable.getSnapshot(key);
 		if (cached!=null) {
 			return cached==NO_ROW ? null : (Object[]) cached;
 		}
 		else {
 			Object[] snapshot = persister.getDatabaseSnapshot( id, session );
-			entitySnapshotsByKey.put( key, snapshot==null ? NO_ROW : snapshot );
+			entityTable.putSnapshot( key, snapshot==null ? NO_ROW : snapshot );
 			return snapshot;
 		}
 	}
@@ -355,7 +339,7 @@ public class StatefulPersistenceContext implements PersistenceContext {
 	 * @throws IllegalStateException if the cached snapshot was == {@link #NO_ROW}.
 	 */
 	public Object[] getCachedDatabaseSnapshot(EntityKey key) {
-		Object snapshot = entitySnapshotsByKey.get( key );
+		Object snapshot = entityTable.getSnapshot( key );
 		if ( snapshot == NO_ROW ) {
 			throw new IllegalStateException( "persistence context reported no row snapshot for " + MessageHelper.infoString( key.getEntityName(), key.getIdentifier() ) );
 		}
@@ -363,11 +347,11 @@ public class StatefulPersistenceContext implements PersistenceContext {
 	}
 
 	/*public void removeDatabaseSnapshot(EntityKey key) {
-		entitySnapshotsByKey.remove(key);
+		entityTable.removeSnapshot(key);
 	}*/
 
 	public void addEntity(EntityKey key, Object entity) {
-		entitiesByKey.put(key, entity);
+		entityTable.putEntity(key, entity);
 		getBatchFetchQueue().removeBatchLoadableEntityKey(key);
 	}
 
@@ -376,11 +360,11 @@ public class StatefulPersistenceContext implements PersistenceContext {
 	 * <tt>EntityKey</tt>
 	 */
 	public Object getEntity(EntityKey key) {
-		return entitiesByKey.get(key);
+		return entityTable.getEntity(key);
 	}
 
 	public boolean containsEntity(EntityKey key) {
-		return entitiesByKey.containsKey(key);
+		return entityTable.getEntity(key) != null;
 	}
 
 	/**
@@ -389,14 +373,14 @@ public class StatefulPersistenceContext implements PersistenceContext {
 	 * for the <tt>EntityEntry</tt>
 	 */
 	public Object removeEntity(EntityKey key) {
-		Object entity = entitiesByKey.remove(key);
+		Object entity = entityTable.removeEntity(key);
 		Iterator iter = entitiesByUniqueKey.values().iterator();
 		while ( iter.hasNext() ) {
 			if ( iter.next()==entity ) iter.remove();
 		}
 		// Clear all parent cache
 		parentsByChild.clear();
-		entitySnapshotsByKey.remove(key);
+		entityTable.removeSnapshot(key);
 		nullifiableEntityKeys.remove(key);
 		getBatchFetchQueue().removeBatchLoadableEntityKey(key);
 		getBatchFetchQueue().removeSubselect(key);
@@ -424,21 +408,21 @@ public class StatefulPersistenceContext implements PersistenceContext {
 	 * @return The EntityEntry for the given entity.
 	 */
 	public EntityEntry getEntry(Object entity) {
-		return (EntityEntry) entityEntries.get(entity);
+		return entityTable.getEntry(entity);
 	}
 
 	/**
 	 * Remove an entity entry from the session cache
 	 */
 	public EntityEntry removeEntry(Object entity) {
-		return (EntityEntry) entityEntries.remove(entity);
+		return entityTable.removeEntry(entity);
 	}
 
 	/**
 	 * Is there an EntityEntry for this instance?
 	 */
 	public boolean isEntryFor(Object entity) {
-		return entityEntries.containsKey(entity);
+		return entityTable.getEntry(entity) != null;
 	}
 
 	/**
@@ -464,9 +448,8 @@ public class StatefulPersistenceContext implements PersistenceContext {
 			boolean lazyPropertiesAreUnfetched
 	) {
 
-		addEntity( entityKey, entity );
-
-		return addEntry(
+		// adding the entry first lets the key join the instance's row
+		final EntityEntry entry = addEntry(
 				entity,
 				status,
 				loadedState,
@@ -479,6 +462,10 @@ public class StatefulPersistenceContext implements PersistenceContext {
 				disableVersionIncrement,
 				lazyPropertiesAreUnfetched
 			);
+
+		addEntity( entityKey, entity );
+
+		return entry;
 	}
 
 
@@ -513,7 +500,7 @@ public class StatefulPersistenceContext implements PersistenceContext {
 				disableVersionIncrement,
 				lazyPropertiesAreUnfetched
 		);
-		entityEntries.put(entity, e);
+		entityTable.putEntry( entity, e, null );
 
 		setHasNonReadOnlyEnties(status);
 		return e;
@@ -524,7 +511,7 @@ public class StatefulPersistenceContext implements PersistenceContext {
 	}
 
 	public boolean containsProxy(Object entity) {
-		return proxiesByKey.containsValue( entity );
+		return entityTable.containsProxy( entity );
 	}
 
 	/**
@@ -579,8 +566,8 @@ public class StatefulPersistenceContext implements PersistenceContext {
 			final EntityPersister persister = session.getFactory().getEntityPersister( li.getEntityName() );
 			final EntityKey key = session.generateEntityKey( li.getIdentifier(), persister );
 		  	// any earlier proxy takes precedence
-			if ( !proxiesByKey.containsKey( key ) ) {
-				proxiesByKey.put( key, proxy );
+			if ( entityTable.getProxy( key ) == null ) {
+				entityTable.putProxy( key, proxy );
 			}
 			proxy.getHibernateLazyInitializer().setSession( session );
 		}
@@ -676,12 +663,12 @@ public class StatefulPersistenceContext implements PersistenceContext {
 			}
 
 			if ( object != null ) {
-				proxiesByKey.remove(key);
+				entityTable.removeProxy(key);
 				return object; //return the proxied object
 			}
 			else {
 				proxy = persister.createProxy( key.getIdentifier(), session );
-				Object proxyOrig = proxiesByKey.put(key, proxy); //overwrite old proxy
+				Object proxyOrig = entityTable.putProxy(key, proxy); //overwrite old proxy
 				if ( proxyOrig != null ) {
 					if ( ! ( proxyOrig instanceof HibernateProxy ) ) {
 						throw new AssertionFailure(
@@ -716,7 +703,7 @@ public class StatefulPersistenceContext implements PersistenceContext {
 	public Object proxyFor(EntityPersister persister, EntityKey key, Object impl)
 	throws HibernateException {
 		if ( !persister.hasProxy() ) return impl;
-		Object proxy = proxiesByKey.get(key);
+		Object proxy = entityTable.getProxy(key);
 		if ( proxy != null ) {
 			return narrowProxy(proxy, persister, key, impl);
 		}
@@ -832,10 +819,16 @@ public class StatefulPersistenceContext implements PersistenceContext {
 			}
 			// or should it actually throw an exception?
 			old.unsetSession( session );
-			collectionEntries.remove( old );
+			CollectionEntry oldEntry = ( CollectionEntry ) collectionEntries.remove( old );
+			if ( oldEntry != null && batchFetchQueue != null ) {
+				batchFetchQueue.removeBatchLoadableCollection( oldEntry );
+			}
 			// watch out for a case where old is still referenced
 			// somewhere in the object graph! (which is a user error)
 		}
+		if ( !coll.wasInitialized() ) {
+			getBatchFetchQueue().addBatchLoadableCollection( coll, entry );
+		}
 	}
 
 	/**
@@ -978,14 +971,14 @@ public class StatefulPersistenceContext implements PersistenceContext {
 	 * Get an existing proxy by key
 	 */
 	public Object getProxy(EntityKey key) {
-		return proxiesByKey.get(key);
+		return entityTable.getProxy(key);
 	}
 
 	/**
 	 * Add a proxy to the session cache
 	 */
 	public void addProxy(EntityKey key, Object proxy) {
-		proxiesByKey.put(key, proxy);
+		entityTable.putProxy(key, proxy);
 	}
 
 	/**
@@ -1002,7 +995,7 @@ public class StatefulPersistenceContext implements PersistenceContext {
 			batchFetchQueue.removeBatchLoadableEntityKey( key );
 			batchFetchQueue.removeSubselect( key );
 		}
-		return proxiesByKey.remove( key );
+		return entityTable.removeProxy( key );
 	}
 
 	/**
@@ -1035,15 +1028,19 @@ public class StatefulPersistenceContext implements PersistenceContext {
 	}
 
 	public Map getEntitiesByKey() {
-		return entitiesByKey;
+		return entityTable.keyedView( EntityTable.ENTITIES );
 	}
 
 	public Map getProxiesByKey() {
-		return proxiesByKey;
+		return entityTable.keyedView( EntityTable.PROXIES );
 	}
 
 	public Map getEntityEntries() {
-		return entityEntries;
+		return entityTable.entryView();
+	}
+
+	public Map.Entry[] reentrantSafeEntityEntries() {
+		return entityTable.entryArray();
 	}
 
 	public Map getCollectionEntries() {
@@ -1116,7 +1113,7 @@ public class StatefulPersistenceContext implements PersistenceContext {
     public String toString() {
 		return new StringBuffer()
 				.append("PersistenceContext[entityKeys=")
-				.append(entitiesByKey.keySet())
+				.append(getEntitiesByKey().keySet())
 				.append(",collectionKeys=")
 				.append(collectionsByKey.keySet())
 				.append("]")
@@ -1152,7 +1149,7 @@ public class StatefulPersistenceContext implements PersistenceContext {
 	    // try cache lookup first
 		Object parent = parentsByChild.get( childEntity );
 		if ( parent != null ) {
-			final EntityEntry entityEntry = ( EntityEntry ) entityEntries.get( parent );
+			final EntityEntry entityEntry = getEntry( parent );
 			//there maybe more than one parent, filter by type
 			if ( 	persister.isSubclassEntityName(entityEntry.getEntityName() )
 					&& isFoundInParent( propertyName, childEntity, persister, collectionPersister, parent ) ) {
@@ -1165,7 +1162,7 @@ public class StatefulPersistenceContext implements PersistenceContext {
 
 		//not found in case, proceed
 		// iterate all the entities currently associated with the persistence context.
-		Iterator entities = IdentityMap.entries(entityEntries).iterator();
+		Iterator entities = Arrays.asList( entityTable.entryArray() ).iterator();
 		while ( entities.hasNext() ) {
 			final Map.Entry me = ( Map.Entry ) entities.next();
 			final EntityEntry entityEntry = ( EntityEntry ) me.getValue();
@@ -1267,7 +1264,7 @@ public class StatefulPersistenceContext implements PersistenceContext {
 	    // try cache lookup first
 	    Object parent = parentsByChild.get(childEntity);
 		if (parent != null) {
-			final EntityEntry entityEntry = (EntityEntry) entityEntries.get(parent);
+			final EntityEntry entityEntry = getEntry(parent);
 			//there maybe more than one parent, filter by type
 			if ( persister.isSubclassEntityName( entityEntry.getEntityName() ) ) {
 				Object index = getIndexInParent(property, childEntity, persister, cp, parent);
@@ -1289,7 +1286,7 @@ public class StatefulPersistenceContext implements PersistenceContext {
 		}
 
 		//Not found in cache, proceed
-		Iterator entities = IdentityMap.entries(entityEntries).iterator();
+		Iterator entities = Arrays.asList( entityTable.entryArray() ).iterator();
 		while ( entities.hasNext() ) {
 			Map.Entry me = (Map.Entry) entities.next();
 			EntityEntry ee = (EntityEntry) me.getValue();
@@ -1411,8 +1408,8 @@ public class StatefulPersistenceContext implements PersistenceContext {
 	}
 
 	public void replaceDelayedEntityIdentityInsertKeys(EntityKey oldKey, Serializable generatedId) {
-		Object entity = entitiesByKey.remove( oldKey );
-		EntityEntry oldEntry = ( EntityEntry ) entityEntries.remove( entity );
+		Object entity = entityTable.removeEntity( oldKey );
+		EntityEntry oldEntry = entityTable.removeEntry( entity );
 		parentsByChild.clear();
 
 		final EntityKey newKey = session.generateEntityKey( generatedId, oldEntry.getPersister() );
@@ -1445,6 +1442,7 @@ public class StatefulPersistenceContext implements PersistenceContext {
 		oos.writeBoolean( defaultReadOnly );
 		oos.writeBoolean( hasNonReadOnlyEntities );
 
+		final Map entitiesByKey = getEntitiesByKey();
 		oos.writeInt( entitiesByKey.size() );
         LOG.trace("Starting serialization of [" + entitiesByKey.size() + "] entitiesByKey entries");
 		Iterator itr = entitiesByKey.entrySet().iterator();
@@ -1463,6 +1461,8 @@ public class StatefulPersistenceContext implements PersistenceContext {
 			oos.writeObject( entry.getValue() );
 		}
 
+		// proxies are weakly referenced, hold on to the live ones while they are written
+		final Map proxiesByKey = new HashMap( getProxiesByKey() );
 		oos.writeInt( proxiesByKey.size() );
         LOG.trace("Starting serialization of [" + proxiesByKey.size() + "] proxiesByKey entries");
 		itr = proxiesByKey.entrySet().iterator();
@@ -1472,6 +1472,7 @@ public class StatefulPersistenceContext implements PersistenceContext {
 			oos.writeObject( entry.getValue() );
 		}
 
+		final Map entitySnapshotsByKey = entityTable.keyedView( EntityTable.SNAPSHOTS );
 		oos.writeInt( entitySnapshotsByKey.size() );
         LOG.trace("Starting serialization of [" + entitySnapshotsByKey.size() + "] entitySnapshotsByKey entries");
 		itr = entitySnapshotsByKey.entrySet().iterator();
@@ -1481,6 +1482,7 @@ public class StatefulPersistenceContext implements PersistenceContext {
 			oos.writeObject( entry.getValue() );
 		}
 
+		final Map entityEntries = getEntityEntries();
 		oos.writeInt( entityEntries.size() );
         LOG.trace("Starting serialization of [" + entityEntries.size() + "] entityEntries entries");
 		itr = entityEntries.entrySet().iterator();
@@ -1544,9 +1546,8 @@ public class StatefulPersistenceContext implements PersistenceContext {
 
 			int count = ois.readInt();
             LOG.trace("Starting deserialization of [" + count + "] entitiesByKey entries");
-			rtn.entitiesByKey = new HashMap( count < INIT_COLL_SIZE ? INIT_COLL_SIZE : count );
 			for ( int i = 0; i < count; i++ ) {
-				rtn.entitiesByKey.put( EntityKey.deserialize( ois, session ), ois.readObject() );
+				rtn.entityTable.putEntity( EntityKey.deserialize( ois, session ), ois.readObject() );
 			}
 
 			count = ois.readInt();
@@ -1558,31 +1559,28 @@ public class StatefulPersistenceContext implements PersistenceContext {
 
 			count = ois.readInt();
             LOG.trace("Starting deserialization of [" + count + "] proxiesByKey entries");
-			rtn.proxiesByKey = new ReferenceMap( AbstractReferenceMap.HARD, AbstractReferenceMap.WEAK, count < INIT_COLL_SIZE ? INIT_COLL_SIZE : count, .75f );
 			for ( int i = 0; i < count; i++ ) {
 				EntityKey ek = EntityKey.deserialize( ois, session );
 				Object proxy = ois.readObject();
 				if ( proxy instanceof HibernateProxy ) {
 					( ( HibernateProxy ) proxy ).getHibernateLazyInitializer().setSession( session );
-					rtn.proxiesByKey.put( ek, proxy );
+					rtn.entityTable.putProxy( ek, proxy );
                 } else LOG.trace("Encountered prunded proxy");
 				// otherwise, the proxy was pruned during the serialization process
 			}
 
 			count = ois.readInt();
             LOG.trace("Starting deserialization of [" + count + "] entitySnapshotsByKey entries");
-			rtn.entitySnapshotsByKey = new HashMap( count < INIT_COLL_SIZE ? INIT_COLL_SIZE : count );
 			for ( int i = 0; i < count; i++ ) {
-				rtn.entitySnapshotsByKey.put( EntityKey.deserialize( ois, session ), ois.readObject() );
+				rtn.entityTable.putSnapshot( EntityKey.deserialize( ois, session ), ois.readObject() );
 			}
 
 			count = ois.readInt();
             LOG.trace("Starting deserialization of [" + count + "] entityEntries entries");
-			rtn.entityEntries = IdentityMap.instantiateSequenced( count < INIT_COLL_SIZE ? INIT_COLL_SIZE : count );
 			for ( int i = 0; i < count; i++ ) {
 				Object entity = ois.readObject();
 				EntityEntry entry = EntityEntry.deserialize( ois, session );
-				rtn.entityEntries.put( entity, entry );
+				rtn.entityTable.putEntry( entity, entry, null );
 			}
 
 			count = ois.readInt();
@@ -1600,6 +1598,9 @@ public class StatefulPersistenceContext implements PersistenceContext {
 				final CollectionEntry ce = CollectionEntry.deserialize( ois, session );
 				pc.setCurrentSession( session );
 				rtn.collectionEntries.put( pc, ce );
+				if ( !pc.wasInitialized() ) {
+					rtn.getBatchFetchQueue().addBatchLoadableCollection( pc, ce );
+				}
 			}
 
 			count = ois.readInt();
@@ -1,58 +0,0 @@
-/*
- * Hibernate, Relational Persistence for Idiomatic Java
- *
- * Copyright (c) 2010, Red Hat Inc. or third-party contributors as
- * indicated by the @author tags or express copyright attribution
- * statements applied by the authors.  All third-party contributions are
- * distributed under license by Red Hat Inc.
- *
- * This copyrighted material is made available to anyone wishing to use, modify,
- * copy, or redistribute it subject to the terms and conditions of the GNU
- * Lesser General Public License, as published by the Free Software Foundation.
- *
- * This program is distributed in the hope that it will be useful,
- * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
- * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
- * for more details.
- *
- * You should have received a copy of the GNU Lesser General Public License
- * along with this distribution; if not, write to:
- * Free Software Foundation, Inc.
- * 51 Franklin Street, Fifth Floor
- * Boston, MA  02110-1301  USA
- */
-package org.hibernate.engine.jdbc.internal.proxy;
-import java.lang.reflect.Method;
-import java.sql.CallableStatement;
-import java.sql.Connection;
-import java.sql.SQLException;
-import java.sql.Statement;
-
-/**
- * Invocation handler for {@link java.sql.CallableStatement} proxies
- *
- * @author Gail Badner
- */
-public class CallableStatementProxyHandler extends PreparedStatementProxyHandler {
-
-	protected CallableStatementProxyHandler(
-			String sql,
-			Statement statement,
-			ConnectionProxyHandler connectionProxyHandler,
-			Connection connectionProxy) {
-		super( sql, statement, connectionProxyHandler, connectionProxy );
-	}
-
-	@Override
-    protected Object continueInvocation(Object proxy, Method method, Object[] args) throws Throwable {
-		if ( ! "executeQuery".equals( method.getName() ) ) {
-			return super.continueInvocation( proxy, method, args ); // EARLY RETURN!
-		}
-		errorIfInvalid();
-		return executeQuery();
-	}
-
-	private Object executeQuery() throws SQLException {
-		return getConnectionProxy().getJdbcServices().getDialect().getResultSet( ( CallableStatement ) getStatementWithoutChecks() );
-	}
-}
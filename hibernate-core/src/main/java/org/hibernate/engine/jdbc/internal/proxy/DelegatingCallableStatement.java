@@ -0,0 +1,1214 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.engine.jdbc.internal.proxy;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.CallableStatement;
+import java.sql.Clob;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.NClob;
+import java.sql.Ref;
+import java.sql.ResultSet;
+import java.sql.RowId;
+import java.sql.SQLException;
+import java.sql.SQLXML;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.Calendar;
+import java.util.Map;
+
+/**
+ * Concrete {@link CallableStatement} wrapper.
+ */
+public class DelegatingCallableStatement extends DelegatingPreparedStatement implements CallableStatement {
+	public DelegatingCallableStatement(
+			String sql,
+			CallableStatement statement,
+			ConnectionProxyHandler connectionProxyHandler,
+			Connection connectionProxy) {
+		super( sql, statement, connectionProxyHandler, connectionProxy );
+	}
+
+	protected final CallableStatement getCallableStatement() {
+		return ( CallableStatement ) getStatement();
+	}
+
+	@Override
+	public ResultSet executeQuery() throws SQLException {
+		return getJdbcServices().getDialect().getResultSet( getCallableStatement() );
+	}
+
+	// JDBC 4.1 methods, delegated reflectively ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	@SuppressWarnings({ "unchecked" })
+	public <T> T getObject(int parameterIndex, Class<T> type) throws SQLException {
+		try {
+			return ( T ) JdbcDelegationHelper.invoke(
+					getCallableStatement(),
+					CallableStatement.class,
+					"getObject",
+					new Class[] { int.class, Class.class },
+					new Object[] { parameterIndex, type }
+			);
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@SuppressWarnings({ "unchecked" })
+	public <T> T getObject(String parameterName, Class<T> type) throws SQLException {
+		try {
+			return ( T ) JdbcDelegationHelper.invoke(
+					getCallableStatement(),
+					CallableStatement.class,
+					"getObject",
+					new Class[] { String.class, Class.class },
+					new Object[] { parameterName, type }
+			);
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	// java.sql.CallableStatement ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	@Override
+	public void registerOutParameter(int parameterIndex, int sqlType) throws SQLException {
+		try {
+			getCallableStatement().registerOutParameter( parameterIndex, sqlType );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void registerOutParameter(int parameterIndex, int sqlType, int scale) throws SQLException {
+		try {
+			getCallableStatement().registerOutParameter( parameterIndex, sqlType, scale );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public boolean wasNull() throws SQLException {
+		try {
+			return getCallableStatement().wasNull();
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public String getString(int parameterIndex) throws SQLException {
+		try {
+			return getCallableStatement().getString( parameterIndex );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public boolean getBoolean(int parameterIndex) throws SQLException {
+		try {
+			return getCallableStatement().getBoolean( parameterIndex );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public byte getByte(int parameterIndex) throws SQLException {
+		try {
+			return getCallableStatement().getByte( parameterIndex );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public short getShort(int parameterIndex) throws SQLException {
+		try {
+			return getCallableStatement().getShort( parameterIndex );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public int getInt(int parameterIndex) throws SQLException {
+		try {
+			return getCallableStatement().getInt( parameterIndex );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public long getLong(int parameterIndex) throws SQLException {
+		try {
+			return getCallableStatement().getLong( parameterIndex );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public float getFloat(int parameterIndex) throws SQLException {
+		try {
+			return getCallableStatement().getFloat( parameterIndex );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public double getDouble(int parameterIndex) throws SQLException {
+		try {
+			return getCallableStatement().getDouble( parameterIndex );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Deprecated
+	@Override
+	public BigDecimal getBigDecimal(int parameterIndex, int scale) throws SQLException {
+		try {
+			return getCallableStatement().getBigDecimal( parameterIndex, scale );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public byte[] getBytes(int parameterIndex) throws SQLException {
+		try {
+			return getCallableStatement().getBytes( parameterIndex );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public Date getDate(int parameterIndex) throws SQLException {
+		try {
+			return getCallableStatement().getDate( parameterIndex );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public Time getTime(int parameterIndex) throws SQLException {
+		try {
+			return getCallableStatement().getTime( parameterIndex );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public Timestamp getTimestamp(int parameterIndex) throws SQLException {
+		try {
+			return getCallableStatement().getTimestamp( parameterIndex );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public Object getObject(int parameterIndex) throws SQLException {
+		try {
+			return getCallableStatement().getObject( parameterIndex );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public BigDecimal getBigDecimal(int parameterIndex) throws SQLException {
+		try {
+			return getCallableStatement().getBigDecimal( parameterIndex );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public Object getObject(int parameterIndex, Map<String,Class<?>> map) throws SQLException {
+		try {
+			return getCallableStatement().getObject( parameterIndex, map );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public Ref getRef(int parameterIndex) throws SQLException {
+		try {
+			return getCallableStatement().getRef( parameterIndex );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public Blob getBlob(int parameterIndex) throws SQLException {
+		try {
+			return getCallableStatement().getBlob( parameterIndex );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public Clob getClob(int parameterIndex) throws SQLException {
+		try {
+			return getCallableStatement().getClob( parameterIndex );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public Array getArray(int parameterIndex) throws SQLException {
+		try {
+			return getCallableStatement().getArray( parameterIndex );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public Date getDate(int parameterIndex, Calendar cal) throws SQLException {
+		try {
+			return getCallableStatement().getDate( parameterIndex, cal );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public Time getTime(int parameterIndex, Calendar cal) throws SQLException {
+		try {
+			return getCallableStatement().getTime( parameterIndex, cal );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public Timestamp getTimestamp(int parameterIndex, Calendar cal) throws SQLException {
+		try {
+			return getCallableStatement().getTimestamp( parameterIndex, cal );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void registerOutParameter(int parameterIndex, int sqlType, String typeName) throws SQLException {
+		try {
+			getCallableStatement().registerOutParameter( parameterIndex, sqlType, typeName );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void registerOutParameter(String parameterName, int sqlType) throws SQLException {
+		try {
+			getCallableStatement().registerOutParameter( parameterName, sqlType );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void registerOutParameter(String parameterName, int sqlType, int scale) throws SQLException {
+		try {
+			getCallableStatement().registerOutParameter( parameterName, sqlType, scale );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void registerOutParameter(String parameterName, int sqlType, String typeName) throws SQLException {
+		try {
+			getCallableStatement().registerOutParameter( parameterName, sqlType, typeName );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public URL getURL(int parameterIndex) throws SQLException {
+		try {
+			return getCallableStatement().getURL( parameterIndex );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setURL(String parameterName, URL val) throws SQLException {
+		try {
+			getCallableStatement().setURL( parameterName, val );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setNull(String parameterName, int sqlType) throws SQLException {
+		try {
+			getCallableStatement().setNull( parameterName, sqlType );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setBoolean(String parameterName, boolean x) throws SQLException {
+		try {
+			getCallableStatement().setBoolean( parameterName, x );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setByte(String parameterName, byte x) throws SQLException {
+		try {
+			getCallableStatement().setByte( parameterName, x );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setShort(String parameterName, short x) throws SQLException {
+		try {
+			getCallableStatement().setShort( parameterName, x );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setInt(String parameterName, int x) throws SQLException {
+		try {
+			getCallableStatement().setInt( parameterName, x );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setLong(String parameterName, long x) throws SQLException {
+		try {
+			getCallableStatement().setLong( parameterName, x );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setFloat(String parameterName, float x) throws SQLException {
+		try {
+			getCallableStatement().setFloat( parameterName, x );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setDouble(String parameterName, double x) throws SQLException {
+		try {
+			getCallableStatement().setDouble( parameterName, x );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setBigDecimal(String parameterName, BigDecimal x) throws SQLException {
+		try {
+			getCallableStatement().setBigDecimal( parameterName, x );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setString(String parameterName, String x) throws SQLException {
+		try {
+			getCallableStatement().setString( parameterName, x );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setBytes(String parameterName, byte[] x) throws SQLException {
+		try {
+			getCallableStatement().setBytes( parameterName, x );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setDate(String parameterName, Date x) throws SQLException {
+		try {
+			getCallableStatement().setDate( parameterName, x );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setTime(String parameterName, Time x) throws SQLException {
+		try {
+			getCallableStatement().setTime( parameterName, x );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setTimestamp(String parameterName, Timestamp x) throws SQLException {
+		try {
+			getCallableStatement().setTimestamp( parameterName, x );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setAsciiStream(String parameterName, InputStream x, int length) throws SQLException {
+		try {
+			getCallableStatement().setAsciiStream( parameterName, x, length );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setBinaryStream(String parameterName, InputStream x, int length) throws SQLException {
+		try {
+			getCallableStatement().setBinaryStream( parameterName, x, length );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setObject(String parameterName, Object x, int targetSqlType, int scale) throws SQLException {
+		try {
+			getCallableStatement().setObject( parameterName, x, targetSqlType, scale );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setObject(String parameterName, Object x, int targetSqlType) throws SQLException {
+		try {
+			getCallableStatement().setObject( parameterName, x, targetSqlType );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setObject(String parameterName, Object x) throws SQLException {
+		try {
+			getCallableStatement().setObject( parameterName, x );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setCharacterStream(String parameterName, Reader reader, int length) throws SQLException {
+		try {
+			getCallableStatement().setCharacterStream( parameterName, reader, length );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setDate(String parameterName, Date x, Calendar cal) throws SQLException {
+		try {
+			getCallableStatement().setDate( parameterName, x, cal );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setTime(String parameterName, Time x, Calendar cal) throws SQLException {
+		try {
+			getCallableStatement().setTime( parameterName, x, cal );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setTimestamp(String parameterName, Timestamp x, Calendar cal) throws SQLException {
+		try {
+			getCallableStatement().setTimestamp( parameterName, x, cal );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setNull(String parameterName, int sqlType, String typeName) throws SQLException {
+		try {
+			getCallableStatement().setNull( parameterName, sqlType, typeName );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public String getString(String parameterName) throws SQLException {
+		try {
+			return getCallableStatement().getString( parameterName );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public boolean getBoolean(String parameterName) throws SQLException {
+		try {
+			return getCallableStatement().getBoolean( parameterName );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public byte getByte(String parameterName) throws SQLException {
+		try {
+			return getCallableStatement().getByte( parameterName );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public short getShort(String parameterName) throws SQLException {
+		try {
+			return getCallableStatement().getShort( parameterName );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public int getInt(String parameterName) throws SQLException {
+		try {
+			return getCallableStatement().getInt( parameterName );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public long getLong(String parameterName) throws SQLException {
+		try {
+			return getCallableStatement().getLong( parameterName );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public float getFloat(String parameterName) throws SQLException {
+		try {
+			return getCallableStatement().getFloat( parameterName );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public double getDouble(String parameterName) throws SQLException {
+		try {
+			return getCallableStatement().getDouble( parameterName );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public byte[] getBytes(String parameterName) throws SQLException {
+		try {
+			return getCallableStatement().getBytes( parameterName );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public Date getDate(String parameterName) throws SQLException {
+		try {
+			return getCallableStatement().getDate( parameterName );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public Time getTime(String parameterName) throws SQLException {
+		try {
+			return getCallableStatement().getTime( parameterName );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public Timestamp getTimestamp(String parameterName) throws SQLException {
+		try {
+			return getCallableStatement().getTimestamp( parameterName );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public Object getObject(String parameterName) throws SQLException {
+		try {
+			return getCallableStatement().getObject( parameterName );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public BigDecimal getBigDecimal(String parameterName) throws SQLException {
+		try {
+			return getCallableStatement().getBigDecimal( parameterName );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public Object getObject(String parameterName, Map<String,Class<?>> map) throws SQLException {
+		try {
+			return getCallableStatement().getObject( parameterName, map );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public Ref getRef(String parameterName) throws SQLException {
+		try {
+			return getCallableStatement().getRef( parameterName );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public Blob getBlob(String parameterName) throws SQLException {
+		try {
+			return getCallableStatement().getBlob( parameterName );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public Clob getClob(String parameterName) throws SQLException {
+		try {
+			return getCallableStatement().getClob( parameterName );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public Array getArray(String parameterName) throws SQLException {
+		try {
+			return getCallableStatement().getArray( parameterName );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public Date getDate(String parameterName, Calendar cal) throws SQLException {
+		try {
+			return getCallableStatement().getDate( parameterName, cal );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public Time getTime(String parameterName, Calendar cal) throws SQLException {
+		try {
+			return getCallableStatement().getTime( parameterName, cal );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public Timestamp getTimestamp(String parameterName, Calendar cal) throws SQLException {
+		try {
+			return getCallableStatement().getTimestamp( parameterName, cal );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public URL getURL(String parameterName) throws SQLException {
+		try {
+			return getCallableStatement().getURL( parameterName );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public RowId getRowId(int parameterIndex) throws SQLException {
+		try {
+			return getCallableStatement().getRowId( parameterIndex );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public RowId getRowId(String parameterName) throws SQLException {
+		try {
+			return getCallableStatement().getRowId( parameterName );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setRowId(String parameterName, RowId x) throws SQLException {
+		try {
+			getCallableStatement().setRowId( parameterName, x );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setNString(String parameterName, String value) throws SQLException {
+		try {
+			getCallableStatement().setNString( parameterName, value );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setNCharacterStream(String parameterName, Reader value, long length) throws SQLException {
+		try {
+			getCallableStatement().setNCharacterStream( parameterName, value, length );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setNClob(String parameterName, NClob value) throws SQLException {
+		try {
+			getCallableStatement().setNClob( parameterName, value );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setClob(String parameterName, Reader reader, long length) throws SQLException {
+		try {
+			getCallableStatement().setClob( parameterName, reader, length );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setBlob(String parameterName, InputStream inputStream, long length) throws SQLException {
+		try {
+			getCallableStatement().setBlob( parameterName, inputStream, length );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setNClob(String parameterName, Reader reader, long length) throws SQLException {
+		try {
+			getCallableStatement().setNClob( parameterName, reader, length );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public NClob getNClob(int parameterIndex) throws SQLException {
+		try {
+			return getCallableStatement().getNClob( parameterIndex );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public NClob getNClob(String parameterName) throws SQLException {
+		try {
+			return getCallableStatement().getNClob( parameterName );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setSQLXML(String parameterName, SQLXML xmlObject) throws SQLException {
+		try {
+			getCallableStatement().setSQLXML( parameterName, xmlObject );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public SQLXML getSQLXML(int parameterIndex) throws SQLException {
+		try {
+			return getCallableStatement().getSQLXML( parameterIndex );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public SQLXML getSQLXML(String parameterName) throws SQLException {
+		try {
+			return getCallableStatement().getSQLXML( parameterName );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public String getNString(int parameterIndex) throws SQLException {
+		try {
+			return getCallableStatement().getNString( parameterIndex );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public String getNString(String parameterName) throws SQLException {
+		try {
+			return getCallableStatement().getNString( parameterName );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public Reader getNCharacterStream(int parameterIndex) throws SQLException {
+		try {
+			return getCallableStatement().getNCharacterStream( parameterIndex );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public Reader getNCharacterStream(String parameterName) throws SQLException {
+		try {
+			return getCallableStatement().getNCharacterStream( parameterName );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public Reader getCharacterStream(int parameterIndex) throws SQLException {
+		try {
+			return getCallableStatement().getCharacterStream( parameterIndex );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public Reader getCharacterStream(String parameterName) throws SQLException {
+		try {
+			return getCallableStatement().getCharacterStream( parameterName );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setBlob(String parameterName, Blob x) throws SQLException {
+		try {
+			getCallableStatement().setBlob( parameterName, x );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setClob(String parameterName, Clob x) throws SQLException {
+		try {
+			getCallableStatement().setClob( parameterName, x );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setAsciiStream(String parameterName, InputStream x, long length) throws SQLException {
+		try {
+			getCallableStatement().setAsciiStream( parameterName, x, length );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setBinaryStream(String parameterName, InputStream x, long length) throws SQLException {
+		try {
+			getCallableStatement().setBinaryStream( parameterName, x, length );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setCharacterStream(String parameterName, Reader reader, long length) throws SQLException {
+		try {
+			getCallableStatement().setCharacterStream( parameterName, reader, length );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setAsciiStream(String parameterName, InputStream x) throws SQLException {
+		try {
+			getCallableStatement().setAsciiStream( parameterName, x );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setBinaryStream(String parameterName, InputStream x) throws SQLException {
+		try {
+			getCallableStatement().setBinaryStream( parameterName, x );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setCharacterStream(String parameterName, Reader reader) throws SQLException {
+		try {
+			getCallableStatement().setCharacterStream( parameterName, reader );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setNCharacterStream(String parameterName, Reader value) throws SQLException {
+		try {
+			getCallableStatement().setNCharacterStream( parameterName, value );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setClob(String parameterName, Reader reader) throws SQLException {
+		try {
+			getCallableStatement().setClob( parameterName, reader );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setBlob(String parameterName, InputStream inputStream) throws SQLException {
+		try {
+			getCallableStatement().setBlob( parameterName, inputStream );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setNClob(String parameterName, Reader reader) throws SQLException {
+		try {
+			getCallableStatement().setNClob( parameterName, reader );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+}
@@ -0,0 +1,625 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.engine.jdbc.internal.proxy;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.NClob;
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.Ref;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.RowId;
+import java.sql.SQLException;
+import java.sql.SQLXML;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.Calendar;
+
+/**
+ * Concrete {@link PreparedStatement} wrapper; parameter binds and column access are plain delegating calls.
+ */
+public class DelegatingPreparedStatement extends DelegatingStatement implements PreparedStatement {
+	public DelegatingPreparedStatement(
+			String sql,
+			PreparedStatement statement,
+			ConnectionProxyHandler connectionProxyHandler,
+			Connection connectionProxy) {
+		super( statement, connectionProxyHandler, connectionProxy );
+		connectionProxyHandler.getJdbcServices().getSqlStatementLogger().logStatement( sql );
+	}
+
+	protected final PreparedStatement getPreparedStatement() {
+		return ( PreparedStatement ) getStatement();
+	}
+
+	@Override
+	protected void beginExecution(String sql) {
+		// the SQL was already logged when the statement was prepared
+	}
+
+	// java.sql.PreparedStatement ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	@Override
+	public ResultSet executeQuery() throws SQLException {
+		try {
+			beginExecution( null );
+			return wrapResultSet( getPreparedStatement().executeQuery() );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public int executeUpdate() throws SQLException {
+		try {
+			beginExecution( null );
+			return getPreparedStatement().executeUpdate();
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setNull(int parameterIndex, int sqlType) throws SQLException {
+		try {
+			getPreparedStatement().setNull( parameterIndex, sqlType );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setBoolean(int parameterIndex, boolean x) throws SQLException {
+		try {
+			getPreparedStatement().setBoolean( parameterIndex, x );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setByte(int parameterIndex, byte x) throws SQLException {
+		try {
+			getPreparedStatement().setByte( parameterIndex, x );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setShort(int parameterIndex, short x) throws SQLException {
+		try {
+			getPreparedStatement().setShort( parameterIndex, x );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setInt(int parameterIndex, int x) throws SQLException {
+		try {
+			getPreparedStatement().setInt( parameterIndex, x );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setLong(int parameterIndex, long x) throws SQLException {
+		try {
+			getPreparedStatement().setLong( parameterIndex, x );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setFloat(int parameterIndex, float x) throws SQLException {
+		try {
+			getPreparedStatement().setFloat( parameterIndex, x );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setDouble(int parameterIndex, double x) throws SQLException {
+		try {
+			getPreparedStatement().setDouble( parameterIndex, x );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setBigDecimal(int parameterIndex, BigDecimal x) throws SQLException {
+		try {
+			getPreparedStatement().setBigDecimal( parameterIndex, x );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setString(int parameterIndex, String x) throws SQLException {
+		try {
+			getPreparedStatement().setString( parameterIndex, x );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setBytes(int parameterIndex, byte[] x) throws SQLException {
+		try {
+			getPreparedStatement().setBytes( parameterIndex, x );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setDate(int parameterIndex, Date x) throws SQLException {
+		try {
+			getPreparedStatement().setDate( parameterIndex, x );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setTime(int parameterIndex, Time x) throws SQLException {
+		try {
+			getPreparedStatement().setTime( parameterIndex, x );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setTimestamp(int parameterIndex, Timestamp x) throws SQLException {
+		try {
+			getPreparedStatement().setTimestamp( parameterIndex, x );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setAsciiStream(int parameterIndex, InputStream x, int length) throws SQLException {
+		try {
+			getPreparedStatement().setAsciiStream( parameterIndex, x, length );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Deprecated
+	@Override
+	public void setUnicodeStream(int parameterIndex, InputStream x, int length) throws SQLException {
+		try {
+			getPreparedStatement().setUnicodeStream( parameterIndex, x, length );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setBinaryStream(int parameterIndex, InputStream x, int length) throws SQLException {
+		try {
+			getPreparedStatement().setBinaryStream( parameterIndex, x, length );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void clearParameters() throws SQLException {
+		try {
+			getPreparedStatement().clearParameters();
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setObject(int parameterIndex, Object x, int targetSqlType) throws SQLException {
+		try {
+			getPreparedStatement().setObject( parameterIndex, x, targetSqlType );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setObject(int parameterIndex, Object x) throws SQLException {
+		try {
+			getPreparedStatement().setObject( parameterIndex, x );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public boolean execute() throws SQLException {
+		try {
+			beginExecution( null );
+			return getPreparedStatement().execute();
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void addBatch() throws SQLException {
+		try {
+			getPreparedStatement().addBatch();
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setCharacterStream(int parameterIndex, Reader reader, int length) throws SQLException {
+		try {
+			getPreparedStatement().setCharacterStream( parameterIndex, reader, length );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setRef(int parameterIndex, Ref x) throws SQLException {
+		try {
+			getPreparedStatement().setRef( parameterIndex, x );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setBlob(int parameterIndex, Blob x) throws SQLException {
+		try {
+			getPreparedStatement().setBlob( parameterIndex, x );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setClob(int parameterIndex, Clob x) throws SQLException {
+		try {
+			getPreparedStatement().setClob( parameterIndex, x );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setArray(int parameterIndex, Array x) throws SQLException {
+		try {
+			getPreparedStatement().setArray( parameterIndex, x );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public ResultSetMetaData getMetaData() throws SQLException {
+		try {
+			return getPreparedStatement().getMetaData();
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setDate(int parameterIndex, Date x, Calendar cal) throws SQLException {
+		try {
+			getPreparedStatement().setDate( parameterIndex, x, cal );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setTime(int parameterIndex, Time x, Calendar cal) throws SQLException {
+		try {
+			getPreparedStatement().setTime( parameterIndex, x, cal );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setTimestamp(int parameterIndex, Timestamp x, Calendar cal) throws SQLException {
+		try {
+			getPreparedStatement().setTimestamp( parameterIndex, x, cal );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setNull(int parameterIndex, int sqlType, String typeName) throws SQLException {
+		try {
+			getPreparedStatement().setNull( parameterIndex, sqlType, typeName );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setURL(int parameterIndex, URL x) throws SQLException {
+		try {
+			getPreparedStatement().setURL( parameterIndex, x );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public ParameterMetaData getParameterMetaData() throws SQLException {
+		try {
+			return getPreparedStatement().getParameterMetaData();
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setRowId(int parameterIndex, RowId x) throws SQLException {
+		try {
+			getPreparedStatement().setRowId( parameterIndex, x );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setNString(int parameterIndex, String value) throws SQLException {
+		try {
+			getPreparedStatement().setNString( parameterIndex, value );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setNCharacterStream(int parameterIndex, Reader value, long length) throws SQLException {
+		try {
+			getPreparedStatement().setNCharacterStream( parameterIndex, value, length );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setNClob(int parameterIndex, NClob value) throws SQLException {
+		try {
+			getPreparedStatement().setNClob( parameterIndex, value );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setClob(int parameterIndex, Reader reader, long length) throws SQLException {
+		try {
+			getPreparedStatement().setClob( parameterIndex, reader, length );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setBlob(int parameterIndex, InputStream inputStream, long length) throws SQLException {
+		try {
+			getPreparedStatement().setBlob( parameterIndex, inputStream, length );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setNClob(int parameterIndex, Reader reader, long length) throws SQLException {
+		try {
+			getPreparedStatement().setNClob( parameterIndex, reader, length );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setSQLXML(int parameterIndex, SQLXML xmlObject) throws SQLException {
+		try {
+			getPreparedStatement().setSQLXML( parameterIndex, xmlObject );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setObject(int parameterIndex, Object x, int targetSqlType, int scaleOrLength) throws SQLException {
+		try {
+			getPreparedStatement().setObject( parameterIndex, x, targetSqlType, scaleOrLength );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setAsciiStream(int parameterIndex, InputStream x, long length) throws SQLException {
+		try {
+			getPreparedStatement().setAsciiStream( parameterIndex, x, length );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setBinaryStream(int parameterIndex, InputStream x, long length) throws SQLException {
+		try {
+			getPreparedStatement().setBinaryStream( parameterIndex, x, length );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setCharacterStream(int parameterIndex, Reader reader, long length) throws SQLException {
+		try {
+			getPreparedStatement().setCharacterStream( parameterIndex, reader, length );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setAsciiStream(int parameterIndex, InputStream x) throws SQLException {
+		try {
+			getPreparedStatement().setAsciiStream( parameterIndex, x );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setBinaryStream(int parameterIndex, InputStream x) throws SQLException {
+		try {
+			getPreparedStatement().setBinaryStream( parameterIndex, x );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setCharacterStream(int parameterIndex, Reader reader) throws SQLException {
+		try {
+			getPreparedStatement().setCharacterStream( parameterIndex, reader );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setNCharacterStream(int parameterIndex, Reader value) throws SQLException {
+		try {
+			getPreparedStatement().setNCharacterStream( parameterIndex, value );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setClob(int parameterIndex, Reader reader) throws SQLException {
+		try {
+			getPreparedStatement().setClob( parameterIndex, reader );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setBlob(int parameterIndex, InputStream inputStream) throws SQLException {
+		try {
+			getPreparedStatement().setBlob( parameterIndex, inputStream );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setNClob(int parameterIndex, Reader reader) throws SQLException {
+		try {
+			getPreparedStatement().setNClob( parameterIndex, reader );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+}
@@ -0,0 +1,2044 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.engine.jdbc.internal.proxy;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.NClob;
+import java.sql.Ref;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.RowId;
+import java.sql.SQLException;
+import java.sql.SQLWarning;
+import java.sql.SQLXML;
+import java.sql.Statement;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.Calendar;
+import java.util.Map;
+
+import org.hibernate.HibernateException;
+import org.hibernate.JDBCException;
+import org.hibernate.engine.jdbc.spi.InvalidatableWrapper;
+
+/**
+ * Concrete {@link ResultSet} wrapper.  Column access is a direct delegating call; only {@link #close()} and
+ * {@link #getStatement()} add behavior, releasing through the {@link org.hibernate.engine.jdbc.spi.JdbcResourceRegistry}
+ * and exposing the wrapped statement respectively.
+ * <p/>
+ * When no source statement is given (result sets obtained from {@link java.sql.DatabaseMetaData} e.g.) an
+ * {@link ImplicitDelegatingStatement} is built on first request.
+ */
+public class DelegatingResultSet implements ResultSet, InvalidatableWrapper<ResultSet> {
+	private final int hashCode;
+	private boolean valid = true;
+
+	private ResultSet resultSet;
+	private ConnectionProxyHandler connectionProxyHandler;
+	private final Connection connectionProxy;
+	private Statement statement;
+
+	public DelegatingResultSet(
+			ResultSet resultSet,
+			ConnectionProxyHandler connectionProxyHandler,
+			Connection connectionProxy,
+			Statement statement) {
+		this.hashCode = resultSet.hashCode();
+		this.resultSet = resultSet;
+		this.connectionProxyHandler = connectionProxyHandler;
+		this.connectionProxy = connectionProxy;
+		this.statement = statement;
+	}
+
+	private void errorIfInvalid() {
+		if ( !valid ) {
+			throw new HibernateException( "proxy handle is no longer valid" );
+		}
+	}
+
+	protected final ResultSet getResultSet() {
+		errorIfInvalid();
+		return resultSet;
+	}
+
+	protected final JDBCException convert(SQLException e) {
+		return connectionProxyHandler.getJdbcServices().getSqlExceptionHelper().convert( e, e.getMessage() );
+	}
+
+	@Override
+	public ResultSet getWrappedObject() {
+		errorIfInvalid();
+		return resultSet;
+	}
+
+	@Override
+	public void invalidate() {
+		resultSet = null;
+		statement = null;
+		valid = false;
+	}
+
+	@Override
+	public int hashCode() {
+		return hashCode;
+	}
+
+	@Override
+	public String toString() {
+		return super.toString() + "[valid=" + valid + "]";
+	}
+
+	@Override
+	public void close() throws SQLException {
+		if ( valid ) {
+			connectionProxyHandler.getResourceRegistry().release( this );
+		}
+	}
+
+	@Override
+	public Statement getStatement() throws SQLException {
+		errorIfInvalid();
+		if ( statement == null ) {
+			try {
+				Statement physicalStatement = resultSet.getStatement();
+				if ( physicalStatement == null ) {
+					return null;
+				}
+				statement = ProxyBuilder.buildImplicitStatement( physicalStatement, connectionProxyHandler, connectionProxy );
+			}
+			catch ( SQLException e ) {
+				throw convert( e );
+			}
+		}
+		return statement;
+	}
+
+	@Override
+	public <T> T unwrap(Class<T> iface) throws SQLException {
+		return getResultSet().unwrap( iface );
+	}
+
+	@Override
+	public boolean isWrapperFor(Class<?> iface) throws SQLException {
+		return getResultSet().isWrapperFor( iface );
+	}
+
+	// JDBC 4.1 methods, delegated reflectively ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	@SuppressWarnings({ "unchecked" })
+	public <T> T getObject(int columnIndex, Class<T> type) throws SQLException {
+		try {
+			return ( T ) JdbcDelegationHelper.invoke(
+					getResultSet(),
+					ResultSet.class,
+					"getObject",
+					new Class[] { int.class, Class.class },
+					new Object[] { columnIndex, type }
+			);
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@SuppressWarnings({ "unchecked" })
+	public <T> T getObject(String columnLabel, Class<T> type) throws SQLException {
+		try {
+			return ( T ) JdbcDelegationHelper.invoke(
+					getResultSet(),
+					ResultSet.class,
+					"getObject",
+					new Class[] { String.class, Class.class },
+					new Object[] { columnLabel, type }
+			);
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	// java.sql.ResultSet ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	@Override
+	public boolean next() throws SQLException {
+		try {
+			return getResultSet().next();
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public boolean wasNull() throws SQLException {
+		try {
+			return getResultSet().wasNull();
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public String getString(int columnIndex) throws SQLException {
+		try {
+			return getResultSet().getString( columnIndex );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public boolean getBoolean(int columnIndex) throws SQLException {
+		try {
+			return getResultSet().getBoolean( columnIndex );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public byte getByte(int columnIndex) throws SQLException {
+		try {
+			return getResultSet().getByte( columnIndex );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public short getShort(int columnIndex) throws SQLException {
+		try {
+			return getResultSet().getShort( columnIndex );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public int getInt(int columnIndex) throws SQLException {
+		try {
+			return getResultSet().getInt( columnIndex );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public long getLong(int columnIndex) throws SQLException {
+		try {
+			return getResultSet().getLong( columnIndex );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public float getFloat(int columnIndex) throws SQLException {
+		try {
+			return getResultSet().getFloat( columnIndex );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public double getDouble(int columnIndex) throws SQLException {
+		try {
+			return getResultSet().getDouble( columnIndex );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Deprecated
+	@Override
+	public BigDecimal getBigDecimal(int columnIndex, int scale) throws SQLException {
+		try {
+			return getResultSet().getBigDecimal( columnIndex, scale );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public byte[] getBytes(int columnIndex) throws SQLException {
+		try {
+			return getResultSet().getBytes( columnIndex );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public Date getDate(int columnIndex) throws SQLException {
+		try {
+			return getResultSet().getDate( columnIndex );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public Time getTime(int columnIndex) throws SQLException {
+		try {
+			return getResultSet().getTime( columnIndex );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public Timestamp getTimestamp(int columnIndex) throws SQLException {
+		try {
+			return getResultSet().getTimestamp( columnIndex );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public InputStream getAsciiStream(int columnIndex) throws SQLException {
+		try {
+			return getResultSet().getAsciiStream( columnIndex );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Deprecated
+	@Override
+	public InputStream getUnicodeStream(int columnIndex) throws SQLException {
+		try {
+			return getResultSet().getUnicodeStream( columnIndex );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public InputStream getBinaryStream(int columnIndex) throws SQLException {
+		try {
+			return getResultSet().getBinaryStream( columnIndex );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public String getString(String columnLabel) throws SQLException {
+		try {
+			return getResultSet().getString( columnLabel );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public boolean getBoolean(String columnLabel) throws SQLException {
+		try {
+			return getResultSet().getBoolean( columnLabel );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public byte getByte(String columnLabel) throws SQLException {
+		try {
+			return getResultSet().getByte( columnLabel );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public short getShort(String columnLabel) throws SQLException {
+		try {
+			return getResultSet().getShort( columnLabel );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public int getInt(String columnLabel) throws SQLException {
+		try {
+			return getResultSet().getInt( columnLabel );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public long getLong(String columnLabel) throws SQLException {
+		try {
+			return getResultSet().getLong( columnLabel );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public float getFloat(String columnLabel) throws SQLException {
+		try {
+			return getResultSet().getFloat( columnLabel );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public double getDouble(String columnLabel) throws SQLException {
+		try {
+			return getResultSet().getDouble( columnLabel );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Deprecated
+	@Override
+	public BigDecimal getBigDecimal(String columnLabel, int scale) throws SQLException {
+		try {
+			return getResultSet().getBigDecimal( columnLabel, scale );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public byte[] getBytes(String columnLabel) throws SQLException {
+		try {
+			return getResultSet().getBytes( columnLabel );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public Date getDate(String columnLabel) throws SQLException {
+		try {
+			return getResultSet().getDate( columnLabel );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public Time getTime(String columnLabel) throws SQLException {
+		try {
+			return getResultSet().getTime( columnLabel );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public Timestamp getTimestamp(String columnLabel) throws SQLException {
+		try {
+			return getResultSet().getTimestamp( columnLabel );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public InputStream getAsciiStream(String columnLabel) throws SQLException {
+		try {
+			return getResultSet().getAsciiStream( columnLabel );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Deprecated
+	@Override
+	public InputStream getUnicodeStream(String columnLabel) throws SQLException {
+		try {
+			return getResultSet().getUnicodeStream( columnLabel );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public InputStream getBinaryStream(String columnLabel) throws SQLException {
+		try {
+			return getResultSet().getBinaryStream( columnLabel );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public SQLWarning getWarnings() throws SQLException {
+		try {
+			return getResultSet().getWarnings();
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void clearWarnings() throws SQLException {
+		try {
+			getResultSet().clearWarnings();
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public String getCursorName() throws SQLException {
+		try {
+			return getResultSet().getCursorName();
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public ResultSetMetaData getMetaData() throws SQLException {
+		try {
+			return getResultSet().getMetaData();
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public Object getObject(int columnIndex) throws SQLException {
+		try {
+			return getResultSet().getObject( columnIndex );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public Object getObject(String columnLabel) throws SQLException {
+		try {
+			return getResultSet().getObject( columnLabel );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public int findColumn(String columnLabel) throws SQLException {
+		try {
+			return getResultSet().findColumn( columnLabel );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public Reader getCharacterStream(int columnIndex) throws SQLException {
+		try {
+			return getResultSet().getCharacterStream( columnIndex );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public Reader getCharacterStream(String columnLabel) throws SQLException {
+		try {
+			return getResultSet().getCharacterStream( columnLabel );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public BigDecimal getBigDecimal(int columnIndex) throws SQLException {
+		try {
+			return getResultSet().getBigDecimal( columnIndex );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public BigDecimal getBigDecimal(String columnLabel) throws SQLException {
+		try {
+			return getResultSet().getBigDecimal( columnLabel );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public boolean isBeforeFirst() throws SQLException {
+		try {
+			return getResultSet().isBeforeFirst();
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public boolean isAfterLast() throws SQLException {
+		try {
+			return getResultSet().isAfterLast();
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public boolean isFirst() throws SQLException {
+		try {
+			return getResultSet().isFirst();
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public boolean isLast() throws SQLException {
+		try {
+			return getResultSet().isLast();
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void beforeFirst() throws SQLException {
+		try {
+			getResultSet().beforeFirst();
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void afterLast() throws SQLException {
+		try {
+			getResultSet().afterLast();
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public boolean first() throws SQLException {
+		try {
+			return getResultSet().first();
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public boolean last() throws SQLException {
+		try {
+			return getResultSet().last();
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public int getRow() throws SQLException {
+		try {
+			return getResultSet().getRow();
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public boolean absolute(int row) throws SQLException {
+		try {
+			return getResultSet().absolute( row );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public boolean relative(int rows) throws SQLException {
+		try {
+			return getResultSet().relative( rows );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public boolean previous() throws SQLException {
+		try {
+			return getResultSet().previous();
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setFetchDirection(int direction) throws SQLException {
+		try {
+			getResultSet().setFetchDirection( direction );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public int getFetchDirection() throws SQLException {
+		try {
+			return getResultSet().getFetchDirection();
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setFetchSize(int rows) throws SQLException {
+		try {
+			getResultSet().setFetchSize( rows );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public int getFetchSize() throws SQLException {
+		try {
+			return getResultSet().getFetchSize();
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public int getType() throws SQLException {
+		try {
+			return getResultSet().getType();
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public int getConcurrency() throws SQLException {
+		try {
+			return getResultSet().getConcurrency();
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public boolean rowUpdated() throws SQLException {
+		try {
+			return getResultSet().rowUpdated();
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public boolean rowInserted() throws SQLException {
+		try {
+			return getResultSet().rowInserted();
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public boolean rowDeleted() throws SQLException {
+		try {
+			return getResultSet().rowDeleted();
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void updateNull(int columnIndex) throws SQLException {
+		try {
+			getResultSet().updateNull( columnIndex );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void updateBoolean(int columnIndex, boolean x) throws SQLException {
+		try {
+			getResultSet().updateBoolean( columnIndex, x );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void updateByte(int columnIndex, byte x) throws SQLException {
+		try {
+			getResultSet().updateByte( columnIndex, x );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void updateShort(int columnIndex, short x) throws SQLException {
+		try {
+			getResultSet().updateShort( columnIndex, x );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void updateInt(int columnIndex, int x) throws SQLException {
+		try {
+			getResultSet().updateInt( columnIndex, x );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void updateLong(int columnIndex, long x) throws SQLException {
+		try {
+			getResultSet().updateLong( columnIndex, x );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void updateFloat(int columnIndex, float x) throws SQLException {
+		try {
+			getResultSet().updateFloat( columnIndex, x );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void updateDouble(int columnIndex, double x) throws SQLException {
+		try {
+			getResultSet().updateDouble( columnIndex, x );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void updateBigDecimal(int columnIndex, BigDecimal x) throws SQLException {
+		try {
+			getResultSet().updateBigDecimal( columnIndex, x );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void updateString(int columnIndex, String x) throws SQLException {
+		try {
+			getResultSet().updateString( columnIndex, x );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void updateBytes(int columnIndex, byte[] x) throws SQLException {
+		try {
+			getResultSet().updateBytes( columnIndex, x );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void updateDate(int columnIndex, Date x) throws SQLException {
+		try {
+			getResultSet().updateDate( columnIndex, x );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void updateTime(int columnIndex, Time x) throws SQLException {
+		try {
+			getResultSet().updateTime( columnIndex, x );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void updateTimestamp(int columnIndex, Timestamp x) throws SQLException {
+		try {
+			getResultSet().updateTimestamp( columnIndex, x );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void updateAsciiStream(int columnIndex, InputStream x, int length) throws SQLException {
+		try {
+			getResultSet().updateAsciiStream( columnIndex, x, length );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void updateBinaryStream(int columnIndex, InputStream x, int length) throws SQLException {
+		try {
+			getResultSet().updateBinaryStream( columnIndex, x, length );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void updateCharacterStream(int columnIndex, Reader x, int length) throws SQLException {
+		try {
+			getResultSet().updateCharacterStream( columnIndex, x, length );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void updateObject(int columnIndex, Object x, int scaleOrLength) throws SQLException {
+		try {
+			getResultSet().updateObject( columnIndex, x, scaleOrLength );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void updateObject(int columnIndex, Object x) throws SQLException {
+		try {
+			getResultSet().updateObject( columnIndex, x );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void updateNull(String columnLabel) throws SQLException {
+		try {
+			getResultSet().updateNull( columnLabel );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void updateBoolean(String columnLabel, boolean x) throws SQLException {
+		try {
+			getResultSet().updateBoolean( columnLabel, x );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void updateByte(String columnLabel, byte x) throws SQLException {
+		try {
+			getResultSet().updateByte( columnLabel, x );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void updateShort(String columnLabel, short x) throws SQLException {
+		try {
+			getResultSet().updateShort( columnLabel, x );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void updateInt(String columnLabel, int x) throws SQLException {
+		try {
+			getResultSet().updateInt( columnLabel, x );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void updateLong(String columnLabel, long x) throws SQLException {
+		try {
+			getResultSet().updateLong( columnLabel, x );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void updateFloat(String columnLabel, float x) throws SQLException {
+		try {
+			getResultSet().updateFloat( columnLabel, x );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void updateDouble(String columnLabel, double x) throws SQLException {
+		try {
+			getResultSet().updateDouble( columnLabel, x );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void updateBigDecimal(String columnLabel, BigDecimal x) throws SQLException {
+		try {
+			getResultSet().updateBigDecimal( columnLabel, x );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void updateString(String columnLabel, String x) throws SQLException {
+		try {
+			getResultSet().updateString( columnLabel, x );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void updateBytes(String columnLabel, byte[] x) throws SQLException {
+		try {
+			getResultSet().updateBytes( columnLabel, x );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void updateDate(String columnLabel, Date x) throws SQLException {
+		try {
+			getResultSet().updateDate( columnLabel, x );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void updateTime(String columnLabel, Time x) throws SQLException {
+		try {
+			getResultSet().updateTime( columnLabel, x );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void updateTimestamp(String columnLabel, Timestamp x) throws SQLException {
+		try {
+			getResultSet().updateTimestamp( columnLabel, x );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void updateAsciiStream(String columnLabel, InputStream x, int length) throws SQLException {
+		try {
+			getResultSet().updateAsciiStream( columnLabel, x, length );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void updateBinaryStream(String columnLabel, InputStream x, int length) throws SQLException {
+		try {
+			getResultSet().updateBinaryStream( columnLabel, x, length );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void updateCharacterStream(String columnLabel, Reader reader, int length) throws SQLException {
+		try {
+			getResultSet().updateCharacterStream( columnLabel, reader, length );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void updateObject(String columnLabel, Object x, int scaleOrLength) throws SQLException {
+		try {
+			getResultSet().updateObject( columnLabel, x, scaleOrLength );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void updateObject(String columnLabel, Object x) throws SQLException {
+		try {
+			getResultSet().updateObject( columnLabel, x );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void insertRow() throws SQLException {
+		try {
+			getResultSet().insertRow();
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void updateRow() throws SQLException {
+		try {
+			getResultSet().updateRow();
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void deleteRow() throws SQLException {
+		try {
+			getResultSet().deleteRow();
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void refreshRow() throws SQLException {
+		try {
+			getResultSet().refreshRow();
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void cancelRowUpdates() throws SQLException {
+		try {
+			getResultSet().cancelRowUpdates();
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void moveToInsertRow() throws SQLException {
+		try {
+			getResultSet().moveToInsertRow();
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void moveToCurrentRow() throws SQLException {
+		try {
+			getResultSet().moveToCurrentRow();
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public Object getObject(int columnIndex, Map<String,Class<?>> map) throws SQLException {
+		try {
+			return getResultSet().getObject( columnIndex, map );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public Ref getRef(int columnIndex) throws SQLException {
+		try {
+			return getResultSet().getRef( columnIndex );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public Blob getBlob(int columnIndex) throws SQLException {
+		try {
+			return getResultSet().getBlob( columnIndex );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public Clob getClob(int columnIndex) throws SQLException {
+		try {
+			return getResultSet().getClob( columnIndex );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public Array getArray(int columnIndex) throws SQLException {
+		try {
+			return getResultSet().getArray( columnIndex );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public Object getObject(String columnLabel, Map<String,Class<?>> map) throws SQLException {
+		try {
+			return getResultSet().getObject( columnLabel, map );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public Ref getRef(String columnLabel) throws SQLException {
+		try {
+			return getResultSet().getRef( columnLabel );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public Blob getBlob(String columnLabel) throws SQLException {
+		try {
+			return getResultSet().getBlob( columnLabel );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public Clob getClob(String columnLabel) throws SQLException {
+		try {
+			return getResultSet().getClob( columnLabel );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public Array getArray(String columnLabel) throws SQLException {
+		try {
+			return getResultSet().getArray( columnLabel );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public Date getDate(int columnIndex, Calendar cal) throws SQLException {
+		try {
+			return getResultSet().getDate( columnIndex, cal );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public Date getDate(String columnLabel, Calendar cal) throws SQLException {
+		try {
+			return getResultSet().getDate( columnLabel, cal );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public Time getTime(int columnIndex, Calendar cal) throws SQLException {
+		try {
+			return getResultSet().getTime( columnIndex, cal );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public Time getTime(String columnLabel, Calendar cal) throws SQLException {
+		try {
+			return getResultSet().getTime( columnLabel, cal );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public Timestamp getTimestamp(int columnIndex, Calendar cal) throws SQLException {
+		try {
+			return getResultSet().getTimestamp( columnIndex, cal );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public Timestamp getTimestamp(String columnLabel, Calendar cal) throws SQLException {
+		try {
+			return getResultSet().getTimestamp( columnLabel, cal );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public URL getURL(int columnIndex) throws SQLException {
+		try {
+			return getResultSet().getURL( columnIndex );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public URL getURL(String columnLabel) throws SQLException {
+		try {
+			return getResultSet().getURL( columnLabel );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void updateRef(int columnIndex, Ref x) throws SQLException {
+		try {
+			getResultSet().updateRef( columnIndex, x );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void updateRef(String columnLabel, Ref x) throws SQLException {
+		try {
+			getResultSet().updateRef( columnLabel, x );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void updateBlob(int columnIndex, Blob x) throws SQLException {
+		try {
+			getResultSet().updateBlob( columnIndex, x );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void updateBlob(String columnLabel, Blob x) throws SQLException {
+		try {
+			getResultSet().updateBlob( columnLabel, x );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void updateClob(int columnIndex, Clob x) throws SQLException {
+		try {
+			getResultSet().updateClob( columnIndex, x );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void updateClob(String columnLabel, Clob x) throws SQLException {
+		try {
+			getResultSet().updateClob( columnLabel, x );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void updateArray(int columnIndex, Array x) throws SQLException {
+		try {
+			getResultSet().updateArray( columnIndex, x );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void updateArray(String columnLabel, Array x) throws SQLException {
+		try {
+			getResultSet().updateArray( columnLabel, x );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public RowId getRowId(int columnIndex) throws SQLException {
+		try {
+			return getResultSet().getRowId( columnIndex );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public RowId getRowId(String columnLabel) throws SQLException {
+		try {
+			return getResultSet().getRowId( columnLabel );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void updateRowId(int columnIndex, RowId x) throws SQLException {
+		try {
+			getResultSet().updateRowId( columnIndex, x );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void updateRowId(String columnLabel, RowId x) throws SQLException {
+		try {
+			getResultSet().updateRowId( columnLabel, x );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public int getHoldability() throws SQLException {
+		try {
+			return getResultSet().getHoldability();
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public boolean isClosed() throws SQLException {
+		try {
+			return getResultSet().isClosed();
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void updateNString(int columnIndex, String nString) throws SQLException {
+		try {
+			getResultSet().updateNString( columnIndex, nString );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void updateNString(String columnLabel, String nString) throws SQLException {
+		try {
+			getResultSet().updateNString( columnLabel, nString );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void updateNClob(int columnIndex, NClob nClob) throws SQLException {
+		try {
+			getResultSet().updateNClob( columnIndex, nClob );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void updateNClob(String columnLabel, NClob nClob) throws SQLException {
+		try {
+			getResultSet().updateNClob( columnLabel, nClob );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public NClob getNClob(int columnIndex) throws SQLException {
+		try {
+			return getResultSet().getNClob( columnIndex );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public NClob getNClob(String columnLabel) throws SQLException {
+		try {
+			return getResultSet().getNClob( columnLabel );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public SQLXML getSQLXML(int columnIndex) throws SQLException {
+		try {
+			return getResultSet().getSQLXML( columnIndex );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public SQLXML getSQLXML(String columnLabel) throws SQLException {
+		try {
+			return getResultSet().getSQLXML( columnLabel );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void updateSQLXML(int columnIndex, SQLXML xmlObject) throws SQLException {
+		try {
+			getResultSet().updateSQLXML( columnIndex, xmlObject );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void updateSQLXML(String columnLabel, SQLXML xmlObject) throws SQLException {
+		try {
+			getResultSet().updateSQLXML( columnLabel, xmlObject );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public String getNString(int columnIndex) throws SQLException {
+		try {
+			return getResultSet().getNString( columnIndex );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public String getNString(String columnLabel) throws SQLException {
+		try {
+			return getResultSet().getNString( columnLabel );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public Reader getNCharacterStream(int columnIndex) throws SQLException {
+		try {
+			return getResultSet().getNCharacterStream( columnIndex );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public Reader getNCharacterStream(String columnLabel) throws SQLException {
+		try {
+			return getResultSet().getNCharacterStream( columnLabel );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void updateNCharacterStream(int columnIndex, Reader x, long length) throws SQLException {
+		try {
+			getResultSet().updateNCharacterStream( columnIndex, x, length );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void updateNCharacterStream(String columnLabel, Reader reader, long length) throws SQLException {
+		try {
+			getResultSet().updateNCharacterStream( columnLabel, reader, length );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void updateAsciiStream(int columnIndex, InputStream x, long length) throws SQLException {
+		try {
+			getResultSet().updateAsciiStream( columnIndex, x, length );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void updateBinaryStream(int columnIndex, InputStream x, long length) throws SQLException {
+		try {
+			getResultSet().updateBinaryStream( columnIndex, x, length );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void updateCharacterStream(int columnIndex, Reader x, long length) throws SQLException {
+		try {
+			getResultSet().updateCharacterStream( columnIndex, x, length );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void updateAsciiStream(String columnLabel, InputStream x, long length) throws SQLException {
+		try {
+			getResultSet().updateAsciiStream( columnLabel, x, length );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void updateBinaryStream(String columnLabel, InputStream x, long length) throws SQLException {
+		try {
+			getResultSet().updateBinaryStream( columnLabel, x, length );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void updateCharacterStream(String columnLabel, Reader reader, long length) throws SQLException {
+		try {
+			getResultSet().updateCharacterStream( columnLabel, reader, length );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void updateBlob(int columnIndex, InputStream inputStream, long length) throws SQLException {
+		try {
+			getResultSet().updateBlob( columnIndex, inputStream, length );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void updateBlob(String columnLabel, InputStream inputStream, long length) throws SQLException {
+		try {
+			getResultSet().updateBlob( columnLabel, inputStream, length );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void updateClob(int columnIndex, Reader reader, long length) throws SQLException {
+		try {
+			getResultSet().updateClob( columnIndex, reader, length );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void updateClob(String columnLabel, Reader reader, long length) throws SQLException {
+		try {
+			getResultSet().updateClob( columnLabel, reader, length );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void updateNClob(int columnIndex, Reader reader, long length) throws SQLException {
+		try {
+			getResultSet().updateNClob( columnIndex, reader, length );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void updateNClob(String columnLabel, Reader reader, long length) throws SQLException {
+		try {
+			getResultSet().updateNClob( columnLabel, reader, length );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void updateNCharacterStream(int columnIndex, Reader x) throws SQLException {
+		try {
+			getResultSet().updateNCharacterStream( columnIndex, x );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void updateNCharacterStream(String columnLabel, Reader reader) throws SQLException {
+		try {
+			getResultSet().updateNCharacterStream( columnLabel, reader );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void updateAsciiStream(int columnIndex, InputStream x) throws SQLException {
+		try {
+			getResultSet().updateAsciiStream( columnIndex, x );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void updateBinaryStream(int columnIndex, InputStream x) throws SQLException {
+		try {
+			getResultSet().updateBinaryStream( columnIndex, x );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void updateCharacterStream(int columnIndex, Reader x) throws SQLException {
+		try {
+			getResultSet().updateCharacterStream( columnIndex, x );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void updateAsciiStream(String columnLabel, InputStream x) throws SQLException {
+		try {
+			getResultSet().updateAsciiStream( columnLabel, x );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void updateBinaryStream(String columnLabel, InputStream x) throws SQLException {
+		try {
+			getResultSet().updateBinaryStream( columnLabel, x );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void updateCharacterStream(String columnLabel, Reader reader) throws SQLException {
+		try {
+			getResultSet().updateCharacterStream( columnLabel, reader );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void updateBlob(int columnIndex, InputStream inputStream) throws SQLException {
+		try {
+			getResultSet().updateBlob( columnIndex, inputStream );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void updateBlob(String columnLabel, InputStream inputStream) throws SQLException {
+		try {
+			getResultSet().updateBlob( columnLabel, inputStream );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void updateClob(int columnIndex, Reader reader) throws SQLException {
+		try {
+			getResultSet().updateClob( columnIndex, reader );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void updateClob(String columnLabel, Reader reader) throws SQLException {
+		try {
+			getResultSet().updateClob( columnLabel, reader );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void updateNClob(int columnIndex, Reader reader) throws SQLException {
+		try {
+			getResultSet().updateNClob( columnIndex, reader );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void updateNClob(String columnLabel, Reader reader) throws SQLException {
+		try {
+			getResultSet().updateNClob( columnLabel, reader );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+}
@@ -0,0 +1,589 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.engine.jdbc.internal.proxy;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLWarning;
+import java.sql.Statement;
+
+import org.hibernate.HibernateException;
+import org.hibernate.JDBCException;
+import org.hibernate.engine.jdbc.spi.InvalidatableWrapper;
+import org.hibernate.engine.jdbc.spi.JdbcResourceRegistry;
+import org.hibernate.engine.jdbc.spi.JdbcServices;
+import org.hibernate.engine.jdbc.spi.LogicalConnectionImplementor;
+
+/**
+ * Concrete {@link Statement} wrapper delegating directly to the physical statement, registering the
+ * {@link ResultSet result sets} it hands out with the {@link JdbcResourceRegistry} and converting
+ * {@link SQLException SQLExceptions} into {@link JDBCException JDBCExceptions}.
+ */
+public class DelegatingStatement implements Statement, InvalidatableWrapper<Statement> {
+	private static final Class[] NO_ARG_TYPES = new Class[0];
+	private static final Object[] NO_ARGS = new Object[0];
+
+	private final int hashCode;
+	private boolean valid = true;
+
+	private Statement statement;
+	private ConnectionProxyHandler connectionProxyHandler;
+	private final Connection connectionProxy;
+
+	public DelegatingStatement(
+			Statement statement,
+			ConnectionProxyHandler connectionProxyHandler,
+			Connection connectionProxy) {
+		this.hashCode = statement.hashCode();
+		this.statement = statement;
+		this.connectionProxyHandler = connectionProxyHandler;
+		this.connectionProxy = connectionProxy;
+	}
+
+	protected final boolean isValid() {
+		return valid;
+	}
+
+	protected final void errorIfInvalid() {
+		if ( !valid ) {
+			throw new HibernateException( "proxy handle is no longer valid" );
+		}
+	}
+
+	protected final Statement getStatement() {
+		errorIfInvalid();
+		return statement;
+	}
+
+	protected final ConnectionProxyHandler getConnectionProxyHandler() {
+		errorIfInvalid();
+		return connectionProxyHandler;
+	}
+
+	protected final Connection getConnectionProxy() {
+		return connectionProxy;
+	}
+
+	protected JdbcServices getJdbcServices() {
+		return getConnectionProxyHandler().getJdbcServices();
+	}
+
+	protected JdbcResourceRegistry getResourceRegistry() {
+		return getConnectionProxyHandler().getResourceRegistry();
+	}
+
+	protected final JDBCException convert(SQLException e) {
+		return getJdbcServices().getSqlExceptionHelper().convert( e, e.getMessage() );
+	}
+
+	/**
+	 * Callback for subclasses just prior to any of the {@code execute} methods being delegated.
+	 *
+	 * @param sql The SQL being executed, or null if the statement is executing previously supplied SQL.
+	 */
+	protected void beginExecution(String sql) {
+		if ( sql != null ) {
+			getJdbcServices().getSqlStatementLogger().logStatement( sql );
+		}
+	}
+
+	protected final ResultSet wrapResultSet(ResultSet resultSet) {
+		if ( resultSet == null ) {
+			return null;
+		}
+		final ResultSet wrapper = ProxyBuilder.buildResultSet( resultSet, connectionProxyHandler, connectionProxy, this );
+		getResourceRegistry().register( wrapper );
+		return wrapper;
+	}
+
+	private ResultSet wrapGeneratedKeys(ResultSet resultSet) {
+		if ( resultSet == null ) {
+			return null;
+		}
+		final ResultSet wrapper = ProxyBuilder.buildImplicitResultSet( resultSet, connectionProxyHandler, connectionProxy, this );
+		getResourceRegistry().register( wrapper );
+		return wrapper;
+	}
+
+	@Override
+	public Statement getWrappedObject() {
+		errorIfInvalid();
+		return statement;
+	}
+
+	@Override
+	public void invalidate() {
+		connectionProxyHandler = null;
+		statement = null;
+		valid = false;
+	}
+
+	@Override
+	public int hashCode() {
+		return hashCode;
+	}
+
+	@Override
+	public String toString() {
+		return super.toString() + "[valid=" + valid + "]";
+	}
+
+	@Override
+	public void close() throws SQLException {
+		if ( valid ) {
+			LogicalConnectionImplementor lc = connectionProxyHandler.getLogicalConnection();
+			getResourceRegistry().release( this );
+			lc.afterStatementExecution();
+		}
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		errorIfInvalid();
+		return connectionProxy;
+	}
+
+	@Override
+	public <T> T unwrap(Class<T> iface) throws SQLException {
+		return getStatement().unwrap( iface );
+	}
+
+	@Override
+	public boolean isWrapperFor(Class<?> iface) throws SQLException {
+		return getStatement().isWrapperFor( iface );
+	}
+
+	// JDBC 4.1 methods, delegated reflectively ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	public void closeOnCompletion() throws SQLException {
+		try {
+			JdbcDelegationHelper.invoke( getStatement(), Statement.class, "closeOnCompletion", NO_ARG_TYPES, NO_ARGS );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	public boolean isCloseOnCompletion() throws SQLException {
+		try {
+			return ( Boolean ) JdbcDelegationHelper.invoke( getStatement(), Statement.class, "isCloseOnCompletion", NO_ARG_TYPES, NO_ARGS );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	// java.sql.Statement ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	@Override
+	public ResultSet executeQuery(String sql) throws SQLException {
+		try {
+			beginExecution( sql );
+			return wrapResultSet( getStatement().executeQuery( sql ) );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public int executeUpdate(String sql) throws SQLException {
+		try {
+			beginExecution( sql );
+			return getStatement().executeUpdate( sql );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public int getMaxFieldSize() throws SQLException {
+		try {
+			return getStatement().getMaxFieldSize();
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setMaxFieldSize(int max) throws SQLException {
+		try {
+			getStatement().setMaxFieldSize( max );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public int getMaxRows() throws SQLException {
+		try {
+			return getStatement().getMaxRows();
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setMaxRows(int max) throws SQLException {
+		try {
+			getStatement().setMaxRows( max );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setEscapeProcessing(boolean enable) throws SQLException {
+		try {
+			getStatement().setEscapeProcessing( enable );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public int getQueryTimeout() throws SQLException {
+		try {
+			return getStatement().getQueryTimeout();
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setQueryTimeout(int seconds) throws SQLException {
+		try {
+			getStatement().setQueryTimeout( seconds );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void cancel() throws SQLException {
+		try {
+			getStatement().cancel();
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public SQLWarning getWarnings() throws SQLException {
+		try {
+			return getStatement().getWarnings();
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void clearWarnings() throws SQLException {
+		try {
+			getStatement().clearWarnings();
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setCursorName(String name) throws SQLException {
+		try {
+			getStatement().setCursorName( name );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public boolean execute(String sql) throws SQLException {
+		try {
+			beginExecution( sql );
+			return getStatement().execute( sql );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public ResultSet getResultSet() throws SQLException {
+		try {
+			return wrapResultSet( getStatement().getResultSet() );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public int getUpdateCount() throws SQLException {
+		try {
+			return getStatement().getUpdateCount();
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public boolean getMoreResults() throws SQLException {
+		try {
+			return getStatement().getMoreResults();
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setFetchDirection(int direction) throws SQLException {
+		try {
+			getStatement().setFetchDirection( direction );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public int getFetchDirection() throws SQLException {
+		try {
+			return getStatement().getFetchDirection();
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setFetchSize(int rows) throws SQLException {
+		try {
+			getStatement().setFetchSize( rows );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public int getFetchSize() throws SQLException {
+		try {
+			return getStatement().getFetchSize();
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public int getResultSetConcurrency() throws SQLException {
+		try {
+			return getStatement().getResultSetConcurrency();
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public int getResultSetType() throws SQLException {
+		try {
+			return getStatement().getResultSetType();
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void addBatch(String sql) throws SQLException {
+		try {
+			getStatement().addBatch( sql );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void clearBatch() throws SQLException {
+		try {
+			getStatement().clearBatch();
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public int[] executeBatch() throws SQLException {
+		try {
+			beginExecution( null );
+			return getStatement().executeBatch();
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public boolean getMoreResults(int current) throws SQLException {
+		try {
+			return getStatement().getMoreResults( current );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public ResultSet getGeneratedKeys() throws SQLException {
+		try {
+			return wrapGeneratedKeys( getStatement().getGeneratedKeys() );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public int executeUpdate(String sql, int autoGeneratedKeys) throws SQLException {
+		try {
+			beginExecution( sql );
+			return getStatement().executeUpdate( sql, autoGeneratedKeys );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public int executeUpdate(String sql, int[] columnIndexes) throws SQLException {
+		try {
+			beginExecution( sql );
+			return getStatement().executeUpdate( sql, columnIndexes );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public int executeUpdate(String sql, String[] columnNames) throws SQLException {
+		try {
+			beginExecution( sql );
+			return getStatement().executeUpdate( sql, columnNames );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public boolean execute(String sql, int autoGeneratedKeys) throws SQLException {
+		try {
+			beginExecution( sql );
+			return getStatement().execute( sql, autoGeneratedKeys );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public boolean execute(String sql, int[] columnIndexes) throws SQLException {
+		try {
+			beginExecution( sql );
+			return getStatement().execute( sql, columnIndexes );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public boolean execute(String sql, String[] columnNames) throws SQLException {
+		try {
+			beginExecution( sql );
+			return getStatement().execute( sql, columnNames );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public int getResultSetHoldability() throws SQLException {
+		try {
+			return getStatement().getResultSetHoldability();
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public boolean isClosed() throws SQLException {
+		try {
+			return getStatement().isClosed();
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public void setPoolable(boolean poolable) throws SQLException {
+		try {
+			getStatement().setPoolable( poolable );
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+
+	@Override
+	public boolean isPoolable() throws SQLException {
+		try {
+			return getStatement().isPoolable();
+		}
+		catch ( SQLException e ) {
+			throw convert( e );
+		}
+	}
+}
@@ -1,7 +1,7 @@
 /*
  * Hibernate, Relational Persistence for Idiomatic Java
  *
- * Copyright (c) 2010, Red Hat Inc. or third-party contributors as
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
  * indicated by the @author tags or express copyright attribution
  * statements applied by the authors.  All third-party contributions are
  * distributed under license by Red Hat Inc.
@@ -22,34 +22,26 @@
  * Boston, MA  02110-1301  USA
  */
 package org.hibernate.engine.jdbc.internal.proxy;
-import java.lang.reflect.Method;
+
 import java.sql.Connection;
 import java.sql.Statement;
 
+import org.hibernate.HibernateException;
+
 /**
- * Invocation handler for {@link Statement} proxies
- *
- * @author Steve Ebersole
+ * {@link DelegatingStatement} for statements obtained from other JDBC objects (e.g. {@link java.sql.ResultSet#getStatement()});
+ * such statements may not be executed.
  */
-public class BasicStatementProxyHandler extends AbstractStatementProxyHandler {
-	public BasicStatementProxyHandler(
+public class ImplicitDelegatingStatement extends DelegatingStatement {
+	public ImplicitDelegatingStatement(
 			Statement statement,
 			ConnectionProxyHandler connectionProxyHandler,
 			Connection connectionProxy) {
 		super( statement, connectionProxyHandler, connectionProxy );
 	}
 
-	protected void beginningInvocationHandling(Method method, Object[] args) {
-		if ( isExecution( method ) ) {
-			getJdbcServices().getSqlStatementLogger().logStatement( ( String ) args[0] );
-		}
-	}
-
-	private boolean isExecution(Method method) {
-		String methodName = method.getName();
-		return "execute".equals( methodName )
-				|| "executeQuery".equals( methodName )
-				|| "executeUpdate".equals( methodName );
+	@Override
+	protected void beginExecution(String sql) {
+		throw new HibernateException( "execution not allowed on implicit statement object" );
 	}
 }
-
@@ -29,12 +29,11 @@ import java.sql.DatabaseMetaData;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.Statement;
-import org.hibernate.engine.jdbc.spi.InvalidatableWrapper;
 import org.hibernate.engine.jdbc.spi.JdbcWrapper;
 import org.hibernate.engine.jdbc.spi.LogicalConnectionImplementor;
 
 /**
- * Centralized builder for proxy instances
+ * Centralized builder for proxy (and delegating wrapper) instances
  *
  * @author Steve Ebersole
  */
@@ -57,28 +56,16 @@ public class ProxyBuilder {
 	}
 
 
-	// Statement ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+	// Statement ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
 
-	public static final Class[] STMNT_PROXY_INTERFACES = new Class[] {
-			Statement.class,
-			JdbcWrapper.class,
-			InvalidatableWrapper.class
-	};
+	// NOTE : statements and result sets are wrapped by concrete delegating classes rather than dynamic proxies,
+	//		as they are accessed once per bind/column value
 
 	public static Statement buildStatement(
 			Statement statement,
 			ConnectionProxyHandler connectionProxyHandler,
 			Connection connectionProxy) {
-		BasicStatementProxyHandler proxyHandler = new BasicStatementProxyHandler(
-				statement,
-				connectionProxyHandler,
-				connectionProxy
-		);
-		return ( Statement ) Proxy.newProxyInstance(
-				JdbcWrapper.class.getClassLoader(),
-				STMNT_PROXY_INTERFACES,
-				proxyHandler
-		);
+		return new DelegatingStatement( statement, connectionProxyHandler, connectionProxy );
 	}
 
 	public static Statement buildImplicitStatement(
@@ -88,100 +75,47 @@ public class ProxyBuilder {
 		if ( statement == null ) {
 			return null;
 		}
-		ImplicitStatementProxyHandler handler = new ImplicitStatementProxyHandler( statement, connectionProxyHandler, connectionProxy );
-		return ( Statement ) Proxy.newProxyInstance(
-				JdbcWrapper.class.getClassLoader(),
-				STMNT_PROXY_INTERFACES,
-				handler
-		);
+		return new ImplicitDelegatingStatement( statement, connectionProxyHandler, connectionProxy );
 	}
 
 
 	// PreparedStatement ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
 
-	public static final Class[] PREPARED_STMNT_PROXY_INTERFACES = new Class[] {
-			PreparedStatement.class,
-			JdbcWrapper.class,
-			InvalidatableWrapper.class
-	};
-
 	public static PreparedStatement buildPreparedStatement(
 			String sql,
-			Statement statement,
+			PreparedStatement statement,
 			ConnectionProxyHandler connectionProxyHandler,
 			Connection connectionProxy) {
-		PreparedStatementProxyHandler proxyHandler = new PreparedStatementProxyHandler(
-				sql,
-				statement,
-				connectionProxyHandler,
-				connectionProxy
-		);
-		return ( PreparedStatement ) Proxy.newProxyInstance(
-				JdbcWrapper.class.getClassLoader(),
-				PREPARED_STMNT_PROXY_INTERFACES,
-				proxyHandler
-		);
+		return new DelegatingPreparedStatement( sql, statement, connectionProxyHandler, connectionProxy );
 	}
 
 
 	// CallableStatement ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
 
-	public static final Class[] CALLABLE_STMNT_PROXY_INTERFACES = new Class[] {
-			CallableStatement.class,
-			JdbcWrapper.class,
-			InvalidatableWrapper.class
-	};
-
 	public static CallableStatement buildCallableStatement(
 			String sql,
 			CallableStatement statement,
 			ConnectionProxyHandler connectionProxyHandler,
 			Connection connectionProxy) {
-		CallableStatementProxyHandler proxyHandler = new CallableStatementProxyHandler(
-				sql,
-				statement,
-				connectionProxyHandler,
-				connectionProxy
-		);
-		return ( CallableStatement ) Proxy.newProxyInstance(
-				JdbcWrapper.class.getClassLoader(),
-				CALLABLE_STMNT_PROXY_INTERFACES,
-				proxyHandler
-		);
+		return new DelegatingCallableStatement( sql, statement, connectionProxyHandler, connectionProxy );
 	}
 
 
-	// ResultSet ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
-
-	public static final Class[] RESULTSET_PROXY_INTERFACES = new Class[] {
-			ResultSet.class,
-			JdbcWrapper.class,
-			InvalidatableWrapper.class
-	};
-
+	// ResultSet ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
 
 	public static ResultSet buildResultSet(
 			ResultSet resultSet,
-			AbstractStatementProxyHandler statementProxyHandler,
+			ConnectionProxyHandler connectionProxyHandler,
+			Connection connectionProxy,
 			Statement statementProxy) {
-		ResultSetProxyHandler proxyHandler = new ResultSetProxyHandler( resultSet, statementProxyHandler, statementProxy );
-		return ( ResultSet ) Proxy.newProxyInstance(
-				JdbcWrapper.class.getClassLoader(),
-				RESULTSET_PROXY_INTERFACES,
-				proxyHandler
-		);
+		return new DelegatingResultSet( resultSet, connectionProxyHandler, connectionProxy, statementProxy );
 	}
 
 	public static ResultSet buildImplicitResultSet(
 			ResultSet resultSet,
 			ConnectionProxyHandler connectionProxyHandler,
 			Connection connectionProxy) {
-		ImplicitResultSetProxyHandler proxyHandler = new ImplicitResultSetProxyHandler( resultSet, connectionProxyHandler, connectionProxy );
-		return ( ResultSet ) Proxy.newProxyInstance(
-				JdbcWrapper.class.getClassLoader(),
-				RESULTSET_PROXY_INTERFACES,
-				proxyHandler
-		);
+		return new DelegatingResultSet( resultSet, connectionProxyHandler, connectionProxy, null );
 	}
 
 	public static ResultSet buildImplicitResultSet(
@@ -189,12 +123,7 @@ public class ProxyBuilder {
 			ConnectionProxyHandler connectionProxyHandler,
 			Connection connectionProxy,
 			Statement sourceStatement) {
-		ImplicitResultSetProxyHandler proxyHandler = new ImplicitResultSetProxyHandler( resultSet, connectionProxyHandler, connectionProxy, sourceStatement );
-		return ( ResultSet ) Proxy.newProxyInstance(
-				JdbcWrapper.class.getClassLoader(),
-				RESULTSET_PROXY_INTERFACES,
-				proxyHandler
-		);
+		return new DelegatingResultSet( resultSet, connectionProxyHandler, connectionProxy, sourceStatement );
 	}
 
 
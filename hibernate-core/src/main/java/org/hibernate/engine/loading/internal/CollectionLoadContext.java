@@ -249,6 +249,7 @@ public class CollectionLoadContext {
 		}
 		else {
 			ce.postInitialize( lce.getCollection() );
+			getLoadContext().getPersistenceContext().getBatchFetchQueue().removeBatchLoadableCollection( ce );
 		}
 
 		boolean addToCache = hasNoQueuedAdds && // there were no queued additions
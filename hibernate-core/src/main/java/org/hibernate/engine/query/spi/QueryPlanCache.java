@@ -23,6 +23,7 @@
  */
 package org.hibernate.engine.query.spi;
 
+import java.io.IOException;
 import java.io.Serializable;
 import java.util.Collection;
 import java.util.Collections;
@@ -31,7 +32,13 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
 
+import org.hibernate.HibernateException;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.internal.CoreMessageLogger;
 import org.hibernate.MappingException;
@@ -39,24 +46,38 @@ import org.hibernate.QueryException;
 import org.hibernate.cfg.Environment;
 import org.hibernate.engine.query.spi.sql.NativeSQLQuerySpecification;
 import org.hibernate.internal.FilterImpl;
+import org.hibernate.internal.util.collections.BoundedConcurrentCache;
 import org.hibernate.internal.util.collections.CollectionHelper;
-import org.hibernate.internal.util.collections.SimpleMRUCache;
-import org.hibernate.internal.util.collections.SoftLimitMRUCache;
 import org.hibernate.internal.util.config.ConfigurationHelper;
 
 import org.jboss.logging.Logger;
 
 /**
  * Acts as a cache for compiled query plans, as well as query-parameter metadata.
+ * <p/>
+ * Both caches are bounded and allow concurrent lookups without any locking.  When several threads miss
+ * the same query plan at the same time, only one of them compiles the plan while the others wait for its
+ * result.
  *
- * @see Environment#QUERY_PLAN_CACHE_MAX_STRONG_REFERENCES
- * @see Environment#QUERY_PLAN_CACHE_MAX_SOFT_REFERENCES
+ * @see Environment#QUERY_PLAN_CACHE_MAX_SIZE
+ * @see Environment#QUERY_PLAN_CACHE_PARAMETER_METADATA_MAX_SIZE
  *
  * @author Steve Ebersole
  */
 public class QueryPlanCache implements Serializable {
 
     private static final CoreMessageLogger LOG = Logger.getMessageLogger(CoreMessageLogger.class, QueryPlanCache.class.getName());
+
+	/**
+	 * The default maximum number of query plans cached.
+	 */
+	public static final int DEFAULT_QUERY_PLAN_MAX_COUNT = 2048;
+
+	/**
+	 * The default maximum number of native-sql parameter metadata entries cached.
+	 */
+	public static final int DEFAULT_PARAMETER_METADATA_MAX_COUNT = 128;
+
 	/**
 	 * simple cache of param metadata based on query string.  Ideally, the original "user-supplied query"
 	 * string should be used to obtain this metadata (i.e., not the para-list-expanded query string) to avoid
@@ -65,29 +86,55 @@ public class QueryPlanCache implements Serializable {
 	 * Used solely for caching param metadata for native-sql queries, see {@link #getSQLParameterMetadata} for a
 	 * discussion as to why...
 	 */
-	private final SimpleMRUCache sqlParamMetadataCache;
+	private final BoundedConcurrentCache<String,ParameterMetadata> parameterMetadataCache;
 
 	/**
 	 * the cache of the actual plans...
 	 */
-	private final SoftLimitMRUCache planCache;
+	private final BoundedConcurrentCache<Object,Object> queryPlanCache;
+
+	/**
+	 * plans currently being compiled, keyed the same way as {@link #queryPlanCache}
+	 */
+	private transient ConcurrentMap<Object,FutureTask<Object>> pendingPlans;
+
 	private SessionFactoryImplementor factory;
 
+	@SuppressWarnings({ "deprecation" })
 	public QueryPlanCache(SessionFactoryImplementor factory) {
-		int maxStrongReferenceCount = ConfigurationHelper.getInt(
-				Environment.QUERY_PLAN_CACHE_MAX_STRONG_REFERENCES,
+		// fall back to the legacy soft/strong reference settings when the sizes are not explicitly configured
+		int maxQueryPlanCount = ConfigurationHelper.getInt(
+				Environment.QUERY_PLAN_CACHE_MAX_SIZE,
 				factory.getProperties(),
-				SoftLimitMRUCache.DEFAULT_STRONG_REF_COUNT
+				ConfigurationHelper.getInt(
+						Environment.QUERY_PLAN_CACHE_MAX_SOFT_REFERENCES,
+						factory.getProperties(),
+						DEFAULT_QUERY_PLAN_MAX_COUNT
+				)
 		);
-		int maxSoftReferenceCount = ConfigurationHelper.getInt(
-				Environment.QUERY_PLAN_CACHE_MAX_SOFT_REFERENCES,
+		int maxParameterMetadataCount = ConfigurationHelper.getInt(
+				Environment.QUERY_PLAN_CACHE_PARAMETER_METADATA_MAX_SIZE,
 				factory.getProperties(),
-				SoftLimitMRUCache.DEFAULT_SOFT_REF_COUNT
+				ConfigurationHelper.getInt(
+						Environment.QUERY_PLAN_CACHE_MAX_STRONG_REFERENCES,
+						factory.getProperties(),
+						DEFAULT_PARAMETER_METADATA_MAX_COUNT
+				)
 		);
 
 		this.factory = factory;
-		this.sqlParamMetadataCache = new SimpleMRUCache( maxStrongReferenceCount );
-		this.planCache = new SoftLimitMRUCache( maxStrongReferenceCount, maxSoftReferenceCount );
+		this.parameterMetadataCache = new BoundedConcurrentCache<String,ParameterMetadata>( maxParameterMetadataCount );
+		this.queryPlanCache = new BoundedConcurrentCache<Object,Object>(
+				maxQueryPlanCount,
+				BoundedConcurrentCache.DEFAULT_CONCURRENCY_LEVEL,
+				new PlanEvictionListener()
+		);
+		this.pendingPlans = new ConcurrentHashMap<Object,FutureTask<Object>>();
+	}
+
+	private void readObject(java.io.ObjectInputStream in) throws IOException, ClassNotFoundException {
+		in.defaultReadObject();
+		pendingPlans = new ConcurrentHashMap<Object,FutureTask<Object>>();
 	}
 
 	/**
@@ -101,68 +148,178 @@ public class QueryPlanCache implements Serializable {
 	 * @return The parameter metadata
 	 */
 	public ParameterMetadata getSQLParameterMetadata(String query) {
-		ParameterMetadata metadata = ( ParameterMetadata ) sqlParamMetadataCache.get( query );
+		ParameterMetadata metadata = parameterMetadataCache.get( query );
 		if ( metadata == null ) {
 			metadata = buildNativeSQLParameterMetadata( query );
-			sqlParamMetadataCache.put( query, metadata );
+			parameterMetadataCache.put( query, metadata );
 		}
 		return metadata;
 	}
 
-	public HQLQueryPlan getHQLQueryPlan(String queryString, boolean shallow, Map enabledFilters)
+	public HQLQueryPlan getHQLQueryPlan(final String queryString, final boolean shallow, final Map enabledFilters)
 			throws QueryException, MappingException {
 		HQLQueryPlanKey key = new HQLQueryPlanKey( queryString, shallow, enabledFilters );
-		HQLQueryPlan plan = ( HQLQueryPlan ) planCache.get ( key );
+		HQLQueryPlan plan = ( HQLQueryPlan ) queryPlanCache.get( key );
 
 		if ( plan == null ) {
 			if(LOG.isTraceEnabled())
             LOG.trace("Unable to locate HQL query plan in cache; generating (" + queryString + ")");
-			plan = new HQLQueryPlan(queryString, shallow, enabledFilters, factory );
+			plan = ( HQLQueryPlan ) buildPlan(
+					key,
+					new Callable<Object>() {
+						public Object call() {
+							return new HQLQueryPlan( queryString, shallow, enabledFilters, factory );
+						}
+					}
+			);
         } else {
 			if(LOG.isTraceEnabled())
 			LOG.trace("Located HQL query plan in cache (" + queryString + ")");
+			planCacheHit();
 		}
-		planCache.put( key, plan );
 
 		return plan;
 	}
 
-	public FilterQueryPlan getFilterQueryPlan(String filterString, String collectionRole, boolean shallow, Map enabledFilters)
-			throws QueryException, MappingException {
+	public FilterQueryPlan getFilterQueryPlan(
+			final String filterString,
+			final String collectionRole,
+			final boolean shallow,
+			final Map enabledFilters) throws QueryException, MappingException {
 		FilterQueryPlanKey key = new FilterQueryPlanKey( filterString, collectionRole, shallow, enabledFilters );
-		FilterQueryPlan plan = ( FilterQueryPlan ) planCache.get ( key );
+		FilterQueryPlan plan = ( FilterQueryPlan ) queryPlanCache.get( key );
 
 		if ( plan == null ) {
 			if(LOG.isTraceEnabled())
             LOG.trace("Unable to locate collection-filter query plan in cache; generating (" + collectionRole + " : "
                       + filterString + ")");
-			plan = new FilterQueryPlan( filterString, collectionRole, shallow, enabledFilters, factory );
+			plan = ( FilterQueryPlan ) buildPlan(
+					key,
+					new Callable<Object>() {
+						public Object call() {
+							return new FilterQueryPlan( filterString, collectionRole, shallow, enabledFilters, factory );
+						}
+					}
+			);
         } else {
 			if(LOG.isTraceEnabled())
 			LOG.trace("Located collection-filter query plan in cache (" + collectionRole + " : " + filterString + ")");
+			planCacheHit();
 		}
 
-		planCache.put( key, plan );
-
 		return plan;
 	}
 
-	public NativeSQLQueryPlan getNativeSQLQueryPlan(NativeSQLQuerySpecification spec) {
-		NativeSQLQueryPlan plan = ( NativeSQLQueryPlan ) planCache.get( spec );
+	public NativeSQLQueryPlan getNativeSQLQueryPlan(final NativeSQLQuerySpecification spec) {
+		NativeSQLQueryPlan plan = ( NativeSQLQueryPlan ) queryPlanCache.get( spec );
 
 		if ( plan == null ) {
 			if(LOG.isTraceEnabled())
             LOG.trace("Unable to locate native-sql query plan in cache; generating (" + spec.getQueryString() + ")");
-			plan = new NativeSQLQueryPlan( spec, factory );
+			plan = ( NativeSQLQueryPlan ) buildPlan(
+					spec,
+					new Callable<Object>() {
+						public Object call() {
+							return new NativeSQLQueryPlan( spec, factory );
+						}
+					}
+			);
         } else {
 			if(LOG.isTraceEnabled())
 			LOG.trace("Located native-sql query plan in cache (" + spec.getQueryString() + ")");
+			planCacheHit();
 		}
 
-		planCache.put( spec, plan );
 		return plan;
 	}
 
+	/**
+	 * Clean up the caches when the SessionFactory is closed.
+	 */
+	public void cleanup() {
+		LOG.trace( "Cleaning QueryPlan Cache" );
+		queryPlanCache.clear();
+		parameterMetadataCache.clear();
+	}
+
+	/**
+	 * Compile the plan for the given key, unless another thread is already compiling it in which case we wait for
+	 * (and share) its result.
+	 *
+	 * @param key The plan cache key
+	 * @param creator Performs the actual plan compilation
+	 *
+	 * @return The plan
+	 */
+	private Object buildPlan(Object key, Callable<Object> creator) {
+		planCacheMiss();
+
+		FutureTask<Object> creation = new FutureTask<Object>( creator );
+		FutureTask<Object> pending = pendingPlans.putIfAbsent( key, creation );
+		if ( pending == null ) {
+			try {
+				creation.run();
+				final Object plan = getPlan( creation );
+				queryPlanCache.put( key, plan );
+				return plan;
+			}
+			finally {
+				pendingPlans.remove( key, creation );
+			}
+		}
+		return getPlan( pending );
+	}
+
+	private Object getPlan(FutureTask<Object> creation) {
+		boolean interrupted = false;
+		try {
+			while ( true ) {
+				try {
+					return creation.get();
+				}
+				catch ( InterruptedException e ) {
+					// the plan is being compiled anyway; keep waiting and restore the interrupt status afterwards
+					interrupted = true;
+				}
+				catch ( ExecutionException e ) {
+					final Throwable cause = e.getCause();
+					if ( cause instanceof RuntimeException ) {
+						throw ( RuntimeException ) cause;
+					}
+					if ( cause instanceof Error ) {
+						throw ( Error ) cause;
+					}
+					throw new HibernateException( "Unable to build query plan", cause );
+				}
+			}
+		}
+		finally {
+			if ( interrupted ) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	private void planCacheHit() {
+		if ( factory.getStatistics().isStatisticsEnabled() ) {
+			factory.getStatisticsImplementor().queryPlanCacheHit();
+		}
+	}
+
+	private void planCacheMiss() {
+		if ( factory.getStatistics().isStatisticsEnabled() ) {
+			factory.getStatisticsImplementor().queryPlanCacheMiss();
+		}
+	}
+
+	private class PlanEvictionListener implements BoundedConcurrentCache.EvictionListener<Object,Object>, Serializable {
+		public void onEviction(Object key, Object value) {
+			if ( factory.getStatistics().isStatisticsEnabled() ) {
+				factory.getStatisticsImplementor().queryPlanCacheEviction();
+			}
+		}
+	}
+
 	@SuppressWarnings({ "UnnecessaryUnboxing" })
 	private ParameterMetadata buildNativeSQLParameterMetadata(String sqlString) {
 		ParamLocationRecognizer recognizer = ParamLocationRecognizer.parseLocations( sqlString );
@@ -53,6 +53,8 @@ import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
 import org.hibernate.action.spi.Executable;
 import org.hibernate.cache.CacheException;
 import org.hibernate.internal.CoreMessageLogger;
+import org.hibernate.internal.util.collections.IdentitySet;
+import org.hibernate.type.CompositeType;
 import org.hibernate.type.Type;
 
 /**
@@ -261,14 +263,86 @@ public class ActionQueue {
 	}
 
 	private void executeActions(List list) throws HibernateException {
+		final boolean batchIdentityInserts = session.getFactory().getSettings().isJdbcBatchIdentityInserts();
 		int size = list.size();
 		for ( int i = 0; i < size; i++ ) {
-			execute( (Executable) list.get( i ) );
+			final Executable executable = (Executable) list.get( i );
+			if ( batchIdentityInserts
+					&& executable instanceof EntityIdentityInsertAction
+					&& ( (EntityIdentityInsertAction) executable ).isBatchable() ) {
+				i = executeIdentityInserts( list, i ) - 1;
+			}
+			else {
+				execute( executable );
+			}
 		}
 		list.clear();
 		session.getTransactionCoordinator().getJdbcCoordinator().executeBatch();
 	}
 
+	/**
+	 * Execute the run of batchable identity inserts starting at <tt>start</tt> as one JDBC batch.  The
+	 * run ends at the JDBC batch size, at an insert of another entity, or at an insert whose state
+	 * references an instance already in the run (its foreign key could not be bound yet).
+	 *
+	 * @return The index following the last executed action
+	 */
+	private int executeIdentityInserts(List list, int start) {
+		final EntityIdentityInsertAction first = (EntityIdentityInsertAction) list.get( start );
+		final int batchSize = session.getFactory().getSettings().getJdbcBatchSize();
+		final List<EntityIdentityInsertAction> batch = new ArrayList<EntityIdentityInsertAction>();
+		final Set instances = new IdentitySet();
+		batch.add( first );
+		instances.add( first.getInstance() );
+
+		int end = start + 1;
+		while ( end < list.size() && batch.size() < batchSize && list.get( end ) instanceof EntityIdentityInsertAction ) {
+			final EntityIdentityInsertAction action = (EntityIdentityInsertAction) list.get( end );
+			if ( action.getPersister() != first.getPersister()
+					|| !action.isBatchable()
+					|| references( action.getState(), action.getPersister().getPropertyTypes(), instances ) ) {
+				break;
+			}
+			batch.add( action );
+			instances.add( action.getInstance() );
+			end++;
+		}
+
+		if ( batch.size() == 1 ) {
+			execute( first );
+		}
+		else {
+			try {
+				EntityIdentityInsertAction.executeBatch( batch );
+			}
+			finally {
+				for ( EntityIdentityInsertAction action : batch ) {
+					registerCleanupActions( action );
+				}
+			}
+		}
+		return end;
+	}
+
+	private boolean references(Object[] values, Type[] types, Set instances) {
+		for ( int i = 0; i < types.length; i++ ) {
+			final Object value = values[i];
+			if ( value == null ) {
+				continue;
+			}
+			if ( types[i].isEntityType() && instances.contains( value ) ) {
+				return true;
+			}
+			if ( types[i].isComponentType() ) {
+				final CompositeType componentType = (CompositeType) types[i];
+				if ( references( componentType.getPropertyValues( value, session ), componentType.getSubtypes(), instances ) ) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
 	public void execute(Executable executable) {
 		try {
 			executable.execute();
@@ -633,8 +707,8 @@ public class ActionQueue {
 		private HashMap<String,Integer> latestBatches = new HashMap<String,Integer>();
 		private HashMap<Object,Integer> entityBatchNumber;
 
-		// the map of batch numbers to EntityInsertAction lists
-		private HashMap<Integer,List<EntityInsertAction>> actionBatches = new HashMap<Integer,List<EntityInsertAction>>();
+		// the map of batch numbers to EntityInsertAction/EntityIdentityInsertAction lists
+		private HashMap<Integer,List<EntityAction>> actionBatches = new HashMap<Integer,List<EntityAction>>();
 
 		public InsertActionSorter() {
 			//optimize the hash size to eliminate a rehash.
@@ -647,7 +721,7 @@ public class ActionQueue {
 		@SuppressWarnings({ "unchecked", "UnnecessaryBoxing" })
 		public void sort() {
 			// the list of entity names that indicate the batch number
-			for ( EntityInsertAction action : (List<EntityInsertAction>) insertions ) {
+			for ( EntityAction action : (List<EntityAction>) insertions ) {
 				// remove the current element from insertions. It will be added back later.
 				String entityName = action.getEntityName();
 
@@ -678,8 +752,8 @@ public class ActionQueue {
 
 			// now rebuild the insertions list. There is a batch for each entry in the name list.
 			for ( int i = 0; i < actionBatches.size(); i++ ) {
-				List<EntityInsertAction> batch = actionBatches.get( i );
-				for ( EntityInsertAction action : batch ) {
+				List<EntityAction> batch = actionBatches.get( i );
+				for ( EntityAction action : batch ) {
 					insertions.add( action );
 				}
 			}
@@ -695,7 +769,7 @@ public class ActionQueue {
 		 */
 		@SuppressWarnings({ "UnnecessaryBoxing", "unchecked" })
 		private Integer findBatchNumber(
-				EntityInsertAction action,
+				EntityAction action,
 				String entityName) {
 			// loop through all the associated entities and make sure they have been
 			// processed before the latest
@@ -706,7 +780,9 @@ public class ActionQueue {
 
 			// loop through all the associations of the current entity and make sure that they are processed
 			// before the current batch number
-			Object[] propertyValues = action.getState();
+			Object[] propertyValues = action instanceof EntityInsertAction
+					? ( (EntityInsertAction) action ).getState()
+					: ( (EntityIdentityInsertAction) action ).getState();
 			Type[] propertyTypes = action.getPersister().getClassMetadata()
 					.getPropertyTypes();
 
@@ -731,11 +807,11 @@ public class ActionQueue {
 		}
 
 		@SuppressWarnings({ "unchecked" })
-		private void addToBatch(Integer batchNumber, EntityInsertAction action) {
-			List<EntityInsertAction> actions = actionBatches.get( batchNumber );
+		private void addToBatch(Integer batchNumber, EntityAction action) {
+			List<EntityAction> actions = actionBatches.get( batchNumber );
 
 			if ( actions == null ) {
-				actions = new LinkedList<EntityInsertAction>();
+				actions = new LinkedList<EntityAction>();
 				actionBatches.put( batchNumber, actions );
 			}
 			actions.add( action );
@@ -24,9 +24,10 @@
 package org.hibernate.engine.spi;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.Iterator;
-import java.util.LinkedHashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.hibernate.EntityMode;
@@ -40,6 +41,12 @@ import org.hibernate.persister.entity.EntityPersister;
  * Tracks entity and collection keys that are available for batch
  * fetching, and the queries which were used to load entities, which
  * can be re-used as a subquery for loading owned collections.
+ * <p/>
+ * Both entity keys and collections are partitioned by entity name and collection
+ * role respectively, so that building a batch only visits candidates of the
+ * requested type instead of every pending key in the session.  Each partition
+ * indexes its keys, so a batch is taken by walking outwards from the key being
+ * loaded and stops as soon as it is full.
  *
  * @author Gavin King
  */
@@ -48,16 +55,25 @@ public class BatchFetchQueue {
 	public static final Object MARKER = new MarkerObject( "MARKER" );
 
 	/**
-	 * Defines a sequence of {@link EntityKey} elements that are currently
-	 * elegible for batch-fetching.
+	 * Defines the sequences of {@link EntityKey} elements that are currently
+	 * elegible for batch-fetching, keyed by entity name.
 	 * <p/>
-	 * Even though this is a map, we only use the keys.  A map was chosen in
-	 * order to utilize a {@link LinkedHashMap} to maintain sequencing
-	 * as well as uniqueness.
+	 * A {@link KeySequence} is used for each entity name in order to maintain
+	 * sequencing as well as uniqueness.
+	 */
+	private final Map<String,KeySequence<EntityKey,EntityKey>> batchLoadableEntityKeys =
+			new HashMap<String,KeySequence<EntityKey,EntityKey>>( 8 );
+
+	/**
+	 * Defines the sequences of uninitialized collections that are currently
+	 * elegible for batch-fetching, keyed by collection role.
 	 * <p/>
-	 * TODO : this would be better as a SequencedReferenceSet, but no such beast exists!
+	 * The {@link CollectionEntry} is used as the key of each sequence, rather than
+	 * the collection itself, because {@link CollectionEntry} uses identity equality
+	 * while {@link PersistentCollection#equals} might trigger initialization.
 	 */
-	private final Map batchLoadableEntityKeys = new LinkedHashMap(8);
+	private final Map<String,KeySequence<CollectionEntry,PersistentCollection>> batchLoadableCollections =
+			new HashMap<String,KeySequence<CollectionEntry,PersistentCollection>>( 8 );
 
 	/**
 	 * A map of {@link SubselectFetch subselect-fetch descriptors} keyed by the
@@ -65,6 +81,15 @@ public class BatchFetchQueue {
 	 */
 	private final Map subselectsByEntityKey = new HashMap(8);
 
+	/**
+	 * Second-level cache entries found while building a batch, so that the entities
+	 * and collections they belong to are not looked up in the cache a second time
+	 * while that batch is loaded.  They are dropped by {@link #clearCachedEntries()}
+	 * once the load is over, as the cache may change afterwards.
+	 */
+	private final Map<EntityKey,Object> cachedEntityEntries = new HashMap<EntityKey,Object>( 8 );
+	private final Map<CollectionEntry,Object> cachedCollectionEntries = new IdentityHashMap<CollectionEntry,Object>( 8 );
+
 	/**
 	 * The owning persistence context.
 	 */
@@ -84,7 +109,10 @@ public class BatchFetchQueue {
 	 */
 	public void clear() {
 		batchLoadableEntityKeys.clear();
+		batchLoadableCollections.clear();
 		subselectsByEntityKey.clear();
+		cachedEntityEntries.clear();
+		cachedCollectionEntries.clear();
 	}
 
 	/**
@@ -139,7 +167,12 @@ public class BatchFetchQueue {
 	 */
 	public void addBatchLoadableEntityKey(EntityKey key) {
 		if ( key.isBatchLoadable() ) {
-			batchLoadableEntityKeys.put( key, MARKER );
+			KeySequence<EntityKey,EntityKey> keys = batchLoadableEntityKeys.get( key.getEntityName() );
+			if ( keys == null ) {
+				keys = new KeySequence<EntityKey,EntityKey>();
+				batchLoadableEntityKeys.put( key.getEntityName(), keys );
+			}
+			keys.add( key, key );
 		}
 	}
 
@@ -149,7 +182,90 @@ public class BatchFetchQueue {
 	 * if necessary
 	 */
 	public void removeBatchLoadableEntityKey(EntityKey key) {
-		if ( key.isBatchLoadable() ) batchLoadableEntityKeys.remove(key);
+		if ( key.isBatchLoadable() ) {
+			KeySequence<EntityKey,EntityKey> keys = batchLoadableEntityKeys.get( key.getEntityName() );
+			if ( keys != null ) {
+				keys.remove( key );
+			}
+			cachedEntityEntries.remove( key );
+		}
+	}
+
+	/**
+	 * If a collection is uninitialized and its role is batch loadable, add
+	 * it to the queue.
+	 *
+	 * @param collection The uninitialized collection.
+	 * @param ce The entry associated with the collection in the persistence context.
+	 */
+	public void addBatchLoadableCollection(PersistentCollection collection, CollectionEntry ce) {
+		final CollectionPersister persister = ce.getLoadedPersister();
+		if ( persister != null && persister.isBatchLoadable() && !collection.wasInitialized() ) {
+			KeySequence<CollectionEntry,PersistentCollection> collections =
+					batchLoadableCollections.get( persister.getRole() );
+			if ( collections == null ) {
+				collections = new KeySequence<CollectionEntry,PersistentCollection>();
+				batchLoadableCollections.put( persister.getRole(), collections );
+			}
+			collections.add( ce, collection );
+		}
+	}
+
+	/**
+	 * After initializing or evicting a collection, we don't need to batch
+	 * fetch it anymore; remove it from the queue if necessary.
+	 *
+	 * @param ce The entry associated with the collection in the persistence context.
+	 */
+	public void removeBatchLoadableCollection(CollectionEntry ce) {
+		final CollectionPersister persister = ce.getLoadedPersister();
+		if ( persister != null && persister.isBatchLoadable() ) {
+			KeySequence<CollectionEntry,PersistentCollection> collections =
+					batchLoadableCollections.get( persister.getRole() );
+			if ( collections != null ) {
+				collections.remove( ce );
+			}
+			cachedCollectionEntries.remove( ce );
+		}
+	}
+
+	/**
+	 * Drop the second-level cache entries read while building batches.  Called once
+	 * the batch that read them has been loaded, so that a later load of one of the
+	 * entities or collections they belong to reads the current cache entry.
+	 */
+	public void clearCachedEntries() {
+		cachedEntityEntries.clear();
+		cachedCollectionEntries.clear();
+	}
+
+	/**
+	 * Remove and return the second-level cache entry read for an entity while
+	 * building a batch that excluded it.
+	 *
+	 * @param id The entity identifier
+	 * @param persister The entity persister
+	 * @return The cache entry, or null if none was read
+	 */
+	public Object removeCachedEntityEntry(Serializable id, EntityPersister persister) {
+		if ( cachedEntityEntries.isEmpty() ) {
+			return null;
+		}
+		return cachedEntityEntries.remove( context.getSession().generateEntityKey( id, persister ) );
+	}
+
+	/**
+	 * Remove and return the second-level cache entry read for a collection while
+	 * building a batch that excluded it.
+	 *
+	 * @param ce The entry associated with the collection in the persistence context.
+	 * @return The cache entry, or null if none was read
+	 */
+	public Object removeCachedCollectionEntry(CollectionEntry ce) {
+		if ( cachedCollectionEntries.isEmpty() ) {
+			return null;
+		}
+		return cachedCollectionEntries.remove( ce );
 	}
 
 	/**
@@ -166,58 +282,52 @@ public class BatchFetchQueue {
 			final int batchSize) {
 		Serializable[] keys = new Serializable[batchSize];
 		keys[0] = id;
-		int i = 1;
-		//int count = 0;
-		int end = -1;
-		boolean checkForEnd = false;
-		// this only works because collection entries are kept in a sequenced
-		// map by persistence context (maybe we should do like entities and
-		// keep a separate sequences set...)
-		Iterator iter = context.getCollectionEntries().entrySet().iterator(); //TODO: calling entrySet on an IdentityMap is SLOW!!
-		while ( iter.hasNext() ) {
-			Map.Entry me = (Map.Entry) iter.next();
-
-			CollectionEntry ce = (CollectionEntry) me.getValue();
-			PersistentCollection collection = (PersistentCollection) me.getKey();
-			if ( !collection.wasInitialized() && ce.getLoadedPersister() == collectionPersister ) {
-
-				if ( checkForEnd && i == end ) {
-					return keys; //the first key found after the given key
-				}
-
-				//if ( end == -1 && count > batchSize*10 ) return keys; //try out ten batches, max
 
-				final boolean isEqual = collectionPersister.getKeyType().isEqual(
-						id,
-						ce.getLoadedKey(),
-						collectionPersister.getFactory()
-				);
+		final KeySequence<CollectionEntry,PersistentCollection> collections =
+				batchLoadableCollections.get( collectionPersister.getRole() );
+		if ( collections == null ) {
+			return keys;
+		}
 
-				if ( isEqual ) {
-					end = i;
-					//checkForEnd = false;
+		// prefer the collections registered right after the given key, then the closest ones before it
+		final PersistentCollection collection = context.getCollection( new CollectionKey( collectionPersister, id ) );
+		final KeySequence.Walk<CollectionEntry,PersistentCollection> walk = collections.walkAround(
+				collection == null ? null : context.getCollectionEntry( collection )
+		);
+		final List<CollectionEntry> probe = new ArrayList<CollectionEntry>( batchSize - 1 );
+		int i = 1;
+		while ( i < batchSize && walk.hasNext() ) {
+			probe.clear();
+			while ( probe.size() < batchSize - i && walk.hasNext() ) {
+				final KeySequence.Node<CollectionEntry,PersistentCollection> node = walk.next();
+				final CollectionEntry ce = node.key;
+				if ( node.value.wasInitialized()
+						|| ce.getLoadedPersister() != collectionPersister
+						|| context.getCollectionEntry( node.value ) != ce ) {
+					// the collection was initialized, dereferenced or evicted without
+					// us being notified; it is no longer a candidate
+					collections.remove( ce );
+					cachedCollectionEntries.remove( ce );
 				}
-				else if ( !isCached( ce.getLoadedKey(), collectionPersister ) ) {
-					keys[i++] = ce.getLoadedKey();
-					//count++;
+				else {
+					probe.add( ce );
 				}
-
-				if ( i == batchSize ) {
-					i = 1; //end of array, start filling again from start
-					if ( end != -1 ) {
-						checkForEnd = true;
-					}
+			}
+			final boolean[] cached = readCachedCollections( probe, collectionPersister );
+			for ( int j = 0; j < cached.length; j++ ) {
+				if ( !cached[j] ) {
+					keys[i++] = probe.get( j ).getLoadedKey();
 				}
 			}
-
 		}
-		return keys; //we ran out of keys to try
+		return keys;
 	}
 
 	/**
-	 * Get a batch of unloaded identifiers for this class, using a slightly
-	 * complex algorithm that tries to grab keys registered immediately after
-	 * the given key.
+	 * Get a batch of unloaded identifiers for this class, preferring the keys
+	 * registered immediately after the given key.  Identifiers whose entities
+	 * are in the second-level cache are left out of the batch; the cache is
+	 * probed with one bulk read per chunk of candidates.
 	 *
 	 * @param persister The persister for the entities being loaded.
 	 * @param id The identifier of the entity currently demanding load.
@@ -231,56 +341,183 @@ public class BatchFetchQueue {
 			final EntityMode entityMode) {
 		Serializable[] ids = new Serializable[batchSize];
 		ids[0] = id; //first element of array is reserved for the actual instance we are loading!
+
+		//TODO: this needn't exclude subclasses...
+		final KeySequence<EntityKey,EntityKey> keys = batchLoadableEntityKeys.get( persister.getEntityName() );
+		if ( keys == null ) {
+			return ids;
+		}
+
+		// prefer the keys registered right after the given id, then the closest ones before it
+		final KeySequence.Walk<EntityKey,EntityKey> walk = keys.walkAround(
+				context.getSession().generateEntityKey( id, persister )
+		);
+		final List<EntityKey> probe = new ArrayList<EntityKey>( batchSize - 1 );
 		int i = 1;
-		int end = -1;
-		boolean checkForEnd = false;
-
-		Iterator iter = batchLoadableEntityKeys.keySet().iterator();
-		while ( iter.hasNext() ) {
-			EntityKey key = (EntityKey) iter.next();
-			if ( key.getEntityName().equals( persister.getEntityName() ) ) { //TODO: this needn't exclude subclasses...
-				if ( checkForEnd && i == end ) {
-					//the first id found after the given id
-					return ids;
-				}
-				if ( persister.getIdentifierType().isEqual( id, key.getIdentifier() ) ) {
-					end = i;
-				}
-				else {
-					if ( !isCached( key, persister ) ) {
-						ids[i++] = key.getIdentifier();
-					}
-				}
-				if ( i == batchSize ) {
-					i = 1; //end of array, start filling again from start
-					if (end!=-1) checkForEnd = true;
+		while ( i < batchSize && walk.hasNext() ) {
+			probe.clear();
+			while ( probe.size() < batchSize - i && walk.hasNext() ) {
+				probe.add( walk.next().key );
+			}
+			final boolean[] cached = readCachedEntities( probe, persister );
+			for ( int j = 0; j < cached.length; j++ ) {
+				if ( !cached[j] ) {
+					ids[i++] = probe.get( j ).getIdentifier();
 				}
 			}
 		}
-		return ids; //we ran out of ids to try
+		return ids;
 	}
 
-	private boolean isCached(EntityKey entityKey, EntityPersister persister) {
+	private boolean[] readCachedEntities(List<EntityKey> entityKeys, EntityPersister persister) {
+		final boolean[] cached = new boolean[entityKeys.size()];
 		if ( persister.hasCache() ) {
-			CacheKey key = context.getSession().generateCacheKey(
-					entityKey.getIdentifier(),
-					persister.getIdentifierType(),
-					entityKey.getEntityName()
-			);
-			return persister.getCacheAccessStrategy().get( key, context.getSession().getTimestamp() ) != null;
+			final List<CacheKey> cacheKeys = new ArrayList<CacheKey>( entityKeys.size() );
+			for ( EntityKey entityKey : entityKeys ) {
+				cacheKeys.add(
+						context.getSession().generateCacheKey(
+								entityKey.getIdentifier(),
+								persister.getIdentifierType(),
+								persister.getRootEntityName()
+						)
+				);
+			}
+			final Map entries = persister.getCacheAccessStrategy().getAll( cacheKeys, context.getSession().getTimestamp() );
+			for ( int i = 0; i < cached.length && !entries.isEmpty(); i++ ) {
+				final Object entry = entries.get( cacheKeys.get( i ) );
+				if ( entry != null ) {
+					cached[i] = true;
+					cachedEntityEntries.put( entityKeys.get( i ), entry );
+				}
+			}
 		}
-		return false;
+		return cached;
 	}
 
-	private boolean isCached(Serializable collectionKey, CollectionPersister persister) {
+	private boolean[] readCachedCollections(List<CollectionEntry> entries, CollectionPersister persister) {
+		final boolean[] cached = new boolean[entries.size()];
 		if ( persister.hasCache() ) {
-			CacheKey cacheKey = context.getSession().generateCacheKey(
-					collectionKey,
-			        persister.getKeyType(),
-			        persister.getRole()
-			);
-			return persister.getCacheAccessStrategy().get( cacheKey, context.getSession().getTimestamp() ) != null;
+			final List<CacheKey> cacheKeys = new ArrayList<CacheKey>( entries.size() );
+			for ( CollectionEntry ce : entries ) {
+				cacheKeys.add(
+						context.getSession().generateCacheKey(
+								ce.getLoadedKey(),
+								persister.getKeyType(),
+								persister.getRole()
+						)
+				);
+			}
+			final Map cacheEntries = persister.getCacheAccessStrategy().getAll( cacheKeys, context.getSession().getTimestamp() );
+			for ( int i = 0; i < cached.length && !cacheEntries.isEmpty(); i++ ) {
+				final Object cacheEntry = cacheEntries.get( cacheKeys.get( i ) );
+				if ( cacheEntry != null ) {
+					cached[i] = true;
+					cachedCollectionEntries.put( entries.get( i ), cacheEntry );
+				}
+			}
+		}
+		return cached;
+	}
+
+	/**
+	 * An insertion-ordered set of keys, each mapped to a value, whose entries know
+	 * their neighbours so that the keys around a given one are reached without
+	 * walking the sequence from its start.
+	 */
+	private static class KeySequence<K,V> {
+		private final Map<K,Node<K,V>> nodes = new HashMap<K,Node<K,V>>( 16 );
+		private Node<K,V> head;
+		private Node<K,V> tail;
+
+		/**
+		 * Append the key, unless it is already part of the sequence (in which case
+		 * only its value is replaced).
+		 */
+		void add(K key, V value) {
+			Node<K,V> node = nodes.get( key );
+			if ( node != null ) {
+				node.value = value;
+				return;
+			}
+			node = new Node<K,V>( key, value );
+			nodes.put( key, node );
+			if ( tail == null ) {
+				head = node;
+			}
+			else {
+				tail.next = node;
+				node.previous = tail;
+			}
+			tail = node;
+		}
+
+		void remove(K key) {
+			final Node<K,V> node = nodes.remove( key );
+			if ( node == null ) {
+				return;
+			}
+			if ( node.previous == null ) {
+				head = node.next;
+			}
+			else {
+				node.previous.next = node.next;
+			}
+			if ( node.next == null ) {
+				tail = node.previous;
+			}
+			else {
+				node.next.previous = node.previous;
+			}
+			// the node keeps its own links, so a walk standing on it can move on
+		}
+
+		/**
+		 * Walk the keys registered after the given one, then the keys registered
+		 * before it, closest first.  The given key itself is skipped; when it is not
+		 * part of the sequence the walk starts from the most recent key.
+		 */
+		Walk<K,V> walkAround(K key) {
+			final Node<K,V> node = key == null ? null : nodes.get( key );
+			return node == null ? new Walk<K,V>( null, tail ) : new Walk<K,V>( node.next, node.previous );
+		}
+
+		static class Node<K,V> {
+			final K key;
+			V value;
+			Node<K,V> previous;
+			Node<K,V> next;
+
+			Node(K key, V value) {
+				this.key = key;
+				this.value = value;
+			}
+		}
+
+		static class Walk<K,V> {
+			private Node<K,V> forward;
+			private Node<K,V> backward;
+
+			Walk(Node<K,V> forward, Node<K,V> backward) {
+				this.forward = forward;
+				this.backward = backward;
+			}
+
+			boolean hasNext() {
+				return forward != null || backward != null;
+			}
+
+			Node<K,V> next() {
+				final Node<K,V> node;
+				if ( forward != null ) {
+					node = forward;
+					forward = forward.next;
+				}
+				else {
+					node = backward;
+					backward = backward.previous;
+				}
+				return node;
+			}
 		}
-		return false;
 	}
 }
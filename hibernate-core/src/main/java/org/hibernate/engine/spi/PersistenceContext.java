@@ -394,12 +394,23 @@ public interface PersistenceContext {
 	 * Get the mapping from key value to entity instance
 	 */
 	public Map getEntitiesByKey();
+
+	/**
+	 * Get the mapping from key value to the proxies that are still referenced
+	 */
+	public Map getProxiesByKey();
 	
 	/**
 	 * Get the mapping from entity instance to entity entry
 	 */
 	public Map getEntityEntries();
 
+	/**
+	 * Get the entity instance / entity entry pairs, in the order the entries were added.  The
+	 * returned array is not affected by later changes to this persistence context.
+	 */
+	public Map.Entry[] reentrantSafeEntityEntries();
+
 	/**
 	 * Get the mapping from collection instance to collection entry
 	 */
@@ -148,8 +148,8 @@ public abstract class AbstractFlushingEventListener implements Serializable {
 
         LOG.debugf( "Processing flush-time cascades" );
 
-		final Map.Entry[] list = IdentityMap.concurrentEntries( session.getPersistenceContext().getEntityEntries() );
-		//safe from concurrent modification because of how entryList() is implemented on IdentityMap
+		final Map.Entry[] list = session.getPersistenceContext().reentrantSafeEntityEntries();
+		//safe from concurrent modification because the entries are a snapshot
 		final int size = list.length;
 		final Object anything = getAnything();
 		for ( int i=0; i<size; i++ ) {
@@ -213,11 +213,11 @@ public abstract class AbstractFlushingEventListener implements Serializable {
 		// be loaded.
 
 		// So this needs to be safe from concurrent modification problems.
-		// It is safe because of how IdentityMap implements entrySet()
+		// It is safe because reentrantSafeEntityEntries() returns a snapshot
 
 		final EventSource source = event.getSession();
 
-		final Map.Entry[] list = IdentityMap.concurrentEntries( source.getPersistenceContext().getEntityEntries() );
+		final Map.Entry[] list = source.getPersistenceContext().reentrantSafeEntityEntries();
 		final int size = list.length;
 		for ( int i = 0; i < size; i++ ) {
 
@@ -241,7 +241,8 @@ public abstract class AbstractSaveEventListener extends AbstractReassociateEvent
 		Serializable id = key == null ? null : key.getIdentifier();
 
 		boolean inTxn = source.getTransactionCoordinator().isTransactionInProgress();
-		boolean shouldDelayIdentityInserts = !inTxn && !requiresImmediateIdAccess;
+		boolean batchIdentityInserts = source.getFactory().getSettings().isJdbcBatchIdentityInserts();
+		boolean shouldDelayIdentityInserts = ( !inTxn || batchIdentityInserts ) && !requiresImmediateIdAccess;
 
 		// Put a placeholder in entries, so we don't recurse back and try to save() the
 		// same object again. QUESTION: should this be done before onSave() is called?
@@ -304,7 +305,12 @@ public abstract class AbstractSaveEventListener extends AbstractReassociateEvent
 				source.getPersistenceContext().checkUniqueness( key, entity );
 			}
 			else {
-                LOG.debugf("Delaying identity-insert due to no transaction in progress");
+				if ( inTxn ) {
+					LOG.debugf( "Delaying identity-insert so it can be batched at flush" );
+				}
+				else {
+					LOG.debugf( "Delaying identity-insert due to no transaction in progress" );
+				}
 				source.getActionQueue().addAction( insert );
 				key = insert.getDelayedEntityKey();
 			}
@@ -24,6 +24,8 @@
 package org.hibernate.event.internal;
 
 import java.io.Serializable;
+import java.util.Iterator;
+import java.util.Set;
 
 import org.jboss.logging.Logger;
 
@@ -33,6 +35,7 @@ import org.hibernate.StaleObjectStateException;
 import org.hibernate.action.internal.DelayedPostInsertIdentifier;
 import org.hibernate.action.internal.EntityUpdateAction;
 import org.hibernate.bytecode.instrumentation.internal.FieldInterceptionHelper;
+import org.hibernate.bytecode.instrumentation.spi.FieldInterceptor;
 import org.hibernate.engine.internal.Nullability;
 import org.hibernate.engine.internal.Versioning;
 import org.hibernate.engine.spi.EntityEntry;
@@ -46,6 +49,8 @@ import org.hibernate.internal.CoreMessageLogger;
 import org.hibernate.internal.util.collections.ArrayHelper;
 import org.hibernate.persister.entity.EntityPersister;
 import org.hibernate.pretty.MessageHelper;
+import org.hibernate.tuple.StandardProperty;
+import org.hibernate.tuple.entity.EntityMetamodel;
 import org.hibernate.type.Type;
 
 /**
@@ -135,7 +140,7 @@ public class DefaultFlushEntityEventListener implements FlushEntityEventListener
 		final Status status = entry.getStatus();
 		final Type[] types = persister.getPropertyTypes();
 
-		final boolean mightBeDirty = entry.requiresDirtyCheck(entity);
+		final boolean mightBeDirty = requiresDirtyCheck( event );
 
 		final Object[] values = getValues( entity, entry, mightBeDirty, session );
 
@@ -161,6 +166,102 @@ public class DefaultFlushEntityEventListener implements FlushEntityEventListener
 
 	}
 
+	/**
+	 * Does the entity need a dirty check?  For instrumented entities the field interceptor tracks the fields
+	 * written to, so only those and the properties of mutable types (which may have been modified in place) need to
+	 * be compared against the loaded state.  An entity for which none of them changed is skipped entirely; otherwise
+	 * the properties found dirty are recorded on the event, for {@link #dirtyCheck} not to compare them again.
+	 */
+	private boolean requiresDirtyCheck(FlushEntityEvent event) {
+		final EntityEntry entry = event.getEntityEntry();
+		final Object entity = event.getEntity();
+		if ( !entry.requiresDirtyCheck( entity ) ) {
+			return false;
+		}
+		final Object[] loadedState = entry.getLoadedState();
+		if ( entry.getStatus() != Status.MANAGED || loadedState == null ) {
+			return true;
+		}
+		final FieldInterceptor interceptor = FieldInterceptionHelper.extractFieldInterceptor( entity );
+		if ( interceptor == null ) {
+			return true;
+		}
+		final EntityPersister persister = entry.getPersister();
+		final EntityMetamodel entityMetamodel = persister.getEntityMetamodel();
+		final Set dirtyFields = interceptor.getDirtyFields();
+		if ( dirtyFields == null || entityMetamodel == null || persister.hasUninitializedLazyProperties( entity ) ) {
+			return true;
+		}
+
+		final Type[] types = persister.getPropertyTypes();
+		final boolean[] candidates = new boolean[types.length];
+		boolean collectionWritten = false;
+		final Iterator fields = dirtyFields.iterator();
+		while ( fields.hasNext() ) {
+			final Integer index = entityMetamodel.getPropertyIndexOrNull( (String) fields.next() );
+			if ( index == null ) {
+				// not a persistent property, or not named after its field; play it safe
+				return true;
+			}
+			final int i = index.intValue();
+			// a newly assigned collection needs wrapping even though it does not dirty the entity
+			collectionWritten = collectionWritten || types[i].isCollectionType();
+			candidates[i] = true;
+		}
+		if ( persister.hasMutableProperties() ) {
+			for ( int i = 0; i < types.length; i++ ) {
+				if ( types[i].isMutable() ) {
+					if ( types[i].isComponentType() && persister.hasCollections() ) {
+						return true;
+					}
+					candidates[i] = true;
+				}
+			}
+		}
+
+		final int[] dirtyProperties = findDirty( candidates, entity, loadedState, persister, event.getSession() );
+		if ( dirtyProperties == null ) {
+			return true;
+		}
+		if ( dirtyProperties.length == 0 && !collectionWritten ) {
+			// fields were written to, but with the values they already had
+			interceptor.clearDirty();
+			return false;
+		}
+		event.setTrackedDirtyProperties( dirtyProperties );
+		return true;
+	}
+
+	/**
+	 * Compares the given properties with the loaded state the way {@link EntityPersister#findDirty} does.  Returns
+	 * <tt>null</tt> if a property spanning several columns changed: <tt>findDirty</tt> only compares the updatable
+	 * columns of those, which are not known here.
+	 */
+	private int[] findDirty(
+			boolean[] candidates,
+			Object entity,
+			Object[] loadedState,
+			EntityPersister persister,
+			SessionImplementor session) {
+		final StandardProperty[] properties = persister.getEntityMetamodel().getProperties();
+		final Type[] types = persister.getPropertyTypes();
+		final int[] dirty = new int[candidates.length];
+		int count = 0;
+		for ( int i = 0; i < candidates.length; i++ ) {
+			if ( candidates[i]
+					&& properties[i].isDirtyCheckable( false )
+					&& types[i].isDirty( loadedState[i], persister.getPropertyValue( entity, i ), session ) ) {
+				if ( types[i].getColumnSpan( session.getFactory() ) > 1 ) {
+					return null;
+				}
+				dirty[count++] = i;
+			}
+		}
+		final int[] trimmed = new int[count];
+		System.arraycopy( dirty, 0, trimmed, 0, count );
+		return trimmed;
+	}
+
 	private Object[] getValues(Object entity, EntityEntry entry, boolean mightBeDirty, SessionImplementor session) {
 		final Object[] loadedState = entry.getLoadedState();
 		final Status status = entry.getStatus();
@@ -470,8 +571,14 @@ public class DefaultFlushEntityEventListener implements FlushEntityEventListener
 
 			cannotDirtyCheck = loadedState==null; // object loaded by update()
 			if ( !cannotDirtyCheck ) {
-				// dirty check against the usual snapshot of the entity
-				dirtyProperties = persister.findDirty( values, loadedState, entity, session );
+				if ( event.getTrackedDirtyProperties() != null ) {
+					// the written fields and mutable properties, the only ones which can be dirty, were already compared
+					dirtyProperties = event.getTrackedDirtyProperties().length == 0 ? null : event.getTrackedDirtyProperties();
+				}
+				else {
+					// dirty check against the usual snapshot of the entity
+					dirtyProperties = persister.findDirty( values, loadedState, entity, session );
+				}
 			}
 			else if ( entry.getStatus() == Status.DELETED && ! event.getEntityEntry().isModifiableEntity() ) {
 				// A non-modifiable (e.g., read-only or immutable) entity needs to be have
@@ -118,7 +118,12 @@ public class DefaultInitializeCollectionEventListener implements InitializeColle
         final SessionFactoryImplementor factory = source.getFactory();
 
         final CacheKey ck = source.generateCacheKey( id, persister.getKeyType(), persister.getRole() );
-        Object ce = persister.getCacheAccessStrategy().get(ck, source.getTimestamp());
+        Object ce = source.getPersistenceContext()
+				.getBatchFetchQueue()
+				.removeCachedCollectionEntry( source.getPersistenceContext().getCollectionEntry( collection ) );
+        if ( ce == null ) {
+            ce = persister.getCacheAccessStrategy().get(ck, source.getTimestamp());
+        }
 
 		if ( factory.getStatistics().isStatisticsEnabled() ) {
             if (ce == null) {
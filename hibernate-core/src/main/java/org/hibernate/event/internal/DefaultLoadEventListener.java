@@ -531,7 +531,12 @@ public class DefaultLoadEventListener extends AbstractLockUpgradeEventListener i
 					persister.getIdentifierType(),
 					persister.getRootEntityName()
 			);
-			Object ce = persister.getCacheAccessStrategy().get( ck, source.getTimestamp() );
+			Object ce = source.getPersistenceContext()
+					.getBatchFetchQueue()
+					.removeCachedEntityEntry( event.getEntityId(), persister );
+			if ( ce == null ) {
+				ce = persister.getCacheAccessStrategy().get( ck, source.getTimestamp() );
+			}
 			if ( factory.getStatistics().isStatisticsEnabled() ) {
 				if ( ce == null ) {
 					factory.getStatisticsImplementor().secondLevelCacheMiss(
@@ -45,7 +45,7 @@ public class EvictVisitor extends AbstractVisitor {
 
     private static final CoreMessageLogger LOG = Logger.getMessageLogger(CoreMessageLogger.class, EvictVisitor.class.getName());
 
-	EvictVisitor(EventSource session) {
+	public EvictVisitor(EventSource session) {
 		super(session);
 	}
 
@@ -80,6 +80,7 @@ public class EvictVisitor extends AbstractVisitor {
                                              MessageHelper.collectionInfoString(ce.getLoadedPersister(),
                                                                                 ce.getLoadedKey(),
                                                                                 getSession().getFactory()));
+		getSession().getPersistenceContext().getBatchFetchQueue().removeBatchLoadableCollection( ce );
 		if ( ce.getLoadedPersister() != null && ce.getLoadedKey() != null ) {
 			//TODO: is this 100% correct?
 			getSession().getPersistenceContext().getCollectionsByKey().remove(
@@ -33,6 +33,7 @@ public class FlushEntityEvent extends AbstractEvent {
 	private Object[] propertyValues;
 	private Object[] databaseSnapshot;
 	private int[] dirtyProperties;
+	private int[] trackedDirtyProperties;
 	private boolean hasDirtyCollection;
 	private boolean dirtyCheckPossible;
 	private boolean dirtyCheckHandledByInterceptor;
@@ -74,6 +75,16 @@ public class FlushEntityEvent extends AbstractEvent {
 	public void setDirtyProperties(int[] dirtyProperties) {
 		this.dirtyProperties = dirtyProperties;
 	}
+	/**
+	 * The dirty properties of an instrumented entity, found by comparing only the fields written to and the
+	 * properties of mutable types; <tt>null</tt> if they were not tracked and all properties must be compared.
+	 */
+	public int[] getTrackedDirtyProperties() {
+		return trackedDirtyProperties;
+	}
+	public void setTrackedDirtyProperties(int[] trackedDirtyProperties) {
+		this.trackedDirtyProperties = trackedDirtyProperties;
+	}
 	public boolean hasDirtyCollection() {
 		return hasDirtyCollection;
 	}
@@ -23,13 +23,18 @@
  */
 package org.hibernate.hql.internal.ast.exec;
 
+import java.io.Serializable;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.sql.SQLWarning;
 import java.sql.Statement;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import org.hibernate.HibernateException;
+import org.hibernate.engine.spi.QueryParameters;
 import org.hibernate.engine.spi.SessionImplementor;
 import org.hibernate.internal.CoreMessageLogger;
 import org.hibernate.action.internal.BulkOperationCleanupAction;
@@ -39,12 +44,15 @@ import org.hibernate.engine.jdbc.spi.SqlExceptionHelper;
 import org.hibernate.event.spi.EventSource;
 import org.hibernate.hql.internal.ast.HqlSqlWalker;
 import org.hibernate.hql.internal.ast.SqlGenerator;
+import org.hibernate.hql.spi.MultiTableBulkIdStrategy;
 import org.hibernate.internal.util.StringHelper;
 import org.hibernate.jdbc.AbstractWork;
+import org.hibernate.param.ParameterSpecification;
 import org.hibernate.persister.entity.Queryable;
 import org.hibernate.sql.InsertSelect;
 import org.hibernate.sql.Select;
 import org.hibernate.sql.SelectFragment;
+import org.hibernate.type.Type;
 import org.jboss.logging.Logger;
 import antlr.RecognitionException;
 import antlr.collections.AST;
@@ -59,6 +67,16 @@ public abstract class AbstractStatementExecutor implements StatementExecutor {
     private static final CoreMessageLogger LOG = Logger.getMessageLogger(CoreMessageLogger.class,
                                                                        AbstractStatementExecutor.class.getName());
 
+	/**
+	 * The name of the common table expression holding the affected ids with {@link MultiTableBulkIdStrategy#CTE}.
+	 */
+	protected static final String CTE_ID_TABLE_NAME = "hql_ids";
+
+	/**
+	 * The maximum number of ids restricted on by one statement with {@link MultiTableBulkIdStrategy#INLINE}.
+	 */
+	protected static final int INLINE_ID_BATCH_SIZE = 500;
+
 	private final HqlSqlWalker walker;
 	private List idSelectParameterSpecifications = Collections.EMPTY_LIST;
 
@@ -81,10 +99,48 @@ public abstract class AbstractStatementExecutor implements StatementExecutor {
 
 	protected abstract Queryable[] getAffectedQueryables();
 
+	protected MultiTableBulkIdStrategy getBulkIdStrategy() {
+		return getFactory().getSettings().getMultiTableBulkIdStrategy();
+	}
+
 	protected String generateIdInsertSelect(Queryable persister, String tableAlias, AST whereClause) {
+		Select select = generateIdSelect( persister, tableAlias, whereClause, persister.getIdentifierColumnNames() );
+
+		InsertSelect insert = new InsertSelect( getFactory().getDialect() );
+		if ( getFactory().getSettings().isCommentsEnabled() ) {
+			insert.setComment( "insert-select for " + persister.getEntityName() + " ids" );
+		}
+		insert.setTableName( persister.getTemporaryIdTableName() );
+		insert.setSelect( select );
+		return insert.toStatementString();
+	}
+
+	/**
+	 * Generate the select of the ids of the rows affected by the bulk operation, for
+	 * {@link MultiTableBulkIdStrategy#INLINE}; the ids are selected under the aliases {@link #getIdAliases}.
+	 */
+	protected String generateIdSelectString(Queryable persister, String tableAlias, AST whereClause) {
+		return generateIdSelect( persister, tableAlias, whereClause, getIdAliases( persister ) ).toStatementString();
+	}
+
+	/**
+	 * Generate the <tt>WITH</tt> clause naming the ids of the rows affected by the bulk operation, for
+	 * {@link MultiTableBulkIdStrategy#CTE}.
+	 */
+	protected String generateIdCommonTableExpression(Queryable persister, String tableAlias, AST whereClause) {
+		return "with " + CTE_ID_TABLE_NAME + " (" + StringHelper.join( ", ", persister.getIdentifierColumnNames() ) + ") as ("
+				+ generateIdSelect( persister, tableAlias, whereClause, persister.getIdentifierColumnNames() ).toStatementString()
+				+ ")";
+	}
+
+	protected String[] getIdAliases(Queryable persister) {
+		return persister.getIdentifierAliases( "_" );
+	}
+
+	private Select generateIdSelect(Queryable persister, String tableAlias, AST whereClause, String[] idAliases) {
 		Select select = new Select( getFactory().getDialect() );
 		SelectFragment selectFragment = new SelectFragment()
-				.addColumns( tableAlias, persister.getIdentifierColumnNames(), persister.getIdentifierColumnNames() );
+				.addColumns( tableAlias, persister.getIdentifierColumnNames(), idAliases );
 		select.setSelectClause( selectFragment.toFragmentString().substring( 2 ) );
 
 		String rootTableName = persister.getTableName();
@@ -122,19 +178,104 @@ public abstract class AbstractStatementExecutor implements StatementExecutor {
 		}
 
 		select.setWhereClause( whereJoinFragment + userWhereClause );
-
-		InsertSelect insert = new InsertSelect( getFactory().getDialect() );
-		if ( getFactory().getSettings().isCommentsEnabled() ) {
-			insert.setComment( "insert-select for " + persister.getEntityName() + " ids" );
-		}
-		insert.setTableName( persister.getTemporaryIdTableName() );
-		insert.setSelect( select );
-		return insert.toStatementString();
+		return select;
 	}
 
 	protected String generateIdSubselect(Queryable persister) {
+		final String idTableName = getBulkIdStrategy() == MultiTableBulkIdStrategy.CTE
+				? CTE_ID_TABLE_NAME
+				: persister.getTemporaryIdTableName();
 		return "select " + StringHelper.join( ", ", persister.getIdentifierColumnNames() ) +
-			        " from " + persister.getTemporaryIdTableName();
+			        " from " + idTableName;
+	}
+
+	/**
+	 * Generate the restriction of the given key columns to <tt>idCount</tt> inline id parameters, for
+	 * {@link MultiTableBulkIdStrategy#INLINE}.
+	 */
+	protected String generateIdRestriction(String[] keyColumnNames, int idCount) {
+		final StringBuilder buffer = new StringBuilder();
+		if ( keyColumnNames.length == 1 ) {
+			buffer.append( keyColumnNames[0] ).append( " in (" );
+			for ( int i = 0; i < idCount; i++ ) {
+				buffer.append( i == 0 ? "?" : ", ?" );
+			}
+			return buffer.append( ')' ).toString();
+		}
+		final String tuple = StringHelper.repeat( "?, ", keyColumnNames.length - 1 ) + "?";
+		if ( getFactory().getDialect().supportsRowValueConstructorSyntaxInInList() ) {
+			buffer.append( '(' ).append( StringHelper.join( ", ", keyColumnNames ) ).append( ") in (" );
+			for ( int i = 0; i < idCount; i++ ) {
+				buffer.append( i == 0 ? "(" : ", (" ).append( tuple ).append( ')' );
+			}
+			return buffer.append( ')' ).toString();
+		}
+		final String conjunction = '(' + StringHelper.join( "=? and ", keyColumnNames ) + "=?)";
+		buffer.append( '(' );
+		for ( int i = 0; i < idCount; i++ ) {
+			buffer.append( i == 0 ? "" : " or " ).append( conjunction );
+		}
+		return buffer.append( ')' ).toString();
+	}
+
+	/**
+	 * Execute the id select generated by {@link #generateIdSelectString}, for
+	 * {@link MultiTableBulkIdStrategy#INLINE}.
+	 *
+	 * @return The ids of the affected rows
+	 */
+	protected List<Serializable> selectIds(
+			Queryable persister,
+			String idSelect,
+			QueryParameters parameters,
+			SessionImplementor session) {
+		final List<Serializable> ids = new ArrayList<Serializable>();
+		try {
+			PreparedStatement ps = session.getTransactionCoordinator()
+					.getJdbcCoordinator()
+					.getStatementPreparer()
+					.prepareStatement( idSelect, false );
+			try {
+				int position = 1;
+				for ( Object parameterSpecification : getIdSelectParameterSpecifications() ) {
+					position += ( (ParameterSpecification) parameterSpecification ).bind( ps, parameters, session, position );
+				}
+				final String[] idAliases = getIdAliases( persister );
+				final ResultSet rs = ps.executeQuery();
+				while ( rs.next() ) {
+					ids.add( (Serializable) persister.getIdentifierType().nullSafeGet( rs, idAliases, session, null ) );
+				}
+			}
+			finally {
+				ps.close();
+			}
+		}
+		catch ( SQLException e ) {
+			throw getFactory().getSQLExceptionHelper().convert( e, "could not select ids for bulk operation", idSelect );
+		}
+		return ids;
+	}
+
+	/**
+	 * Bind the ids <tt>[from, to)</tt> to the parameters of a restriction generated by
+	 * {@link #generateIdRestriction}.
+	 *
+	 * @return The number of parameter positions bound
+	 */
+	protected int bindIds(
+			PreparedStatement ps,
+			int position,
+			List<Serializable> ids,
+			int from,
+			int to,
+			Queryable persister,
+			SessionImplementor session) throws SQLException {
+		final Type idType = persister.getIdentifierType();
+		final int span = persister.getIdentifierColumnNames().length;
+		for ( int i = from; i < to; i++ ) {
+			idType.nullSafeSet( ps, ids.get( i ), position + ( i - from ) * span, session );
+		}
+		return ( to - from ) * span;
 	}
 
 	private static class TemporaryTableCreationWork extends AbstractWork {
@@ -171,6 +312,10 @@ public abstract class AbstractStatementExecutor implements StatementExecutor {
 		}
 	}
 	protected void createTemporaryTableIfNecessary(final Queryable persister, final SessionImplementor session) {
+		if ( getBulkIdStrategy() == MultiTableBulkIdStrategy.GLOBAL_TEMPORARY_TABLE ) {
+			// the id table is part of the schema (see Configuration#generateSchemaCreationScript)
+			return;
+		}
 		// Don't really know all the codes required to adequately decipher returned jdbc exceptions here.
 		// simply allow the failure to be eaten and the subsequent insert-selects/deletes should fail
 		TemporaryTableCreationWork work = new TemporaryTableCreationWork( persister );
@@ -244,7 +389,8 @@ public abstract class AbstractStatementExecutor implements StatementExecutor {
 	}
 
 	protected void dropTemporaryTableIfNecessary(final Queryable persister, final SessionImplementor session) {
-		if ( getFactory().getDialect().dropTemporaryTableAfterUse() ) {
+		if ( getFactory().getDialect().dropTemporaryTableAfterUse()
+				&& getBulkIdStrategy() != MultiTableBulkIdStrategy.GLOBAL_TEMPORARY_TABLE ) {
 			TemporaryTableDropWork work = new TemporaryTableDropWork( persister, session );
 			if ( shouldIsolateTemporaryTableDDL() ) {
 				session.getTransactionCoordinator()
@@ -24,9 +24,12 @@
  */
 package org.hibernate.hql.internal.ast.exec;
 
+import java.io.Serializable;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.Iterator;
+import java.util.List;
 import org.hibernate.HibernateException;
 import org.hibernate.engine.spi.SessionImplementor;
 import org.hibernate.internal.CoreMessageLogger;
@@ -34,6 +37,7 @@ import org.hibernate.engine.spi.QueryParameters;
 import org.hibernate.hql.internal.ast.HqlSqlWalker;
 import org.hibernate.hql.internal.ast.tree.DeleteStatement;
 import org.hibernate.hql.internal.ast.tree.FromElement;
+import org.hibernate.hql.spi.MultiTableBulkIdStrategy;
 import org.hibernate.internal.util.StringHelper;
 import org.hibernate.param.ParameterSpecification;
 import org.hibernate.persister.entity.Queryable;
@@ -51,13 +55,18 @@ public class MultiTableDeleteExecutor extends AbstractStatementExecutor {
                                                                        MultiTableDeleteExecutor.class.getName());
 
 	private final Queryable persister;
+	private final MultiTableBulkIdStrategy bulkIdStrategy;
 	private final String idInsertSelect;
+	private final String idSelect;
+	private final String[] tableNames;
+	private final String[][] columnNames;
 	private final String[] deletes;
 
 	public MultiTableDeleteExecutor(HqlSqlWalker walker) {
         super(walker, null);
 
-		if ( !walker.getSessionFactoryHelper().getFactory().getDialect().supportsTemporaryTables() ) {
+		this.bulkIdStrategy = getBulkIdStrategy();
+		if ( bulkIdStrategy.usesIdTable() && !getFactory().getDialect().supportsTemporaryTables() ) {
 			throw new HibernateException( "cannot doAfterTransactionCompletion multi-table deletes using dialect not supporting temp tables" );
 		}
 
@@ -66,28 +75,67 @@ public class MultiTableDeleteExecutor extends AbstractStatementExecutor {
 		String bulkTargetAlias = fromElement.getTableAlias();
 		this.persister = fromElement.getQueryable();
 
-		this.idInsertSelect = generateIdInsertSelect( persister, bulkTargetAlias, deleteStatement.getWhereClause() );
-        LOG.trace("Generated ID-INSERT-SELECT SQL (multi-table delete) : " + idInsertSelect);
-
-		String[] tableNames = persister.getConstraintOrderedTableNameClosure();
-		String[][] columnNames = persister.getContraintOrderedTableKeyColumnClosure();
-		String idSubselect = generateIdSubselect( persister );
-
-		deletes = new String[tableNames.length];
-		for ( int i = tableNames.length - 1; i >= 0; i-- ) {
-			// TODO : an optimization here would be to consider cascade deletes and not gen those delete statements;
-			//      the difficulty is the ordering of the tables here vs the cascade attributes on the persisters ->
-			//          the table info gotten here should really be self-contained (i.e., a class representation
-			//          defining all the needed attributes), then we could then get an array of those
-			final Delete delete = new Delete()
-					.setTableName( tableNames[i] )
-					.setWhere( "(" + StringHelper.join( ", ", columnNames[i] ) + ") IN (" + idSubselect + ")" );
-			if ( getFactory().getSettings().isCommentsEnabled() ) {
-				delete.setComment( "bulk delete" );
+		this.tableNames = persister.getConstraintOrderedTableNameClosure();
+		this.columnNames = persister.getContraintOrderedTableKeyColumnClosure();
+
+		switch ( bulkIdStrategy ) {
+			case INLINE: {
+				this.idInsertSelect = null;
+				this.idSelect = generateIdSelectString( persister, bulkTargetAlias, deleteStatement.getWhereClause() );
+				LOG.trace( "Generated ID-SELECT SQL (multi-table delete) : " + idSelect );
+				this.deletes = new String[tableNames.length];
+				for ( int i = 0; i < tableNames.length; i++ ) {
+					deletes[i] = generateDelete( i, generateIdRestriction( columnNames[i], 1 ) );
+				}
+				break;
+			}
+			case CTE: {
+				this.idInsertSelect = null;
+				this.idSelect = null;
+				final String idSubselect = generateIdSubselect( persister );
+				final StringBuilder buffer = new StringBuilder(
+						generateIdCommonTableExpression( persister, bulkTargetAlias, deleteStatement.getWhereClause() )
+				);
+				for ( int i = 0; i < tableNames.length; i++ ) {
+					buffer.append( ", hql_delete_" ).append( i ).append( " as (" )
+							.append( new Delete().setTableName( tableNames[i] ).setWhere( generateIdSubselectRestriction( i, idSubselect ) ).toStatementString() )
+							.append( ')' );
+				}
+				buffer.append( " select count(*) from " ).append( CTE_ID_TABLE_NAME );
+				this.deletes = new String[] { buffer.toString() };
+				LOG.trace( "Generated WITH-DELETE SQL (multi-table delete) : " + deletes[0] );
+				break;
 			}
+			default: {
+				this.idSelect = null;
+				this.idInsertSelect = generateIdInsertSelect( persister, bulkTargetAlias, deleteStatement.getWhereClause() );
+				LOG.trace( "Generated ID-INSERT-SELECT SQL (multi-table delete) : " + idInsertSelect );
+
+				final String idSubselect = generateIdSubselect( persister );
+				this.deletes = new String[tableNames.length];
+				for ( int i = tableNames.length - 1; i >= 0; i-- ) {
+					// TODO : an optimization here would be to consider cascade deletes and not gen those delete statements;
+					//      the difficulty is the ordering of the tables here vs the cascade attributes on the persisters ->
+					//          the table info gotten here should really be self-contained (i.e., a class representation
+					//          defining all the needed attributes), then we could then get an array of those
+					deletes[i] = generateDelete( i, generateIdSubselectRestriction( i, idSubselect ) );
+				}
+			}
+		}
+	}
+
+	private String generateIdSubselectRestriction(int tableIndex, String idSubselect) {
+		return "(" + StringHelper.join( ", ", columnNames[tableIndex] ) + ") IN (" + idSubselect + ")";
+	}
 
-			deletes[i] = delete.toStatementString();
+	private String generateDelete(int tableIndex, String restriction) {
+		final Delete delete = new Delete()
+				.setTableName( tableNames[tableIndex] )
+				.setWhere( restriction );
+		if ( getFactory().getSettings().isCommentsEnabled() ) {
+			delete.setComment( "bulk delete" );
 		}
+		return delete.toStatementString();
 	}
 
 	public String[] getSqlStatements() {
@@ -97,6 +145,17 @@ public class MultiTableDeleteExecutor extends AbstractStatementExecutor {
 	public int execute(QueryParameters parameters, SessionImplementor session) throws HibernateException {
 		coordinateSharedCacheCleanup( session );
 
+		switch ( bulkIdStrategy ) {
+			case INLINE:
+				return executeInline( parameters, session );
+			case CTE:
+				return executeWith( parameters, session );
+			default:
+				return executeWithIdTable( parameters, session );
+		}
+	}
+
+	private int executeWithIdTable(QueryParameters parameters, SessionImplementor session) {
 		createTemporaryTableIfNecessary( persister, session );
 
 		try {
@@ -157,6 +216,63 @@ public class MultiTableDeleteExecutor extends AbstractStatementExecutor {
 		}
 	}
 
+	private int executeInline(QueryParameters parameters, SessionImplementor session) {
+		final List<Serializable> ids = selectIds( persister, idSelect, parameters, session );
+
+		for ( int from = 0; from < ids.size(); from += INLINE_ID_BATCH_SIZE ) {
+			final int to = Math.min( from + INLINE_ID_BATCH_SIZE, ids.size() );
+			for ( int i = 0; i < tableNames.length; i++ ) {
+				final String delete = generateDelete( i, generateIdRestriction( columnNames[i], to - from ) );
+				try {
+					PreparedStatement ps = session.getTransactionCoordinator().getJdbcCoordinator().getStatementPreparer().prepareStatement( delete, false );
+					try {
+						bindIds( ps, 1, ids, from, to, persister, session );
+						ps.executeUpdate();
+					}
+					finally {
+						ps.close();
+					}
+				}
+				catch( SQLException e ) {
+					throw getFactory().getSQLExceptionHelper().convert(
+					        e,
+					        "error performing bulk delete",
+					        delete
+						);
+				}
+			}
+		}
+
+		return ids.size();
+	}
+
+	private int executeWith(QueryParameters parameters, SessionImplementor session) {
+		try {
+			PreparedStatement ps = session.getTransactionCoordinator().getJdbcCoordinator().getStatementPreparer().prepareStatement( deletes[0], false );
+			try {
+				Iterator paramSpecifications = getIdSelectParameterSpecifications().iterator();
+				int pos = 1;
+				while ( paramSpecifications.hasNext() ) {
+					final ParameterSpecification paramSpec = ( ParameterSpecification ) paramSpecifications.next();
+					pos += paramSpec.bind( ps, parameters, session, pos );
+				}
+				ResultSet rs = ps.executeQuery();
+				rs.next();
+				return rs.getInt( 1 );
+			}
+			finally {
+				ps.close();
+			}
+		}
+		catch( SQLException e ) {
+			throw getFactory().getSQLExceptionHelper().convert(
+			        e,
+			        "error performing bulk delete",
+			        deletes[0]
+				);
+		}
+	}
+
 	@Override
     protected Queryable[] getAffectedQueryables() {
 		return new Queryable[] { persister };
@@ -24,7 +24,9 @@
  */
 package org.hibernate.hql.internal.ast.exec;
 
+import java.io.Serializable;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Iterator;
@@ -37,6 +39,7 @@ import org.hibernate.hql.internal.ast.HqlSqlWalker;
 import org.hibernate.hql.internal.ast.tree.AssignmentSpecification;
 import org.hibernate.hql.internal.ast.tree.FromElement;
 import org.hibernate.hql.internal.ast.tree.UpdateStatement;
+import org.hibernate.hql.spi.MultiTableBulkIdStrategy;
 import org.hibernate.internal.util.StringHelper;
 import org.hibernate.param.ParameterSpecification;
 import org.hibernate.persister.entity.Queryable;
@@ -54,14 +57,21 @@ public class MultiTableUpdateExecutor extends AbstractStatementExecutor {
                                                                        MultiTableUpdateExecutor.class.getName());
 
 	private final Queryable persister;
+	private final MultiTableBulkIdStrategy bulkIdStrategy;
 	private final String idInsertSelect;
+	private final String idSelect;
+	private final String[] tableNames;
+	private final String[][] columnNames;
+	private final String[] assignments;
 	private final String[] updates;
 	private final ParameterSpecification[][] hqlParameters;
+	private final String withUpdate;
 
 	public MultiTableUpdateExecutor(HqlSqlWalker walker) {
         super(walker, null);
 
-		if ( !walker.getSessionFactoryHelper().getFactory().getDialect().supportsTemporaryTables() ) {
+		this.bulkIdStrategy = getBulkIdStrategy();
+		if ( bulkIdStrategy.usesIdTable() && !getFactory().getDialect().supportsTemporaryTables() ) {
 			throw new HibernateException( "cannot doAfterTransactionCompletion multi-table updates using dialect not supporting temp tables" );
 		}
 
@@ -70,32 +80,47 @@ public class MultiTableUpdateExecutor extends AbstractStatementExecutor {
 		String bulkTargetAlias = fromElement.getTableAlias();
 		this.persister = fromElement.getQueryable();
 
-		this.idInsertSelect = generateIdInsertSelect( persister, bulkTargetAlias, updateStatement.getWhereClause() );
-        LOG.trace("Generated ID-INSERT-SELECT SQL (multi-table update) : " + idInsertSelect);
+		switch ( bulkIdStrategy ) {
+			case INLINE: {
+				this.idInsertSelect = null;
+				this.idSelect = generateIdSelectString( persister, bulkTargetAlias, updateStatement.getWhereClause() );
+				LOG.trace( "Generated ID-SELECT SQL (multi-table update) : " + idSelect );
+				break;
+			}
+			case CTE: {
+				this.idInsertSelect = null;
+				this.idSelect = generateIdCommonTableExpression( persister, bulkTargetAlias, updateStatement.getWhereClause() );
+				break;
+			}
+			default: {
+				this.idSelect = null;
+				this.idInsertSelect = generateIdInsertSelect( persister, bulkTargetAlias, updateStatement.getWhereClause() );
+				LOG.trace( "Generated ID-INSERT-SELECT SQL (multi-table update) : " + idInsertSelect );
+			}
+		}
 
-		String[] tableNames = persister.getConstraintOrderedTableNameClosure();
-		String[][] columnNames = persister.getContraintOrderedTableKeyColumnClosure();
+		tableNames = persister.getConstraintOrderedTableNameClosure();
+		columnNames = persister.getContraintOrderedTableKeyColumnClosure();
 
-		String idSubselect = generateIdSubselect( persister );
+		String idSubselect = bulkIdStrategy == MultiTableBulkIdStrategy.INLINE ? null : generateIdSubselect( persister );
 		List assignmentSpecifications = walker.getAssignmentSpecifications();
 
+		assignments = new String[tableNames.length];
 		updates = new String[tableNames.length];
 		hqlParameters = new ParameterSpecification[tableNames.length][];
 		for ( int tableIndex = 0; tableIndex < tableNames.length; tableIndex++ ) {
 			boolean affected = false;
 			List parameterList = new ArrayList();
-			Update update = new Update( getFactory().getDialect() )
-					.setTableName( tableNames[tableIndex] )
-					.setWhere( "(" + StringHelper.join( ", ", columnNames[tableIndex] ) + ") IN (" + idSubselect + ")" );
-			if ( getFactory().getSettings().isCommentsEnabled() ) {
-				update.setComment( "bulk update" );
-			}
+			StringBuilder assignmentFragment = new StringBuilder();
 			final Iterator itr = assignmentSpecifications.iterator();
 			while ( itr.hasNext() ) {
 				final AssignmentSpecification specification = ( AssignmentSpecification ) itr.next();
 				if ( specification.affectsTable( tableNames[tableIndex] ) ) {
+					if ( affected ) {
+						assignmentFragment.append( ", " );
+					}
 					affected = true;
-					update.appendAssignmentFragment( specification.getSqlAssignmentFragment() );
+					assignmentFragment.append( specification.getSqlAssignmentFragment() );
 					if ( specification.getParameters() != null ) {
 						for ( int paramIndex = 0; paramIndex < specification.getParameters().length; paramIndex++ ) {
 							parameterList.add( specification.getParameters()[paramIndex] );
@@ -104,10 +129,43 @@ public class MultiTableUpdateExecutor extends AbstractStatementExecutor {
 				}
 			}
 			if ( affected ) {
-				updates[tableIndex] = update.toStatementString();
+				assignments[tableIndex] = assignmentFragment.toString();
+				updates[tableIndex] = generateUpdate(
+						tableIndex,
+						idSubselect == null
+								? generateIdRestriction( columnNames[tableIndex], 1 )
+								: "(" + StringHelper.join( ", ", columnNames[tableIndex] ) + ") IN (" + idSubselect + ")",
+						bulkIdStrategy != MultiTableBulkIdStrategy.CTE
+				);
 				hqlParameters[tableIndex] = ( ParameterSpecification[] ) parameterList.toArray( new ParameterSpecification[0] );
 			}
 		}
+
+		if ( bulkIdStrategy == MultiTableBulkIdStrategy.CTE ) {
+			final StringBuilder buffer = new StringBuilder( idSelect );
+			for ( int i = 0; i < updates.length; i++ ) {
+				if ( updates[i] != null ) {
+					buffer.append( ", hql_update_" ).append( i ).append( " as (" ).append( updates[i] ).append( ')' );
+				}
+			}
+			buffer.append( " select count(*) from " ).append( CTE_ID_TABLE_NAME );
+			withUpdate = buffer.toString();
+			LOG.trace( "Generated WITH-UPDATE SQL (multi-table update) : " + withUpdate );
+		}
+		else {
+			withUpdate = null;
+		}
+	}
+
+	private String generateUpdate(int tableIndex, String restriction, boolean comment) {
+		Update update = new Update( getFactory().getDialect() )
+				.setTableName( tableNames[tableIndex] )
+				.setWhere( restriction )
+				.appendAssignmentFragment( assignments[tableIndex] );
+		if ( comment && getFactory().getSettings().isCommentsEnabled() ) {
+			update.setComment( "bulk update" );
+		}
+		return update.toStatementString();
 	}
 
 	public Queryable getAffectedQueryable() {
@@ -115,12 +173,23 @@ public class MultiTableUpdateExecutor extends AbstractStatementExecutor {
 	}
 
 	public String[] getSqlStatements() {
-		return updates;
+		return withUpdate == null ? updates : new String[] { withUpdate };
 	}
 
 	public int execute(QueryParameters parameters, SessionImplementor session) throws HibernateException {
 		coordinateSharedCacheCleanup( session );
 
+		switch ( bulkIdStrategy ) {
+			case INLINE:
+				return executeInline( parameters, session );
+			case CTE:
+				return executeWith( parameters, session );
+			default:
+				return executeWithIdTable( parameters, session );
+		}
+	}
+
+	private int executeWithIdTable(QueryParameters parameters, SessionImplementor session) {
 		createTemporaryTableIfNecessary( persister, session );
 
 		try {
@@ -192,6 +261,77 @@ public class MultiTableUpdateExecutor extends AbstractStatementExecutor {
 		}
 	}
 
+	private int executeInline(QueryParameters parameters, SessionImplementor session) {
+		final List<Serializable> ids = selectIds( persister, idSelect, parameters, session );
+
+		for ( int from = 0; from < ids.size(); from += INLINE_ID_BATCH_SIZE ) {
+			final int to = Math.min( from + INLINE_ID_BATCH_SIZE, ids.size() );
+			for ( int i = 0; i < updates.length; i++ ) {
+				if ( updates[i] == null ) {
+					continue;
+				}
+				final String update = generateUpdate( i, generateIdRestriction( columnNames[i], to - from ), true );
+				try {
+					PreparedStatement ps = session.getTransactionCoordinator().getJdbcCoordinator().getStatementPreparer().prepareStatement( update, false );
+					try {
+						int position = 1; // jdbc params are 1-based
+						for ( int x = 0; x < hqlParameters[i].length; x++ ) {
+							position += hqlParameters[i][x].bind( ps, parameters, session, position );
+						}
+						bindIds( ps, position, ids, from, to, persister, session );
+						ps.executeUpdate();
+					}
+					finally {
+						ps.close();
+					}
+				}
+				catch( SQLException e ) {
+					throw getFactory().getSQLExceptionHelper().convert(
+					        e,
+					        "error performing bulk update",
+					        update
+						);
+				}
+			}
+		}
+
+		return ids.size();
+	}
+
+	private int executeWith(QueryParameters parameters, SessionImplementor session) {
+		try {
+			PreparedStatement ps = session.getTransactionCoordinator().getJdbcCoordinator().getStatementPreparer().prepareStatement( withUpdate, false );
+			try {
+				// the id select comes first, followed by the assignments of each table
+				Iterator whereParams = getIdSelectParameterSpecifications().iterator();
+				int position = 1; // jdbc params are 1-based
+				while ( whereParams.hasNext() ) {
+					position += ( ( ParameterSpecification ) whereParams.next() ).bind( ps, parameters, session, position );
+				}
+				for ( int i = 0; i < updates.length; i++ ) {
+					if ( updates[i] != null ) {
+						for ( int x = 0; x < hqlParameters[i].length; x++ ) {
+							position += hqlParameters[i][x].bind( ps, parameters, session, position );
+						}
+					}
+				}
+				ResultSet rs = ps.executeQuery();
+				rs.next();
+				return rs.getInt( 1 );
+			}
+			finally {
+				ps.close();
+			}
+		}
+		catch( SQLException e ) {
+			throw getFactory().getSQLExceptionHelper().convert(
+			        e,
+			        "error performing bulk update",
+			        withUpdate
+				);
+		}
+	}
+
 	@Override
     protected Queryable[] getAffectedQueryables() {
 		return new Queryable[] { persister };
@@ -0,0 +1,96 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.hql.spi;
+
+import org.hibernate.HibernateException;
+
+/**
+ * How HQL bulk UPDATE and DELETE statements against entities mapped to more than one table (joined
+ * inheritance) first determine the identifiers of the rows they affect, so that each table can then be
+ * updated or deleted from in turn.
+ *
+ * @see org.hibernate.cfg.AvailableSettings#HQL_BULK_ID_STRATEGY
+ * @see org.hibernate.dialect.Dialect#getDefaultMultiTableBulkIdStrategy()
+ */
+public enum MultiTableBulkIdStrategy {
+	/**
+	 * The identifiers are inserted into a temporary id table, which is created before and (depending on the
+	 * dialect) dropped after each statement.
+	 */
+	TEMPORARY_TABLE( true ),
+
+	/**
+	 * The identifiers are inserted into an id table which already exists: a global temporary table, whose rows
+	 * are private to the session.  No DDL is issued at runtime; the rows are deleted again after each statement.
+	 * Schema export (hbm2ddl) creates (and drops) the id tables when this strategy is configured; otherwise they
+	 * must be created up front, one per entity mapped to more than one table, named as
+	 * {@link org.hibernate.dialect.Dialect#generateTemporaryTableName} names it after the entity's table
+	 * (<tt>HT_</tt> prefix by default) and holding copies of that table's primary key columns.  Requires a
+	 * database with genuine global temporary tables.
+	 */
+	GLOBAL_TEMPORARY_TABLE( true ),
+
+	/**
+	 * The identifiers are selected into memory and then restricted on inline, as an <tt>IN</tt> list of
+	 * parameters, in the statement against each table.  Works on any database and issues no DDL.
+	 */
+	INLINE( false ),
+
+	/**
+	 * The whole operation is a single statement: a <tt>WITH</tt> clause selecting the identifiers followed by
+	 * one data-modifying common table expression per table (PostgreSQL 9.1 and later).
+	 */
+	CTE( false );
+
+	private final boolean usesIdTable;
+
+	private MultiTableBulkIdStrategy(boolean usesIdTable) {
+		this.usesIdTable = usesIdTable;
+	}
+
+	/**
+	 * Does this strategy store the identifiers in an id table?  Only possible with dialects supporting
+	 * temporary tables.
+	 *
+	 * @return True if an id table is used; false otherwise.
+	 */
+	public boolean usesIdTable() {
+		return usesIdTable;
+	}
+
+	public static MultiTableBulkIdStrategy interpret(Object value) {
+		if ( value == null ) {
+			return null;
+		}
+		if ( value instanceof MultiTableBulkIdStrategy ) {
+			return (MultiTableBulkIdStrategy) value;
+		}
+		try {
+			return valueOf( value.toString().trim().toUpperCase() );
+		}
+		catch ( IllegalArgumentException e ) {
+			throw new HibernateException( "Unknown multi-table bulk id strategy [" + value + "]" );
+		}
+	}
+}
@@ -147,7 +147,7 @@ public class MultipleHiLoPerTableGenerator implements PersistentIdentifierGenera
 		return tableName;
 	}
 
-	public synchronized Serializable generate(final SessionImplementor session, Object obj) {
+	public Serializable generate(final SessionImplementor session, Object obj) {
 		final WorkExecutorVisitable<IntegralDataTypeHolder> work = new AbstractReturningWork<IntegralDataTypeHolder>() {
 			@Override
 			public IntegralDataTypeHolder execute(Connection connection) throws SQLException {
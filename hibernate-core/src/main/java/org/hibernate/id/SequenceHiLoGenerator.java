@@ -67,7 +67,7 @@ public class SequenceHiLoGenerator extends SequenceGenerator {
 		}
 	}
 
-	public synchronized Serializable generate(final SessionImplementor session, Object obj) {
+	public Serializable generate(final SessionImplementor session, Object obj) {
 		// maxLo < 1 indicates a hilo generator with no hilo :?
 		if ( maxLo < 1 ) {
 			//keep the behavior consistent even for boundary usages
@@ -66,7 +66,7 @@ public class TableHiLoGenerator extends TableGenerator {
 		}
 	}
 
-	public synchronized Serializable generate(final SessionImplementor session, Object obj) {
+	public Serializable generate(final SessionImplementor session, Object obj) {
 		// maxLo < 1 indicates a hilo generator with no hilo :?
         if ( maxLo < 1 ) {
 			//keep the behavior consistent even for boundary usages
@@ -25,8 +25,12 @@ package org.hibernate.id.enhanced;
 
 import java.io.Serializable;
 import java.lang.reflect.Constructor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
 import org.hibernate.HibernateException;
 import org.hibernate.internal.CoreMessageLogger;
+import org.hibernate.id.IdentifierGeneratorHelper;
 import org.hibernate.id.IntegralDataTypeHolder;
 import org.hibernate.internal.util.ReflectHelper;
 
@@ -46,6 +50,7 @@ public class OptimizerFactory {
 	public static final String LEGACY_HILO = "legacy-hilo";
 	public static final String POOL = "pooled";
 	public static final String POOL_LO = "pooled-lo";
+	public static final String POOL_CONCURRENT = "pooled-concurrent";
 
 	private static Class[] CTOR_SIG = new Class[] { Class.class, int.class };
 
@@ -97,6 +102,9 @@ public class OptimizerFactory {
 		else if ( POOL_LO.equals( type ) ) {
 			optimizerClassName = PooledLoOptimizer.class.getName();
 		}
+		else if ( POOL_CONCURRENT.equals( type ) ) {
+			optimizerClassName = PooledConcurrentOptimizer.class.getName();
+		}
 		else {
 			optimizerClassName = type;
 		}
@@ -472,7 +480,7 @@ public class OptimizerFactory {
                       + returnClass.getName() + "]");
 		}
 
-		public Serializable generate(AccessCallback callback) {
+		public synchronized Serializable generate(AccessCallback callback) {
 			if ( lastSourceValue == null || ! value.lt( lastSourceValue.copy().add( incrementSize ) ) ) {
 				lastSourceValue = callback.getNextValue();
 				value = lastSourceValue.copy();
@@ -492,4 +500,133 @@ public class OptimizerFactory {
 			return true;
 		}
 	}
+
+	/**
+	 * Variation of the {@link PooledOptimizer} for heavily concurrent inserts.
+	 * <p/>
+	 * The database value is interpreted exactly as for {@link PooledOptimizer}, but values of the
+	 * current range are handed out with a single atomic increment instead of under a monitor.  Once
+	 * half of the range is used, the thread drawing the midpoint value reads the next range from the
+	 * database (through its own callback) while the other threads keep drawing from the current one,
+	 * so that threads only wait on the database when a range is exhausted before its successor is ready.
+	 * <p/>
+	 * Ranges which are read ahead but never used leave gaps, just as restarting the application does.
+	 */
+	public static class PooledConcurrentOptimizer extends OptimizerSupport implements InitialValueAwareOptimizer {
+		private volatile Range current;
+		private final AtomicReference<Range> prefetched = new AtomicReference<Range>();
+		private long initialValue = -1;
+
+		public PooledConcurrentOptimizer(Class returnClass, int incrementSize) {
+			super( returnClass, incrementSize );
+			if ( incrementSize < 1 ) {
+				throw new HibernateException( "increment size cannot be less than 1" );
+			}
+			LOG.trace( "Creating concurrent pooled optimizer with [incrementSize=" + incrementSize + "; returnClass="
+					+ returnClass.getName() + "]" );
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		public Serializable generate(AccessCallback callback) {
+			while ( true ) {
+				final Range range = current;
+				if ( range != null ) {
+					final long value = range.next.getAndIncrement();
+					if ( value < range.end ) {
+						if ( value == range.prefetchAt ) {
+							// exactly one thread draws this value
+							prefetched.compareAndSet( null, nextRange( callback ) );
+						}
+						return IdentifierGeneratorHelper.getIntegralDataTypeHolder( returnClass )
+								.initialize( value )
+								.makeValue();
+					}
+				}
+				advance( range, callback );
+			}
+		}
+
+		private synchronized void advance(Range exhausted, AccessCallback callback) {
+			if ( current != exhausted ) {
+				// another thread already moved on
+				return;
+			}
+			if ( exhausted == null ) {
+				current = firstRange( callback );
+			}
+			else {
+				final Range next = prefetched.getAndSet( null );
+				current = next != null ? next : nextRange( callback );
+			}
+		}
+
+		private Range firstRange(AccessCallback callback) {
+			final IntegralDataTypeHolder value = callback.getNextValue();
+			if ( value.lt( 1 ) ) {
+				LOG.pooledOptimizerReportedInitialValue( value );
+			}
+			// as for PooledOptimizer, the first call may just have given us the initialValue
+			if ( ( initialValue == -1 && value.lt( incrementSize ) ) || value.eq( initialValue ) ) {
+				return new Range( value, callback.getNextValue(), incrementSize );
+			}
+			return new Range( value.copy().subtract( incrementSize ), value, incrementSize );
+		}
+
+		private Range nextRange(AccessCallback callback) {
+			final IntegralDataTypeHolder hiValue = callback.getNextValue();
+			return new Range( hiValue.copy().subtract( incrementSize ), hiValue, incrementSize );
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		public IntegralDataTypeHolder getLastSourceValue() {
+			final Range range = current;
+			return range == null ? null : range.hiValue;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		public boolean applyIncrementSizeToSourceValues() {
+			return true;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		public void injectInitialValue(long initialValue) {
+			this.initialValue = initialValue;
+		}
+
+		/**
+		 * Getter for property 'lastValue'.
+		 * <p/>
+		 * Exposure intended for testing purposes.
+		 *
+		 * @return Value for property 'lastValue'.
+		 */
+		public IntegralDataTypeHolder getLastValue() {
+			final Range range = current;
+			final long last = Math.min( range.next.get(), range.end ) - 1;
+			return IdentifierGeneratorHelper.getIntegralDataTypeHolder( returnClass ).initialize( last );
+		}
+
+		private static final class Range {
+			private final IntegralDataTypeHolder hiValue;
+			private final long end;
+			private final long prefetchAt;
+			private final AtomicLong next;
+
+			private Range(IntegralDataTypeHolder loValue, IntegralDataTypeHolder hiValue, int incrementSize) {
+				this.hiValue = hiValue;
+				this.end = IdentifierGeneratorHelper.extractLong( hiValue );
+				// ranges of a single value leave nothing to overlap the read with
+				this.prefetchAt = incrementSize > 1 ? end - ( incrementSize / 2 ) : Long.MIN_VALUE;
+				this.next = new AtomicLong( IdentifierGeneratorHelper.extractLong( loValue ) );
+			}
+		}
+	}
 }
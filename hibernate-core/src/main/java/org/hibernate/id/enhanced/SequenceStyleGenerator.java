@@ -169,7 +169,7 @@ public class SequenceStyleGenerator implements PersistentIdentifierGenerator, Co
 		incrementSize = determineAdjustedIncrementSize( optimizationStrategy, incrementSize );
 
 		if ( dialect.supportsSequences() && !forceTableUse ) {
-			if ( OptimizerFactory.POOL.equals( optimizationStrategy ) && !dialect.supportsPooledSequences() ) {
+			if ( isPooledOptimizer( optimizationStrategy ) && !dialect.supportsPooledSequences() ) {
 				forceTableUse = true;
                 LOG.forcingTableUse();
 			}
@@ -286,6 +286,12 @@ public class SequenceStyleGenerator implements PersistentIdentifierGenerator, Co
 		return ConfigurationHelper.getString( OPT_PARAM, params, defaultOptimizerStrategy );
 	}
 
+	private static boolean isPooledOptimizer(String optimizationStrategy) {
+		// both read the sequence value as the upper boundary of a block of incrementSize values
+		return OptimizerFactory.POOL.equals( optimizationStrategy )
+				|| OptimizerFactory.POOL_CONCURRENT.equals( optimizationStrategy );
+	}
+
 	/**
 	 * In certain cases we need to adjust the increment size based on the
 	 * selected optimizer.  This is the hook to achieve that.
@@ -32,6 +32,7 @@ import java.sql.Types;
 import java.util.Collections;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.atomic.AtomicLong;
 import org.hibernate.HibernateException;
 import org.hibernate.engine.spi.SessionImplementor;
 import org.hibernate.internal.CoreMessageLogger;
@@ -175,7 +176,7 @@ public class TableGenerator implements PersistentIdentifierGenerator, Configurab
 	private String updateQuery;
 
 	private Optimizer optimizer;
-	private long accessCount = 0;
+	private final AtomicLong accessCount = new AtomicLong();
 
 	@Override
 	public Object generatorKey() {
@@ -279,7 +280,7 @@ public class TableGenerator implements PersistentIdentifierGenerator, Configurab
 	 * @return Value for property 'tableAccessCount'.
 	 */
 	public final long getTableAccessCount() {
-		return accessCount;
+		return accessCount.get();
 	}
 
 	@Override
@@ -454,7 +455,7 @@ public class TableGenerator implements PersistentIdentifierGenerator, Configurab
 	}
 
 	@Override
-	public synchronized Serializable generate(final SessionImplementor session, Object obj) {
+	public Serializable generate(final SessionImplementor session, Object obj) {
 		final SqlStatementLogger statementLogger = session
 				.getFactory()
 				.getServiceRegistry()
@@ -530,7 +531,7 @@ public class TableGenerator implements PersistentIdentifierGenerator, Configurab
 										}
 										while ( rows == 0 );
 
-										accessCount++;
+										accessCount.incrementAndGet();
 
 										return value;
 									}
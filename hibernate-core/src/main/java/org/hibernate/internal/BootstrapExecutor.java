@@ -0,0 +1,188 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jboss.logging.Logger;
+
+import org.hibernate.HibernateException;
+
+/**
+ * Runs the independent tasks of a {@link SessionFactoryImpl} bootstrap phase, either on the calling thread or, when
+ * a parallelism above one is configured, on a pool of bootstrap threads.
+ * <p/>
+ * Failures are reported deterministically: when several tasks of a phase fail, the failure of the first of them, in
+ * task order, is rethrown, which is the failure a sequential bootstrap would have reported.  The time spent in each
+ * phase is logged at debug level on {@link #shutdown()}.
+ *
+ * @see org.hibernate.cfg.AvailableSettings#BOOTSTRAP_PARALLELISM
+ */
+final class BootstrapExecutor {
+	private static final CoreMessageLogger LOG = Logger.getMessageLogger(
+			CoreMessageLogger.class,
+			BootstrapExecutor.class.getName()
+	);
+
+	private final int parallelism;
+	private final ThreadPoolExecutor executor;
+	private final StringBuilder timings = new StringBuilder();
+
+	BootstrapExecutor(int parallelism) {
+		this.parallelism = parallelism;
+		if ( parallelism > 1 ) {
+			// idle threads time out, so that a bootstrap failing between two phases does not leak them
+			executor = new ThreadPoolExecutor(
+					parallelism,
+					parallelism,
+					1,
+					TimeUnit.SECONDS,
+					new LinkedBlockingQueue<Runnable>(),
+					new BootstrapThreadFactory()
+			);
+			executor.allowCoreThreadTimeOut( true );
+		}
+		else {
+			executor = null;
+		}
+	}
+
+	boolean isParallel() {
+		return executor != null;
+	}
+
+	/**
+	 * Runs the given tasks of the named bootstrap phase, returning their results in task order.
+	 */
+	<T> List<T> invokeAll(String phase, List<? extends Callable<T>> tasks) {
+		final long start = System.nanoTime();
+		try {
+			return invokeAll( tasks );
+		}
+		finally {
+			timings.append( timings.length() == 0 ? "" : ", " )
+					.append( phase )
+					.append( ": " )
+					.append( TimeUnit.NANOSECONDS.toMillis( System.nanoTime() - start ) )
+					.append( " ms (" )
+					.append( tasks.size() )
+					.append( ')' );
+		}
+	}
+
+	private <T> List<T> invokeAll(List<? extends Callable<T>> tasks) {
+		final List<T> results = new ArrayList<T>( tasks.size() );
+		if ( executor == null ) {
+			for ( Callable<T> task : tasks ) {
+				results.add( call( task ) );
+			}
+			return results;
+		}
+
+		final List<Future<T>> futures = new ArrayList<Future<T>>( tasks.size() );
+		for ( Callable<T> task : tasks ) {
+			futures.add( executor.submit( task ) );
+		}
+		Throwable failure = null;
+		for ( Future<T> future : futures ) {
+			try {
+				// always wait for all tasks, so that none of them still runs once the bootstrap has failed
+				T result = future.get();
+				if ( failure == null ) {
+					results.add( result );
+				}
+			}
+			catch ( ExecutionException e ) {
+				if ( failure == null ) {
+					failure = e.getCause();
+				}
+			}
+			catch ( InterruptedException e ) {
+				Thread.currentThread().interrupt();
+				for ( Future<T> pending : futures ) {
+					pending.cancel( true );
+				}
+				throw new HibernateException( "Interrupted while building the session factory", e );
+			}
+		}
+		if ( failure instanceof RuntimeException ) {
+			throw (RuntimeException) failure;
+		}
+		if ( failure instanceof Error ) {
+			throw (Error) failure;
+		}
+		if ( failure != null ) {
+			throw new HibernateException( failure );
+		}
+		return results;
+	}
+
+	void shutdown() {
+		if ( executor != null ) {
+			executor.shutdownNow();
+		}
+		LOG.debugf( "Session factory bootstrap phases (parallelism %s): %s", parallelism, timings );
+	}
+
+	private static <T> T call(Callable<T> task) {
+		try {
+			return task.call();
+		}
+		catch ( RuntimeException e ) {
+			throw e;
+		}
+		catch ( Exception e ) {
+			throw new HibernateException( e );
+		}
+	}
+
+	/**
+	 * Creates daemon threads inheriting the context class loader of the thread building the session factory, which
+	 * persisters may use to load entity classes and tuplizers.
+	 */
+	private static class BootstrapThreadFactory implements ThreadFactory {
+		private static final AtomicInteger POOL_NUMBER = new AtomicInteger();
+
+		private final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+		private final String namePrefix = "hibernate-bootstrap-" + POOL_NUMBER.incrementAndGet() + "-thread-";
+		private final AtomicInteger threadNumber = new AtomicInteger();
+
+		@Override
+		public Thread newThread(Runnable runnable) {
+			Thread thread = new Thread( runnable, namePrefix + threadNumber.incrementAndGet() );
+			thread.setDaemon( true );
+			thread.setContextClassLoader( contextClassLoader );
+			return thread;
+		}
+	}
+}
@@ -1547,4 +1547,33 @@ public interface CoreMessageLogger extends BasicLogger {
 	@Message(value = "update timestamps cache misses: %s", id = 435)
 	void timestampCacheMisses(long updateTimestampsCachePutCount);
 
+	@LogMessage(level = INFO)
+	@Message(value = "query plan cache hits: %s", id = 436)
+	void queryPlanCacheHits(long queryPlanCacheHitCount);
+
+	@LogMessage(level = INFO)
+	@Message(value = "query plan cache misses: %s", id = 437)
+	void queryPlanCacheMisses(long queryPlanCacheMissCount);
+
+	@LogMessage(level = INFO)
+	@Message(value = "query plan cache evictions: %s", id = 438)
+	void queryPlanCacheEvictions(long queryPlanCacheEvictionCount);
+
+	@LogMessage(level = INFO)
+	@Message(value = "connection pool active connections: %s, idle connections: %s", id = 439)
+	void connectionPoolConnections(int activeConnectionCount, int idleConnectionCount);
+
+	@LogMessage(level = INFO)
+	@Message(value = "connection pool acquisitions: %s, timed out acquisitions: %s", id = 440)
+	void connectionPoolAcquisitions(long acquisitionCount, long acquisitionTimeoutCount);
+
+	@LogMessage(level = INFO)
+	@Message(value = "connection pool max wait time: %sms", id = 441)
+	void connectionPoolMaxWaitTime(long maxAcquisitionWaitTime);
+
+	@LogMessage(level = WARN)
+	@Message(value = "hibernate-pool properties were encountered, but the %s provider class was not found on the classpath; these properties are going to be ignored.",
+			id = 442)
+	void pooledProviderClassNotFound(String pooledProviderClassName);
+
 }
@@ -37,9 +37,12 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
@@ -108,7 +111,9 @@ import org.hibernate.integrator.spi.IntegratorService;
 import org.hibernate.internal.util.ReflectHelper;
 import org.hibernate.internal.util.collections.CollectionHelper;
 import org.hibernate.mapping.Collection;
+import org.hibernate.mapping.Component;
 import org.hibernate.mapping.PersistentClass;
+import org.hibernate.mapping.Property;
 import org.hibernate.mapping.RootClass;
 import org.hibernate.metadata.ClassMetadata;
 import org.hibernate.metadata.CollectionMetadata;
@@ -210,7 +215,7 @@ public final class SessionFactoryImpl
 	@SuppressWarnings( {"unchecked"} )
 	public SessionFactoryImpl(
 			final Configuration cfg,
-	        Mapping mapping,
+	        final Mapping mapping,
 			ServiceRegistry serviceRegistry,
 	        Settings settings,
 			SessionFactoryObserver observer) throws HibernateException {
@@ -320,171 +325,205 @@ public final class SessionFactoryImpl
 
 		final String cacheRegionPrefix = settings.getCacheRegionPrefix() == null ? "" : settings.getCacheRegionPrefix() + ".";
 
-		entityPersisters = new HashMap();
-		Map entityAccessStrategies = new HashMap();
-		Map<String,ClassMetadata> classMeta = new HashMap<String,ClassMetadata>();
-		classes = cfg.getClassMappings();
-		while ( classes.hasNext() ) {
-			final PersistentClass model = (PersistentClass) classes.next();
-			model.prepareTemporaryTables( mapping, getDialect() );
-			final String cacheRegionName = cacheRegionPrefix + model.getRootClass().getCacheRegionName();
-			// cache region is defined by the root-class in the hierarchy...
-			EntityRegionAccessStrategy accessStrategy = ( EntityRegionAccessStrategy ) entityAccessStrategies.get( cacheRegionName );
-			if ( accessStrategy == null && settings.isSecondLevelCacheEnabled() ) {
+		final BootstrapExecutor bootstrapExecutor = new BootstrapExecutor( settings.getBootstrapParallelism() );
+		try {
+			final PersisterFactory persisterFactory = serviceRegistry.getService( PersisterFactory.class );
+
+			entityPersisters = new HashMap();
+			Map entityAccessStrategies = new HashMap();
+			Map<String,ClassMetadata> classMeta = new HashMap<String,ClassMetadata>();
+			List<PersistentClass> entityModels = new ArrayList<PersistentClass>();
+			List<Callable<EntityPersister>> entityPersisterTasks = new ArrayList<Callable<EntityPersister>>();
+			classes = cfg.getClassMappings();
+			while ( classes.hasNext() ) {
+				final PersistentClass model = (PersistentClass) classes.next();
+				model.prepareTemporaryTables( mapping, getDialect() );
+				final String cacheRegionName = cacheRegionPrefix + model.getRootClass().getCacheRegionName();
+				// cache region is defined by the root-class in the hierarchy...
+				EntityRegionAccessStrategy accessStrategy = ( EntityRegionAccessStrategy ) entityAccessStrategies.get( cacheRegionName );
+				if ( accessStrategy == null && settings.isSecondLevelCacheEnabled() ) {
+					final AccessType accessType = AccessType.fromExternalName( model.getCacheConcurrencyStrategy() );
+					if ( accessType != null ) {
+	                    LOG.trace("Building cache for entity data [" + model.getEntityName() + "]");
+						EntityRegion entityRegion = settings.getRegionFactory().buildEntityRegion( cacheRegionName, properties, CacheDataDescriptionImpl.decode( model ) );
+						accessStrategy = entityRegion.buildAccessStrategy( accessType );
+						entityAccessStrategies.put( cacheRegionName, accessStrategy );
+						allCacheRegions.put( cacheRegionName, entityRegion );
+					}
+				}
+				if ( bootstrapExecutor.isParallel() ) {
+					resolveComponentTypes( model );
+				}
+				final EntityRegionAccessStrategy entityAccessStrategy = accessStrategy;
+				entityModels.add( model );
+				entityPersisterTasks.add(
+						new Callable<EntityPersister>() {
+							@Override
+							public EntityPersister call() {
+								return persisterFactory.createEntityPersister(
+										model,
+										entityAccessStrategy,
+										SessionFactoryImpl.this,
+										mapping
+								);
+							}
+						}
+				);
+			}
+			List<EntityPersister> builtEntityPersisters = bootstrapExecutor.invokeAll( "entity persisters", entityPersisterTasks );
+			for ( int i = 0; i < entityModels.size(); i++ ) {
+				final String entityName = entityModels.get( i ).getEntityName();
+				final EntityPersister cp = builtEntityPersisters.get( i );
+				entityPersisters.put( entityName, cp );
+				classMeta.put( entityName, cp.getClassMetadata() );
+			}
+			this.classMetadata = Collections.unmodifiableMap(classMeta);
+
+			Map<String,Set<String>> tmpEntityToCollectionRoleMap = new HashMap<String,Set<String>>();
+			collectionPersisters = new HashMap();
+			List<Collection> collectionModels = new ArrayList<Collection>();
+			List<Callable<CollectionPersister>> collectionPersisterTasks = new ArrayList<Callable<CollectionPersister>>();
+			Iterator collections = cfg.getCollectionMappings();
+			while ( collections.hasNext() ) {
+				final Collection model = (Collection) collections.next();
+				final String cacheRegionName = cacheRegionPrefix + model.getCacheRegionName();
 				final AccessType accessType = AccessType.fromExternalName( model.getCacheConcurrencyStrategy() );
-				if ( accessType != null ) {
-                    LOG.trace("Building cache for entity data [" + model.getEntityName() + "]");
-					EntityRegion entityRegion = settings.getRegionFactory().buildEntityRegion( cacheRegionName, properties, CacheDataDescriptionImpl.decode( model ) );
-					accessStrategy = entityRegion.buildAccessStrategy( accessType );
+				CollectionRegionAccessStrategy accessStrategy = null;
+				if ( accessType != null && settings.isSecondLevelCacheEnabled() ) {
+	                LOG.trace("Building cache for collection data [" + model.getRole() + "]");
+					CollectionRegion collectionRegion = settings.getRegionFactory().buildCollectionRegion( cacheRegionName, properties, CacheDataDescriptionImpl
+							.decode( model ) );
+					accessStrategy = collectionRegion.buildAccessStrategy( accessType );
 					entityAccessStrategies.put( cacheRegionName, accessStrategy );
-					allCacheRegions.put( cacheRegionName, entityRegion );
+					allCacheRegions.put( cacheRegionName, collectionRegion );
 				}
+				final CollectionRegionAccessStrategy collectionAccessStrategy = accessStrategy;
+				collectionModels.add( model );
+				collectionPersisterTasks.add(
+						new Callable<CollectionPersister>() {
+							@Override
+							public CollectionPersister call() {
+								return persisterFactory.createCollectionPersister(
+										cfg,
+										model,
+										collectionAccessStrategy,
+										SessionFactoryImpl.this
+								);
+							}
+						}
+				);
 			}
-			EntityPersister cp = serviceRegistry.getService( PersisterFactory.class ).createEntityPersister(
-					model,
-					accessStrategy,
-					this,
-					mapping
+			List<CollectionPersister> builtCollectionPersisters = bootstrapExecutor.invokeAll(
+					"collection persisters",
+					collectionPersisterTasks
 			);
-			entityPersisters.put( model.getEntityName(), cp );
-			classMeta.put( model.getEntityName(), cp.getClassMetadata() );
-		}
-		this.classMetadata = Collections.unmodifiableMap(classMeta);
-
-		Map<String,Set<String>> tmpEntityToCollectionRoleMap = new HashMap<String,Set<String>>();
-		collectionPersisters = new HashMap();
-		Iterator collections = cfg.getCollectionMappings();
-		while ( collections.hasNext() ) {
-			Collection model = (Collection) collections.next();
-			final String cacheRegionName = cacheRegionPrefix + model.getCacheRegionName();
-			final AccessType accessType = AccessType.fromExternalName( model.getCacheConcurrencyStrategy() );
-			CollectionRegionAccessStrategy accessStrategy = null;
-			if ( accessType != null && settings.isSecondLevelCacheEnabled() ) {
-                LOG.trace("Building cache for collection data [" + model.getRole() + "]");
-				CollectionRegion collectionRegion = settings.getRegionFactory().buildCollectionRegion( cacheRegionName, properties, CacheDataDescriptionImpl
-						.decode( model ) );
-				accessStrategy = collectionRegion.buildAccessStrategy( accessType );
-				entityAccessStrategies.put( cacheRegionName, accessStrategy );
-				allCacheRegions.put( cacheRegionName, collectionRegion );
-			}
-			CollectionPersister persister = serviceRegistry.getService( PersisterFactory.class ).createCollectionPersister(
-					cfg,
-					model,
-					accessStrategy,
-					this
-			) ;
-			collectionPersisters.put( model.getRole(), persister.getCollectionMetadata() );
-			Type indexType = persister.getIndexType();
-			if ( indexType != null && indexType.isAssociationType() && !indexType.isAnyType() ) {
-				String entityName = ( ( AssociationType ) indexType ).getAssociatedEntityName( this );
-				Set roles = tmpEntityToCollectionRoleMap.get( entityName );
-				if ( roles == null ) {
-					roles = new HashSet();
-					tmpEntityToCollectionRoleMap.put( entityName, roles );
+			for ( int i = 0; i < collectionModels.size(); i++ ) {
+				final CollectionPersister persister = builtCollectionPersisters.get( i );
+				collectionPersisters.put( collectionModels.get( i ).getRole(), persister.getCollectionMetadata() );
+				Type indexType = persister.getIndexType();
+				if ( indexType != null && indexType.isAssociationType() && !indexType.isAnyType() ) {
+					String entityName = ( ( AssociationType ) indexType ).getAssociatedEntityName( this );
+					Set roles = tmpEntityToCollectionRoleMap.get( entityName );
+					if ( roles == null ) {
+						roles = new HashSet();
+						tmpEntityToCollectionRoleMap.put( entityName, roles );
+					}
+					roles.add( persister.getRole() );
 				}
-				roles.add( persister.getRole() );
-			}
-			Type elementType = persister.getElementType();
-			if ( elementType.isAssociationType() && !elementType.isAnyType() ) {
-				String entityName = ( ( AssociationType ) elementType ).getAssociatedEntityName( this );
-				Set roles = tmpEntityToCollectionRoleMap.get( entityName );
-				if ( roles == null ) {
-					roles = new HashSet();
-					tmpEntityToCollectionRoleMap.put( entityName, roles );
+				Type elementType = persister.getElementType();
+				if ( elementType.isAssociationType() && !elementType.isAnyType() ) {
+					String entityName = ( ( AssociationType ) elementType ).getAssociatedEntityName( this );
+					Set roles = tmpEntityToCollectionRoleMap.get( entityName );
+					if ( roles == null ) {
+						roles = new HashSet();
+						tmpEntityToCollectionRoleMap.put( entityName, roles );
+					}
+					roles.add( persister.getRole() );
 				}
-				roles.add( persister.getRole() );
 			}
-		}
-		collectionMetadata = Collections.unmodifiableMap(collectionPersisters);
-		Iterator itr = tmpEntityToCollectionRoleMap.entrySet().iterator();
-		while ( itr.hasNext() ) {
-			final Map.Entry entry = ( Map.Entry ) itr.next();
-			entry.setValue( Collections.unmodifiableSet( ( Set ) entry.getValue() ) );
-		}
-		collectionRolesByEntityParticipant = Collections.unmodifiableMap( tmpEntityToCollectionRoleMap );
+			collectionMetadata = Collections.unmodifiableMap(collectionPersisters);
+			Iterator itr = tmpEntityToCollectionRoleMap.entrySet().iterator();
+			while ( itr.hasNext() ) {
+				final Map.Entry entry = ( Map.Entry ) itr.next();
+				entry.setValue( Collections.unmodifiableSet( ( Set ) entry.getValue() ) );
+			}
+			collectionRolesByEntityParticipant = Collections.unmodifiableMap( tmpEntityToCollectionRoleMap );
 
-		//Named Queries:
-		namedQueries = new HashMap<String, NamedQueryDefinition>( cfg.getNamedQueries() );
-		namedSqlQueries = new HashMap<String, NamedSQLQueryDefinition>( cfg.getNamedSQLQueries() );
-		sqlResultSetMappings = new HashMap<String, ResultSetMappingDefinition>( cfg.getSqlResultSetMappings() );
-		imports = new HashMap<String,String>( cfg.getImports() );
+			//Named Queries:
+			namedQueries = new HashMap<String, NamedQueryDefinition>( cfg.getNamedQueries() );
+			namedSqlQueries = new HashMap<String, NamedSQLQueryDefinition>( cfg.getNamedSQLQueries() );
+			sqlResultSetMappings = new HashMap<String, ResultSetMappingDefinition>( cfg.getSqlResultSetMappings() );
+			imports = new HashMap<String,String>( cfg.getImports() );
 
-		// after *all* persisters and named queries are registered
-		Iterator iter = entityPersisters.values().iterator();
-		while ( iter.hasNext() ) {
-			final EntityPersister persister = ( ( EntityPersister ) iter.next() );
-			persister.postInstantiate();
-			registerEntityNameResolvers( persister );
+			// after *all* persisters and named queries are registered
+			postInstantiatePersisters( bootstrapExecutor );
 
-		}
-		iter = collectionPersisters.values().iterator();
-		while ( iter.hasNext() ) {
-			final CollectionPersister persister = ( ( CollectionPersister ) iter.next() );
-			persister.postInstantiate();
-		}
+			//JNDI + Serialization:
 
-		//JNDI + Serialization:
+			name = settings.getSessionFactoryName();
+			try {
+				uuid = (String) UUID_GENERATOR.generate(null, null);
+			}
+			catch (Exception e) {
+				throw new AssertionFailure("Could not generate UUID");
+			}
+			SessionFactoryRegistry.INSTANCE.addSessionFactory( uuid, name, this, serviceRegistry.getService( JndiService.class ) );
 
-		name = settings.getSessionFactoryName();
-		try {
-			uuid = (String) UUID_GENERATOR.generate(null, null);
-		}
-		catch (Exception e) {
-			throw new AssertionFailure("Could not generate UUID");
-		}
-		SessionFactoryRegistry.INSTANCE.addSessionFactory( uuid, name, this, serviceRegistry.getService( JndiService.class ) );
+	        LOG.debugf("Instantiated session factory");
 
-        LOG.debugf("Instantiated session factory");
+			if ( settings.isAutoCreateSchema() ) {
+				new SchemaExport( serviceRegistry, cfg ).create( false, true );
+			}
+			if ( settings.isAutoUpdateSchema() ) {
+				new SchemaUpdate( serviceRegistry, cfg ).execute( false, true );
+			}
+			if ( settings.isAutoValidateSchema() ) {
+				new SchemaValidator( serviceRegistry, cfg ).validate();
+			}
+			if ( settings.isAutoDropSchema() ) {
+				schemaExport = new SchemaExport( serviceRegistry, cfg );
+			}
 
-		if ( settings.isAutoCreateSchema() ) {
-			new SchemaExport( serviceRegistry, cfg ).create( false, true );
-		}
-		if ( settings.isAutoUpdateSchema() ) {
-			new SchemaUpdate( serviceRegistry, cfg ).execute( false, true );
-		}
-		if ( settings.isAutoValidateSchema() ) {
-			new SchemaValidator( serviceRegistry, cfg ).validate();
-		}
-		if ( settings.isAutoDropSchema() ) {
-			schemaExport = new SchemaExport( serviceRegistry, cfg );
-		}
+			currentSessionContext = buildCurrentSessionContext();
 
-		currentSessionContext = buildCurrentSessionContext();
+			if ( settings.isQueryCacheEnabled() ) {
+				updateTimestampsCache = new UpdateTimestampsCache(settings, properties, this);
+				queryCache = settings.getQueryCacheFactory()
+				        .getQueryCache(null, updateTimestampsCache, settings, properties);
+				queryCaches = new HashMap<String,QueryCache>();
+				allCacheRegions.put( updateTimestampsCache.getRegion().getName(), updateTimestampsCache.getRegion() );
+				allCacheRegions.put( queryCache.getRegion().getName(), queryCache.getRegion() );
+			}
+			else {
+				updateTimestampsCache = null;
+				queryCache = null;
+				queryCaches = null;
+			}
 
-		if ( settings.isQueryCacheEnabled() ) {
-			updateTimestampsCache = new UpdateTimestampsCache(settings, properties, this);
-			queryCache = settings.getQueryCacheFactory()
-			        .getQueryCache(null, updateTimestampsCache, settings, properties);
-			queryCaches = new HashMap<String,QueryCache>();
-			allCacheRegions.put( updateTimestampsCache.getRegion().getName(), updateTimestampsCache.getRegion() );
-			allCacheRegions.put( queryCache.getRegion().getName(), queryCache.getRegion() );
-		}
-		else {
-			updateTimestampsCache = null;
-			queryCache = null;
-			queryCaches = null;
-		}
-
-		//checking for named queries
-		if ( settings.isNamedQueryStartupCheckingEnabled() ) {
-			Map errors = checkNamedQueries();
-			if ( !errors.isEmpty() ) {
-				Set keys = errors.keySet();
-				StringBuffer failingQueries = new StringBuffer( "Errors in named queries: " );
-				for ( Iterator iterator = keys.iterator() ; iterator.hasNext() ; ) {
-					String queryName = ( String ) iterator.next();
-					HibernateException e = ( HibernateException ) errors.get( queryName );
-					failingQueries.append( queryName );
-                    if (iterator.hasNext()) failingQueries.append(", ");
-                    LOG.namedQueryError(queryName, e);
+			//checking for named queries
+			if ( settings.isNamedQueryStartupCheckingEnabled() ) {
+				Map errors = checkNamedQueries( bootstrapExecutor );
+				if ( !errors.isEmpty() ) {
+					Set keys = errors.keySet();
+					StringBuffer failingQueries = new StringBuffer( "Errors in named queries: " );
+					for ( Iterator iterator = keys.iterator() ; iterator.hasNext() ; ) {
+						String queryName = ( String ) iterator.next();
+						HibernateException e = ( HibernateException ) errors.get( queryName );
+						failingQueries.append( queryName );
+	                    if (iterator.hasNext()) failingQueries.append(", ");
+	                    LOG.namedQueryError(queryName, e);
+					}
+					throw new HibernateException( failingQueries.toString() );
 				}
-				throw new HibernateException( failingQueries.toString() );
 			}
 		}
+		finally {
+			bootstrapExecutor.shutdown();
+		}
 
 		// this needs to happen after persisters are all ready to go...
 		this.fetchProfiles = new HashMap();
-		itr = cfg.iterateFetchProfiles();
+		Iterator itr = cfg.iterateFetchProfiles();
 		while ( itr.hasNext() ) {
 			final org.hibernate.mapping.FetchProfile mappingProfile =
 					( org.hibernate.mapping.FetchProfile ) itr.next();
@@ -622,188 +661,184 @@ public final class SessionFactoryImpl
 		}
 		final String cacheRegionPrefix = stringBuilder.toString();
 
-		entityPersisters = new HashMap();
-		Map<String, RegionAccessStrategy> entityAccessStrategies = new HashMap<String, RegionAccessStrategy>();
-		Map<String,ClassMetadata> classMeta = new HashMap<String,ClassMetadata>();
-		for ( EntityBinding model : metadata.getEntityBindings() ) {
-			// TODO: should temp table prep happen when metadata is being built?
-			//model.prepareTemporaryTables( metadata, getDialect() );
-			// cache region is defined by the root-class in the hierarchy...
-			EntityBinding rootEntityBinding = metadata.getRootEntityBinding( model.getEntity().getName() );
-			EntityRegionAccessStrategy accessStrategy = null;
-			if ( settings.isSecondLevelCacheEnabled() &&
-					rootEntityBinding.getHierarchyDetails().getCaching() != null &&
-					model.getHierarchyDetails().getCaching() != null &&
-					model.getHierarchyDetails().getCaching().getAccessType() != null ) {
-				final String cacheRegionName = cacheRegionPrefix + rootEntityBinding.getHierarchyDetails().getCaching().getRegion();
-				accessStrategy = EntityRegionAccessStrategy.class.cast( entityAccessStrategies.get( cacheRegionName ) );
-				if ( accessStrategy == null ) {
-					final AccessType accessType = model.getHierarchyDetails().getCaching().getAccessType();
-					LOG.trace("Building cache for entity data [" + model.getEntity().getName() + "]");
-					EntityRegion entityRegion = settings.getRegionFactory().buildEntityRegion(
+		final BootstrapExecutor bootstrapExecutor = new BootstrapExecutor( settings.getBootstrapParallelism() );
+		try {
+
+			entityPersisters = new HashMap();
+			Map<String, RegionAccessStrategy> entityAccessStrategies = new HashMap<String, RegionAccessStrategy>();
+			Map<String,ClassMetadata> classMeta = new HashMap<String,ClassMetadata>();
+			for ( EntityBinding model : metadata.getEntityBindings() ) {
+				// TODO: should temp table prep happen when metadata is being built?
+				//model.prepareTemporaryTables( metadata, getDialect() );
+				// cache region is defined by the root-class in the hierarchy...
+				EntityBinding rootEntityBinding = metadata.getRootEntityBinding( model.getEntity().getName() );
+				EntityRegionAccessStrategy accessStrategy = null;
+				if ( settings.isSecondLevelCacheEnabled() &&
+						rootEntityBinding.getHierarchyDetails().getCaching() != null &&
+						model.getHierarchyDetails().getCaching() != null &&
+						model.getHierarchyDetails().getCaching().getAccessType() != null ) {
+					final String cacheRegionName = cacheRegionPrefix + rootEntityBinding.getHierarchyDetails().getCaching().getRegion();
+					accessStrategy = EntityRegionAccessStrategy.class.cast( entityAccessStrategies.get( cacheRegionName ) );
+					if ( accessStrategy == null ) {
+						final AccessType accessType = model.getHierarchyDetails().getCaching().getAccessType();
+						LOG.trace("Building cache for entity data [" + model.getEntity().getName() + "]");
+						EntityRegion entityRegion = settings.getRegionFactory().buildEntityRegion(
+								cacheRegionName, properties, CacheDataDescriptionImpl.decode( model )
+						);
+						accessStrategy = entityRegion.buildAccessStrategy( accessType );
+						entityAccessStrategies.put( cacheRegionName, accessStrategy );
+						allCacheRegions.put( cacheRegionName, entityRegion );
+					}
+				}
+				EntityPersister cp = serviceRegistry.getService( PersisterFactory.class ).createEntityPersister(
+						model, accessStrategy, this, metadata
+				);
+				entityPersisters.put( model.getEntity().getName(), cp );
+				classMeta.put( model.getEntity().getName(), cp.getClassMetadata() );
+			}
+			this.classMetadata = Collections.unmodifiableMap(classMeta);
+
+			Map<String,Set<String>> tmpEntityToCollectionRoleMap = new HashMap<String,Set<String>>();
+			collectionPersisters = new HashMap();
+			for ( PluralAttributeBinding model : metadata.getCollectionBindings() ) {
+				if ( model.getAttribute() == null ) {
+					throw new IllegalStateException( "No attribute defined for a AbstractPluralAttributeBinding: " +  model );
+				}
+				if ( model.getAttribute().isSingular() ) {
+					throw new IllegalStateException(
+							"AbstractPluralAttributeBinding has a Singular attribute defined: " + model.getAttribute().getName()
+					);
+				}
+				final String cacheRegionName = cacheRegionPrefix + model.getCaching().getRegion();
+				final AccessType accessType = model.getCaching().getAccessType();
+				CollectionRegionAccessStrategy accessStrategy = null;
+				if ( accessType != null && settings.isSecondLevelCacheEnabled() ) {
+	                LOG.trace("Building cache for collection data [" + model.getAttribute().getRole() + "]");
+					CollectionRegion collectionRegion = settings.getRegionFactory().buildCollectionRegion(
 							cacheRegionName, properties, CacheDataDescriptionImpl.decode( model )
 					);
-					accessStrategy = entityRegion.buildAccessStrategy( accessType );
+					accessStrategy = collectionRegion.buildAccessStrategy( accessType );
 					entityAccessStrategies.put( cacheRegionName, accessStrategy );
-					allCacheRegions.put( cacheRegionName, entityRegion );
+					allCacheRegions.put( cacheRegionName, collectionRegion );
+				}
+				CollectionPersister persister = serviceRegistry
+						.getService( PersisterFactory.class )
+						.createCollectionPersister( metadata, model, accessStrategy, this );
+				collectionPersisters.put( model.getAttribute().getRole(), persister.getCollectionMetadata() );
+				Type indexType = persister.getIndexType();
+				if ( indexType != null && indexType.isAssociationType() && !indexType.isAnyType() ) {
+					String entityName = ( ( AssociationType ) indexType ).getAssociatedEntityName( this );
+					Set roles = tmpEntityToCollectionRoleMap.get( entityName );
+					if ( roles == null ) {
+						roles = new HashSet();
+						tmpEntityToCollectionRoleMap.put( entityName, roles );
+					}
+					roles.add( persister.getRole() );
+				}
+				Type elementType = persister.getElementType();
+				if ( elementType.isAssociationType() && !elementType.isAnyType() ) {
+					String entityName = ( ( AssociationType ) elementType ).getAssociatedEntityName( this );
+					Set roles = tmpEntityToCollectionRoleMap.get( entityName );
+					if ( roles == null ) {
+						roles = new HashSet();
+						tmpEntityToCollectionRoleMap.put( entityName, roles );
+					}
+					roles.add( persister.getRole() );
 				}
 			}
-			EntityPersister cp = serviceRegistry.getService( PersisterFactory.class ).createEntityPersister(
-					model, accessStrategy, this, metadata
-			);
-			entityPersisters.put( model.getEntity().getName(), cp );
-			classMeta.put( model.getEntity().getName(), cp.getClassMetadata() );
-		}
-		this.classMetadata = Collections.unmodifiableMap(classMeta);
+			collectionMetadata = Collections.unmodifiableMap(collectionPersisters);
+			Iterator itr = tmpEntityToCollectionRoleMap.entrySet().iterator();
+			while ( itr.hasNext() ) {
+				final Map.Entry entry = ( Map.Entry ) itr.next();
+				entry.setValue( Collections.unmodifiableSet( ( Set ) entry.getValue() ) );
+			}
+			collectionRolesByEntityParticipant = Collections.unmodifiableMap( tmpEntityToCollectionRoleMap );
 
-		Map<String,Set<String>> tmpEntityToCollectionRoleMap = new HashMap<String,Set<String>>();
-		collectionPersisters = new HashMap();
-		for ( PluralAttributeBinding model : metadata.getCollectionBindings() ) {
-			if ( model.getAttribute() == null ) {
-				throw new IllegalStateException( "No attribute defined for a AbstractPluralAttributeBinding: " +  model );
+			//Named Queries:
+			namedQueries = new HashMap<String,NamedQueryDefinition>();
+			for ( NamedQueryDefinition namedQueryDefinition :  metadata.getNamedQueryDefinitions() ) {
+				namedQueries.put( namedQueryDefinition.getName(), namedQueryDefinition );
 			}
-			if ( model.getAttribute().isSingular() ) {
-				throw new IllegalStateException(
-						"AbstractPluralAttributeBinding has a Singular attribute defined: " + model.getAttribute().getName()
-				);
+			namedSqlQueries = new HashMap<String, NamedSQLQueryDefinition>();
+			for ( NamedSQLQueryDefinition namedNativeQueryDefinition: metadata.getNamedNativeQueryDefinitions() ) {
+				namedSqlQueries.put( namedNativeQueryDefinition.getName(), namedNativeQueryDefinition );
 			}
-			final String cacheRegionName = cacheRegionPrefix + model.getCaching().getRegion();
-			final AccessType accessType = model.getCaching().getAccessType();
-			CollectionRegionAccessStrategy accessStrategy = null;
-			if ( accessType != null && settings.isSecondLevelCacheEnabled() ) {
-                LOG.trace("Building cache for collection data [" + model.getAttribute().getRole() + "]");
-				CollectionRegion collectionRegion = settings.getRegionFactory().buildCollectionRegion(
-						cacheRegionName, properties, CacheDataDescriptionImpl.decode( model )
-				);
-				accessStrategy = collectionRegion.buildAccessStrategy( accessType );
-				entityAccessStrategies.put( cacheRegionName, accessStrategy );
-				allCacheRegions.put( cacheRegionName, collectionRegion );
-			}
-			CollectionPersister persister = serviceRegistry
-					.getService( PersisterFactory.class )
-					.createCollectionPersister( metadata, model, accessStrategy, this );
-			collectionPersisters.put( model.getAttribute().getRole(), persister.getCollectionMetadata() );
-			Type indexType = persister.getIndexType();
-			if ( indexType != null && indexType.isAssociationType() && !indexType.isAnyType() ) {
-				String entityName = ( ( AssociationType ) indexType ).getAssociatedEntityName( this );
-				Set roles = tmpEntityToCollectionRoleMap.get( entityName );
-				if ( roles == null ) {
-					roles = new HashSet();
-					tmpEntityToCollectionRoleMap.put( entityName, roles );
-				}
-				roles.add( persister.getRole() );
-			}
-			Type elementType = persister.getElementType();
-			if ( elementType.isAssociationType() && !elementType.isAnyType() ) {
-				String entityName = ( ( AssociationType ) elementType ).getAssociatedEntityName( this );
-				Set roles = tmpEntityToCollectionRoleMap.get( entityName );
-				if ( roles == null ) {
-					roles = new HashSet();
-					tmpEntityToCollectionRoleMap.put( entityName, roles );
-				}
-				roles.add( persister.getRole() );
+			sqlResultSetMappings = new HashMap<String, ResultSetMappingDefinition>();
+			for( ResultSetMappingDefinition resultSetMappingDefinition : metadata.getResultSetMappingDefinitions() ) {
+				sqlResultSetMappings.put( resultSetMappingDefinition.getName(), resultSetMappingDefinition );
+			}
+			imports = new HashMap<String,String>();
+			for ( Map.Entry<String,String> importEntry : metadata.getImports() ) {
+				imports.put( importEntry.getKey(), importEntry.getValue() );
 			}
-		}
-		collectionMetadata = Collections.unmodifiableMap(collectionPersisters);
-		Iterator itr = tmpEntityToCollectionRoleMap.entrySet().iterator();
-		while ( itr.hasNext() ) {
-			final Map.Entry entry = ( Map.Entry ) itr.next();
-			entry.setValue( Collections.unmodifiableSet( ( Set ) entry.getValue() ) );
-		}
-		collectionRolesByEntityParticipant = Collections.unmodifiableMap( tmpEntityToCollectionRoleMap );
 
-		//Named Queries:
-		namedQueries = new HashMap<String,NamedQueryDefinition>();
-		for ( NamedQueryDefinition namedQueryDefinition :  metadata.getNamedQueryDefinitions() ) {
-			namedQueries.put( namedQueryDefinition.getName(), namedQueryDefinition );
-		}
-		namedSqlQueries = new HashMap<String, NamedSQLQueryDefinition>();
-		for ( NamedSQLQueryDefinition namedNativeQueryDefinition: metadata.getNamedNativeQueryDefinitions() ) {
-			namedSqlQueries.put( namedNativeQueryDefinition.getName(), namedNativeQueryDefinition );
-		}
-		sqlResultSetMappings = new HashMap<String, ResultSetMappingDefinition>();
-		for( ResultSetMappingDefinition resultSetMappingDefinition : metadata.getResultSetMappingDefinitions() ) {
-			sqlResultSetMappings.put( resultSetMappingDefinition.getName(), resultSetMappingDefinition );
-		}
-		imports = new HashMap<String,String>();
-		for ( Map.Entry<String,String> importEntry : metadata.getImports() ) {
-			imports.put( importEntry.getKey(), importEntry.getValue() );
-		}
+			// after *all* persisters and named queries are registered
+			postInstantiatePersisters( bootstrapExecutor );
 
-		// after *all* persisters and named queries are registered
-		Iterator iter = entityPersisters.values().iterator();
-		while ( iter.hasNext() ) {
-			final EntityPersister persister = ( ( EntityPersister ) iter.next() );
-			persister.postInstantiate();
-			registerEntityNameResolvers( persister );
+			//JNDI + Serialization:
 
-		}
-		iter = collectionPersisters.values().iterator();
-		while ( iter.hasNext() ) {
-			final CollectionPersister persister = ( ( CollectionPersister ) iter.next() );
-			persister.postInstantiate();
-		}
+			name = settings.getSessionFactoryName();
+			try {
+				uuid = (String) UUID_GENERATOR.generate(null, null);
+			}
+			catch (Exception e) {
+				throw new AssertionFailure("Could not generate UUID");
+			}
+			SessionFactoryRegistry.INSTANCE.addSessionFactory( uuid, name, this, serviceRegistry.getService( JndiService.class ) );
 
-		//JNDI + Serialization:
+			LOG.debugf("Instantiated session factory");
 
-		name = settings.getSessionFactoryName();
-		try {
-			uuid = (String) UUID_GENERATOR.generate(null, null);
-		}
-		catch (Exception e) {
-			throw new AssertionFailure("Could not generate UUID");
-		}
-		SessionFactoryRegistry.INSTANCE.addSessionFactory( uuid, name, this, serviceRegistry.getService( JndiService.class ) );
-
-		LOG.debugf("Instantiated session factory");
+			if ( settings.isAutoCreateSchema() ) {
+				new SchemaExport( metadata ).create( false, true );
+			}
+			/*
+			if ( settings.isAutoUpdateSchema() ) {
+				new SchemaUpdate( metadata ).execute( false, true );
+			}
+			if ( settings.isAutoValidateSchema() ) {
+				new SchemaValidator( metadata ).validate();
+			}
+			*/
+			if ( settings.isAutoDropSchema() ) {
+				schemaExport = new SchemaExport( metadata );
+			}
 
-		if ( settings.isAutoCreateSchema() ) {
-			new SchemaExport( metadata ).create( false, true );
-		}
-		/*
-		if ( settings.isAutoUpdateSchema() ) {
-			new SchemaUpdate( metadata ).execute( false, true );
-		}
-		if ( settings.isAutoValidateSchema() ) {
-			new SchemaValidator( metadata ).validate();
-		}
-		*/
-		if ( settings.isAutoDropSchema() ) {
-			schemaExport = new SchemaExport( metadata );
-		}
+			currentSessionContext = buildCurrentSessionContext();
 
-		currentSessionContext = buildCurrentSessionContext();
+			if ( settings.isQueryCacheEnabled() ) {
+				updateTimestampsCache = new UpdateTimestampsCache( settings, properties, this );
+				queryCache = settings.getQueryCacheFactory()
+				        .getQueryCache( null, updateTimestampsCache, settings, properties );
+				queryCaches = new HashMap<String,QueryCache>();
+				allCacheRegions.put( updateTimestampsCache.getRegion().getName(), updateTimestampsCache.getRegion() );
+				allCacheRegions.put( queryCache.getRegion().getName(), queryCache.getRegion() );
+			}
+			else {
+				updateTimestampsCache = null;
+				queryCache = null;
+				queryCaches = null;
+			}
 
-		if ( settings.isQueryCacheEnabled() ) {
-			updateTimestampsCache = new UpdateTimestampsCache( settings, properties, this );
-			queryCache = settings.getQueryCacheFactory()
-			        .getQueryCache( null, updateTimestampsCache, settings, properties );
-			queryCaches = new HashMap<String,QueryCache>();
-			allCacheRegions.put( updateTimestampsCache.getRegion().getName(), updateTimestampsCache.getRegion() );
-			allCacheRegions.put( queryCache.getRegion().getName(), queryCache.getRegion() );
-		}
-		else {
-			updateTimestampsCache = null;
-			queryCache = null;
-			queryCaches = null;
-		}
-
-		//checking for named queries
-		if ( settings.isNamedQueryStartupCheckingEnabled() ) {
-			Map errors = checkNamedQueries();
-			if ( ! errors.isEmpty() ) {
-				Set keys = errors.keySet();
-				StringBuffer failingQueries = new StringBuffer( "Errors in named queries: " );
-				for ( Iterator<String> iterator = keys.iterator() ; iterator.hasNext() ; ) {
-					String queryName = iterator.next();
-					HibernateException e = ( HibernateException ) errors.get( queryName );
-					failingQueries.append( queryName );
-                    if ( iterator.hasNext() ) failingQueries.append( ", " );
-					LOG.namedQueryError( queryName, e );
+			//checking for named queries
+			if ( settings.isNamedQueryStartupCheckingEnabled() ) {
+				Map errors = checkNamedQueries( bootstrapExecutor );
+				if ( ! errors.isEmpty() ) {
+					Set keys = errors.keySet();
+					StringBuffer failingQueries = new StringBuffer( "Errors in named queries: " );
+					for ( Iterator<String> iterator = keys.iterator() ; iterator.hasNext() ; ) {
+						String queryName = iterator.next();
+						HibernateException e = ( HibernateException ) errors.get( queryName );
+						failingQueries.append( queryName );
+	                    if ( iterator.hasNext() ) failingQueries.append( ", " );
+						LOG.namedQueryError( queryName, e );
+					}
+					throw new HibernateException( failingQueries.toString() );
 				}
-				throw new HibernateException( failingQueries.toString() );
 			}
 		}
+		finally {
+			bootstrapExecutor.shutdown();
+		}
 
 		// this needs to happen after persisters are all ready to go...
 		this.fetchProfiles = new HashMap<String,FetchProfile>();
@@ -937,71 +972,151 @@ public final class SessionFactoryImpl
 		return queryPlanCache;
 	}
 
-	private Map checkNamedQueries() throws HibernateException {
-		Map errors = new HashMap();
+	private void postInstantiatePersisters(BootstrapExecutor bootstrapExecutor) {
+		List<Callable<Object>> tasks = new ArrayList<Callable<Object>>();
+		Iterator iter = entityPersisters.values().iterator();
+		while ( iter.hasNext() ) {
+			final EntityPersister persister = ( ( EntityPersister ) iter.next() );
+			tasks.add(
+					new Callable<Object>() {
+						@Override
+						public Object call() {
+							persister.postInstantiate();
+							return null;
+						}
+					}
+			);
+		}
+		iter = collectionPersisters.values().iterator();
+		while ( iter.hasNext() ) {
+			final CollectionPersister persister = ( ( CollectionPersister ) iter.next() );
+			tasks.add(
+					new Callable<Object>() {
+						@Override
+						public Object call() {
+							persister.postInstantiate();
+							return null;
+						}
+					}
+			);
+		}
+		bootstrapExecutor.invokeAll( "post-instantiation", tasks );
+
+		iter = entityPersisters.values().iterator();
+		while ( iter.hasNext() ) {
+			registerEntityNameResolvers( ( EntityPersister ) iter.next() );
+		}
+	}
+
+	/**
+	 * Resolves the (lazily built and cached) types of the components of the given entity, which persisters of the
+	 * entity and of its subclasses would otherwise all resolve concurrently.
+	 */
+	private static void resolveComponentTypes(PersistentClass model) {
+		if ( model.getIdentifier() instanceof Component ) {
+			model.getIdentifier().getType();
+		}
+		if ( model.getIdentifierMapper() != null ) {
+			model.getIdentifierMapper().getType();
+		}
+		Iterator properties = model.getPropertyIterator();
+		while ( properties.hasNext() ) {
+			final Property property = ( Property ) properties.next();
+			if ( property.getValue() instanceof Component ) {
+				property.getType();
+			}
+		}
+	}
+
+	private Map checkNamedQueries(BootstrapExecutor bootstrapExecutor) throws HibernateException {
+		// one task per query, returning the error of the query (if any)
+		List<String> queryNames = new ArrayList<String>();
+		List<Callable<HibernateException>> tasks = new ArrayList<Callable<HibernateException>>();
 
 		// Check named HQL queries
 		if(LOG.isDebugEnabled())
         LOG.debugf("Checking %s named HQL queries", namedQueries.size());
-		Iterator itr = namedQueries.entrySet().iterator();
-		while ( itr.hasNext() ) {
-			final Map.Entry entry = ( Map.Entry ) itr.next();
-			final String queryName = ( String ) entry.getKey();
-			final NamedQueryDefinition qd = ( NamedQueryDefinition ) entry.getValue();
-			// this will throw an error if there's something wrong.
-			try {
-                LOG.debugf("Checking named query: %s", queryName);
-				//TODO: BUG! this currently fails for named queries for non-POJO entities
-				queryPlanCache.getHQLQueryPlan( qd.getQueryString(), false, CollectionHelper.EMPTY_MAP );
-			}
-			catch ( QueryException e ) {
-				errors.put( queryName, e );
-			}
-			catch ( MappingException e ) {
-				errors.put( queryName, e );
-			}
+		for ( final Map.Entry<String, NamedQueryDefinition> entry : namedQueries.entrySet() ) {
+			queryNames.add( entry.getKey() );
+			tasks.add(
+					new Callable<HibernateException>() {
+						@Override
+						public HibernateException call() {
+							final String queryName = entry.getKey();
+							final NamedQueryDefinition qd = entry.getValue();
+							// this will throw an error if there's something wrong.
+							try {
+								LOG.debugf("Checking named query: %s", queryName);
+								//TODO: BUG! this currently fails for named queries for non-POJO entities
+								queryPlanCache.getHQLQueryPlan( qd.getQueryString(), false, CollectionHelper.EMPTY_MAP );
+								return null;
+							}
+							catch ( QueryException e ) {
+								return e;
+							}
+							catch ( MappingException e ) {
+								return e;
+							}
+						}
+					}
+			);
 		}
 		if(LOG.isDebugEnabled())
         LOG.debugf("Checking %s named SQL queries", namedSqlQueries.size());
-		itr = namedSqlQueries.entrySet().iterator();
-		while ( itr.hasNext() ) {
-			final Map.Entry entry = ( Map.Entry ) itr.next();
-			final String queryName = ( String ) entry.getKey();
-			final NamedSQLQueryDefinition qd = ( NamedSQLQueryDefinition ) entry.getValue();
-			// this will throw an error if there's something wrong.
-			try {
-                LOG.debugf("Checking named SQL query: %s", queryName);
-				// TODO : would be really nice to cache the spec on the query-def so as to not have to re-calc the hash;
-				// currently not doable though because of the resultset-ref stuff...
-				NativeSQLQuerySpecification spec;
-				if ( qd.getResultSetRef() != null ) {
-					ResultSetMappingDefinition definition = sqlResultSetMappings.get( qd.getResultSetRef() );
-					if ( definition == null ) {
-						throw new MappingException( "Unable to find resultset-ref definition: " + qd.getResultSetRef() );
+		for ( final Map.Entry<String, NamedSQLQueryDefinition> entry : namedSqlQueries.entrySet() ) {
+			queryNames.add( entry.getKey() );
+			tasks.add(
+					new Callable<HibernateException>() {
+						@Override
+						public HibernateException call() {
+							final String queryName = entry.getKey();
+							final NamedSQLQueryDefinition qd = entry.getValue();
+							// this will throw an error if there's something wrong.
+							try {
+								LOG.debugf("Checking named SQL query: %s", queryName);
+								// TODO : would be really nice to cache the spec on the query-def so as to not have to re-calc the hash;
+								// currently not doable though because of the resultset-ref stuff...
+								NativeSQLQuerySpecification spec;
+								if ( qd.getResultSetRef() != null ) {
+									ResultSetMappingDefinition definition = sqlResultSetMappings.get( qd.getResultSetRef() );
+									if ( definition == null ) {
+										throw new MappingException( "Unable to find resultset-ref definition: " + qd.getResultSetRef() );
+									}
+									spec = new NativeSQLQuerySpecification(
+											qd.getQueryString(),
+											definition.getQueryReturns(),
+											qd.getQuerySpaces()
+									);
+								}
+								else {
+									spec =  new NativeSQLQuerySpecification(
+											qd.getQueryString(),
+											qd.getQueryReturns(),
+											qd.getQuerySpaces()
+									);
+								}
+								queryPlanCache.getNativeSQLQueryPlan( spec );
+								return null;
+							}
+							catch ( QueryException e ) {
+								return e;
+							}
+							catch ( MappingException e ) {
+								return e;
+							}
+						}
 					}
-					spec = new NativeSQLQuerySpecification(
-							qd.getQueryString(),
-					        definition.getQueryReturns(),
-					        qd.getQuerySpaces()
-					);
-				}
-				else {
-					spec =  new NativeSQLQuerySpecification(
-							qd.getQueryString(),
-					        qd.getQueryReturns(),
-					        qd.getQuerySpaces()
-					);
-				}
-				queryPlanCache.getNativeSQLQueryPlan( spec );
-			}
-			catch ( QueryException e ) {
-				errors.put( queryName, e );
-			}
-			catch ( MappingException e ) {
-				errors.put( queryName, e );
-			}
+			);
 		}
 
+		List<HibernateException> results = bootstrapExecutor.invokeAll( "named queries", tasks );
+		// sorted, so that errors are reported in the same order however the queries were checked
+		Map errors = new TreeMap();
+		for ( int i = 0; i < results.size(); i++ ) {
+			if ( results.get( i ) != null ) {
+				errors.put( queryNames.get( i ), results.get( i ) );
+			}
+		}
 		return errors;
 	}
 
@@ -1282,6 +1397,8 @@ public final class SessionFactoryImpl
 			updateTimestampsCache.destroy();
 		}
 
+		queryPlanCache.cleanup();
+
 		settings.getRegionFactory().stop();
 
 		if ( settings.isAutoDropSchema() ) {
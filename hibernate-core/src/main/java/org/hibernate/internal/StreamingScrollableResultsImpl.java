@@ -0,0 +1,276 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.internal;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.hibernate.HibernateException;
+import org.hibernate.MappingException;
+import org.hibernate.ScrollableResults;
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.EntityKey;
+import org.hibernate.engine.spi.PersistenceContext;
+import org.hibernate.engine.spi.QueryParameters;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.engine.spi.Status;
+import org.hibernate.event.internal.EvictVisitor;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.hql.internal.HolderInstantiator;
+import org.hibernate.loader.Loader;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.proxy.HibernateProxy;
+import org.hibernate.proxy.LazyInitializer;
+import org.hibernate.type.CompositeType;
+import org.hibernate.type.Type;
+
+/**
+ * Forward-only implementation of the <tt>ScrollableResults</tt> interface backing
+ * {@link org.hibernate.ScrollMode#STREAMING}.  As soon as the cursor moves past a row,
+ * the entities loaded into the persistence context since the scroll was opened are
+ * detached again, together with their collections, and the row array is reused.  This
+ * covers the entities of the row itself as well as those loaded by secondary selects,
+ * such as eager to-one associations and the elements of eager collections.  So are the
+ * uninitialized to-one proxies these entities registered (and with them their pending
+ * batch fetch keys).  Entities and proxies the session already held when the scroll was
+ * opened stay managed, as do entities not yet inserted or being deleted.  A detached
+ * proxy can still be initialized while the session is open.
+ */
+public class StreamingScrollableResultsImpl extends AbstractScrollableResults implements ScrollableResults {
+
+	private final List hydratedObjects = new ArrayList();
+	private final EvictVisitor evictVisitor;
+	private final Set entityKeysBeforeScroll;
+	private final Set proxyKeysBeforeScroll;
+	private Object[] currentRow;
+	private Object[] singleColumnRow;
+	private int rowNumber = -1;
+	private boolean afterLast;
+
+	public StreamingScrollableResultsImpl(
+			ResultSet rs,
+			PreparedStatement ps,
+			SessionImplementor sess,
+			Loader loader,
+			QueryParameters queryParameters,
+			Type[] types,
+			HolderInstantiator holderInstantiator) throws MappingException {
+		super( rs, ps, sess, loader, queryParameters, types, holderInstantiator );
+		// a stateless session already discards everything it loaded after each row
+		this.evictVisitor = sess instanceof EventSource ? new EvictVisitor( (EventSource) sess ) : null;
+		this.entityKeysBeforeScroll = evictVisitor == null
+				? Collections.EMPTY_SET
+				: new HashSet( sess.getPersistenceContext().getEntitiesByKey().keySet() );
+		this.proxyKeysBeforeScroll = evictVisitor == null
+				? Collections.EMPTY_SET
+				: new HashSet( sess.getPersistenceContext().getProxiesByKey().keySet() );
+	}
+
+	protected Object[] getCurrentRow() {
+		return currentRow;
+	}
+
+	public boolean next() throws HibernateException {
+		if ( afterLast ) {
+			return false;
+		}
+		detachCurrentRow();
+		try {
+			boolean result = getResultSet().next();
+			prepareCurrentRow( result );
+			return result;
+		}
+		catch (SQLException sqle) {
+			throw getSession().getFactory().getSQLExceptionHelper().convert(
+					sqle,
+					"could not advance using next()"
+				);
+		}
+	}
+
+	public boolean scroll(int i) throws HibernateException {
+		if ( i < 0 ) {
+			throw new UnsupportedOperationException( "Streaming results can only scroll forward" );
+		}
+		boolean more = currentRow != null;
+		for ( int n = 0; n < i; n++ ) {
+			more = next();
+			if ( !more ) {
+				break;
+			}
+		}
+		return more;
+	}
+
+	public boolean setRowNumber(int rowNumber) throws HibernateException {
+		if ( rowNumber < this.rowNumber ) {
+			throw new UnsupportedOperationException( "Streaming results can only scroll forward" );
+		}
+		return scroll( rowNumber - this.rowNumber );
+	}
+
+	public int getRowNumber() throws HibernateException {
+		return currentRow == null ? -1 : rowNumber;
+	}
+
+	public boolean isFirst() throws HibernateException {
+		return currentRow != null && rowNumber == 0;
+	}
+
+	public boolean first() throws HibernateException {
+		throw new UnsupportedOperationException( "Streaming results can only scroll forward" );
+	}
+
+	public boolean last() throws HibernateException {
+		throw new UnsupportedOperationException( "Streaming results can only scroll forward" );
+	}
+
+	public boolean previous() throws HibernateException {
+		throw new UnsupportedOperationException( "Streaming results can only scroll forward" );
+	}
+
+	public void afterLast() throws HibernateException {
+		throw new UnsupportedOperationException( "Streaming results can only scroll forward" );
+	}
+
+	public void beforeFirst() throws HibernateException {
+		throw new UnsupportedOperationException( "Streaming results can only scroll forward" );
+	}
+
+	public boolean isLast() throws HibernateException {
+		throw new UnsupportedOperationException( "Streaming results do not know whether a row is the last one" );
+	}
+
+	private void prepareCurrentRow(boolean underlyingScrollSuccessful) throws HibernateException {
+		if ( !underlyingScrollSuccessful ) {
+			currentRow = null;
+			afterLast = true;
+			return;
+		}
+		rowNumber++;
+
+		Object result = getLoader().loadSingleRow(
+				getResultSet(),
+				getSession(),
+				getQueryParameters(),
+				false,
+				hydratedObjects
+		);
+		if ( result != null && result.getClass().isArray() ) {
+			currentRow = (Object[]) result;
+		}
+		else {
+			currentRow = singleColumnRow( result );
+		}
+
+		if ( getHolderInstantiator() != null ) {
+			currentRow = singleColumnRow( getHolderInstantiator().instantiate( currentRow ) );
+		}
+
+		afterScrollOperation();
+	}
+
+	private Object[] singleColumnRow(Object value) {
+		if ( singleColumnRow == null ) {
+			singleColumnRow = new Object[1];
+		}
+		singleColumnRow[0] = value;
+		return singleColumnRow;
+	}
+
+	private void detachCurrentRow() {
+		if ( evictVisitor != null && currentRow != null ) {
+			final PersistenceContext persistenceContext = getSession().getPersistenceContext();
+			for ( Map.Entry me : persistenceContext.reentrantSafeEntityEntries() ) {
+				final EntityEntry entry = (EntityEntry) me.getValue();
+				if ( isDetachable( entry ) ) {
+					detach( persistenceContext, me.getKey(), entry );
+				}
+			}
+		}
+		hydratedObjects.clear();
+		currentRow = null;
+	}
+
+	private boolean isDetachable(EntityEntry entry) {
+		return ( entry.getStatus() == Status.MANAGED || entry.getStatus() == Status.READ_ONLY )
+				&& entry.isExistsInDatabase()
+				&& !entityKeysBeforeScroll.contains( entry.getEntityKey() );
+	}
+
+	private void detach(PersistenceContext persistenceContext, Object entity, EntityEntry entry) {
+		persistenceContext.removeEntry( entity );
+		persistenceContext.removeEntity( entry.getEntityKey() );
+		detachProxy( persistenceContext, entry.getEntityKey() );
+		final EntityPersister persister = entry.getPersister();
+		final Object[] values = persister.getPropertyValues( entity );
+		final Type[] types = persister.getPropertyTypes();
+		if ( persister.hasCollections() ) {
+			evictVisitor.processEntityPropertyValues( values, types );
+		}
+		detachToOneProxies( persistenceContext, values, types );
+	}
+
+	private void detachToOneProxies(PersistenceContext persistenceContext, Object[] values, Type[] types) {
+		for ( int i = 0; i < types.length; i++ ) {
+			if ( values[i] == null ) {
+				continue;
+			}
+			if ( types[i].isEntityType() && values[i] instanceof HibernateProxy ) {
+				final LazyInitializer li = ( (HibernateProxy) values[i] ).getHibernateLazyInitializer();
+				if ( li.isUninitialized() && li.getSession() == getSession() ) {
+					final EntityKey key = getSession().generateEntityKey(
+							li.getIdentifier(),
+							getSession().getFactory().getEntityPersister( li.getEntityName() )
+					);
+					if ( persistenceContext.getProxy( key ) == values[i] ) {
+						detachProxy( persistenceContext, key );
+					}
+				}
+			}
+			else if ( types[i].isComponentType() ) {
+				final CompositeType componentType = (CompositeType) types[i];
+				detachToOneProxies(
+						persistenceContext,
+						componentType.getPropertyValues( values[i], getSession() ),
+						componentType.getSubtypes()
+				);
+			}
+		}
+	}
+
+	private void detachProxy(PersistenceContext persistenceContext, EntityKey key) {
+		if ( !proxyKeysBeforeScroll.contains( key ) ) {
+			// also drops the key from the batch fetch queue
+			persistenceContext.removeProxy( key );
+		}
+	}
+}
@@ -0,0 +1,433 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.internal.util.collections;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A bounded cache allowing fully concurrent reads and striped writes.
+ * <p/>
+ * Entries are spread over a number of independent segments.  Each segment keeps its entries in a
+ * {@link ConcurrentHashMap} so that lookups never block, and maintains a segmented LRU (SLRU) eviction
+ * order under its own lock: new entries enter a <i>probation</i> area and are promoted to a <i>protected</i>
+ * area once they are hit again, so that a burst of one-off entries cannot flush out the frequently used
+ * ones.  Hits are not applied to the eviction order immediately; they are recorded in a per-segment buffer
+ * which is replayed by whichever thread next manages to acquire the segment lock, so readers never wait
+ * on that lock.
+ * <p/>
+ * The total number of entries never exceeds the maximum size given at construction.  As each segment is
+ * bounded on its own, the cache may start evicting slightly before that size is reached.
+ *
+ * @param <K> The key type
+ * @param <V> The value type
+ */
+public class BoundedConcurrentCache<K,V> implements Serializable {
+
+	public static final int DEFAULT_CONCURRENCY_LEVEL = 16;
+
+	/**
+	 * Number of recorded hits after which a reader attempts to replay the hits against the eviction order.
+	 */
+	private static final int DRAIN_THRESHOLD = 64;
+
+	/**
+	 * Number of recorded hits after which further hits are dropped until the buffer has been replayed.
+	 */
+	private static final int MAX_BUFFER_SIZE = DRAIN_THRESHOLD * 4;
+
+	/**
+	 * Percentage of each segment reserved to entries which were hit at least once after insertion.
+	 */
+	private static final int PROTECTED_PERCENTAGE = 80;
+
+	/**
+	 * Callback for entries removed from the cache in order to honor its maximum size.
+	 */
+	public static interface EvictionListener<K,V> {
+		public void onEviction(K key, V value);
+	}
+
+	private final int maxSize;
+	private final int concurrencyLevel;
+	private final EvictionListener<K,V> evictionListener;
+
+	private transient Segment<K,V>[] segments;
+	private transient int segmentShift;
+
+	public BoundedConcurrentCache(int maxSize) {
+		this( maxSize, DEFAULT_CONCURRENCY_LEVEL, null );
+	}
+
+	public BoundedConcurrentCache(int maxSize, int concurrencyLevel, EvictionListener<K,V> evictionListener) {
+		if ( maxSize <= 0 ) {
+			throw new IllegalArgumentException( "Maximum size must be positive : " + maxSize );
+		}
+		if ( concurrencyLevel <= 0 ) {
+			throw new IllegalArgumentException( "Concurrency level must be positive : " + concurrencyLevel );
+		}
+		this.maxSize = maxSize;
+		this.concurrencyLevel = concurrencyLevel;
+		this.evictionListener = evictionListener;
+		init();
+	}
+
+	@SuppressWarnings({ "unchecked" })
+	private void init() {
+		// never create more segments than entries, and use a power of two for cheap segment selection
+		int segmentCount = 1;
+		int shift = 0;
+		while ( segmentCount < concurrencyLevel && segmentCount * 2 <= maxSize ) {
+			segmentCount <<= 1;
+			shift++;
+		}
+		this.segmentShift = 32 - shift;
+		// spread the maximum size over the segments, the first ones taking the remainder
+		final int segmentCapacity = maxSize / segmentCount;
+		final int remainder = maxSize % segmentCount;
+		this.segments = new Segment[segmentCount];
+		for ( int i = 0; i < segmentCount; i++ ) {
+			segments[i] = new Segment<K,V>( i < remainder ? segmentCapacity + 1 : segmentCapacity, evictionListener );
+		}
+	}
+
+	private void readObject(java.io.ObjectInputStream in) throws IOException, ClassNotFoundException {
+		in.defaultReadObject();
+		init();
+	}
+
+	/**
+	 * Applies a supplemental hash function to the key hash, defending against poor quality hash functions.
+	 * Same as the one used by {@link ConcurrentHashMap} prior to Java 8.
+	 */
+	private static int hash(Object key) {
+		int h = key.hashCode();
+		h += ( h << 15 ) ^ 0xffffcd7d;
+		h ^= ( h >>> 10 );
+		h += ( h << 3 );
+		h ^= ( h >>> 6 );
+		h += ( h << 2 ) + ( h << 14 );
+		return h ^ ( h >>> 16 );
+	}
+
+	private Segment<K,V> segmentFor(Object key) {
+		if ( segments.length == 1 ) {
+			return segments[0];
+		}
+		return segments[hash( key ) >>> segmentShift];
+	}
+
+	/**
+	 * Locate the value cached under the given key.  Never blocks.
+	 *
+	 * @param key The key
+	 *
+	 * @return The cached value, or {@code null}
+	 */
+	public V get(Object key) {
+		return segmentFor( key ).get( key );
+	}
+
+	/**
+	 * Cache the given value, possibly evicting other entries.
+	 *
+	 * @param key The key
+	 * @param value The value
+	 *
+	 * @return The value previously cached under the key, or {@code null}
+	 */
+	public V put(K key, V value) {
+		return segmentFor( key ).put( key, value, false );
+	}
+
+	/**
+	 * Cache the given value unless a value is already cached under the key.
+	 *
+	 * @param key The key
+	 * @param value The value
+	 *
+	 * @return The value already cached under the key (in which case the given value was not cached), or
+	 * {@code null}
+	 */
+	public V putIfAbsent(K key, V value) {
+		return segmentFor( key ).put( key, value, true );
+	}
+
+	public V remove(Object key) {
+		return segmentFor( key ).remove( key );
+	}
+
+	/**
+	 * The number of entries currently cached.  This is a moment-in-time estimate under concurrent
+	 * modification.
+	 *
+	 * @return The number of entries
+	 */
+	public int size() {
+		int size = 0;
+		for ( Segment<K,V> segment : segments ) {
+			size += segment.map.size();
+		}
+		return size;
+	}
+
+	public int getMaxSize() {
+		return maxSize;
+	}
+
+	public void clear() {
+		for ( Segment<K,V> segment : segments ) {
+			segment.clear();
+		}
+	}
+
+	private static final class Node<K,V> {
+		private final K key;
+		private final V value;
+
+		// all of the following are guarded by the segment lock
+		private boolean linked;
+		private boolean isProtected;
+		private Node<K,V> prev;
+		private Node<K,V> next;
+
+		private Node(K key, V value) {
+			this.key = key;
+			this.value = value;
+		}
+	}
+
+	/**
+	 * A circular doubly-linked list of nodes, from least (head) to most (tail) recently used.
+	 */
+	private static final class AccessOrder<K,V> {
+		private final Node<K,V> sentinel = new Node<K,V>( null, null );
+		private int size;
+
+		private AccessOrder() {
+			sentinel.prev = sentinel;
+			sentinel.next = sentinel;
+		}
+
+		private void addLast(Node<K,V> node) {
+			node.prev = sentinel.prev;
+			node.next = sentinel;
+			sentinel.prev.next = node;
+			sentinel.prev = node;
+			size++;
+		}
+
+		private void unlink(Node<K,V> node) {
+			node.prev.next = node.next;
+			node.next.prev = node.prev;
+			node.prev = null;
+			node.next = null;
+			size--;
+		}
+
+		private Node<K,V> first() {
+			return sentinel.next == sentinel ? null : sentinel.next;
+		}
+
+		private void clear() {
+			sentinel.prev = sentinel;
+			sentinel.next = sentinel;
+			size = 0;
+		}
+	}
+
+	private static final class Segment<K,V> {
+		private final int capacity;
+		private final int protectedCapacity;
+		private final EvictionListener<K,V> evictionListener;
+
+		private final ConcurrentHashMap<Object,Node<K,V>> map;
+		private final ReentrantLock lock = new ReentrantLock();
+
+		private final Queue<Node<K,V>> accessBuffer = new ConcurrentLinkedQueue<Node<K,V>>();
+		private final AtomicInteger accessBufferSize = new AtomicInteger();
+
+		// guarded by lock
+		private final AccessOrder<K,V> probation = new AccessOrder<K,V>();
+		private final AccessOrder<K,V> protectedOrder = new AccessOrder<K,V>();
+
+		private Segment(int capacity, EvictionListener<K,V> evictionListener) {
+			this.capacity = capacity;
+			this.protectedCapacity = capacity * PROTECTED_PERCENTAGE / 100;
+			this.evictionListener = evictionListener;
+			this.map = CollectionHelper.concurrentMap( capacity );
+		}
+
+		private V get(Object key) {
+			final Node<K,V> node = map.get( key );
+			if ( node == null ) {
+				return null;
+			}
+			recordAccess( node );
+			return node.value;
+		}
+
+		private void recordAccess(Node<K,V> node) {
+			final int bufferSize = accessBufferSize.get();
+			if ( bufferSize < MAX_BUFFER_SIZE ) {
+				accessBuffer.add( node );
+				accessBufferSize.incrementAndGet();
+			}
+			if ( bufferSize >= DRAIN_THRESHOLD && lock.tryLock() ) {
+				try {
+					drainAccessBuffer();
+				}
+				finally {
+					lock.unlock();
+				}
+			}
+		}
+
+		private void drainAccessBuffer() {
+			Node<K,V> node;
+			while ( ( node = accessBuffer.poll() ) != null ) {
+				accessBufferSize.decrementAndGet();
+				if ( node.linked ) {
+					promote( node );
+				}
+			}
+		}
+
+		private void promote(Node<K,V> node) {
+			if ( node.isProtected ) {
+				protectedOrder.unlink( node );
+				protectedOrder.addLast( node );
+			}
+			else {
+				probation.unlink( node );
+				node.isProtected = true;
+				protectedOrder.addLast( node );
+				if ( protectedOrder.size > protectedCapacity ) {
+					final Node<K,V> demoted = protectedOrder.first();
+					protectedOrder.unlink( demoted );
+					demoted.isProtected = false;
+					probation.addLast( demoted );
+				}
+			}
+		}
+
+		private V put(K key, V value, boolean onlyIfAbsent) {
+			List<Node<K,V>> evicted = null;
+			final V previous;
+			lock.lock();
+			try {
+				drainAccessBuffer();
+				final Node<K,V> existing = map.get( key );
+				if ( existing != null && onlyIfAbsent ) {
+					return existing.value;
+				}
+				final Node<K,V> node = new Node<K,V>( key, value );
+				map.put( key, node );
+				if ( existing != null ) {
+					unlink( existing );
+					previous = existing.value;
+				}
+				else {
+					previous = null;
+				}
+				node.linked = true;
+				probation.addLast( node );
+
+				while ( probation.size + protectedOrder.size > capacity ) {
+					Node<K,V> victim = probation.first();
+					if ( victim == null ) {
+						victim = protectedOrder.first();
+					}
+					unlink( victim );
+					map.remove( victim.key, victim );
+					if ( evictionListener != null ) {
+						if ( evicted == null ) {
+							evicted = new ArrayList<Node<K,V>>();
+						}
+						evicted.add( victim );
+					}
+				}
+			}
+			finally {
+				lock.unlock();
+			}
+
+			if ( evicted != null ) {
+				for ( Node<K,V> victim : evicted ) {
+					evictionListener.onEviction( victim.key, victim.value );
+				}
+			}
+			return previous;
+		}
+
+		private V remove(Object key) {
+			lock.lock();
+			try {
+				final Node<K,V> node = map.remove( key );
+				if ( node == null ) {
+					return null;
+				}
+				unlink( node );
+				return node.value;
+			}
+			finally {
+				lock.unlock();
+			}
+		}
+
+		private void unlink(Node<K,V> node) {
+			if ( node.isProtected ) {
+				protectedOrder.unlink( node );
+			}
+			else {
+				probation.unlink( node );
+			}
+			node.linked = false;
+		}
+
+		private void clear() {
+			lock.lock();
+			try {
+				for ( Node<K,V> node : map.values() ) {
+					node.linked = false;
+				}
+				map.clear();
+				probation.clear();
+				protectedOrder.clear();
+				accessBuffer.clear();
+				accessBufferSize.set( 0 );
+			}
+			finally {
+				lock.unlock();
+			}
+		}
+	}
+}
@@ -11,6 +11,7 @@ import org.hibernate.SessionFactory;
 import org.hibernate.internal.CoreMessageLogger;
 import org.hibernate.internal.SessionFactoryRegistry;
 import org.hibernate.stat.CollectionStatistics;
+import org.hibernate.stat.ConnectionPoolStatistics;
 import org.hibernate.stat.EntityStatistics;
 import org.hibernate.stat.QueryStatistics;
 import org.hibernate.stat.SecondLevelCacheStatistics;
@@ -197,6 +198,22 @@ public class StatisticsService implements StatisticsServiceMBean {
 		return stats.getUpdateTimestampsCachePutCount();
 	}
 
+	public long getQueryPlanCacheHitCount() {
+		return stats.getQueryPlanCacheHitCount();
+	}
+
+	public long getQueryPlanCacheMissCount() {
+		return stats.getQueryPlanCacheMissCount();
+	}
+
+	public long getQueryPlanCacheEvictionCount() {
+		return stats.getQueryPlanCacheEvictionCount();
+	}
+
+	public ConnectionPoolStatistics getConnectionPoolStatistics() {
+		return stats.getConnectionPoolStatistics();
+	}
+
 	/**
 	 * @see StatisticsServiceMBean#getFlushCount()
 	 */
@@ -0,0 +1,98 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.loader;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.hibernate.persister.entity.Loadable;
+
+/**
+ * The positions, within one {@link ResultSet}, of the columns a {@link Loader} reads for its entity returns.
+ * Positions are resolved from the {@link EntityAliases} the first time a row needs them and then reused for
+ * every following row, so that hydration does not look columns up by name.  A position of zero means "not yet
+ * resolved".
+ */
+final class ColumnPositions {
+	private final ResultSet resultSet;
+	private final EntityAliases[] entityAliases;
+	private final int[] keyPositions;
+	private final int[] discriminatorPositions;
+	private final Map<Loadable, int[]>[] propertyPositions;
+
+	@SuppressWarnings({ "unchecked" })
+	ColumnPositions(ResultSet resultSet, EntityAliases[] entityAliases) {
+		this.resultSet = resultSet;
+		this.entityAliases = entityAliases;
+		this.keyPositions = new int[entityAliases.length];
+		this.discriminatorPositions = new int[entityAliases.length];
+		this.propertyPositions = new Map[entityAliases.length];
+	}
+
+	/**
+	 * The position of the (single) key column of the i-th entity return.
+	 */
+	int getKeyPosition(int i) throws SQLException {
+		int position = keyPositions[i];
+		if ( position == 0 ) {
+			position = resultSet.findColumn( entityAliases[i].getSuffixedKeyAliases()[0] );
+			keyPositions[i] = position;
+		}
+		return position;
+	}
+
+	/**
+	 * The position of the discriminator column of the i-th entity return.
+	 */
+	int getDiscriminatorPosition(int i) throws SQLException {
+		int position = discriminatorPositions[i];
+		if ( position == 0 ) {
+			position = resultSet.findColumn( entityAliases[i].getSuffixedDiscriminatorAlias() );
+			discriminatorPositions[i] = position;
+		}
+		return position;
+	}
+
+	/**
+	 * The property positions of the i-th entity return when hydrated as the given (sub)class, to be passed to
+	 * {@link org.hibernate.persister.entity.PositionalLoadable#hydrate(ResultSet, java.io.Serializable, Object,
+	 * Loadable, String[][], int[], boolean, org.hibernate.engine.spi.SessionImplementor)}, which fills them in as it
+	 * goes.
+	 */
+	int[] getPropertyPositions(int i, Loadable persister) {
+		Map<Loadable, int[]> positionsByPersister = propertyPositions[i];
+		if ( positionsByPersister == null ) {
+			positionsByPersister = new HashMap<Loadable, int[]>();
+			propertyPositions[i] = positionsByPersister;
+		}
+		int[] positions = positionsByPersister.get( persister );
+		if ( positions == null ) {
+			positions = new int[ persister.getPropertyTypes().length ];
+			positionsByPersister.put( persister, positions );
+		}
+		return positions;
+	}
+}
@@ -0,0 +1,125 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.loader;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.Loadable;
+import org.hibernate.persister.entity.UniqueKeyLoadable;
+import org.hibernate.type.Type;
+
+/**
+ * What a {@link Loader} needs to know to hydrate one of its entity returns, worked out once per loader instead
+ * of once per row.  The details of each concrete (sub)class actually found in the result set are kept in a
+ * {@link SubclassPlan}, keyed by the entity name the discriminator resolves to.
+ */
+final class EntityReturnPlan {
+	private final SessionFactoryImplementor factory;
+	private final Loadable rootPersister;
+	private final EntityAliases entityAliases;
+	private final boolean eagerPropertyFetch;
+	private final String uniqueKeyPropertyName;
+	private final SubclassPlan rootPlan;
+	private final ConcurrentMap<String, SubclassPlan> subclassPlans = new ConcurrentHashMap<String, SubclassPlan>();
+
+	EntityReturnPlan(
+			SessionFactoryImplementor factory,
+			Loadable rootPersister,
+			EntityAliases entityAliases,
+			boolean eagerPropertyFetch,
+			String uniqueKeyPropertyName) {
+		this.factory = factory;
+		this.rootPersister = rootPersister;
+		this.entityAliases = entityAliases;
+		this.eagerPropertyFetch = eagerPropertyFetch;
+		this.uniqueKeyPropertyName = uniqueKeyPropertyName;
+		this.rootPlan = new SubclassPlan( rootPersister, entityAliases.getSuffixedPropertyAliases() );
+	}
+
+	Loadable getRootPersister() {
+		return rootPersister;
+	}
+
+	boolean isEagerPropertyFetch() {
+		return eagerPropertyFetch;
+	}
+
+	/**
+	 * The name of the property the owning association refers to, if it is not the primary key.
+	 */
+	String getUniqueKeyPropertyName() {
+		return uniqueKeyPropertyName;
+	}
+
+	/**
+	 * Locate the plan for the given concrete entity, which must be the root persister or one of its subclasses.
+	 */
+	SubclassPlan getSubclassPlan(String entityName) {
+		if ( entityName.equals( rootPersister.getEntityName() ) ) {
+			return rootPlan;
+		}
+		SubclassPlan plan = subclassPlans.get( entityName );
+		if ( plan == null ) {
+			final Loadable persister = (Loadable) factory.getEntityPersister( entityName );
+			plan = new SubclassPlan( persister, entityAliases.getSuffixedPropertyAliases( persister ) );
+			subclassPlans.putIfAbsent( entityName, plan );
+		}
+		return plan;
+	}
+
+	final class SubclassPlan {
+		private final Loadable persister;
+		private final String[][] suffixedPropertyAliases;
+		private final int uniqueKeyPropertyIndex;
+
+		private SubclassPlan(Loadable persister, String[][] suffixedPropertyAliases) {
+			this.persister = persister;
+			this.suffixedPropertyAliases = suffixedPropertyAliases;
+			this.uniqueKeyPropertyIndex = uniqueKeyPropertyName == null
+					? -1
+					: ( (UniqueKeyLoadable) persister ).getPropertyIndex( uniqueKeyPropertyName );
+		}
+
+		Loadable getPersister() {
+			return persister;
+		}
+
+		String[][] getSuffixedPropertyAliases() {
+			return suffixedPropertyAliases;
+		}
+
+		/**
+		 * The index of the unique key property, or -1 if the owning association refers to the primary key.
+		 */
+		int getUniqueKeyPropertyIndex() {
+			return uniqueKeyPropertyIndex;
+		}
+
+		Type getUniqueKeyPropertyType() {
+			return persister.getPropertyTypes()[uniqueKeyPropertyIndex];
+		}
+	}
+}
@@ -71,17 +71,18 @@ import org.hibernate.engine.jdbc.ColumnNameCache;
 import org.hibernate.event.spi.PostLoadEvent;
 import org.hibernate.internal.FetchingScrollableResultsImpl;
 import org.hibernate.internal.ScrollableResultsImpl;
+import org.hibernate.internal.StreamingScrollableResultsImpl;
 import org.hibernate.internal.util.StringHelper;
 import org.hibernate.persister.collection.CollectionPersister;
 import org.hibernate.persister.entity.EntityPersister;
 import org.hibernate.persister.entity.Loadable;
-import org.hibernate.persister.entity.UniqueKeyLoadable;
+import org.hibernate.persister.entity.PositionalLoadable;
 import org.hibernate.pretty.MessageHelper;
 import org.hibernate.proxy.HibernateProxy;
 import org.hibernate.transform.CacheableResultTransformer;
 import org.hibernate.transform.ResultTransformer;
-import org.hibernate.type.AssociationType;
 import org.hibernate.type.EntityType;
+import org.hibernate.type.PositionalSingleColumnType;
 import org.hibernate.type.Type;
 import org.hibernate.type.VersionType;
 
@@ -105,6 +106,7 @@ public abstract class Loader {
 
 	private final SessionFactoryImplementor factory;
 	private ColumnNameCache columnNameCache;
+	private volatile EntityReturnPlan[] entityReturnPlans;
 
 	public Loader(SessionFactoryImplementor factory) {
 		this.factory = factory;
@@ -320,7 +322,22 @@ public abstract class Loader {
 		final int entitySpan = getEntityPersisters().length;
 		final List hydratedObjects = entitySpan == 0 ?
 				null : new ArrayList( entitySpan );
+		return loadSingleRow( resultSet, session, queryParameters, returnProxies, hydratedObjects );
+	}
 
+	/**
+	 * Loads a single row from the result set, collecting the entities the row
+	 * added to the persistence context into the given (empty) list.  The list is
+	 * only written to when this loader returns entities.
+	 */
+	public Object loadSingleRow(
+	        final ResultSet resultSet,
+	        final SessionImplementor session,
+	        final QueryParameters queryParameters,
+	        final boolean returnProxies,
+	        final List hydratedObjects) throws HibernateException {
+
+		final int entitySpan = getEntityPersisters().length;
 		final Object result;
 		try {
 			result = getRowFromResultSet(
@@ -616,6 +633,7 @@ public abstract class Loader {
 				hydratedObjects,
 				keys,
 				returnProxies,
+				null,
 				null
 		);
 	}
@@ -629,10 +647,20 @@ public abstract class Loader {
 	        final List hydratedObjects,
 	        final EntityKey[] keys,
 	        boolean returnProxies,
-	        ResultTransformer forcedResultTransformer) throws SQLException, HibernateException {
+	        ResultTransformer forcedResultTransformer,
+	        ColumnPositions columnPositions) throws SQLException, HibernateException {
 		final Loadable[] persisters = getEntityPersisters();
 		final int entitySpan = persisters.length;
-		extractKeysFromResultSet( persisters, queryParameters, resultSet, session, keys, lockModesArray, hydratedObjects );
+		extractKeysFromResultSet(
+				persisters,
+				queryParameters,
+				resultSet,
+				session,
+				keys,
+				lockModesArray,
+				hydratedObjects,
+				columnPositions
+		);
 
 		registerNonExists( keys, persisters, session );
 
@@ -645,6 +673,7 @@ public abstract class Loader {
 				optionalObjectKey,
 				lockModesArray,
 				hydratedObjects,
+				columnPositions,
 				session
 		);
 
@@ -682,6 +711,18 @@ public abstract class Loader {
 			EntityKey[] keys,
 			LockMode[] lockModes,
 			List hydratedObjects) throws SQLException {
+		extractKeysFromResultSet( persisters, queryParameters, resultSet, session, keys, lockModes, hydratedObjects, null );
+	}
+
+	private void extractKeysFromResultSet(
+			Loadable[] persisters,
+			QueryParameters queryParameters,
+			ResultSet resultSet,
+			SessionImplementor session,
+			EntityKey[] keys,
+			LockMode[] lockModes,
+			List hydratedObjects,
+			ColumnPositions columnPositions) throws SQLException {
 		final int entitySpan = persisters.length;
 
 		final int numberOfPersistersToProcess;
@@ -699,7 +740,16 @@ public abstract class Loader {
 
 		for ( int i = 0; i < numberOfPersistersToProcess; i++ ) {
 			final Type idType = persisters[i].getIdentifierType();
-			hydratedKeyState[i] = idType.hydrate( resultSet, getEntityAliases()[i].getSuffixedKeyAliases(), session, null );
+			if ( columnPositions != null && idType instanceof PositionalSingleColumnType ) {
+				hydratedKeyState[i] = ( (PositionalSingleColumnType) idType ).nullSafeGet(
+						resultSet,
+						columnPositions.getKeyPosition( i ),
+						session
+				);
+			}
+			else {
+				hydratedKeyState[i] = idType.hydrate( resultSet, getEntityAliases()[i].getSuffixedKeyAliases(), session, null );
+			}
 		}
 
 		for ( int i = 0; i < numberOfPersistersToProcess; i++ ) {
@@ -747,6 +797,7 @@ public abstract class Loader {
 									getOptionalObjectKey( queryParameters, session ),
 									queryParameters.getOptionalObject(),
 									hydratedObjects,
+									columnPositions,
 									session
 							);
 						}
@@ -845,6 +896,7 @@ public abstract class Loader {
 			handleEmptyCollections( queryParameters.getCollectionKeys(), rs, session );
 
 			EntityKey[] keys = new EntityKey[entitySpan]; //we can reuse it for each row
+			final ColumnPositions columnPositions = entitySpan == 0 ? null : new ColumnPositions( rs, getEntityAliases() );
 
                         if (LOG.isTraceEnabled()) {
                            LOG.trace("Processing result set");
@@ -866,7 +918,8 @@ public abstract class Loader {
 						hydratedObjects,
 						keys,
 						returnProxies,
-						forcedResultTransformer
+						forcedResultTransformer,
+						columnPositions
 				);
 				results.add( result );
 
@@ -1348,6 +1401,7 @@ public abstract class Loader {
 	        final EntityKey optionalObjectKey,
 	        final LockMode[] lockModes,
 	        final List hydratedObjects,
+	        final ColumnPositions columnPositions,
 	        final SessionImplementor session)
 	throws HibernateException, SQLException {
 
@@ -1393,6 +1447,7 @@ public abstract class Loader {
 							optionalObjectKey,
 							optionalObject,
 							hydratedObjects,
+							columnPositions,
 							session
 						);
 				}
@@ -1457,6 +1512,7 @@ public abstract class Loader {
 	        final EntityKey optionalObjectKey,
 	        final Object optionalObject,
 	        final List hydratedObjects,
+	        final ColumnPositions columnPositions,
 	        final SessionImplementor session)
 	throws HibernateException, SQLException {
 		final String instanceClass = getInstanceClass(
@@ -1464,6 +1520,7 @@ public abstract class Loader {
 				i,
 				persister,
 				key.getIdentifier(),
+				columnPositions,
 				session
 			);
 
@@ -1492,6 +1549,7 @@ public abstract class Loader {
 				rowIdAlias,
 				acquiredLockMode,
 				persister,
+				columnPositions,
 				session
 			);
 
@@ -1506,6 +1564,33 @@ public abstract class Loader {
 		return array!=null && array[i];
 	}
 
+	/**
+	 * The hydration plans of the entity returns, built the first time a row is read.
+	 */
+	private EntityReturnPlan[] getEntityReturnPlans() {
+		EntityReturnPlan[] plans = entityReturnPlans;
+		if ( plans == null ) {
+			final Loadable[] persisters = getEntityPersisters();
+			final EntityAliases[] descriptors = getEntityAliases();
+			final EntityType[] ownerAssociationTypes = getOwnerAssociationTypes();
+			plans = new EntityReturnPlan[persisters.length];
+			for ( int i = 0; i < persisters.length; i++ ) {
+				final String uniqueKeyPropertyName = ownerAssociationTypes != null && ownerAssociationTypes[i] != null
+						? ownerAssociationTypes[i].getRHSUniqueKeyPropertyName()
+						: null;
+				plans[i] = new EntityReturnPlan(
+						factory,
+						persisters[i],
+						descriptors[i],
+						isEagerPropertyFetchEnabled( i ),
+						uniqueKeyPropertyName
+				);
+			}
+			entityReturnPlans = plans;
+		}
+		return plans;
+	}
+
 
 	/**
 	 * Hydrate the state an object from the SQL <tt>ResultSet</tt>, into
@@ -1521,18 +1606,21 @@ public abstract class Loader {
 	        final String rowIdAlias,
 	        final LockMode lockMode,
 	        final Loadable rootPersister,
+	        final ColumnPositions columnPositions,
 	        final SessionImplementor session)
 	throws SQLException, HibernateException {
 
 		final Serializable id = key.getIdentifier();
+		final EntityReturnPlan plan = getEntityReturnPlans()[i];
 
 		// Get the persister for the _subclass_
-		final Loadable persister = (Loadable) getFactory().getEntityPersister( instanceEntityName );
+		final EntityReturnPlan.SubclassPlan subclassPlan = plan.getSubclassPlan( instanceEntityName );
+		final Loadable persister = subclassPlan.getPersister();
 
         if (LOG.isTraceEnabled()) LOG.trace("Initializing object from ResultSet: "
                                             + MessageHelper.infoString(persister, id, getFactory()));
 
-		boolean eagerPropertyFetch = isEagerPropertyFetchEnabled(i);
+		final boolean eagerPropertyFetch = plan.isEagerPropertyFetch();
 
 		// add temp entry so that the next step is circular-reference
 		// safe - only needed because some types don't take proper
@@ -1546,45 +1634,54 @@ public abstract class Loader {
 				session
 			);
 
-		//This is not very nice (and quite slow):
-		final String[][] cols = persister == rootPersister ?
-				getEntityAliases()[i].getSuffixedPropertyAliases() :
-				getEntityAliases()[i].getSuffixedPropertyAliases(persister);
+		final String[][] cols = subclassPlan.getSuffixedPropertyAliases();
 
-		final Object[] values = persister.hydrate(
-				rs,
-				id,
-				object,
-				rootPersister,
-				cols,
-				eagerPropertyFetch,
-				session
-			);
+		final Object[] values;
+		if ( columnPositions != null && persister instanceof PositionalLoadable ) {
+			values = ( (PositionalLoadable) persister ).hydrate(
+					rs,
+					id,
+					object,
+					rootPersister,
+					cols,
+					columnPositions.getPropertyPositions( i, persister ),
+					eagerPropertyFetch,
+					session
+				);
+		}
+		else {
+			values = persister.hydrate(
+					rs,
+					id,
+					object,
+					rootPersister,
+					cols,
+					eagerPropertyFetch,
+					session
+				);
+		}
 
 		final Object rowId = persister.hasRowId() ? rs.getObject(rowIdAlias) : null;
 
-		final AssociationType[] ownerAssociationTypes = getOwnerAssociationTypes();
-		if ( ownerAssociationTypes != null && ownerAssociationTypes[i] != null ) {
-			String ukName = ownerAssociationTypes[i].getRHSUniqueKeyPropertyName();
-			if (ukName!=null) {
-				final int index = ( (UniqueKeyLoadable) persister ).getPropertyIndex(ukName);
-				final Type type = persister.getPropertyTypes()[index];
-
-				// polymorphism not really handled completely correctly,
-				// perhaps...well, actually its ok, assuming that the
-				// entity name used in the lookup is the same as the
-				// the one used here, which it will be
-
-				EntityUniqueKey euk = new EntityUniqueKey(
-						rootPersister.getEntityName(), //polymorphism comment above
-						ukName,
-						type.semiResolve( values[index], session, object ),
-						type,
-						persister.getEntityMode(),
-						session.getFactory()
-				);
-				session.getPersistenceContext().addEntity( euk, object );
-			}
+		final String ukName = plan.getUniqueKeyPropertyName();
+		if ( ukName != null ) {
+			final int index = subclassPlan.getUniqueKeyPropertyIndex();
+			final Type type = subclassPlan.getUniqueKeyPropertyType();
+
+			// polymorphism not really handled completely correctly,
+			// perhaps...well, actually its ok, assuming that the
+			// entity name used in the lookup is the same as the
+			// the one used here, which it will be
+
+			EntityUniqueKey euk = new EntityUniqueKey(
+					rootPersister.getEntityName(), //polymorphism comment above
+					ukName,
+					type.semiResolve( values[index], session, object ),
+					type,
+					persister.getEntityMode(),
+					session.getFactory()
+			);
+			session.getPersistenceContext().addEntity( euk, object );
 		}
 
 		TwoPhaseLoad.postHydrate(
@@ -1608,18 +1705,30 @@ public abstract class Loader {
 	        final int i,
 	        final Loadable persister,
 	        final Serializable id,
+	        final ColumnPositions columnPositions,
 	        final SessionImplementor session)
 	throws HibernateException, SQLException {
 
 		if ( persister.hasSubclasses() ) {
 
 			// Code to handle subclasses of topClass
-			Object discriminatorValue = persister.getDiscriminatorType().nullSafeGet(
-					rs,
-					getEntityAliases()[i].getSuffixedDiscriminatorAlias(),
-					session,
-					null
-				);
+			final Type discriminatorType = persister.getDiscriminatorType();
+			final Object discriminatorValue;
+			if ( columnPositions != null && discriminatorType instanceof PositionalSingleColumnType ) {
+				discriminatorValue = ( (PositionalSingleColumnType) discriminatorType ).nullSafeGet(
+						rs,
+						columnPositions.getDiscriminatorPosition( i ),
+						session
+					);
+			}
+			else {
+				discriminatorValue = discriminatorType.nullSafeGet(
+						rs,
+						getEntityAliases()[i].getSuffixedDiscriminatorAlias(),
+						session,
+						null
+					);
+			}
 
 			final String result = persister.getSubclassForDiscriminatorValue( discriminatorValue );
 
@@ -1773,6 +1882,11 @@ public abstract class Loader {
 					st.setFetchSize( selection.getFetchSize().intValue() );
 				}
 			}
+			if ( scroll && queryParameters.getScrollMode() == ScrollMode.STREAMING
+					&& ( selection == null || selection.getFetchSize() == null )
+					&& dialect.getStreamingFetchSize() != 0 ) {
+				st.setFetchSize( dialect.getStreamingFetchSize() );
+			}
 
 			// handle lock timeout...
 			LockOptions lockOptions = queryParameters.getLockOptions();
@@ -2524,6 +2638,11 @@ public abstract class Loader {
 		long startTime = 0;
 		if ( stats ) startTime = System.currentTimeMillis();
 
+		if ( queryParameters.getScrollMode() == ScrollMode.STREAMING ) {
+			// rows are detached once the cursor moves on, so changes to them could never be flushed
+			queryParameters.setReadOnly( true );
+		}
+
 		try {
 
 			PreparedStatement st = prepareQueryStatement( queryParameters, true, session );
@@ -2537,7 +2656,18 @@ public abstract class Loader {
 					);
 			}
 
-			if ( needsFetchingScroll() ) {
+			if ( queryParameters.getScrollMode() == ScrollMode.STREAMING && !needsFetchingScroll() ) {
+				return new StreamingScrollableResultsImpl(
+						rs,
+						st,
+						session,
+						this,
+						queryParameters,
+						returnTypes,
+						holderInstantiator
+					);
+			}
+			else if ( needsFetchingScroll() ) {
 				return new FetchingScrollableResultsImpl(
 						rs,
 						st,
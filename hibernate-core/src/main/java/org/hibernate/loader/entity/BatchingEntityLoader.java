@@ -87,28 +87,32 @@ public class BatchingEntityLoader implements UniqueEntityLoader {
 		Serializable[] batch = session.getPersistenceContext()
 				.getBatchFetchQueue()
 				.getEntityBatch( persister, id, batchSizes[0], persister.getEntityMode() );
-
-		for ( int i=0; i<batchSizes.length-1; i++) {
-			final int smallBatchSize = batchSizes[i];
-			if ( batch[smallBatchSize-1]!=null ) {
-				Serializable[] smallBatch = new Serializable[smallBatchSize];
-				System.arraycopy(batch, 0, smallBatch, 0, smallBatchSize);
-				final List results = loaders[i].loadEntityBatch(
-						session,
-						smallBatch,
-						idType,
-						optionalObject,
-						persister.getEntityName(),
-						id,
-						persister,
-						lockOptions
-				);
-				return getObjectFromList(results, id, session); //EARLY EXIT
+		try {
+			for ( int i=0; i<batchSizes.length-1; i++) {
+				final int smallBatchSize = batchSizes[i];
+				if ( batch[smallBatchSize-1]!=null ) {
+					Serializable[] smallBatch = new Serializable[smallBatchSize];
+					System.arraycopy(batch, 0, smallBatch, 0, smallBatchSize);
+					final List results = loaders[i].loadEntityBatch(
+							session,
+							smallBatch,
+							idType,
+							optionalObject,
+							persister.getEntityName(),
+							id,
+							persister,
+							lockOptions
+					);
+					return getObjectFromList(results, id, session); //EARLY EXIT
+				}
 			}
-		}
-
-		return ( (UniqueEntityLoader) loaders[batchSizes.length-1] ).load(id, optionalObject, session);
 
+			return ( (UniqueEntityLoader) loaders[batchSizes.length-1] ).load(id, optionalObject, session);
+		}
+		finally {
+			// cache entries read while building the batch are only valid for this load
+			session.getPersistenceContext().getBatchFetchQueue().clearCachedEntries();
+		}
 	}
 
 	public static UniqueEntityLoader createBatchingEntityLoader(
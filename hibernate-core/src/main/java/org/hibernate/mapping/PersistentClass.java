@@ -766,18 +766,30 @@ public abstract class PersistentClass implements Serializable, Filterable, MetaA
 
 	public void prepareTemporaryTables(Mapping mapping, Dialect dialect) {
 		if ( dialect.supportsTemporaryTables() ) {
-			temporaryIdTableName = dialect.generateTemporaryTableName( getTable().getName() );
-			Table table = new Table();
-			table.setName( temporaryIdTableName );
-			Iterator itr = getTable().getPrimaryKey().getColumnIterator();
-			while( itr.hasNext() ) {
-				Column column = (Column) itr.next();
-				table.addColumn( (Column) column.clone()  );
-			}
+			Table table = buildTemporaryIdTable( dialect );
+			temporaryIdTableName = table.getName();
 			temporaryIdTableDDL = table.sqlTemporaryTableCreateString( dialect, mapping );
 		}
 	}
 
+	/**
+	 * Build the id table into which multi-table HQL bulk statements insert the identifiers of the affected
+	 * rows: it is named after this class's table and holds a copy of its primary key columns.
+	 *
+	 * @param dialect The dialect
+	 * @return The id table
+	 */
+	public Table buildTemporaryIdTable(Dialect dialect) {
+		Table table = new Table();
+		table.setName( dialect.generateTemporaryTableName( getTable().getName() ) );
+		Iterator itr = getTable().getPrimaryKey().getColumnIterator();
+		while( itr.hasNext() ) {
+			Column column = (Column) itr.next();
+			table.addColumn( (Column) column.clone()  );
+		}
+		return table;
+	}
+
 	public String getTemporaryIdTableName() {
 		return temporaryIdTableName;
 	}
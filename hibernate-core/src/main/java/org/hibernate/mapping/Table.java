@@ -358,7 +358,26 @@ public class Table implements RelationalModel, Serializable {
 	}
 
 	public String sqlTemporaryTableCreateString(Dialect dialect, Mapping mapping) throws HibernateException {
-		StringBuffer buffer = new StringBuffer( dialect.getCreateTemporaryTableString() )
+		return sqlTemporaryTableCreateString(
+				dialect.getCreateTemporaryTableString(),
+				dialect.getCreateTemporaryTablePostfix(),
+				dialect,
+				mapping
+		);
+	}
+
+	public String sqlGlobalTemporaryTableCreateString(Dialect dialect, Mapping mapping) throws HibernateException {
+		return sqlTemporaryTableCreateString(
+				dialect.getCreateGlobalTemporaryTableString(),
+				dialect.getCreateGlobalTemporaryTablePostfix(),
+				dialect,
+				mapping
+		);
+	}
+
+	private String sqlTemporaryTableCreateString(String createString, String postfix, Dialect dialect, Mapping mapping)
+			throws HibernateException {
+		StringBuffer buffer = new StringBuffer( createString )
 				.append( ' ' )
 				.append( name )
 				.append( " (" );
@@ -378,7 +397,7 @@ public class Table implements RelationalModel, Serializable {
 			}
 		}
 		buffer.append( ") " );
-		buffer.append( dialect.getCreateTemporaryTablePostfix() );
+		buffer.append( postfix );
 		return buffer.toString();
 	}
 
@@ -1833,6 +1833,10 @@ public abstract class AbstractCollectionPersister
 		return isExtraLazy;
 	}
 
+	public boolean isBatchLoadable() {
+		return batchSize > 1;
+	}
+
 	protected Dialect getDialect() {
 		return dialect;
 	}
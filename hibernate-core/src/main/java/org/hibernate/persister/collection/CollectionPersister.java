@@ -306,4 +306,9 @@ public interface CollectionPersister {
 	public boolean indexExists(Serializable key, Object index, SessionImplementor session);
 	public boolean elementExists(Serializable key, Object element, SessionImplementor session);
 	public Object getElementByIndex(Serializable key, Object index, SessionImplementor session, Object owner);
+
+	/**
+	 * Is batch loading enabled for this collection role?
+	 */
+	public boolean isBatchLoadable();
 }
@@ -75,6 +75,8 @@ import org.hibernate.engine.spi.CascadeStyle;
 import org.hibernate.engine.spi.CascadingAction;
 import org.hibernate.engine.jdbc.batch.internal.BasicBatchKey;
 import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.id.IdentifierGeneratorHelper;
+import org.hibernate.id.IdentityGenerator;
 import org.hibernate.id.PostInsertIdentifierGenerator;
 import org.hibernate.id.PostInsertIdentityPersister;
 import org.hibernate.id.insert.Binder;
@@ -119,6 +121,7 @@ import org.hibernate.tuple.entity.EntityTuplizer;
 import org.hibernate.type.AssociationType;
 import org.hibernate.type.CompositeType;
 import org.hibernate.type.EntityType;
+import org.hibernate.type.PositionalSingleColumnType;
 import org.hibernate.type.Type;
 import org.hibernate.type.TypeHelper;
 import org.hibernate.type.VersionType;
@@ -131,7 +134,7 @@ import org.hibernate.type.VersionType;
  */
 public abstract class AbstractEntityPersister
 		implements OuterJoinLoadable, Queryable, ClassMetadata, UniqueKeyLoadable,
-				   SQLLoadable, LazyPropertyInitializer, PostInsertIdentityPersister, Lockable {
+				   SQLLoadable, LazyPropertyInitializer, PostInsertIdentityPersister, Lockable, PositionalLoadable {
 
     private static final CoreMessageLogger LOG = Logger.getMessageLogger(CoreMessageLogger.class,
                                                                        AbstractEntityPersister.class.getName());
@@ -2620,6 +2623,18 @@ public abstract class AbstractEntityPersister
 	        final String[][] suffixedPropertyColumns,
 	        final boolean allProperties,
 	        final SessionImplementor session) throws SQLException, HibernateException {
+		return hydrate( rs, id, object, rootLoadable, suffixedPropertyColumns, null, allProperties, session );
+	}
+
+	public Object[] hydrate(
+			final ResultSet rs,
+	        final Serializable id,
+	        final Object object,
+	        final Loadable rootLoadable,
+	        final String[][] suffixedPropertyColumns,
+	        final int[] propertyPositions,
+	        final boolean allProperties,
+	        final SessionImplementor session) throws SQLException, HibernateException {
 
         if (LOG.isTraceEnabled()) LOG.trace("Hydrating entity: " + MessageHelper.infoString(this, id, getFactory()));
 
@@ -2685,6 +2700,15 @@ public abstract class AbstractEntityPersister
 					if ( propertyIsDeferred && sequentialSelectEmpty ) {
 						values[i] = null;
 					}
+					else if ( !propertyIsDeferred && propertyPositions != null && types[i] instanceof PositionalSingleColumnType ) {
+						// the caller tracks where the columns are, so skip the by-name lookup
+						int position = propertyPositions[i];
+						if ( position == 0 ) {
+							position = rs.findColumn( suffixedPropertyColumns[i][0] );
+							propertyPositions[i] = position;
+						}
+						values[i] = ( (PositionalSingleColumnType) types[i] ).nullSafeGet( rs, position, session );
+					}
 					else {
 						final ResultSet propertyResultSet = propertyIsDeferred ? sequentialResultSet : rs;
 						final String[] cols = propertyIsDeferred ? propertyColumnAliases[i] : suffixedPropertyColumns[i];
@@ -2751,6 +2775,81 @@ public abstract class AbstractEntityPersister
 		return identityDelegate.performInsert( sql, session, binder );
 	}
 
+	/**
+	 * Can several identity inserts of this entity be executed as one JDBC batch?  Requires a single
+	 * table, static insert SQL and identifiers read back through <tt>getGeneratedKeys()</tt>.
+	 *
+	 * @return True if {@link #insert(Object[][], Object[], SessionImplementor)} may be used.
+	 */
+	public boolean isIdentityInsertBatchable() {
+		return identityDelegate instanceof IdentityGenerator.GetGeneratedKeysDelegate
+				&& getTableSpan() == 1
+				&& !entityMetamodel.isDynamicInsert()
+				&& !isInsertCallable( 0 );
+	}
+
+	/**
+	 * Perform the identity insert of several instances of this entity as one JDBC batch, reading
+	 * the generated identifiers back in batch order.
+	 *
+	 * @param fields The insert state of each instance
+	 * @param objects The instances being inserted
+	 * @param session The originating session
+	 *
+	 * @return The generated identifiers, in the order of <tt>objects</tt>
+	 */
+	public Serializable[] insert(Object[][] fields, Object[] objects, SessionImplementor session)
+			throws HibernateException {
+		if ( !isIdentityInsertBatchable() ) {
+			throw new AssertionFailure( "identity inserts are not batchable for entity: " + getEntityName() );
+		}
+		if ( LOG.isTraceEnabled() ) {
+			LOG.trace( "Inserting " + objects.length + " entities: " + getEntityName() + " (native id, batched)" );
+		}
+
+		final String sql = getSQLIdentityInsertString();
+		final Serializable[] ids = new Serializable[objects.length];
+		try {
+			PreparedStatement insert = session.getTransactionCoordinator()
+					.getJdbcCoordinator()
+					.getStatementPreparer()
+					.prepareStatement( sql, PreparedStatement.RETURN_GENERATED_KEYS );
+			try {
+				for ( int i = 0; i < objects.length; i++ ) {
+					dehydrate( null, fields[i], getPropertyInsertability(), propertyColumnInsertable, 0, insert, session );
+					insert.addBatch();
+				}
+				insert.executeBatch();
+				ResultSet rs = insert.getGeneratedKeys();
+				try {
+					for ( int i = 0; i < ids.length; i++ ) {
+						if ( !rs.next() ) {
+							throw new HibernateException(
+									"The database returned " + i + " generated identity values for a batch of "
+											+ ids.length + " inserts"
+							);
+						}
+						ids[i] = IdentifierGeneratorHelper.get( rs, getIdentifierType() );
+					}
+				}
+				finally {
+					rs.close();
+				}
+			}
+			finally {
+				insert.close();
+			}
+		}
+		catch ( SQLException sqle ) {
+			throw getFactory().getSQLExceptionHelper().convert(
+					sqle,
+					"could not insert: " + MessageHelper.infoString( this ),
+					sql
+			);
+		}
+		return ids;
+	}
+
 	public String getIdentitySelectString() {
 		//TODO: cache this in an instvar
 		return getFactory().getDialect().getIdentitySelectString(
@@ -0,0 +1,57 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.persister.entity;
+
+import java.io.Serializable;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import org.hibernate.HibernateException;
+import org.hibernate.engine.spi.SessionImplementor;
+
+/**
+ * Optional contract for {@link Loadable} persisters which can hydrate a row reading single-column values by
+ * result set position.  The loaders fall back to the name-based
+ * {@link Loadable#hydrate(ResultSet, Serializable, Object, Loadable, String[][], boolean, SessionImplementor)} for
+ * persisters not implementing it.
+ */
+public interface PositionalLoadable extends Loadable {
+	/**
+	 * Retrieve property values from one row of a result set, reading single-column values by position.
+	 * <p/>
+	 * <tt>propertyPositions</tt> holds one result set position per property, with zero meaning the position
+	 * is not yet known; positions are resolved on first use and written back into the array, which the caller
+	 * may therefore reuse for every row of the same result set.
+	 */
+	public Object[] hydrate(
+			ResultSet rs,
+			Serializable id,
+			Object object,
+			Loadable rootLoadable,
+			String[][] suffixedPropertyColumns,
+			int[] propertyPositions,
+			boolean allProperties,
+			SessionImplementor session)
+	throws SQLException, HibernateException;
+}
@@ -62,6 +62,9 @@ public class ConnectionProviderInitiator implements BasicServiceInitiator<Connec
 	public static final String PROXOOL_PROVIDER_CLASS_NAME =
 			"org.hibernate.service.jdbc.connections.internal.ProxoolConnectionProvider";
 
+	public static final String POOLED_PROVIDER_CLASS_NAME =
+			"org.hibernate.service.jdbc.connections.internal.PooledConnectionProvider";
+
 	public static final String INJECTION_DATA = "hibernate.connection_provider.injection_data";
 
 	// mapping from legacy connection provider name to actual
@@ -131,6 +134,14 @@ public class ConnectionProviderInitiator implements BasicServiceInitiator<Connec
 			}
 		}
 
+		if ( connectionProvider == null ) {
+			if ( pooledConfigDefined( configurationValues ) && pooledProviderPresent( classLoaderService ) ) {
+				connectionProvider = instantiateExplicitConnectionProvider( POOLED_PROVIDER_CLASS_NAME,
+						classLoaderService
+				);
+			}
+		}
+
 		if ( connectionProvider == null ) {
 			if ( configurationValues.get( Environment.URL ) != null ) {
 				connectionProvider = new DriverManagerConnectionProviderImpl();
@@ -233,6 +244,27 @@ public class ConnectionProviderInitiator implements BasicServiceInitiator<Connec
 		return false;
 	}
 
+	private boolean pooledProviderPresent(ClassLoaderService classLoaderService) {
+		try {
+			classLoaderService.classForName( POOLED_PROVIDER_CLASS_NAME );
+		}
+		catch ( Exception e ) {
+			LOG.pooledProviderClassNotFound( POOLED_PROVIDER_CLASS_NAME );
+			return false;
+		}
+		return true;
+	}
+
+	private static boolean pooledConfigDefined(Map configValues) {
+		for ( Object key : configValues.keySet() ) {
+			if ( String.class.isInstance( key )
+					&& ( (String) key ).startsWith( AvailableSettings.POOL_CONFIG_PREFIX + '.' ) ) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	/**
 	 * Build the connection properties capable of being passed to the {@link java.sql.DriverManager#getConnection}
 	 * forms taking {@link Properties} argument.  We seek out all keys in the passed map which start with
@@ -0,0 +1,85 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.stat;
+
+/**
+ * Statistics of the connection pool backing a session factory, as exposed by pooling
+ * {@link org.hibernate.service.jdbc.connections.spi.ConnectionProvider ConnectionProviders} which can be
+ * {@link org.hibernate.service.spi.Wrapped#unwrap unwrapped} as this contract.
+ */
+public interface ConnectionPoolStatistics {
+	/**
+	 * Number of buckets of {@link #getAcquisitionWaitTimeHistogram()}.
+	 */
+	public static final int WAIT_TIME_HISTOGRAM_BUCKETS = 6;
+
+	/**
+	 * Get the number of connections currently checked out of the pool
+	 */
+	public int getActiveConnectionCount();
+
+	/**
+	 * Get the number of connections currently available in the pool
+	 */
+	public int getIdleConnectionCount();
+
+	/**
+	 * Get the number of threads currently waiting for a connection
+	 */
+	public int getPendingAcquisitionCount();
+
+	/**
+	 * Get the number of connections handed out by the pool
+	 */
+	public long getAcquisitionCount();
+
+	/**
+	 * Get the number of connection requests which timed out waiting for a connection
+	 */
+	public long getAcquisitionTimeoutCount();
+
+	/**
+	 * Get the number of physical connections opened by the pool
+	 */
+	public long getConnectionCreationCount();
+
+	/**
+	 * Get the number of connections reported as leaked (held longer than the leak detection threshold)
+	 */
+	public long getLeakedConnectionCount();
+
+	/**
+	 * Get the longest time, in milliseconds, a request waited for a connection
+	 */
+	public long getMaxAcquisitionWaitTime();
+
+	/**
+	 * Get the distribution of connection acquisition wait times.  Bucket <tt>i</tt> counts acquisitions which
+	 * waited less than <tt>10^i</tt> milliseconds (and at least <tt>10^(i-1)</tt>); the last bucket counts all
+	 * longer waits.
+	 *
+	 * @return A snapshot of the histogram, {@link #WAIT_TIME_HISTOGRAM_BUCKETS} entries long
+	 */
+	public long[] getAcquisitionWaitTimeHistogram();
+}
@@ -0,0 +1,119 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.stat;
+
+import java.io.Serializable;
+
+/**
+ * Immutable copy of a latency histogram, taken without pausing the threads which record into it.
+ * <p/>
+ * Percentiles are reported as the highest value of the bucket they fall into, capped by the largest
+ * value recorded.
+ */
+public final class HistogramSnapshot implements Serializable {
+	private final long[] values;
+	private final long[] counts;
+	private final long count;
+	private final long min;
+	private final long max;
+	private final long total;
+
+	public HistogramSnapshot(long[] values, long[] counts, long min, long max, long total) {
+		this.values = values;
+		this.counts = counts;
+		long count = 0;
+		for ( long bucketCount : counts ) {
+			count += bucketCount;
+		}
+		this.count = count;
+		this.min = count == 0 ? 0 : min;
+		this.max = count == 0 ? 0 : max;
+		this.total = total;
+	}
+
+	/**
+	 * @return The number of recorded values
+	 */
+	public long getCount() {
+		return count;
+	}
+
+	public long getMinValue() {
+		return min;
+	}
+
+	public long getMaxValue() {
+		return max;
+	}
+
+	public long getMean() {
+		return count == 0 ? 0 : total / count;
+	}
+
+	/**
+	 * @param percentile The percentile, between 0 and 100
+	 *
+	 * @return The value below or at which the given percentage of the recorded values fall
+	 */
+	public long getValueAtPercentile(double percentile) {
+		if ( count == 0 ) {
+			return 0;
+		}
+		final long rank = Math.max( 1, (long) Math.ceil( count * Math.min( percentile, 100d ) / 100d ) );
+		long seen = 0;
+		for ( int i = 0; i < counts.length; i++ ) {
+			seen += counts[i];
+			if ( seen >= rank ) {
+				return Math.min( values[i], max );
+			}
+		}
+		return max;
+	}
+
+	public long getMedian() {
+		return getValueAtPercentile( 50 );
+	}
+
+	public long get99thPercentile() {
+		return getValueAtPercentile( 99 );
+	}
+
+	public long get999thPercentile() {
+		return getValueAtPercentile( 99.9 );
+	}
+
+	@Override
+	public String toString() {
+		return new StringBuilder()
+				.append( "HistogramSnapshot" )
+				.append( "[count=" ).append( count )
+				.append( ",min=" ).append( getMinValue() )
+				.append( ",p50=" ).append( getMedian() )
+				.append( ",p99=" ).append( get99thPercentile() )
+				.append( ",p999=" ).append( get999thPercentile() )
+				.append( ",max=" ).append( getMaxValue() )
+				.append( ']' )
+				.toString();
+	}
+}
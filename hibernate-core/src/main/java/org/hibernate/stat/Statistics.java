@@ -135,6 +135,25 @@ public interface Statistics {
      * Get the global number of timestamps put in cache
      */
 	public long getUpdateTimestampsCachePutCount();
+    /**
+     * Get the global number of query plans successfully retrieved from the query plan cache
+     */
+	public long getQueryPlanCacheHitCount();
+    /**
+     * Get the global number of query plans *not* found in the query plan cache, and thus compiled
+     */
+	public long getQueryPlanCacheMissCount();
+    /**
+     * Get the global number of query plans evicted from the query plan cache because it was full
+     */
+	public long getQueryPlanCacheEvictionCount();
+	/**
+	 * Get the statistics of the connection pool, if the configured
+	 * {@link org.hibernate.service.jdbc.connections.spi.ConnectionProvider} exposes any
+	 *
+	 * @return ConnectionPoolStatistics, or <tt>null</tt>
+	 */
+	public ConnectionPoolStatistics getConnectionPoolStatistics();
 	/**
      * Get the global number of flush executed by sessions (either implicit or explicit)
      */
@@ -0,0 +1,50 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.stat.internal;
+
+import org.hibernate.stat.QueryStatistics;
+
+/**
+ * The recording side of query statistics, through which {@link ConcurrentStatisticsImpl} updates the
+ * statistics of a query whichever implementation keeps them.
+ */
+public abstract class AbstractQueryStatisticsImpl extends CategorizedStatistics implements QueryStatistics {
+	AbstractQueryStatisticsImpl(String query) {
+		super( query );
+	}
+
+	/**
+	 * add statistics report of a DB query
+	 *
+	 * @param rows rows count returned
+	 * @param time time taken
+	 */
+	abstract void executed(long rows, long time);
+
+	abstract void incrementCacheHitCount();
+
+	abstract void incrementCacheMissCount();
+
+	abstract void incrementCachePutCount();
+}
@@ -1,7 +1,7 @@
 /*
  * Hibernate, Relational Persistence for Idiomatic Java
  *
- * Copyright (c) 2010, Red Hat Inc. or third-party contributors as
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
  * indicated by the @author tags or express copyright attribution
  * statements applied by the authors.  All third-party contributions are
  * distributed under license by Red Hat Inc.
@@ -21,26 +21,29 @@
  * 51 Franklin Street, Fifth Floor
  * Boston, MA  02110-1301  USA
  */
-package org.hibernate.engine.jdbc.internal.proxy;
-import java.lang.reflect.Method;
-import java.sql.Connection;
-import java.sql.Statement;
-import org.hibernate.HibernateException;
+package org.hibernate.stat.internal;
+
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
- * Invocation handler for {@link java.sql.Statement} proxies obtained from other JDBC object proxies
- *
- * @author Steve Ebersole
+ * A {@link StatisticsCounter} kept in a single {@link AtomicLong}.
  */
-public class ImplicitStatementProxyHandler extends AbstractStatementProxyHandler {
-	protected ImplicitStatementProxyHandler(Statement statement, ConnectionProxyHandler connectionProxyHandler, Connection connectionProxy) {
-		super( statement, connectionProxyHandler, connectionProxy );
+final class AtomicCounter extends AtomicLong implements StatisticsCounter {
+	static final Factory FACTORY = new Factory() {
+		public StatisticsCounter newCounter() {
+			return new AtomicCounter();
+		}
+	};
+
+	public void increment() {
+		incrementAndGet();
 	}
 
-	protected void beginningInvocationHandling(Method method, Object[] args) {
-		// disallow executions...
-		if ( method.getName().startsWith( "execute" ) ) {
-			throw new HibernateException( "execution not allowed on implicit statement object" );
-		}
+	public void add(long amount) {
+		addAndGet( amount );
+	}
+
+	public void reset() {
+		set( 0 );
 	}
 }
@@ -23,25 +23,28 @@
  */
 package org.hibernate.stat.internal;
 
-import java.util.concurrent.atomic.AtomicLong;
-
 import org.hibernate.stat.CollectionStatistics;
 
 /**
- * Collection related statistics
+ * Collection related statistics, kept in the {@link StatisticsCounter}s of the owning statistics
  *
  * @author Alex Snaps
  */
 public class ConcurrentCollectionStatisticsImpl extends CategorizedStatistics implements CollectionStatistics {
-	ConcurrentCollectionStatisticsImpl(String role) {
+	ConcurrentCollectionStatisticsImpl(String role, StatisticsCounter.Factory counters) {
 		super(role);
+		loadCount = counters.newCounter();
+		fetchCount = counters.newCounter();
+		updateCount = counters.newCounter();
+		removeCount = counters.newCounter();
+		recreateCount = counters.newCounter();
 	}
 
-	private	AtomicLong loadCount	 = new AtomicLong();
-	private	AtomicLong fetchCount	 = new AtomicLong();
-	private	AtomicLong updateCount	 = new AtomicLong();
-	private	AtomicLong removeCount	 = new AtomicLong();
-	private	AtomicLong recreateCount = new AtomicLong();
+	private final StatisticsCounter loadCount;
+	private final StatisticsCounter fetchCount;
+	private final StatisticsCounter updateCount;
+	private final StatisticsCounter removeCount;
+	private final StatisticsCounter recreateCount;
 
 	public long getLoadCount() {
 		return loadCount.get();
@@ -76,22 +79,22 @@ public class ConcurrentCollectionStatisticsImpl extends CategorizedStatistics im
 	}
 
 	void incrementLoadCount() {
-		loadCount.getAndIncrement();
+		loadCount.increment();
 	}
 
 	void incrementFetchCount() {
-		fetchCount.getAndIncrement();
+		fetchCount.increment();
 	}
 
 	void incrementUpdateCount() {
-		updateCount.getAndIncrement();
+		updateCount.increment();
 	}
 
 	void incrementRecreateCount() {
-		recreateCount.getAndIncrement();
+		recreateCount.increment();
 	}
 
 	void incrementRemoveCount() {
-		removeCount.getAndIncrement();
+		removeCount.increment();
 	}
 }
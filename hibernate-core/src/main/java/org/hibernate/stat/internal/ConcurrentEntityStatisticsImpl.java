@@ -23,27 +23,31 @@
  */
 package org.hibernate.stat.internal;
 
-import java.util.concurrent.atomic.AtomicLong;
-
 import org.hibernate.stat.EntityStatistics;
 
 /**
- * Entity related statistics
+ * Entity related statistics, kept in the {@link StatisticsCounter}s of the owning statistics
  *
  * @author Alex Snaps
  */
 public class ConcurrentEntityStatisticsImpl extends CategorizedStatistics implements EntityStatistics {
 
-	ConcurrentEntityStatisticsImpl(String name) {
+	ConcurrentEntityStatisticsImpl(String name, StatisticsCounter.Factory counters) {
 		super(name);
+		loadCount = counters.newCounter();
+		updateCount = counters.newCounter();
+		insertCount = counters.newCounter();
+		deleteCount = counters.newCounter();
+		fetchCount = counters.newCounter();
+		optimisticFailureCount = counters.newCounter();
 	}
 
-	private	AtomicLong loadCount			  =	new	AtomicLong();
-	private	AtomicLong updateCount			  =	new	AtomicLong();
-	private	AtomicLong insertCount			  =	new	AtomicLong();
-	private	AtomicLong deleteCount			  =	new	AtomicLong();
-	private	AtomicLong fetchCount			  =	new	AtomicLong();
-	private	AtomicLong optimisticFailureCount =	new	AtomicLong();
+	private final StatisticsCounter loadCount;
+	private final StatisticsCounter updateCount;
+	private final StatisticsCounter insertCount;
+	private final StatisticsCounter deleteCount;
+	private final StatisticsCounter fetchCount;
+	private final StatisticsCounter optimisticFailureCount;
 
 	public long getDeleteCount() {
 		return deleteCount.get();
@@ -83,26 +87,26 @@ public class ConcurrentEntityStatisticsImpl extends CategorizedStatistics implem
 	}
 
 	void incrementLoadCount() {
-		loadCount.getAndIncrement();
+		loadCount.increment();
 	}
 
 	void incrementFetchCount() {
-		fetchCount.getAndIncrement();
+		fetchCount.increment();
 	}
 
 	void incrementUpdateCount() {
-		updateCount.getAndIncrement();
+		updateCount.increment();
 	}
 
 	void incrementInsertCount() {
-		insertCount.getAndIncrement();
+		insertCount.increment();
 	}
 
 	void incrementDeleteCount() {
-		deleteCount.getAndIncrement();
+		deleteCount.increment();
 	}
 
 	void incrementOptimisticFailureCount() {
-		optimisticFailureCount.getAndIncrement();
+		optimisticFailureCount.increment();
 	}
 }
@@ -28,8 +28,6 @@ import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
-import org.hibernate.stat.QueryStatistics;
-
 /**
  * Query statistics (HQL and SQL)
  * <p/>
@@ -37,7 +35,7 @@ import org.hibernate.stat.QueryStatistics;
  *
  * @author Alex Snaps
  */
-public class ConcurrentQueryStatisticsImpl extends CategorizedStatistics implements QueryStatistics {
+public class ConcurrentQueryStatisticsImpl extends AbstractQueryStatisticsImpl {
 	private final AtomicLong cacheHitCount = new AtomicLong();
 	private final AtomicLong cacheMissCount = new AtomicLong();
 	private final AtomicLong cachePutCount = new AtomicLong();
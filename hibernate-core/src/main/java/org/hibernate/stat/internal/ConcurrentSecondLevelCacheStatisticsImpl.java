@@ -26,26 +26,29 @@ package org.hibernate.stat.internal;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
-import java.util.concurrent.atomic.AtomicLong;
 
 import org.hibernate.cache.spi.CacheKey;
 import org.hibernate.cache.spi.Region;
 import org.hibernate.stat.SecondLevelCacheStatistics;
 
 /**
- * Second level cache statistics of a specific region
+ * Second level cache statistics of a specific region, kept in the {@link StatisticsCounter}s of the owning
+ * statistics
  *
  * @author Alex Snaps
  */
 public class ConcurrentSecondLevelCacheStatisticsImpl extends CategorizedStatistics implements SecondLevelCacheStatistics {
 	private final transient Region region;
-	private AtomicLong hitCount = new AtomicLong();
-	private AtomicLong missCount = new AtomicLong();
-	private AtomicLong putCount = new AtomicLong();
+	private final StatisticsCounter hitCount;
+	private final StatisticsCounter missCount;
+	private final StatisticsCounter putCount;
 
-	ConcurrentSecondLevelCacheStatisticsImpl(Region region) {
+	ConcurrentSecondLevelCacheStatisticsImpl(Region region, StatisticsCounter.Factory counters) {
 		super( region.getName() );
 		this.region = region;
+		hitCount = counters.newCounter();
+		missCount = counters.newCounter();
+		putCount = counters.newCounter();
 	}
 
 	public long getHitCount() {
@@ -99,14 +102,14 @@ public class ConcurrentSecondLevelCacheStatisticsImpl extends CategorizedStatist
 	}
 
 	void incrementHitCount() {
-		hitCount.getAndIncrement();
+		hitCount.increment();
 	}
 
 	void incrementMissCount() {
-		missCount.getAndIncrement();
+		missCount.increment();
 	}
 
 	void incrementPutCount() {
-		putCount.getAndIncrement();
+		putCount.increment();
 	}
 }
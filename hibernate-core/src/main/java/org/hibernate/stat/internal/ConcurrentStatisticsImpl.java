@@ -34,7 +34,9 @@ import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.internal.CoreMessageLogger;
 import org.hibernate.internal.util.collections.ArrayHelper;
 import org.hibernate.service.Service;
+import org.hibernate.service.jdbc.connections.spi.ConnectionProvider;
 import org.hibernate.stat.CollectionStatistics;
+import org.hibernate.stat.ConnectionPoolStatistics;
 import org.hibernate.stat.EntityStatistics;
 import org.hibernate.stat.QueryStatistics;
 import org.hibernate.stat.SecondLevelCacheStatistics;
@@ -42,6 +44,9 @@ import org.hibernate.stat.spi.StatisticsImplementor;
 
 /**
  * Implementation of {@link org.hibernate.stat.Statistics} based on the {@link java.util.concurrent} package.
+ * <p/>
+ * The counters are {@link AtomicLong}s by default; {@link StripedStatisticsImpl} keeps the same statistics in
+ * {@link StripedCounter}s instead.
  *
  * @author Alex Snaps
  */
@@ -51,47 +56,52 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
     private static final CoreMessageLogger LOG = Logger.getMessageLogger(CoreMessageLogger.class, ConcurrentStatisticsImpl.class.getName());
 
 	private SessionFactoryImplementor sessionFactory;
+	private final StatisticsCounter.Factory counters;
 
 	private volatile boolean isStatisticsEnabled;
 	private volatile long startTime;
-	private AtomicLong sessionOpenCount = new AtomicLong();
-	private AtomicLong sessionCloseCount = new AtomicLong();
-	private AtomicLong flushCount = new AtomicLong();
-	private AtomicLong connectCount = new AtomicLong();
-
-	private AtomicLong prepareStatementCount = new AtomicLong();
-	private AtomicLong closeStatementCount = new AtomicLong();
-
-	private AtomicLong entityLoadCount = new AtomicLong();
-	private AtomicLong entityUpdateCount = new AtomicLong();
-	private AtomicLong entityInsertCount = new AtomicLong();
-	private AtomicLong entityDeleteCount = new AtomicLong();
-	private AtomicLong entityFetchCount = new AtomicLong();
-	private AtomicLong collectionLoadCount = new AtomicLong();
-	private AtomicLong collectionUpdateCount = new AtomicLong();
-	private AtomicLong collectionRemoveCount = new AtomicLong();
-	private AtomicLong collectionRecreateCount = new AtomicLong();
-	private AtomicLong collectionFetchCount = new AtomicLong();
-
-	private AtomicLong secondLevelCacheHitCount = new AtomicLong();
-	private AtomicLong secondLevelCacheMissCount = new AtomicLong();
-	private AtomicLong secondLevelCachePutCount = new AtomicLong();
-
-	private AtomicLong queryExecutionCount = new AtomicLong();
+	private final StatisticsCounter sessionOpenCount;
+	private final StatisticsCounter sessionCloseCount;
+	private final StatisticsCounter flushCount;
+	private final StatisticsCounter connectCount;
+
+	private final StatisticsCounter prepareStatementCount;
+	private final StatisticsCounter closeStatementCount;
+
+	private final StatisticsCounter entityLoadCount;
+	private final StatisticsCounter entityUpdateCount;
+	private final StatisticsCounter entityInsertCount;
+	private final StatisticsCounter entityDeleteCount;
+	private final StatisticsCounter entityFetchCount;
+	private final StatisticsCounter collectionLoadCount;
+	private final StatisticsCounter collectionUpdateCount;
+	private final StatisticsCounter collectionRemoveCount;
+	private final StatisticsCounter collectionRecreateCount;
+	private final StatisticsCounter collectionFetchCount;
+
+	private final StatisticsCounter secondLevelCacheHitCount;
+	private final StatisticsCounter secondLevelCacheMissCount;
+	private final StatisticsCounter secondLevelCachePutCount;
+
+	private final StatisticsCounter queryExecutionCount;
 	private AtomicLong queryExecutionMaxTime = new AtomicLong();
 	private volatile String queryExecutionMaxTimeQueryString;
-	private AtomicLong queryCacheHitCount = new AtomicLong();
-	private AtomicLong queryCacheMissCount = new AtomicLong();
-	private AtomicLong queryCachePutCount = new AtomicLong();
+	private final StatisticsCounter queryCacheHitCount;
+	private final StatisticsCounter queryCacheMissCount;
+	private final StatisticsCounter queryCachePutCount;
 
-	private AtomicLong updateTimestampsCacheHitCount = new AtomicLong();
-	private AtomicLong updateTimestampsCacheMissCount = new AtomicLong();
-	private AtomicLong updateTimestampsCachePutCount = new AtomicLong();
+	private final StatisticsCounter updateTimestampsCacheHitCount;
+	private final StatisticsCounter updateTimestampsCacheMissCount;
+	private final StatisticsCounter updateTimestampsCachePutCount;
 
-	private AtomicLong committedTransactionCount = new AtomicLong();
-	private AtomicLong transactionCount = new AtomicLong();
+	private final StatisticsCounter queryPlanCacheHitCount;
+	private final StatisticsCounter queryPlanCacheMissCount;
+	private final StatisticsCounter queryPlanCacheEvictionCount;
 
-	private AtomicLong optimisticFailureCount = new AtomicLong();
+	private final StatisticsCounter committedTransactionCount;
+	private final StatisticsCounter transactionCount;
+
+	private final StatisticsCounter optimisticFailureCount;
 
 	/**
 	 * second level cache statistics per region
@@ -112,10 +122,51 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 
 	@SuppressWarnings({ "UnusedDeclaration" })
 	public ConcurrentStatisticsImpl() {
-		clear();
+		this( null );
 	}
 
 	public ConcurrentStatisticsImpl(SessionFactoryImplementor sessionFactory) {
+		this( sessionFactory, AtomicCounter.FACTORY );
+	}
+
+	/**
+	 * @param sessionFactory The session factory, if any
+	 * @param counters Creates the counters all statistics are kept in
+	 */
+	ConcurrentStatisticsImpl(SessionFactoryImplementor sessionFactory, StatisticsCounter.Factory counters) {
+		this.counters = counters;
+		sessionOpenCount = counters.newCounter();
+		sessionCloseCount = counters.newCounter();
+		flushCount = counters.newCounter();
+		connectCount = counters.newCounter();
+		prepareStatementCount = counters.newCounter();
+		closeStatementCount = counters.newCounter();
+		entityLoadCount = counters.newCounter();
+		entityUpdateCount = counters.newCounter();
+		entityInsertCount = counters.newCounter();
+		entityDeleteCount = counters.newCounter();
+		entityFetchCount = counters.newCounter();
+		collectionLoadCount = counters.newCounter();
+		collectionUpdateCount = counters.newCounter();
+		collectionRemoveCount = counters.newCounter();
+		collectionRecreateCount = counters.newCounter();
+		collectionFetchCount = counters.newCounter();
+		secondLevelCacheHitCount = counters.newCounter();
+		secondLevelCacheMissCount = counters.newCounter();
+		secondLevelCachePutCount = counters.newCounter();
+		queryExecutionCount = counters.newCounter();
+		queryCacheHitCount = counters.newCounter();
+		queryCacheMissCount = counters.newCounter();
+		queryCachePutCount = counters.newCounter();
+		updateTimestampsCacheHitCount = counters.newCounter();
+		updateTimestampsCacheMissCount = counters.newCounter();
+		updateTimestampsCachePutCount = counters.newCounter();
+		queryPlanCacheHitCount = counters.newCounter();
+		queryPlanCacheMissCount = counters.newCounter();
+		queryPlanCacheEvictionCount = counters.newCounter();
+		committedTransactionCount = counters.newCounter();
+		transactionCount = counters.newCounter();
+		optimisticFailureCount = counters.newCounter();
 		clear();
 		this.sessionFactory = sessionFactory;
 	}
@@ -124,45 +175,49 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 	 * reset all statistics
 	 */
 	public void clear() {
-		secondLevelCacheHitCount.set( 0 );
-		secondLevelCacheMissCount.set( 0 );
-		secondLevelCachePutCount.set( 0 );
-
-		sessionCloseCount.set( 0 );
-		sessionOpenCount.set( 0 );
-		flushCount.set( 0 );
-		connectCount.set( 0 );
-
-		prepareStatementCount.set( 0 );
-		closeStatementCount.set( 0 );
-
-		entityDeleteCount.set( 0 );
-		entityInsertCount.set( 0 );
-		entityUpdateCount.set( 0 );
-		entityLoadCount.set( 0 );
-		entityFetchCount.set( 0 );
-
-		collectionRemoveCount.set( 0 );
-		collectionUpdateCount.set( 0 );
-		collectionRecreateCount.set( 0 );
-		collectionLoadCount.set( 0 );
-		collectionFetchCount.set( 0 );
-
-		queryExecutionCount.set( 0 );
-		queryCacheHitCount.set( 0 );
+		secondLevelCacheHitCount.reset();
+		secondLevelCacheMissCount.reset();
+		secondLevelCachePutCount.reset();
+
+		sessionCloseCount.reset();
+		sessionOpenCount.reset();
+		flushCount.reset();
+		connectCount.reset();
+
+		prepareStatementCount.reset();
+		closeStatementCount.reset();
+
+		entityDeleteCount.reset();
+		entityInsertCount.reset();
+		entityUpdateCount.reset();
+		entityLoadCount.reset();
+		entityFetchCount.reset();
+
+		collectionRemoveCount.reset();
+		collectionUpdateCount.reset();
+		collectionRecreateCount.reset();
+		collectionLoadCount.reset();
+		collectionFetchCount.reset();
+
+		queryExecutionCount.reset();
+		queryCacheHitCount.reset();
 		queryExecutionMaxTime.set( 0 );
 		queryExecutionMaxTimeQueryString = null;
-		queryCacheMissCount.set( 0 );
-		queryCachePutCount.set( 0 );
+		queryCacheMissCount.reset();
+		queryCachePutCount.reset();
 
-		updateTimestampsCacheMissCount.set( 0 );
-		updateTimestampsCacheHitCount.set( 0 );
-		updateTimestampsCachePutCount.set( 0 );
+		updateTimestampsCacheMissCount.reset();
+		updateTimestampsCacheHitCount.reset();
+		updateTimestampsCachePutCount.reset();
 
-		transactionCount.set( 0 );
-		committedTransactionCount.set( 0 );
+		queryPlanCacheHitCount.reset();
+		queryPlanCacheMissCount.reset();
+		queryPlanCacheEvictionCount.reset();
 
-		optimisticFailureCount.set( 0 );
+		transactionCount.reset();
+		committedTransactionCount.reset();
+
+		optimisticFailureCount.reset();
 
 		secondLevelCacheStatistics.clear();
 		entityStatistics.clear();
@@ -173,28 +228,28 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 	}
 
 	public void openSession() {
-		sessionOpenCount.getAndIncrement();
+		sessionOpenCount.increment();
 	}
 
 	public void closeSession() {
-		sessionCloseCount.getAndIncrement();
+		sessionCloseCount.increment();
 	}
 
 	public void flush() {
-		flushCount.getAndIncrement();
+		flushCount.increment();
 	}
 
 	public void connect() {
-		connectCount.getAndIncrement();
+		connectCount.increment();
 	}
 
 	public void loadEntity(String entityName) {
-		entityLoadCount.getAndIncrement();
+		entityLoadCount.increment();
 		( (ConcurrentEntityStatisticsImpl) getEntityStatistics( entityName ) ).incrementLoadCount();
 	}
 
 	public void fetchEntity(String entityName) {
-		entityFetchCount.getAndIncrement();
+		entityFetchCount.increment();
 		( (ConcurrentEntityStatisticsImpl) getEntityStatistics( entityName ) ).incrementFetchCount();
 	}
 
@@ -208,7 +263,7 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 	public EntityStatistics getEntityStatistics(String entityName) {
 		ConcurrentEntityStatisticsImpl es = (ConcurrentEntityStatisticsImpl) entityStatistics.get( entityName );
 		if ( es == null ) {
-			es = new ConcurrentEntityStatisticsImpl( entityName );
+			es = new ConcurrentEntityStatisticsImpl( entityName, counters );
 			ConcurrentEntityStatisticsImpl previous;
 			if ( ( previous = (ConcurrentEntityStatisticsImpl) entityStatistics.putIfAbsent(
 					entityName, es
@@ -220,19 +275,19 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 	}
 
 	public void updateEntity(String entityName) {
-		entityUpdateCount.getAndIncrement();
+		entityUpdateCount.increment();
 		ConcurrentEntityStatisticsImpl es = (ConcurrentEntityStatisticsImpl) getEntityStatistics( entityName );
 		es.incrementUpdateCount();
 	}
 
 	public void insertEntity(String entityName) {
-		entityInsertCount.getAndIncrement();
+		entityInsertCount.increment();
 		ConcurrentEntityStatisticsImpl es = (ConcurrentEntityStatisticsImpl) getEntityStatistics( entityName );
 		es.incrementInsertCount();
 	}
 
 	public void deleteEntity(String entityName) {
-		entityDeleteCount.getAndIncrement();
+		entityDeleteCount.increment();
 		ConcurrentEntityStatisticsImpl es = (ConcurrentEntityStatisticsImpl) getEntityStatistics( entityName );
 		es.incrementDeleteCount();
 	}
@@ -247,7 +302,7 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 	public CollectionStatistics getCollectionStatistics(String role) {
 		ConcurrentCollectionStatisticsImpl cs = (ConcurrentCollectionStatisticsImpl) collectionStatistics.get( role );
 		if ( cs == null ) {
-			cs = new ConcurrentCollectionStatisticsImpl( role );
+			cs = new ConcurrentCollectionStatisticsImpl( role, counters );
 			ConcurrentCollectionStatisticsImpl previous;
 			if ( ( previous = (ConcurrentCollectionStatisticsImpl) collectionStatistics.putIfAbsent(
 					role, cs
@@ -259,27 +314,27 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 	}
 
 	public void loadCollection(String role) {
-		collectionLoadCount.getAndIncrement();
+		collectionLoadCount.increment();
 		( (ConcurrentCollectionStatisticsImpl) getCollectionStatistics( role ) ).incrementLoadCount();
 	}
 
 	public void fetchCollection(String role) {
-		collectionFetchCount.getAndIncrement();
+		collectionFetchCount.increment();
 		( (ConcurrentCollectionStatisticsImpl) getCollectionStatistics( role ) ).incrementFetchCount();
 	}
 
 	public void updateCollection(String role) {
-		collectionUpdateCount.getAndIncrement();
+		collectionUpdateCount.increment();
 		( (ConcurrentCollectionStatisticsImpl) getCollectionStatistics( role ) ).incrementUpdateCount();
 	}
 
 	public void recreateCollection(String role) {
-		collectionRecreateCount.getAndIncrement();
+		collectionRecreateCount.increment();
 		( (ConcurrentCollectionStatisticsImpl) getCollectionStatistics( role ) ).incrementRecreateCount();
 	}
 
 	public void removeCollection(String role) {
-		collectionRemoveCount.getAndIncrement();
+		collectionRemoveCount.increment();
 		( (ConcurrentCollectionStatisticsImpl) getCollectionStatistics( role ) ).incrementRemoveCount();
 	}
 
@@ -301,7 +356,7 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 			if ( region == null ) {
 				return null;
 			}
-			slcs = new ConcurrentSecondLevelCacheStatisticsImpl( region );
+			slcs = new ConcurrentSecondLevelCacheStatisticsImpl( region, counters );
 			ConcurrentSecondLevelCacheStatisticsImpl previous;
 			if ( ( previous = (ConcurrentSecondLevelCacheStatisticsImpl) secondLevelCacheStatistics.putIfAbsent(
 					regionName, slcs
@@ -313,24 +368,24 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 	}
 
 	public void secondLevelCachePut(String regionName) {
-		secondLevelCachePutCount.getAndIncrement();
+		secondLevelCachePutCount.increment();
 		( (ConcurrentSecondLevelCacheStatisticsImpl) getSecondLevelCacheStatistics( regionName ) ).incrementPutCount();
 	}
 
 	public void secondLevelCacheHit(String regionName) {
-		secondLevelCacheHitCount.getAndIncrement();
+		secondLevelCacheHitCount.increment();
 		( (ConcurrentSecondLevelCacheStatisticsImpl) getSecondLevelCacheStatistics( regionName ) ).incrementHitCount();
 	}
 
 	public void secondLevelCacheMiss(String regionName) {
-		secondLevelCacheMissCount.getAndIncrement();
+		secondLevelCacheMissCount.increment();
 		( (ConcurrentSecondLevelCacheStatisticsImpl) getSecondLevelCacheStatistics( regionName ) ).incrementMissCount();
 	}
 
 	@SuppressWarnings({ "UnnecessaryBoxing" })
 	public void queryExecuted(String hql, int rows, long time) {
         LOG.hql(hql, Long.valueOf(time), Long.valueOf(rows));
-		queryExecutionCount.getAndIncrement();
+		queryExecutionCount.increment();
 		boolean isLongestQuery = false;
 		for ( long old = queryExecutionMaxTime.get();
 			  ( isLongestQuery = time > old ) && ( !queryExecutionMaxTime.compareAndSet( old, time ) );
@@ -341,15 +396,15 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 			queryExecutionMaxTimeQueryString = hql;
 		}
 		if ( hql != null ) {
-			ConcurrentQueryStatisticsImpl qs = (ConcurrentQueryStatisticsImpl) getQueryStatistics( hql );
+			AbstractQueryStatisticsImpl qs = (AbstractQueryStatisticsImpl) getQueryStatistics( hql );
 			qs.executed( rows, time );
 		}
 	}
 
 	public void queryCacheHit(String hql, String regionName) {
-		queryCacheHitCount.getAndIncrement();
+		queryCacheHitCount.increment();
 		if ( hql != null ) {
-			ConcurrentQueryStatisticsImpl qs = (ConcurrentQueryStatisticsImpl) getQueryStatistics( hql );
+			AbstractQueryStatisticsImpl qs = (AbstractQueryStatisticsImpl) getQueryStatistics( hql );
 			qs.incrementCacheHitCount();
 		}
 		ConcurrentSecondLevelCacheStatisticsImpl slcs = (ConcurrentSecondLevelCacheStatisticsImpl) getSecondLevelCacheStatistics(
@@ -359,9 +414,9 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 	}
 
 	public void queryCacheMiss(String hql, String regionName) {
-		queryCacheMissCount.getAndIncrement();
+		queryCacheMissCount.increment();
 		if ( hql != null ) {
-			ConcurrentQueryStatisticsImpl qs = (ConcurrentQueryStatisticsImpl) getQueryStatistics( hql );
+			AbstractQueryStatisticsImpl qs = (AbstractQueryStatisticsImpl) getQueryStatistics( hql );
 			qs.incrementCacheMissCount();
 		}
 		ConcurrentSecondLevelCacheStatisticsImpl slcs = (ConcurrentSecondLevelCacheStatisticsImpl) getSecondLevelCacheStatistics(
@@ -371,9 +426,9 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 	}
 
 	public void queryCachePut(String hql, String regionName) {
-		queryCachePutCount.getAndIncrement();
+		queryCachePutCount.increment();
 		if ( hql != null ) {
-			ConcurrentQueryStatisticsImpl qs = (ConcurrentQueryStatisticsImpl) getQueryStatistics( hql );
+			AbstractQueryStatisticsImpl qs = (AbstractQueryStatisticsImpl) getQueryStatistics( hql );
 			qs.incrementCachePutCount();
 		}
 		ConcurrentSecondLevelCacheStatisticsImpl slcs = (ConcurrentSecondLevelCacheStatisticsImpl) getSecondLevelCacheStatistics(
@@ -384,17 +439,32 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 
 	@Override
 	public void updateTimestampsCacheHit() {
-		updateTimestampsCacheHitCount.getAndIncrement();
+		updateTimestampsCacheHitCount.increment();
 	}
 
 	@Override
 	public void updateTimestampsCacheMiss() {
-		updateTimestampsCacheMissCount.getAndIncrement();
+		updateTimestampsCacheMissCount.increment();
 	}
 
 	@Override
 	public void updateTimestampsCachePut() {
-		updateTimestampsCachePutCount.getAndIncrement();
+		updateTimestampsCachePutCount.increment();
+	}
+
+	@Override
+	public void queryPlanCacheHit() {
+		queryPlanCacheHitCount.increment();
+	}
+
+	@Override
+	public void queryPlanCacheMiss() {
+		queryPlanCacheMissCount.increment();
+	}
+
+	@Override
+	public void queryPlanCacheEviction() {
+		queryPlanCacheEvictionCount.increment();
 	}
 
 	/**
@@ -405,11 +475,11 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 	 * @return QueryStatistics
 	 */
 	public QueryStatistics getQueryStatistics(String queryString) {
-		ConcurrentQueryStatisticsImpl qs = (ConcurrentQueryStatisticsImpl) queryStatistics.get( queryString );
+		AbstractQueryStatisticsImpl qs = (AbstractQueryStatisticsImpl) queryStatistics.get( queryString );
 		if ( qs == null ) {
-			qs = new ConcurrentQueryStatisticsImpl( queryString );
-			ConcurrentQueryStatisticsImpl previous;
-			if ( ( previous = (ConcurrentQueryStatisticsImpl) queryStatistics.putIfAbsent(
+			qs = createQueryStatistics( queryString );
+			AbstractQueryStatisticsImpl previous;
+			if ( ( previous = (AbstractQueryStatisticsImpl) queryStatistics.putIfAbsent(
 					queryString, qs
 			) ) != null ) {
 				qs = previous;
@@ -418,6 +488,17 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 		return qs;
 	}
 
+	/**
+	 * Create the statistics of a query, on its first execution.
+	 *
+	 * @param queryString query string
+	 *
+	 * @return The (empty) query statistics
+	 */
+	AbstractQueryStatisticsImpl createQueryStatistics(String queryString) {
+		return new ConcurrentQueryStatisticsImpl( queryString );
+	}
+
 	/**
 	 * @return entity deletion count
 	 */
@@ -481,6 +562,29 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 		return updateTimestampsCachePutCount.get();
 	}
 
+	public long getQueryPlanCacheHitCount() {
+		return queryPlanCacheHitCount.get();
+	}
+
+	public long getQueryPlanCacheMissCount() {
+		return queryPlanCacheMissCount.get();
+	}
+
+	public long getQueryPlanCacheEvictionCount() {
+		return queryPlanCacheEvictionCount.get();
+	}
+
+	public ConnectionPoolStatistics getConnectionPoolStatistics() {
+		if ( sessionFactory == null ) {
+			return null;
+		}
+		ConnectionProvider connectionProvider = sessionFactory.getJdbcServices().getConnectionProvider();
+		if ( !connectionProvider.isUnwrappableAs( ConnectionPoolStatistics.class ) ) {
+			return null;
+		}
+		return connectionProvider.unwrap( ConnectionPoolStatistics.class );
+	}
+
 	/**
 	 * @return flush
 	 */
@@ -606,6 +710,15 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 		LOG.timestampCachePuts( updateTimestampsCachePutCount.get() );
 		LOG.timestampCacheHits( updateTimestampsCacheHitCount.get() );
 		LOG.timestampCacheMisses( updateTimestampsCacheMissCount.get() );
+		LOG.queryPlanCacheHits( queryPlanCacheHitCount.get() );
+		LOG.queryPlanCacheMisses( queryPlanCacheMissCount.get() );
+		LOG.queryPlanCacheEvictions( queryPlanCacheEvictionCount.get() );
+		ConnectionPoolStatistics poolStatistics = getConnectionPoolStatistics();
+		if ( poolStatistics != null ) {
+			LOG.connectionPoolConnections( poolStatistics.getActiveConnectionCount(), poolStatistics.getIdleConnectionCount() );
+			LOG.connectionPoolAcquisitions( poolStatistics.getAcquisitionCount(), poolStatistics.getAcquisitionTimeoutCount() );
+			LOG.connectionPoolMaxWaitTime( poolStatistics.getMaxAcquisitionWaitTime() );
+		}
         LOG.queryCacheHits(queryCacheHitCount.get());
         LOG.queryCacheMisses(queryCacheMissCount.get());
         LOG.maxQueryTime(queryExecutionMaxTime.get());
@@ -677,9 +790,9 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 	}
 
 	public void endTransaction(boolean success) {
-		transactionCount.getAndIncrement();
+		transactionCount.increment();
 		if ( success ) {
-			committedTransactionCount.getAndIncrement();
+			committedTransactionCount.increment();
 		}
 	}
 
@@ -692,11 +805,11 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 	}
 
 	public void closeStatement() {
-		closeStatementCount.getAndIncrement();
+		closeStatementCount.increment();
 	}
 
 	public void prepareStatement() {
-		prepareStatementCount.getAndIncrement();
+		prepareStatementCount.increment();
 	}
 
 	public long getCloseStatementCount() {
@@ -708,7 +821,7 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 	}
 
 	public void optimisticFailure(String entityName) {
-		optimisticFailureCount.getAndIncrement();
+		optimisticFailureCount.increment();
 		( (ConcurrentEntityStatisticsImpl) getEntityStatistics( entityName ) ).incrementOptimisticFailureCount();
 	}
 
@@ -750,6 +863,9 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 				.append(",update timestamps cache puts=").append(updateTimestampsCachePutCount)
 				.append(",update timestamps cache hits=").append(updateTimestampsCacheHitCount)
 				.append(",update timestamps cache misses=").append(updateTimestampsCacheMissCount)
+				.append( ",query plan cache hits=" ).append( queryPlanCacheHitCount )
+				.append( ",query plan cache misses=" ).append( queryPlanCacheMissCount )
+				.append( ",query plan cache evictions=" ).append( queryPlanCacheEvictionCount )
 				.append( ",max query time=" ).append( queryExecutionMaxTime )
 				.append( ']' )
 				.toString();
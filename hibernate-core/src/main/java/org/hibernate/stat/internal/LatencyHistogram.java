@@ -0,0 +1,103 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.stat.internal;
+
+import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.hibernate.stat.HistogramSnapshot;
+
+/**
+ * Lock-free histogram of execution times, bucketed log-linearly in the manner of HDR histograms.
+ * <p/>
+ * Values below 32 get a bucket each; above that every power of two is split into 16 buckets, so a
+ * reported value is never more than about 6% above the recorded one.  Values beyond 2<sup>41</sup>
+ * fall into the last bucket.
+ */
+final class LatencyHistogram implements Serializable {
+	private static final int SUB_BUCKET_BITS = 4;
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+	private static final int LINEAR_BUCKETS = SUB_BUCKETS * 2;
+	private static final int MAX_EXPONENT = 40;
+
+	static final int BUCKET_COUNT = LINEAR_BUCKETS + ( MAX_EXPONENT - SUB_BUCKET_BITS ) * SUB_BUCKETS;
+
+	private final AtomicLongArray counts = new AtomicLongArray( BUCKET_COUNT );
+
+	void record(long value) {
+		counts.incrementAndGet( bucketOf( value ) );
+	}
+
+	void reset() {
+		for ( int i = 0; i < BUCKET_COUNT; i++ ) {
+			counts.set( i, 0 );
+		}
+	}
+
+	/**
+	 * Copies the current counts, without stopping concurrent recording.
+	 */
+	HistogramSnapshot snapshot(long min, long max, long total) {
+		int used = 0;
+		final long[] copy = new long[BUCKET_COUNT];
+		for ( int i = 0; i < BUCKET_COUNT; i++ ) {
+			copy[i] = counts.get( i );
+			if ( copy[i] > 0 ) {
+				used++;
+			}
+		}
+		final long[] values = new long[used];
+		final long[] valueCounts = new long[used];
+		int j = 0;
+		for ( int i = 0; i < BUCKET_COUNT && j < used; i++ ) {
+			if ( copy[i] > 0 ) {
+				values[j] = highestValueIn( i );
+				valueCounts[j++] = copy[i];
+			}
+		}
+		return new HistogramSnapshot( values, valueCounts, min, max, total );
+	}
+
+	static int bucketOf(long value) {
+		if ( value < LINEAR_BUCKETS ) {
+			return value < 0 ? 0 : (int) value;
+		}
+		int exponent = 63 - Long.numberOfLeadingZeros( value );
+		if ( exponent > MAX_EXPONENT ) {
+			return BUCKET_COUNT - 1;
+		}
+		final int subBucket = (int) ( value >>> ( exponent - SUB_BUCKET_BITS ) ) & ( SUB_BUCKETS - 1 );
+		return LINEAR_BUCKETS + ( exponent - SUB_BUCKET_BITS - 1 ) * SUB_BUCKETS + subBucket;
+	}
+
+	static long highestValueIn(int bucket) {
+		if ( bucket < LINEAR_BUCKETS ) {
+			return bucket;
+		}
+		final int offset = bucket - LINEAR_BUCKETS;
+		final int shift = offset / SUB_BUCKETS + 1;
+		final long lowest = (long) ( SUB_BUCKETS + offset % SUB_BUCKETS ) << shift;
+		return lowest + ( 1L << shift ) - 1;
+	}
+}
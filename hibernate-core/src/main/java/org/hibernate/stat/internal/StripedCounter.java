@@ -0,0 +1,113 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.stat.internal;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A counter which spreads contended updates over several cache lines.
+ * <p/>
+ * Updates go to a single {@link AtomicLong} until two threads collide on it; from then on each thread
+ * adds to one of several padded cells picked by its id, and reads sum the cells.  Uncontended counters
+ * (most per-entity and per-collection ones) therefore cost no more than an {@link AtomicLong}.
+ */
+final class StripedCounter implements StatisticsCounter {
+	static final Factory FACTORY = new Factory() {
+		public StatisticsCounter newCounter() {
+			return new StripedCounter();
+		}
+	};
+
+	// longs per cell, so that two cells never share a 64 byte cache line
+	private static final int PADDING = 8;
+	private static final int CELLS;
+
+	static {
+		int cells = 1;
+		final int target = Math.min( Runtime.getRuntime().availableProcessors() * 2, 64 );
+		while ( cells < target ) {
+			cells <<= 1;
+		}
+		CELLS = cells;
+	}
+
+	private final AtomicLong base = new AtomicLong();
+	private volatile AtomicLongArray cells;
+
+	public void increment() {
+		add( 1 );
+	}
+
+	public void add(long amount) {
+		AtomicLongArray cells = this.cells;
+		if ( cells == null ) {
+			final long current = base.get();
+			if ( base.compareAndSet( current, current + amount ) ) {
+				return;
+			}
+			cells = inflate();
+		}
+		cells.addAndGet( cellIndex(), amount );
+	}
+
+	public long get() {
+		long sum = base.get();
+		final AtomicLongArray cells = this.cells;
+		if ( cells != null ) {
+			for ( int i = 0; i < cells.length(); i += PADDING ) {
+				sum += cells.get( i );
+			}
+		}
+		return sum;
+	}
+
+	public void reset() {
+		base.set( 0 );
+		final AtomicLongArray cells = this.cells;
+		if ( cells != null ) {
+			for ( int i = 0; i < cells.length(); i += PADDING ) {
+				cells.set( i, 0 );
+			}
+		}
+	}
+
+	private synchronized AtomicLongArray inflate() {
+		if ( cells == null ) {
+			cells = new AtomicLongArray( CELLS * PADDING );
+		}
+		return cells;
+	}
+
+	private static int cellIndex() {
+		final long id = Thread.currentThread().getId();
+		final int hash = (int) ( ( id * 0x9E3779B97F4A7C15L ) >>> 32 );
+		return ( hash & ( CELLS - 1 ) ) * PADDING;
+	}
+
+	@Override
+	public String toString() {
+		return Long.toString( get() );
+	}
+}
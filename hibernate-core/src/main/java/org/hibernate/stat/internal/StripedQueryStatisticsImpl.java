@@ -0,0 +1,131 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.stat.internal;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.hibernate.stat.HistogramQueryStatistics;
+import org.hibernate.stat.HistogramSnapshot;
+
+/**
+ * Query statistics (HQL and SQL) kept without locks: counts and totals in {@link StripedCounter}s, min and max
+ * through compare-and-set, and every execution time in a {@link LatencyHistogram}.
+ * <p/>
+ * Note that for a cached query, the cache miss is equals to the db count
+ */
+public class StripedQueryStatisticsImpl extends AbstractQueryStatisticsImpl implements HistogramQueryStatistics {
+	private final StripedCounter cacheHitCount = new StripedCounter();
+	private final StripedCounter cacheMissCount = new StripedCounter();
+	private final StripedCounter cachePutCount = new StripedCounter();
+	private final StripedCounter executionCount = new StripedCounter();
+	private final StripedCounter executionRowCount = new StripedCounter();
+	private final StripedCounter totalExecutionTime = new StripedCounter();
+	private final AtomicLong executionMaxTime = new AtomicLong();
+	private final AtomicLong executionMinTime = new AtomicLong( Long.MAX_VALUE );
+	private final LatencyHistogram executionTimes = new LatencyHistogram();
+
+	StripedQueryStatisticsImpl(String query) {
+		super( query );
+	}
+
+	public long getExecutionCount() {
+		return executionCount.get();
+	}
+
+	public long getCacheHitCount() {
+		return cacheHitCount.get();
+	}
+
+	public long getCachePutCount() {
+		return cachePutCount.get();
+	}
+
+	public long getCacheMissCount() {
+		return cacheMissCount.get();
+	}
+
+	public long getExecutionRowCount() {
+		return executionRowCount.get();
+	}
+
+	/**
+	 * Average time in ms taken by the execution of this query onto the DB.  Count and total are read
+	 * separately, so under concurrent executions the average may lag by one execution.
+	 */
+	public long getExecutionAvgTime() {
+		final long count = executionCount.get();
+		return count > 0 ? totalExecutionTime.get() / count : 0;
+	}
+
+	public long getExecutionMaxTime() {
+		return executionMaxTime.get();
+	}
+
+	public long getExecutionMinTime() {
+		return executionMinTime.get();
+	}
+
+	public HistogramSnapshot getExecutionTimeHistogram() {
+		return executionTimes.snapshot( executionMinTime.get(), executionMaxTime.get(), totalExecutionTime.get() );
+	}
+
+	void executed(long rows, long time) {
+		for ( long old = executionMinTime.get(); time < old && !executionMinTime.compareAndSet( old, time ); old = executionMinTime.get() ) {
+		}
+		for ( long old = executionMaxTime.get(); time > old && !executionMaxTime.compareAndSet( old, time ); old = executionMaxTime.get() ) {
+		}
+		executionTimes.record( time );
+		executionCount.increment();
+		executionRowCount.add( rows );
+		totalExecutionTime.add( time );
+	}
+
+	public String toString() {
+		return new StringBuilder()
+				.append( "QueryStatistics" )
+				.append( "[cacheHitCount=" ).append( this.cacheHitCount )
+				.append( ",cacheMissCount=" ).append( this.cacheMissCount )
+				.append( ",cachePutCount=" ).append( this.cachePutCount )
+				.append( ",executionCount=" ).append( this.executionCount )
+				.append( ",executionRowCount=" ).append( this.executionRowCount )
+				.append( ",executionAvgTime=" ).append( this.getExecutionAvgTime() )
+				.append( ",executionMaxTime=" ).append( this.executionMaxTime )
+				.append( ",executionMinTime=" ).append( this.executionMinTime )
+				.append( ",executionTimes=" ).append( this.getExecutionTimeHistogram() )
+				.append( ']' )
+				.toString();
+	}
+
+	void incrementCacheHitCount() {
+		cacheHitCount.increment();
+	}
+
+	void incrementCacheMissCount() {
+		cacheMissCount.increment();
+	}
+
+	void incrementCachePutCount() {
+		cachePutCount.increment();
+	}
+}
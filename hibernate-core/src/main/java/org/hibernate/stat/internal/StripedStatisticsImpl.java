@@ -0,0 +1,52 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.stat.internal;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+/**
+ * Implementation of {@link org.hibernate.stat.Statistics} for heavily concurrent use.
+ * <p/>
+ * Counters are {@link StripedCounter}s so that threads updating the same counter do not contend on one
+ * cache line, and query statistics record execution times in histograms (see
+ * {@link org.hibernate.stat.HistogramQueryStatistics}) without taking a lock, neither when recording nor
+ * when reading.
+ *
+ * @see StripedStatisticsFactory
+ */
+public class StripedStatisticsImpl extends ConcurrentStatisticsImpl {
+	@SuppressWarnings({ "UnusedDeclaration" })
+	public StripedStatisticsImpl() {
+		this( null );
+	}
+
+	public StripedStatisticsImpl(SessionFactoryImplementor sessionFactory) {
+		super( sessionFactory, StripedCounter.FACTORY );
+	}
+
+	@Override
+	AbstractQueryStatisticsImpl createQueryStatistics(String queryString) {
+		return new StripedQueryStatisticsImpl( queryString );
+	}
+}
@@ -220,4 +220,19 @@ public interface StatisticsImplementor extends Statistics, Service {
 	 * Callback indicating a put to the timestamp cache
 	 */
 	public void updateTimestampsCachePut();
+
+	/**
+	 * Callback indicating a hit to the query plan cache
+	 */
+	public void queryPlanCacheHit();
+
+	/**
+	 * Callback indicating a miss to the query plan cache
+	 */
+	public void queryPlanCacheMiss();
+
+	/**
+	 * Callback indicating an eviction from the query plan cache
+	 */
+	public void queryPlanCacheEviction();
 }
\ No newline at end of file
@@ -38,7 +38,7 @@ import org.hibernate.type.descriptor.sql.SqlTypeDescriptor;
  */
 public abstract class AbstractSingleColumnStandardBasicType<T>
 		extends AbstractStandardBasicType<T>
-		implements SingleColumnType<T> {
+		implements PositionalSingleColumnType<T> {
 
 	public AbstractSingleColumnStandardBasicType(SqlTypeDescriptor sqlTypeDescriptor, JavaTypeDescriptor<T> javaTypeDescriptor) {
 		super( sqlTypeDescriptor, javaTypeDescriptor );
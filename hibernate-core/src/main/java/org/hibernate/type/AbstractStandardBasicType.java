@@ -42,6 +42,8 @@ import org.hibernate.engine.spi.SessionImplementor;
 import org.hibernate.internal.util.StringHelper;
 import org.hibernate.internal.util.collections.ArrayHelper;
 import org.hibernate.metamodel.relational.Size;
+import org.hibernate.type.descriptor.PositionalValueExtractor;
+import org.hibernate.type.descriptor.ValueExtractor;
 import org.hibernate.type.descriptor.WrapperOptions;
 import org.hibernate.type.descriptor.java.JavaTypeDescriptor;
 import org.hibernate.type.descriptor.java.MutabilityPlan;
@@ -269,6 +271,36 @@ public abstract class AbstractStandardBasicType<T>
 		return remapSqlTypeDescriptor( options ).getExtractor( javaTypeDescriptor ).extract( rs, name, options );
 	}
 
+	public final T nullSafeGet(ResultSet rs, int position, final SessionImplementor session) throws SQLException {
+		// todo : have SessionImplementor extend WrapperOptions
+		final WrapperOptions options = new WrapperOptions() {
+			public boolean useStreamForLobBinding() {
+				return Environment.useStreamsForBinary();
+			}
+
+			public LobCreator getLobCreator() {
+				return Hibernate.getLobCreator( session );
+			}
+
+			public SqlTypeDescriptor remapSqlTypeDescriptor(SqlTypeDescriptor sqlTypeDescriptor) {
+				final SqlTypeDescriptor remapped = sqlTypeDescriptor.canBeRemapped()
+						? session.getFactory().getDialect().remapSqlTypeDescriptor( sqlTypeDescriptor )
+						: sqlTypeDescriptor;
+				return remapped == null ? sqlTypeDescriptor : remapped;
+			}
+		};
+
+		return nullSafeGet( rs, position, options );
+	}
+
+	protected final T nullSafeGet(ResultSet rs, int position, WrapperOptions options) throws SQLException {
+		final ValueExtractor<T> extractor = remapSqlTypeDescriptor( options ).getExtractor( javaTypeDescriptor );
+		if ( extractor instanceof PositionalValueExtractor ) {
+			return ( (PositionalValueExtractor<T>) extractor ).extract( rs, position, options );
+		}
+		return extractor.extract( rs, rs.getMetaData().getColumnLabel( position ), options );
+	}
+
 	public Object get(ResultSet rs, String name, SessionImplementor session) throws HibernateException, SQLException {
 		return nullSafeGet( rs, name, session );
 	}
@@ -84,6 +84,11 @@ public class PostgresUUIDType extends AbstractSingleColumnStandardBasicType<UUID
 				protected X doExtract(ResultSet rs, String name, WrapperOptions options) throws SQLException {
 					return javaTypeDescriptor.wrap( rs.getObject( name ), options );
 				}
+
+				@Override
+				protected X doExtract(ResultSet rs, int position, WrapperOptions options) throws SQLException {
+					return javaTypeDescriptor.wrap( rs.getObject( position ), options );
+				}
 			};
 		}
 	}
@@ -0,0 +1,47 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.type.descriptor;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Optional contract for {@link ValueExtractor}s which can also extract a value by column position.  Used by the
+ * loaders, which know the position of each column they selected, to avoid resolving the column by name for every
+ * value of every row.  Extractors not implementing it are read by column label instead.
+ */
+public interface PositionalValueExtractor<X> extends ValueExtractor<X> {
+	/**
+	 * Extract value from result set by column position.
+	 *
+	 * @param rs The result set from which to extract the value
+	 * @param position The (1-based) position of the column within the result set
+	 * @param options The options
+	 *
+	 * @return The extracted value
+	 *
+	 * @throws SQLException Indicates a JDBC error occurred.
+	 */
+	public X extract(ResultSet rs, int position, WrapperOptions options) throws SQLException;
+}
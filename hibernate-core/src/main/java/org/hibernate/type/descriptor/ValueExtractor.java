@@ -43,4 +43,5 @@ public interface ValueExtractor<X> {
 	 * @throws SQLException Indicates a JDBC error occurred.
 	 */
 	public X extract(ResultSet rs, String name, WrapperOptions options) throws SQLException;
+
 }
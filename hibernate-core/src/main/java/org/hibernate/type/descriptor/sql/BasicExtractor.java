@@ -29,7 +29,7 @@ import java.sql.SQLException;
 import org.jboss.logging.Logger;
 
 import org.hibernate.internal.CoreMessageLogger;
-import org.hibernate.type.descriptor.ValueExtractor;
+import org.hibernate.type.descriptor.PositionalValueExtractor;
 import org.hibernate.type.descriptor.WrapperOptions;
 import org.hibernate.type.descriptor.java.JavaTypeDescriptor;
 
@@ -38,7 +38,7 @@ import org.hibernate.type.descriptor.java.JavaTypeDescriptor;
  *
  * @author Steve Ebersole
  */
-public abstract class BasicExtractor<J> implements ValueExtractor<J> {
+public abstract class BasicExtractor<J> implements PositionalValueExtractor<J> {
 
     private static final CoreMessageLogger LOG = Logger.getMessageLogger(CoreMessageLogger.class, BasicExtractor.class.getName());
 
@@ -62,16 +62,27 @@ public abstract class BasicExtractor<J> implements ValueExtractor<J> {
 	 * {@inheritDoc}
 	 */
 	public J extract(ResultSet rs, String name, WrapperOptions options) throws SQLException {
-		final J value = doExtract( rs, name, options );
+		return checkNull( rs, doExtract( rs, name, options ), name );
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public J extract(ResultSet rs, int position, WrapperOptions options) throws SQLException {
+		final J value = doExtract( rs, position, options );
+		return checkNull( rs, value, LOG.isTraceEnabled() ? "#" + position : null );
+	}
+
+	private J checkNull(ResultSet rs, J value, String column) throws SQLException {
 		if ( value == null || rs.wasNull() ) {
                         if (LOG.isTraceEnabled()) {
-                           LOG.trace("Found [null] as column [" + name + "]");
+                           LOG.trace("Found [null] as column [" + column + "]");
                         }
 			return null;
 		}
 		else {
                         if (LOG.isTraceEnabled()) {
-                           LOG.trace("Found [" + getJavaDescriptor().extractLoggableRepresentation(value) + "] as column [" + name + "]");
+                           LOG.trace("Found [" + getJavaDescriptor().extractLoggableRepresentation(value) + "] as column [" + column + "]");
                         }
 			return value;
 		}
@@ -92,4 +103,23 @@ public abstract class BasicExtractor<J> implements ValueExtractor<J> {
 	 * @throws SQLException Indicates a problem access the result set
 	 */
 	protected abstract J doExtract(ResultSet rs, String name, WrapperOptions options) throws SQLException;
+
+	/**
+	 * Perform the extraction by column position.
+	 * <p/>
+	 * Called from {@link #extract}.  The default implementation resolves the column label and delegates to
+	 * {@link #doExtract(ResultSet, String, WrapperOptions)}, so extractors written against the name based contract
+	 * keep working; the built-in extractors override this to read the column directly.
+	 *
+	 * @param rs The result set
+	 * @param position The (1-based) position of the value in the result set
+	 * @param options The binding options
+	 *
+	 * @return The extracted value.
+	 *
+	 * @throws SQLException Indicates a problem access the result set
+	 */
+	protected J doExtract(ResultSet rs, int position, WrapperOptions options) throws SQLException {
+		return doExtract( rs, rs.getMetaData().getColumnLabel( position ), options );
+	}
 }
@@ -65,6 +65,11 @@ public class IntegerTypeDescriptor implements SqlTypeDescriptor {
 			protected X doExtract(ResultSet rs, String name, WrapperOptions options) throws SQLException {
 				return javaTypeDescriptor.wrap( rs.getInt( name ), options );
 			}
+
+			@Override
+			protected X doExtract(ResultSet rs, int position, WrapperOptions options) throws SQLException {
+				return javaTypeDescriptor.wrap( rs.getInt( position ), options );
+			}
 		};
 	}
 }
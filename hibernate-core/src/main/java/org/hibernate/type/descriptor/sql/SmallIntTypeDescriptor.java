@@ -65,6 +65,11 @@ public class SmallIntTypeDescriptor implements SqlTypeDescriptor {
 			protected X doExtract(ResultSet rs, String name, WrapperOptions options) throws SQLException {
 				return javaTypeDescriptor.wrap( rs.getShort( name ), options );
 			}
+
+			@Override
+			protected X doExtract(ResultSet rs, int position, WrapperOptions options) throws SQLException {
+				return javaTypeDescriptor.wrap( rs.getShort( position ), options );
+			}
 		};
 	}
 }
@@ -66,6 +66,11 @@ public class TimeTypeDescriptor implements SqlTypeDescriptor {
 			protected X doExtract(ResultSet rs, String name, WrapperOptions options) throws SQLException {
 				return javaTypeDescriptor.wrap( rs.getTime( name ), options );
 			}
+
+			@Override
+			protected X doExtract(ResultSet rs, int position, WrapperOptions options) throws SQLException {
+				return javaTypeDescriptor.wrap( rs.getTime( position ), options );
+			}
 		};
 	}
 }
@@ -0,0 +1,195 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.batchfetch;
+
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.cfg.Environment;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.stat.Statistics;
+
+import org.junit.Test;
+
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests that batch fetching reads the second-level cache in bulk, loading only the misses
+ * from the database, and that the entries it read do not outlive the batch load.
+ */
+public class BatchFetchSecondLevelCacheTest extends BaseCoreFunctionalTestCase {
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class<?>[] { CachedPart.class };
+	}
+
+	@Override
+	public void configure(Configuration cfg) {
+		super.configure( cfg );
+		cfg.setProperty( Environment.USE_SECOND_LEVEL_CACHE, "true" );
+		cfg.setProperty( Environment.GENERATE_STATISTICS, "true" );
+	}
+
+	@Test
+	public void testCachedEntitiesAreLeftOutOfBatch() {
+		Session s = openSession();
+		s.beginTransaction();
+		for ( long i = 1; i <= 10; i++ ) {
+			s.persist( new CachedPart( i, "part-" + i ) );
+		}
+		s.getTransaction().commit();
+		s.close();
+
+		populateCache();
+		for ( long i = 1; i <= 10; i += 2 ) {
+			sessionFactory().getCache().evictEntity( CachedPart.class, i );
+		}
+
+		Statistics stats = sessionFactory().getStatistics();
+		stats.clear();
+
+		s = openSession();
+		s.beginTransaction();
+		CachedPart[] parts = new CachedPart[10];
+		for ( int i = 0; i < parts.length; i++ ) {
+			parts[i] = (CachedPart) s.load( CachedPart.class, (long) ( i + 1 ) );
+		}
+		Hibernate.initialize( parts[0] );
+		assertEquals( 1, stats.getSecondLevelCacheMissCount() );
+		assertEquals( 5, stats.getEntityLoadCount() );
+		// the uncached odd ids came from the database, the cached even ids were read in bulk
+		SessionImplementor session = (SessionImplementor) s;
+		EntityPersister persister = sessionFactory().getEntityPersister( CachedPart.class.getName() );
+		for ( long id = 1; id <= 10; id++ ) {
+			Object entity = session.getPersistenceContext().getEntity( session.generateEntityKey( id, persister ) );
+			assertEquals( id % 2 == 1, entity != null );
+		}
+		// the cache entries read for the batch are dropped once it is loaded
+		assertNull( session.getPersistenceContext().getBatchFetchQueue().removeCachedEntityEntry( 2L, persister ) );
+
+		for ( int i = 0; i < parts.length; i++ ) {
+			assertEquals( "part-" + ( i + 1 ), parts[i].getName() );
+		}
+		assertEquals( 5, stats.getEntityLoadCount() );
+		assertEquals( 5, stats.getSecondLevelCacheHitCount() );
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		s.createQuery( "delete CachedPart" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testQueriedEntityDropsCachedEntry() {
+		Session s = openSession();
+		s.beginTransaction();
+		for ( long i = 1; i <= 3; i++ ) {
+			s.persist( new CachedPart( i, "part-" + i ) );
+		}
+		s.getTransaction().commit();
+		s.close();
+
+		populateCache();
+		sessionFactory().getCache().evictEntity( CachedPart.class, 1L );
+
+		s = openSession();
+		s.beginTransaction();
+		CachedPart first = (CachedPart) s.load( CachedPart.class, 1L );
+		CachedPart second = (CachedPart) s.load( CachedPart.class, 2L );
+		s.load( CachedPart.class, 3L );
+		Hibernate.initialize( first );
+		assertFalse( Hibernate.isInitialized( second ) );
+
+		// loading the entity another way must not leave its batch-time cache entry behind
+		s.createQuery( "from CachedPart where id = 2" ).list();
+		assertTrue( Hibernate.isInitialized( second ) );
+		EntityPersister persister = sessionFactory().getEntityPersister( CachedPart.class.getName() );
+		assertNull(
+				( (SessionImplementor) s ).getPersistenceContext().getBatchFetchQueue().removeCachedEntityEntry( 2L, persister )
+		);
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		s.createQuery( "delete CachedPart" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testCachedEntryIsNotReusedAfterTheBatchLoad() {
+		Session s = openSession();
+		s.beginTransaction();
+		for ( long i = 1; i <= 3; i++ ) {
+			s.persist( new CachedPart( i, "part-" + i ) );
+		}
+		s.getTransaction().commit();
+		s.close();
+
+		populateCache();
+		sessionFactory().getCache().evictEntity( CachedPart.class, 1L );
+
+		s = openSession();
+		s.beginTransaction();
+		CachedPart first = (CachedPart) s.load( CachedPart.class, 1L );
+		CachedPart second = (CachedPart) s.load( CachedPart.class, 2L );
+		Hibernate.initialize( first );
+		assertFalse( Hibernate.isInitialized( second ) );
+
+		// another session changes the cached entity after the batch was loaded
+		Session other = openSession();
+		other.beginTransaction();
+		other.createQuery( "update CachedPart set name = 'changed' where id = 2" ).executeUpdate();
+		other.getTransaction().commit();
+		other.close();
+
+		assertEquals( "changed", second.getName() );
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		s.createQuery( "delete CachedPart" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	private void populateCache() {
+		Session s = openSession();
+		s.beginTransaction();
+		s.createQuery( "from CachedPart" ).list();
+		s.getTransaction().commit();
+		s.close();
+	}
+}
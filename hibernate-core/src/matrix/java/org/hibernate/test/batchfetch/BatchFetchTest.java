@@ -22,6 +22,7 @@
  * Boston, MA  02110-1301  USA
  */
 package org.hibernate.test.batchfetch;
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
@@ -29,11 +30,14 @@ import java.util.List;
 import org.hibernate.Hibernate;
 import org.hibernate.Session;
 import org.hibernate.Transaction;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
 
 import org.junit.Test;
 
 import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
@@ -119,7 +123,9 @@ public class BatchFetchTest extends BaseCoreFunctionalTestCase {
 		ProductLine pl = ( ProductLine ) list.get( 0 );
 		ProductLine pl2 = ( ProductLine ) list.get( 1 );
 		s.evict( pl2 );
-		pl.getModels().size(); //fetch just one collection! (how can we write an assertion for that??)
+		pl.getModels().size(); //fetch just one collection!
+		assertTrue( Hibernate.isInitialized( pl.getModels() ) );
+		assertFalse( Hibernate.isInitialized( pl2.getModels() ) );
 
 		t.commit();
 		s.close();
@@ -137,5 +143,42 @@ public class BatchFetchTest extends BaseCoreFunctionalTestCase {
 		s.close();
 	}
 
-}
+	@Test
+	public void testBatchTakesTheKeysAroundTheLoadedOne() {
+		Session s = openSession();
+		Transaction t = s.beginTransaction();
+		String[] ids = new String[6];
+		for ( int i = 0; i < ids.length; i++ ) {
+			ProductLine line = new ProductLine();
+			line.setDescription( "line-" + i );
+			ids[i] = (String) s.save( line );
+		}
+		t.commit();
+		s.close();
 
+		s = openSession();
+		t = s.beginTransaction();
+		for ( String id : ids ) {
+			s.load( ProductLine.class, id );
+		}
+		EntityPersister persister = sessionFactory().getEntityPersister( ProductLine.class.getName() );
+		Serializable[] batch = ( (SessionImplementor) s ).getPersistenceContext()
+				.getBatchFetchQueue()
+				.getEntityBatch( persister, ids[3], 4, persister.getEntityMode() );
+		// the keys registered after the loaded one first, then the closest one before it
+		assertArrayEquals( new Serializable[] { ids[3], ids[4], ids[5], ids[2] }, batch );
+		// an unknown key takes the most recently registered ones
+		batch = ( (SessionImplementor) s ).getPersistenceContext()
+				.getBatchFetchQueue()
+				.getEntityBatch( persister, "unknown", 3, persister.getEntityMode() );
+		assertArrayEquals( new Serializable[] { "unknown", ids[5], ids[4] }, batch );
+		t.commit();
+		s.close();
+
+		s = openSession();
+		t = s.beginTransaction();
+		s.createQuery( "delete ProductLine" ).executeUpdate();
+		t.commit();
+		s.close();
+	}
+}
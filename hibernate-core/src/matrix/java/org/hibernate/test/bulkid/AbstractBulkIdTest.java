@@ -0,0 +1,139 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.bulkid;
+
+import org.hibernate.Session;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.cfg.Environment;
+import org.hibernate.hql.spi.MultiTableBulkIdStrategy;
+
+import org.junit.Test;
+
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Runs HQL bulk updates and deletes against a joined subclass with a given {@link MultiTableBulkIdStrategy}.
+ */
+public abstract class AbstractBulkIdTest extends BaseCoreFunctionalTestCase {
+	protected static final int EMPLOYEE_COUNT = 12;
+
+	protected abstract MultiTableBulkIdStrategy getStrategy();
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class<?>[] { Person.class, Employee.class };
+	}
+
+	@Override
+	public void configure(Configuration cfg) {
+		super.configure( cfg );
+		cfg.setProperty( Environment.HQL_BULK_ID_STRATEGY, getStrategy().name() );
+	}
+
+	@Test
+	public void testUpdate() {
+		createPeople();
+
+		Session s = openSession();
+		s.beginTransaction();
+		int count = s.createQuery( "update Employee set name = :name, salary = salary + :raise where salary < :limit" )
+				.setString( "name", "raised" )
+				.setInteger( "raise", 100 )
+				.setInteger( "limit", 600 )
+				.executeUpdate();
+		assertEquals( 5, count );
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		assertEquals(
+				Long.valueOf( 5 ),
+				s.createQuery( "select count(*) from Employee where name = 'raised' and salary >= 200 and salary < 700" ).uniqueResult()
+		);
+		assertEquals( Long.valueOf( 2 ), s.createQuery( "select count(*) from Person where name = 'person'" ).uniqueResult() );
+		s.getTransaction().commit();
+		s.close();
+
+		cleanup();
+	}
+
+	@Test
+	public void testDelete() {
+		createPeople();
+
+		Session s = openSession();
+		s.beginTransaction();
+		int count = s.createQuery( "delete Employee where salary > :limit" )
+				.setInteger( "limit", 500 )
+				.executeUpdate();
+		assertEquals( EMPLOYEE_COUNT - 5, count );
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		assertEquals( Long.valueOf( 5 ), s.createQuery( "select count(*) from Employee" ).uniqueResult() );
+		assertEquals( Long.valueOf( 7 ), s.createQuery( "select count(*) from Person" ).uniqueResult() );
+		s.getTransaction().commit();
+		s.close();
+
+		cleanup();
+	}
+
+	@Test
+	public void testDeleteNothing() {
+		createPeople();
+
+		Session s = openSession();
+		s.beginTransaction();
+		assertEquals( 0, s.createQuery( "delete Employee where salary < 0" ).executeUpdate() );
+		s.getTransaction().commit();
+		s.close();
+
+		cleanup();
+	}
+
+	private void createPeople() {
+		Session s = openSession();
+		s.beginTransaction();
+		s.save( new Person( 1000L, "person" ) );
+		s.save( new Person( 1001L, "person" ) );
+		for ( int i = 1; i <= EMPLOYEE_COUNT; i++ ) {
+			s.save( new Employee( (long) i, "employee " + i, i * 100 ) );
+		}
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	private void cleanup() {
+		Session s = openSession();
+		s.beginTransaction();
+		s.createQuery( "delete Person" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+}
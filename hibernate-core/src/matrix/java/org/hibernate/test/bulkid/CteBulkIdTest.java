@@ -0,0 +1,80 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.bulkid;
+
+import java.util.Collections;
+
+import org.hibernate.cfg.Configuration;
+import org.hibernate.cfg.Environment;
+import org.hibernate.hql.spi.MultiTableBulkIdStrategy;
+
+import org.junit.Test;
+
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks the single statement generated with {@link MultiTableBulkIdStrategy#CTE}; it needs data-modifying
+ * common table expressions to run, which the test databases do not have.
+ */
+public class CteBulkIdTest extends BaseCoreFunctionalTestCase {
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class<?>[] { Person.class, Employee.class };
+	}
+
+	@Override
+	public void configure(Configuration cfg) {
+		super.configure( cfg );
+		cfg.setProperty( Environment.HQL_BULK_ID_STRATEGY, MultiTableBulkIdStrategy.CTE.name() );
+	}
+
+	@Test
+	public void testDelete() {
+		String[] statements = sqlStrings( "delete Employee where salary > :limit" );
+		assertEquals( 1, statements.length );
+		assertTrue( statements[0], statements[0].startsWith( "with hql_ids (id) as (select " ) );
+		assertTrue( statements[0], statements[0].contains( ", hql_delete_0 as (delete from Employee where (id) IN (select id from hql_ids))" ) );
+		assertTrue( statements[0], statements[0].contains( ", hql_delete_1 as (delete from Person where (id) IN (select id from hql_ids))" ) );
+		assertTrue( statements[0], statements[0].endsWith( " select count(*) from hql_ids" ) );
+	}
+
+	@Test
+	public void testUpdate() {
+		String[] statements = sqlStrings( "update Employee set name = :name, salary = :salary where salary > :limit" );
+		assertEquals( 1, statements.length );
+		assertTrue( statements[0], statements[0].startsWith( "with hql_ids (id) as (select " ) );
+		assertTrue( statements[0], statements[0].contains( " as (update Employee set salary=? where (id) IN (select id from hql_ids))" ) );
+		assertTrue( statements[0], statements[0].contains( " as (update Person set name=? where (id) IN (select id from hql_ids))" ) );
+		assertTrue( statements[0], statements[0].endsWith( " select count(*) from hql_ids" ) );
+	}
+
+	private String[] sqlStrings(String hql) {
+		return sessionFactory().getQueryPlanCache()
+				.getHQLQueryPlan( hql, false, Collections.EMPTY_MAP )
+				.getSqlStrings();
+	}
+}
@@ -0,0 +1,70 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.bulkid;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.hql.spi.MultiTableBulkIdStrategy;
+import org.hibernate.persister.entity.Queryable;
+
+import org.hibernate.testing.RequiresDialect;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The id tables are created with the schema; the executors must not issue any DDL.
+ */
+@RequiresDialect( H2Dialect.class )
+public class GlobalTemporaryTableBulkIdTest extends AbstractBulkIdTest {
+	@Override
+	protected MultiTableBulkIdStrategy getStrategy() {
+		return MultiTableBulkIdStrategy.GLOBAL_TEMPORARY_TABLE;
+	}
+
+	@Test
+	public void testIdTablesAreCreatedWithTheSchema() {
+		List<String> creationScript = Arrays.asList( configuration().generateSchemaCreationScript( getDialect() ) );
+		List<String> dropScript = Arrays.asList( configuration().generateDropSchemaScript( getDialect() ) );
+		for ( Class entityClass : getAnnotatedClasses() ) {
+			String idTableName = ( (Queryable) sessionFactory().getEntityPersister( entityClass.getName() ) )
+					.getTemporaryIdTableName();
+			assertTrue(
+					creationScript.contains(
+							getDialect().getCreateGlobalTemporaryTableString() + " " + idTableName + " (id bigint not null) "
+					)
+			);
+			assertTrue(
+					dropScript.contains(
+							configuration().getClassMapping( entityClass.getName() )
+									.buildTemporaryIdTable( getDialect() )
+									.sqlDropString( getDialect(), null, null )
+					)
+			);
+		}
+	}
+}
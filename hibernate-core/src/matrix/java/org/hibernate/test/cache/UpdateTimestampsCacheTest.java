@@ -0,0 +1,150 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.cache;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.hibernate.cache.spi.TimestampsRegion;
+import org.hibernate.cache.spi.UpdateTimestampsCache;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.cfg.Environment;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests {@link UpdateTimestampsCache} invalidation and validation, and {@link TimestampsRegion#getAll} of the
+ * testing region factory.
+ */
+public class UpdateTimestampsCacheTest extends BaseCoreFunctionalTestCase {
+	@Override
+	protected void configure(Configuration cfg) {
+		super.configure( cfg );
+		cfg.setProperty( Environment.USE_QUERY_CACHE, "true" );
+		cfg.setProperty( Environment.CACHE_REGION_PREFIX, "" );
+		cfg.setProperty( Environment.GENERATE_STATISTICS, "true" );
+	}
+
+	@Before
+	public void clearTimestamps() {
+		sessionFactory().getUpdateTimestampsCache().clear();
+		sessionFactory().getStatistics().clear();
+	}
+
+	@Test
+	public void testGetAll() {
+		TimestampsRegion region = sessionFactory().getUpdateTimestampsCache().getRegion();
+		region.put( "A", Long.valueOf( 1 ) );
+		region.put( "B", Long.valueOf( 2 ) );
+
+		Map timestamps = region.getAll( Arrays.asList( "A", "B", "C" ) );
+		assertEquals( 2, timestamps.size() );
+		assertEquals( Long.valueOf( 1 ), timestamps.get( "A" ) );
+		assertEquals( Long.valueOf( 2 ), timestamps.get( "B" ) );
+		assertFalse( timestamps.containsKey( "C" ) );
+	}
+
+	@Test
+	public void testUpToDateOverSeveralSpaces() {
+		UpdateTimestampsCache cache = sessionFactory().getUpdateTimestampsCache();
+		TimestampsRegion region = cache.getRegion();
+
+		cache.invalidate( new Serializable[] { "A" } );
+		long afterA = region.nextTimestamp();
+		cache.invalidate( new Serializable[] { "B" } );
+		long afterB = region.nextTimestamp();
+
+		// "C" was never invalidated
+		assertTrue( cache.isUpToDate( spaces( "A", "B", "C" ), afterB ) );
+		assertFalse( cache.isUpToDate( spaces( "A", "B", "C" ), afterA ) );
+		assertTrue( cache.isUpToDate( spaces( "A", "C" ), afterA ) );
+
+		// a space being written to is stale for any query running meanwhile
+		cache.preinvalidate( new Serializable[] { "C" } );
+		assertFalse( cache.isUpToDate( spaces( "A", "C" ), region.nextTimestamp() ) );
+		cache.invalidate( new Serializable[] { "C" } );
+		assertTrue( cache.isUpToDate( spaces( "A", "B", "C" ), region.nextTimestamp() ) );
+	}
+
+	@Test
+	public void testConcurrentInvalidation() throws Exception {
+		final UpdateTimestampsCache cache = sessionFactory().getUpdateTimestampsCache();
+		final TimestampsRegion region = cache.getRegion();
+		final Serializable[] spaces = new Serializable[] { "A" };
+		final CountDownLatch start = new CountDownLatch( 1 );
+		final AtomicInteger failures = new AtomicInteger();
+		Thread[] threads = new Thread[8];
+		for ( int t = 0; t < threads.length; t++ ) {
+			threads[t] = new Thread() {
+				@Override
+				public void run() {
+					try {
+						start.await();
+						for ( int i = 0; i < 500; i++ ) {
+							cache.preinvalidate( spaces );
+							final long beforeInvalidation = region.nextTimestamp();
+							cache.invalidate( spaces );
+							// a timestamp computed earlier by another thread must not overwrite this one
+							if ( (Long) region.get( "A" ) < beforeInvalidation ) {
+								failures.incrementAndGet();
+							}
+						}
+					}
+					catch ( Throwable e ) {
+						failures.incrementAndGet();
+					}
+				}
+			};
+			threads[t].start();
+		}
+		start.countDown();
+		for ( Thread thread : threads ) {
+			thread.join();
+		}
+		assertEquals( 0, failures.get() );
+		assertEquals( threads.length * 500 * 2, sessionFactory().getStatistics().getUpdateTimestampsCachePutCount() );
+
+		// every thread ended with an invalidation, so the space is no longer pre-invalidated
+		long afterInvalidation = region.nextTimestamp();
+		assertTrue( cache.isUpToDate( spaces( "A" ), afterInvalidation ) );
+		cache.invalidate( spaces );
+		assertFalse( cache.isUpToDate( spaces( "A" ), afterInvalidation ) );
+	}
+
+	private static Set spaces(String... spaces) {
+		return new HashSet<String>( Arrays.asList( spaces ) );
+	}
+}
@@ -0,0 +1,172 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2009-2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.cfg;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.TreeSet;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.cfg.Environment;
+import org.hibernate.service.ServiceRegistry;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.hibernate.testing.ServiceRegistryBuilder;
+import org.hibernate.testing.junit4.BaseUnitTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests {@link Configuration#writeCachedMappings} and {@link Configuration#readCachedMappings}.
+ */
+public class CachedMappingsTest extends BaseUnitTestCase {
+	private File cacheFile;
+
+	@Before
+	public void createCacheFile() throws IOException {
+		cacheFile = File.createTempFile( "hibernate-mappings", ".bin" );
+		assertTrue( cacheFile.delete() );
+	}
+
+	@After
+	public void deleteCacheFile() {
+		cacheFile.delete();
+	}
+
+	@Test
+	public void testReadWrittenMappings() {
+		Configuration cfg = buildConfiguration();
+		assertNull( Configuration.readCachedMappings( cacheFile ) );
+
+		cfg.writeCachedMappings( cacheFile );
+		assertTrue( cacheFile.exists() );
+
+		Configuration cached = Configuration.readCachedMappings( cacheFile );
+		assertNotNull( cached );
+		assertNotNull( cached.getClassMapping( Cached.class.getName() ) );
+		restorePassword( cfg, cached );
+		assertEquals( describe( buildConfiguration() ), describe( cached ) );
+	}
+
+	@Test
+	public void testPasswordsNotWritten() throws IOException {
+		Configuration cfg = buildConfiguration();
+		cfg.setProperty( "hibernate.test.password", "not-in-cache" );
+		cfg.writeCachedMappings( cacheFile );
+		assertEquals( "not-in-cache", cfg.getProperty( "hibernate.test.password" ) );
+
+		byte[] content = new byte[(int) cacheFile.length()];
+		RandomAccessFile file = new RandomAccessFile( cacheFile, "r" );
+		file.readFully( content );
+		file.close();
+		assertFalse( new String( content, "ISO-8859-1" ).contains( "not-in-cache" ) );
+
+		Configuration cached = Configuration.readCachedMappings( cacheFile );
+		assertNotNull( cached );
+		assertNull( cached.getProperty( "hibernate.test.password" ) );
+		assertNull( cached.getProperty( Environment.PASS ) );
+		assertEquals( cfg.getProperty( Environment.USER ), cached.getProperty( Environment.USER ) );
+	}
+
+	@Test
+	public void testStaleCacheIgnored() throws IOException {
+		DataOutputStream out = new DataOutputStream( new FileOutputStream( cacheFile ) );
+		out.writeUTF( "other classpath" );
+		out.close();
+		assertNull( Configuration.readCachedMappings( cacheFile ) );
+	}
+
+	@Test
+	public void testCorruptCacheIgnored() throws IOException {
+		buildConfiguration().writeCachedMappings( cacheFile );
+		// truncate the serialized configuration
+		long length = cacheFile.length();
+		RandomAccessFile file = new RandomAccessFile( cacheFile, "rw" );
+		file.setLength( length / 2 );
+		file.close();
+		assertNull( Configuration.readCachedMappings( cacheFile ) );
+	}
+
+	private Configuration buildConfiguration() {
+		Configuration cfg = new Configuration();
+		cfg.addResource( "org/hibernate/test/legacy/ABC.hbm.xml" );
+		cfg.addResource( "org/hibernate/test/legacy/ABCExtends.hbm.xml" );
+		cfg.addResource( "org/hibernate/test/legacy/MasterDetail.hbm.xml" );
+		cfg.addAnnotatedClass( Cached.class );
+		return cfg;
+	}
+
+	private void restorePassword(Configuration cfg, Configuration cached) {
+		String password = cfg.getProperty( Environment.PASS );
+		if ( password != null ) {
+			cached.setProperty( Environment.PASS, password );
+		}
+	}
+
+	private String describe(Configuration cfg) {
+		SessionFactory factory = null;
+		ServiceRegistry serviceRegistry = null;
+		try {
+			serviceRegistry = ServiceRegistryBuilder.buildServiceRegistry( cfg.getProperties() );
+			factory = cfg.buildSessionFactory( serviceRegistry );
+			return new TreeSet<String>( factory.getAllClassMetadata().keySet() ).toString()
+					+ new TreeSet<String>( factory.getAllCollectionMetadata().keySet() ).toString();
+		}
+		finally {
+			if ( factory != null ) {
+				factory.close();
+			}
+			if ( serviceRegistry != null ) {
+				ServiceRegistryBuilder.destroy( serviceRegistry );
+			}
+		}
+	}
+
+	@Entity
+	public static class Cached {
+		private String id;
+
+		@Id
+		public String getId() {
+			return id;
+		}
+
+		public void setId(String id) {
+			this.id = id;
+		}
+	}
+}
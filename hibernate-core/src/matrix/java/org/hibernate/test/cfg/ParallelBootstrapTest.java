@@ -0,0 +1,165 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2009-2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.cfg;
+
+import java.util.TreeSet;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.NamedQueries;
+import javax.persistence.NamedQuery;
+
+import org.hibernate.HibernateException;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.cfg.Environment;
+import org.hibernate.service.ServiceRegistry;
+
+import org.junit.Test;
+
+import org.hibernate.testing.ServiceRegistryBuilder;
+import org.hibernate.testing.junit4.BaseUnitTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests building a session factory with {@link Environment#BOOTSTRAP_PARALLELISM} above one.
+ */
+public class ParallelBootstrapTest extends BaseUnitTestCase {
+	private static final String[] FILES = new String[] {
+			"legacy/ABC.hbm.xml",
+			"legacy/ABCExtends.hbm.xml",
+			"legacy/Baz.hbm.xml",
+			"legacy/Blobber.hbm.xml",
+			"legacy/Broken.hbm.xml",
+			"legacy/Category.hbm.xml",
+			"legacy/Circular.hbm.xml",
+			"legacy/Commento.hbm.xml",
+			"legacy/ComponentNotNullMaster.hbm.xml",
+			"legacy/Componentizable.hbm.xml",
+			"legacy/Container.hbm.xml",
+			"legacy/Custom.hbm.xml",
+			"legacy/CustomSQL.hbm.xml",
+			"legacy/Eye.hbm.xml",
+			"legacy/Fee.hbm.xml",
+			"legacy/Fo.hbm.xml",
+			"legacy/FooBar.hbm.xml",
+			"legacy/Fum.hbm.xml",
+			"legacy/Fumm.hbm.xml",
+			"legacy/Glarch.hbm.xml",
+			"legacy/Holder.hbm.xml",
+			"legacy/IJ2.hbm.xml",
+			"legacy/Immutable.hbm.xml",
+			"legacy/Location.hbm.xml",
+			"legacy/Many.hbm.xml",
+			"legacy/Map.hbm.xml",
+			"legacy/Marelo.hbm.xml",
+			"legacy/MasterDetail.hbm.xml",
+			"legacy/Middle.hbm.xml",
+			"legacy/Multi.hbm.xml",
+			"legacy/MultiExtends.hbm.xml",
+			"legacy/Nameable.hbm.xml",
+			"legacy/One.hbm.xml",
+			"legacy/ParentChild.hbm.xml",
+			"legacy/Qux.hbm.xml",
+			"legacy/Simple.hbm.xml",
+			"legacy/SingleSeveral.hbm.xml",
+			"legacy/Stuff.hbm.xml",
+			"legacy/UpDown.hbm.xml",
+			"legacy/Vetoer.hbm.xml",
+			"legacy/WZ.hbm.xml",
+			"cfg/orm-serializable.xml"
+	};
+
+	@Test
+	public void testParallelBootstrapBuildsSameModel() {
+		String sequential = describe( buildLegacyConfiguration( "1" ) );
+		String parallel = describe( buildLegacyConfiguration( "4" ) );
+		assertEquals( sequential, parallel );
+	}
+
+	@Test
+	public void testNamedQueryErrorsReportedInOrder() {
+		Configuration cfg = new Configuration();
+		cfg.addAnnotatedClass( Broken.class );
+		cfg.setProperty( Environment.BOOTSTRAP_PARALLELISM, "4" );
+		try {
+			describe( cfg );
+			fail( "expected the named query check to fail" );
+		}
+		catch ( HibernateException expected ) {
+			assertEquals( "Errors in named queries: a.broken, b.broken, c.broken", expected.getMessage() );
+		}
+	}
+
+	private Configuration buildLegacyConfiguration(String parallelism) {
+		Configuration cfg = new Configuration();
+		for ( String file : FILES ) {
+			cfg.addResource( "org/hibernate/test/" + file );
+		}
+		cfg.setProperty( Environment.BOOTSTRAP_PARALLELISM, parallelism );
+		return cfg;
+	}
+
+	private String describe(Configuration cfg) {
+		SessionFactory factory = null;
+		ServiceRegistry serviceRegistry = null;
+		try {
+			serviceRegistry = ServiceRegistryBuilder.buildServiceRegistry( cfg.getProperties() );
+			factory = cfg.buildSessionFactory( serviceRegistry );
+			assertTrue( factory.getAllClassMetadata().size() > 0 );
+			return new TreeSet<String>( factory.getAllClassMetadata().keySet() ).toString()
+					+ new TreeSet<String>( factory.getAllCollectionMetadata().keySet() ).toString();
+		}
+		finally {
+			if ( factory != null ) {
+				factory.close();
+			}
+			if ( serviceRegistry != null ) {
+				ServiceRegistryBuilder.destroy( serviceRegistry );
+			}
+		}
+	}
+
+	@Entity( name = "Broken" )
+	@NamedQueries( {
+			@NamedQuery( name = "c.broken", query = "from Broken b where b.missing = 1" ),
+			@NamedQuery( name = "valid", query = "from Broken" ),
+			@NamedQuery( name = "a.broken", query = "from Unknown" ),
+			@NamedQuery( name = "b.broken", query = "select b.missing from Broken b" )
+	} )
+	public static class Broken {
+		private String id;
+
+		@Id
+		public String getId() {
+			return id;
+		}
+
+		public void setId(String id) {
+			this.id = id;
+		}
+	}
+}
@@ -0,0 +1,226 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.idgen.identity;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.hibernate.Session;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.cfg.Environment;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.service.jdbc.connections.internal.DriverManagerConnectionProviderImpl;
+
+import org.junit.Test;
+
+import org.hibernate.testing.RequiresDialect;
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Counts the JDBC batches and statements issued for delayed identity inserts.  H2 only returns the last
+ * key of a batch from <tt>getGeneratedKeys()</tt>, so the dialect is stubbed to report batched identity
+ * inserts as supported and the connections are wrapped to return every key of the batch instead.
+ */
+@RequiresDialect( H2Dialect.class )
+public class BatchedIdentityInsertCountTest extends BaseCoreFunctionalTestCase {
+	// the number of rows of each executed JDBC batch
+	private static final List<Integer> batchSizes = new ArrayList<Integer>();
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class<?>[] { Node.class };
+	}
+
+	@Override
+	public void configure(Configuration cfg) {
+		super.configure( cfg );
+		cfg.setProperty( Environment.DIALECT, BatchedIdentityH2Dialect.class.getName() );
+		cfg.setProperty( Environment.CONNECTION_PROVIDER, AllGeneratedKeysConnectionProvider.class.getName() );
+		cfg.setProperty( Environment.STATEMENT_BATCH_SIZE, "5" );
+		cfg.setProperty( Environment.BATCH_IDENTITY_INSERTS, "true" );
+		cfg.setProperty( Environment.GENERATE_STATISTICS, "true" );
+	}
+
+	@Test
+	public void testInsertsAreExecutedInBatches() {
+		List<Node> nodes = new ArrayList<Node>();
+		Session s = openSession();
+		s.beginTransaction();
+		sessionFactory().getStatistics().clear();
+		batchSizes.clear();
+		for ( int i = 0; i < 12; i++ ) {
+			Node node = new Node( "node-" + i, null );
+			s.persist( node );
+			nodes.add( node );
+		}
+		s.flush();
+		assertEquals( Arrays.asList( 5, 5, 2 ), batchSizes );
+		assertEquals( 3, sessionFactory().getStatistics().getPrepareStatementCount() );
+		assertEquals( 12, sessionFactory().getStatistics().getEntityInsertCount() );
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		for ( int i = 0; i < 12; i++ ) {
+			assertEquals( "node-" + i, ( (Node) s.get( Node.class, nodes.get( i ).getId() ) ).getName() );
+		}
+		s.getTransaction().commit();
+		s.close();
+
+		cleanup();
+	}
+
+	@Test
+	public void testBatchEndsAtInsertReferencingMember() {
+		Session s = openSession();
+		s.beginTransaction();
+		sessionFactory().getStatistics().clear();
+		batchSizes.clear();
+		Node root = new Node( "root", null );
+		s.persist( root );
+		Node child = new Node( "child", root );
+		s.persist( child );
+		Node otherRoot = new Node( "other root", null );
+		s.persist( otherRoot );
+		Node otherChild = new Node( "other child", otherRoot );
+		s.persist( otherChild );
+		s.flush();
+		// [root], [child, other root], [other child]: single inserts are not batched
+		assertEquals( Arrays.asList( 2 ), batchSizes );
+		assertEquals( 3, sessionFactory().getStatistics().getPrepareStatementCount() );
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		assertEquals( root.getId(), ( (Node) s.get( Node.class, child.getId() ) ).getParent().getId() );
+		assertEquals( otherRoot.getId(), ( (Node) s.get( Node.class, otherChild.getId() ) ).getParent().getId() );
+		assertEquals( "other root", ( (Node) s.get( Node.class, otherRoot.getId() ) ).getName() );
+		s.getTransaction().commit();
+		s.close();
+
+		cleanup();
+	}
+
+	private void cleanup() {
+		Session s = openSession();
+		s.beginTransaction();
+		s.createQuery( "update Node set parent = null" ).executeUpdate();
+		s.createQuery( "delete Node" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	public static class BatchedIdentityH2Dialect extends H2Dialect {
+		@Override
+		public boolean supportsBatchedIdentityInserts() {
+			return true;
+		}
+	}
+
+	/**
+	 * Records the size of each batch executed with generated keys and returns all of its keys, which H2
+	 * assigns consecutively within the (single threaded) test.
+	 */
+	public static class AllGeneratedKeysConnectionProvider extends DriverManagerConnectionProviderImpl {
+		@Override
+		public Connection getConnection() throws SQLException {
+			final Connection connection = super.getConnection();
+			if ( Proxy.isProxyClass( connection.getClass() ) ) {
+				// returned from the pool
+				return connection;
+			}
+			return (Connection) Proxy.newProxyInstance(
+					Connection.class.getClassLoader(),
+					new Class[] { Connection.class },
+					new InvocationHandler() {
+						public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+							Object result = invokeOn( connection, method, args );
+							if ( "prepareStatement".equals( method.getName() )
+									&& args.length == 2
+									&& Integer.valueOf( Statement.RETURN_GENERATED_KEYS ).equals( args[1] ) ) {
+								return wrap( connection, (PreparedStatement) result );
+							}
+							return result;
+						}
+					}
+			);
+		}
+
+		private static PreparedStatement wrap(final Connection connection, final PreparedStatement statement) {
+			return (PreparedStatement) Proxy.newProxyInstance(
+					PreparedStatement.class.getClassLoader(),
+					new Class[] { PreparedStatement.class },
+					new InvocationHandler() {
+						private int added;
+						private int executed;
+
+						public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+							if ( "addBatch".equals( method.getName() ) ) {
+								added++;
+							}
+							else if ( "executeBatch".equals( method.getName() ) ) {
+								batchSizes.add( added );
+								executed = added;
+								added = 0;
+							}
+							else if ( "getGeneratedKeys".equals( method.getName() ) && executed > 1 ) {
+								ResultSet lastKey = statement.getGeneratedKeys();
+								lastKey.next();
+								long last = lastKey.getLong( 1 );
+								lastKey.close();
+								PreparedStatement keys = connection.prepareStatement( "select x from system_range(?, ?)" );
+								keys.setLong( 1, last - executed + 1 );
+								keys.setLong( 2, last );
+								return keys.executeQuery();
+							}
+							return invokeOn( statement, method, args );
+						}
+					}
+			);
+		}
+
+		private static Object invokeOn(Object target, Method method, Object[] args) throws Throwable {
+			try {
+				return method.invoke( target, args );
+			}
+			catch ( InvocationTargetException e ) {
+				throw e.getTargetException();
+			}
+		}
+	}
+}
@@ -0,0 +1,153 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.idgen.identity;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.Session;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.cfg.Environment;
+
+import org.junit.Test;
+
+import org.hibernate.testing.DialectChecks;
+import org.hibernate.testing.RequiresDialectFeature;
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests for delaying identity inserts made through persist() to flush time so they can be batched.
+ */
+@RequiresDialectFeature( DialectChecks.SupportsIdentityColumns.class )
+public class BatchedIdentityInsertTest extends BaseCoreFunctionalTestCase {
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class<?>[] { Node.class };
+	}
+
+	@Override
+	public void configure(Configuration cfg) {
+		super.configure( cfg );
+		cfg.setProperty( Environment.STATEMENT_BATCH_SIZE, "5" );
+		cfg.setProperty( Environment.BATCH_IDENTITY_INSERTS, "true" );
+	}
+
+	@Test
+	public void testIdentifiersAndReferencesAfterFlush() {
+		Session s = openSession();
+		s.beginTransaction();
+		List<Node> roots = new ArrayList<Node>();
+		List<Node> children = new ArrayList<Node>();
+		for ( int i = 0; i < 12; i++ ) {
+			Node root = new Node( "root-" + i, null );
+			s.persist( root );
+			roots.add( root );
+		}
+		for ( int i = 0; i < 12; i++ ) {
+			Node child = new Node( "child-" + i, roots.get( i ) );
+			s.persist( child );
+			children.add( child );
+		}
+		Node grandChild = new Node( "grandchild", children.get( 0 ) );
+		s.persist( grandChild );
+		s.getTransaction().commit();
+		s.close();
+
+		assertNotNull( grandChild.getId() );
+
+		s = openSession();
+		s.beginTransaction();
+		for ( int i = 0; i < 12; i++ ) {
+			Node child = (Node) s.get( Node.class, children.get( i ).getId() );
+			assertEquals( "child-" + i, child.getName() );
+			assertEquals( roots.get( i ).getId(), child.getParent().getId() );
+			assertEquals( "root-" + i, child.getParent().getName() );
+		}
+		Node loaded = (Node) s.get( Node.class, grandChild.getId() );
+		assertEquals( children.get( 0 ).getId(), loaded.getParent().getId() );
+		s.getTransaction().commit();
+		s.close();
+
+		cleanup();
+	}
+
+	@Test
+	public void testSaveStillAssignsIdentifierImmediately() {
+		Session s = openSession();
+		s.beginTransaction();
+		Node root = new Node( "root", null );
+		s.persist( root );
+		Node child = new Node( "child", root );
+		s.save( child );
+		assertNotNull( root.getId() );
+		assertNotNull( child.getId() );
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		Node loaded = (Node) s.get( Node.class, child.getId() );
+		assertEquals( root.getId(), loaded.getParent().getId() );
+		s.getTransaction().commit();
+		s.close();
+
+		cleanup();
+	}
+
+	@Test
+	@RequiresDialectFeature( DialectChecks.SupportsBatchedIdentityInserts.class )
+	public void testPersistDelaysIdentityInsertUntilFlush() {
+		Session s = openSession();
+		s.beginTransaction();
+		Node first = new Node( "first", null );
+		Node second = new Node( "second", null );
+		s.persist( first );
+		s.persist( second );
+		assertNull( first.getId() );
+		assertNull( second.getId() );
+		s.flush();
+		assertNotNull( first.getId() );
+		assertNotNull( second.getId() );
+		assertEquals( -1, first.getId().compareTo( second.getId() ) );
+		assertSame( first, s.get( Node.class, first.getId() ) );
+		s.getTransaction().commit();
+		s.close();
+
+		cleanup();
+	}
+
+	private void cleanup() {
+		Session s = openSession();
+		s.beginTransaction();
+		s.createQuery( "update Node set parent = null" ).executeUpdate();
+		s.createQuery( "delete Node" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+}
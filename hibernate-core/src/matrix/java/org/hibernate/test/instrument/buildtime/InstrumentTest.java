@@ -32,6 +32,7 @@ import org.hibernate.testing.junit4.BaseUnitTestCase;
 import org.hibernate.test.instrument.cases.Executable;
 import org.hibernate.test.instrument.cases.TestCustomColumnReadAndWrite;
 import org.hibernate.test.instrument.cases.TestDirtyCheckExecutable;
+import org.hibernate.test.instrument.cases.TestDirtyFieldTrackingExecutable;
 import org.hibernate.test.instrument.cases.TestFetchAllExecutable;
 import org.hibernate.test.instrument.cases.TestInjectFieldInterceptorExecutable;
 import org.hibernate.test.instrument.cases.TestIsPropertyInitializedExecutable;
@@ -55,6 +56,11 @@ public class InstrumentTest extends BaseUnitTestCase {
 		execute( new TestDirtyCheckExecutable() );
 	}
 
+	@Test
+	public void testDirtyFieldTracking() throws Exception {
+		execute( new TestDirtyFieldTrackingExecutable() );
+	}
+
 	@Test
 	public void testFetchAll() throws Exception {
 		execute( new TestFetchAllExecutable() );
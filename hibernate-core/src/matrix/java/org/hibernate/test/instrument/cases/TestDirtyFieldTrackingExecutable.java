@@ -0,0 +1,131 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.instrument.cases;
+
+import java.util.Date;
+
+import junit.framework.Assert;
+
+import org.hibernate.Session;
+import org.hibernate.bytecode.instrumentation.internal.FieldInterceptionHelper;
+import org.hibernate.bytecode.instrumentation.spi.FieldInterceptor;
+
+import org.hibernate.test.instrument.domain.Document;
+import org.hibernate.test.instrument.domain.Folder;
+import org.hibernate.test.instrument.domain.Owner;
+
+/**
+ * Checks that the field interceptor tracks the written fields, and that flush skips entities whose written fields
+ * still hold their loaded values, but not entities with a mutable property changed in place.
+ */
+public class TestDirtyFieldTrackingExecutable extends AbstractExecutable {
+	public void execute() {
+		Session s = getFactory().openSession();
+		s.beginTransaction();
+		Owner o = new Owner();
+		o.setName( "gavin" );
+		s.persist( o );
+		s.getTransaction().commit();
+		s.close();
+
+		getFactory().getStatistics().setStatisticsEnabled( true );
+		getFactory().getStatistics().clear();
+
+		s = getFactory().openSession();
+		s.beginTransaction();
+		o = (Owner) s.get( Owner.class, o.getId() );
+		FieldInterceptor interceptor = FieldInterceptionHelper.extractFieldInterceptor( o );
+		Assert.assertFalse( interceptor.isDirty() );
+		Assert.assertTrue( interceptor.getDirtyFields().isEmpty() );
+
+		// writing the value the field already holds
+		o.setName( "gavin" );
+		Assert.assertTrue( interceptor.isDirty() );
+		Assert.assertTrue( interceptor.getDirtyFields().contains( "name" ) );
+		s.flush();
+		Assert.assertEquals( 0, getFactory().getStatistics().getEntityUpdateCount() );
+		Assert.assertFalse( interceptor.isDirty() );
+
+		o.setName( "steve" );
+		Assert.assertEquals( 1, interceptor.getDirtyFields().size() );
+		s.flush();
+		Assert.assertEquals( 1, getFactory().getStatistics().getEntityUpdateCount() );
+		Assert.assertFalse( interceptor.isDirty() );
+
+		// forced dirtiness does not know the fields
+		interceptor.dirty();
+		Assert.assertNull( interceptor.getDirtyFields() );
+		s.getTransaction().commit();
+		s.close();
+
+		s = getFactory().openSession();
+		s.beginTransaction();
+		o = (Owner) s.get( Owner.class, o.getId() );
+		Assert.assertEquals( "steve", o.getName() );
+		Folder folder = new Folder();
+		folder.setName( "books" );
+		s.persist( folder );
+		Document doc = new Document();
+		doc.setName( "HiA" );
+		doc.setSummary( "blah" );
+		doc.updateText( "blah blah" );
+		doc.setOwner( o );
+		doc.setFolder( folder );
+		s.persist( doc );
+		s.getTransaction().commit();
+		s.close();
+
+		getFactory().getStatistics().clear();
+
+		s = getFactory().openSession();
+		s.beginTransaction();
+		doc = (Document) s.get( Document.class, doc.getId() );
+		// initializes the lazy properties, the date is then mutated without any field write
+		Date lastTextModification = doc.getLastTextModification();
+		interceptor = FieldInterceptionHelper.extractFieldInterceptor( doc );
+		Assert.assertFalse( interceptor.getDirtyFields().contains( "lastTextModification" ) );
+		lastTextModification.setTime( 1000000L );
+		s.flush();
+		Assert.assertEquals( 1, getFactory().getStatistics().getEntityUpdateCount() );
+
+		// a written field and a mutable property changed in place are both found dirty
+		doc.setSummary( "blah blah" );
+		doc.getLastTextModification().setTime( 2000000L );
+		s.flush();
+		Assert.assertEquals( 2, getFactory().getStatistics().getEntityUpdateCount() );
+		s.getTransaction().commit();
+		s.close();
+
+		s = getFactory().openSession();
+		s.beginTransaction();
+		doc = (Document) s.get( Document.class, doc.getId() );
+		Assert.assertEquals( "blah blah", doc.getSummary() );
+		Assert.assertEquals( 2000000L, doc.getLastTextModification().getTime() );
+		s.delete( doc );
+		s.delete( doc.getOwner() );
+		s.delete( doc.getFolder() );
+		s.getTransaction().commit();
+		s.close();
+	}
+}
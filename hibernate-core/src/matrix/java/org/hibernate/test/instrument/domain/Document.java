@@ -111,6 +111,12 @@ public class Document {
 	public double getSizeKb() {
 		return sizeKb;
 	}	
+	/**
+	 * @return The time of the last text modification.
+	 */
+	public Date getLastTextModification() {
+		return lastTextModification;
+	}
 	
 	public void updateText(String newText) {
 		if ( !newText.equals(text) ) {
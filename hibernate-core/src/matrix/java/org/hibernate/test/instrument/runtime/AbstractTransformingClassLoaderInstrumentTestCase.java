@@ -90,6 +90,11 @@ public abstract class AbstractTransformingClassLoaderInstrumentTestCase extends
 		executeExecutable( "org.hibernate.test.instrument.cases.TestDirtyCheckExecutable" );
 	}
 
+	@Test
+	public void testDirtyFieldTracking() {
+		executeExecutable( "org.hibernate.test.instrument.cases.TestDirtyFieldTrackingExecutable" );
+	}
+
 	@Test
     @SkipForDialect( value = MySQLDialect.class, comment = "wrong sql in mapping, mysql needs double type, but it is float type in mapping")
 	public void testFetchAll() throws Exception {
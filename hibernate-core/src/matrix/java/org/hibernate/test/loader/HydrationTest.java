@@ -0,0 +1,139 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.loader;
+
+import java.util.List;
+
+import org.hibernate.Session;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.cfg.Environment;
+
+import org.junit.Test;
+
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests that entities hydrated by column position (rather than by column alias) come back intact, across
+ * subclasses, multiple entity returns and native SQL aliases.
+ */
+public class HydrationTest extends BaseCoreFunctionalTestCase {
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class<?>[] { Vehicle.class, Car.class, Truck.class };
+	}
+
+	@Override
+	public void configure(Configuration cfg) {
+		super.configure( cfg );
+		cfg.setProperty( Environment.WRAP_RESULT_SETS, "true" );
+	}
+
+	@Test
+	public void testPolymorphicQuery() {
+		createVehicles();
+
+		Session s = openSession();
+		s.beginTransaction();
+		List vehicles = s.createQuery( "from Vehicle order by id" ).list();
+		assertVehicles( vehicles );
+		s.getTransaction().commit();
+		s.close();
+
+		cleanup();
+	}
+
+	@Test
+	public void testMultipleEntityReturns() {
+		createVehicles();
+
+		Session s = openSession();
+		s.beginTransaction();
+		List rows = s.createQuery( "from Truck t, Car c order by t.id, c.id" ).list();
+		assertEquals( 4, rows.size() );
+		Object[] row = (Object[]) rows.get( 3 );
+		Truck truck = (Truck) row[0];
+		Car car = (Car) row[1];
+		assertEquals( "hauler", truck.getName() );
+		assertNull( truck.getPayload() );
+		assertEquals( "coupe", car.getName() );
+		assertEquals( 2, car.getDoors() );
+		s.getTransaction().commit();
+		s.close();
+
+		cleanup();
+	}
+
+	@Test
+	public void testNativeQuery() {
+		createVehicles();
+
+		Session s = openSession();
+		s.beginTransaction();
+		List vehicles = s.createSQLQuery( "select {v.*} from Vehicle v order by v.id" )
+				.addEntity( "v", Vehicle.class )
+				.list();
+		assertVehicles( vehicles );
+		s.getTransaction().commit();
+		s.close();
+
+		cleanup();
+	}
+
+	private void assertVehicles(List vehicles) {
+		assertEquals( 4, vehicles.size() );
+		Car sedan = (Car) vehicles.get( 0 );
+		assertEquals( "sedan", sedan.getName() );
+		assertEquals( 4, sedan.getDoors() );
+		Truck tipper = (Truck) vehicles.get( 1 );
+		assertEquals( "tipper", tipper.getName() );
+		assertEquals( Double.valueOf( 7.5d ), tipper.getPayload() );
+		assertTrue( vehicles.get( 2 ) instanceof Car );
+		Truck hauler = (Truck) vehicles.get( 3 );
+		assertEquals( "hauler", hauler.getName() );
+		assertNull( hauler.getPayload() );
+	}
+
+	private void createVehicles() {
+		Session s = openSession();
+		s.beginTransaction();
+		s.save( new Car( 1L, "sedan", 4 ) );
+		s.save( new Truck( 2L, "tipper", 7.5d ) );
+		s.save( new Car( 3L, "coupe", 2 ) );
+		s.save( new Truck( 4L, "hauler", null ) );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	private void cleanup() {
+		Session s = openSession();
+		s.beginTransaction();
+		s.createQuery( "delete Vehicle" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+}
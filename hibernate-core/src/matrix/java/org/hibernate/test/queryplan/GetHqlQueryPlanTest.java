@@ -28,11 +28,13 @@ import org.hibernate.Session;
 import org.hibernate.engine.query.spi.HQLQueryPlan;
 import org.hibernate.engine.query.spi.QueryPlanCache;
 import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.stat.Statistics;
 
 import org.junit.Test;
 
 import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
@@ -80,6 +82,26 @@ public class GetHqlQueryPlanTest extends BaseCoreFunctionalTestCase {
 		s.close();
 	}
 
+	@Test
+	public void testHqlQueryPlanCacheStatistics() {
+		Session s = openSession();
+		QueryPlanCache cache = ( ( SessionImplementor ) s ).getFactory().getQueryPlanCache();
+		Statistics stats = sessionFactory().getStatistics();
+		stats.setStatisticsEnabled( true );
+		stats.clear();
+
+		HQLQueryPlan plan = cache.getHQLQueryPlan( "from Person where name <> :name", false, getEnabledFilters( s ) );
+		assertEquals( 0, stats.getQueryPlanCacheHitCount() );
+		assertEquals( 1, stats.getQueryPlanCacheMissCount() );
+
+		assertSame( plan, cache.getHQLQueryPlan( "from Person where name <> :name", false, getEnabledFilters( s ) ) );
+		assertEquals( 1, stats.getQueryPlanCacheHitCount() );
+		assertEquals( 1, stats.getQueryPlanCacheMissCount() );
+
+		stats.setStatisticsEnabled( false );
+		s.close();
+	}
+
 	@Test
 	@SuppressWarnings( {"UnnecessaryBoxing"})
 	public void testHqlQueryPlanWithEnabledFilter() {
@@ -0,0 +1,300 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.scroll;
+
+import java.io.Serializable;
+
+import org.hibernate.Hibernate;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.hibernate.StatelessSession;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.cfg.Environment;
+import org.hibernate.criterion.Order;
+import org.hibernate.engine.spi.PersistenceContext;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+
+import org.junit.Test;
+
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests that {@link ScrollMode#STREAMING} results detach the rows the cursor has moved past.
+ */
+public class StreamingScrollTest extends BaseCoreFunctionalTestCase {
+	private static final int COUNT = 20;
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class<?>[] { Document.class, Author.class, Review.class };
+	}
+
+	@Override
+	protected void configure(Configuration configuration) {
+		super.configure( configuration );
+		configuration.setProperty( Environment.DEFAULT_BATCH_FETCH_SIZE, "5" );
+	}
+
+	@Test
+	public void testQueryRowsAreDetached() {
+		createDocuments();
+
+		Session s = openSession();
+		s.beginTransaction();
+		Document kept = (Document) s.get( Document.class, 1L );
+		ScrollableResults results = s.createQuery( "from Document order by id" ).scroll( ScrollMode.STREAMING );
+		assertStreamsDetachedRows( s, results, kept );
+		s.getTransaction().commit();
+		s.close();
+
+		cleanup();
+	}
+
+	@Test
+	public void testCriteriaRowsAreDetached() {
+		createDocuments();
+
+		Session s = openSession();
+		s.beginTransaction();
+		Document kept = (Document) s.get( Document.class, 1L );
+		ScrollableResults results = s.createCriteria( Document.class )
+				.addOrder( Order.asc( "id" ) )
+				.scroll( ScrollMode.STREAMING );
+		assertStreamsDetachedRows( s, results, kept );
+		s.getTransaction().commit();
+		s.close();
+
+		cleanup();
+	}
+
+	@Test
+	public void testLazyToOneProxiesAreDetached() {
+		Session s = openSession();
+		s.beginTransaction();
+		for ( long i = 1; i <= COUNT; i++ ) {
+			Author author = new Author( i, "author-" + i );
+			s.persist( author );
+			s.persist( new Document( i, "doc-" + i, author ) );
+		}
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		PersistenceContext persistenceContext = ( (SessionImplementor) s ).getPersistenceContext();
+		Author kept = (Author) s.load( Author.class, 1L );
+		ScrollableResults results = s.createQuery( "from Document order by id" ).scroll( ScrollMode.STREAMING );
+		Author previous = null;
+		int count = 0;
+		while ( results.next() ) {
+			Document document = (Document) results.get( 0 );
+			assertEquals( Long.valueOf( ++count ), document.getId() );
+			assertFalse( Hibernate.isInitialized( document.getAuthor() ) );
+			if ( count == 1 ) {
+				assertSame( kept, document.getAuthor() );
+			}
+			// the proxy loaded before scrolling, and the author of the current row
+			assertTrue( persistenceContext.getProxiesByKey().size() <= 2 );
+			assertTrue( persistenceContext.getEntitiesByKey().size() <= 1 );
+			previous = document.getAuthor();
+		}
+		results.close();
+		assertEquals( COUNT, count );
+		assertEquals( 1, persistenceContext.getProxiesByKey().size() );
+		assertSame( kept, s.load( Author.class, 1L ) );
+
+		// no batch fetch keys are left behind for the authors of the detached rows
+		EntityPersister persister = ( (SessionImplementor) s ).getFactory().getEntityPersister( Author.class.getName() );
+		Serializable[] batch = persistenceContext.getBatchFetchQueue()
+				.getEntityBatch( persister, 1L, 5, persister.getEntityMode() );
+		for ( int i = 1; i < batch.length; i++ ) {
+			assertNull( batch[i] );
+		}
+
+		// the last author can still be initialized while the session is open
+		assertEquals( "author-" + COUNT, previous.getName() );
+		s.getTransaction().commit();
+		s.close();
+
+		cleanup();
+	}
+
+	@Test
+	public void testEagerToOneTargetsAreDetached() {
+		Session s = openSession();
+		s.beginTransaction();
+		for ( long i = 1; i <= COUNT; i++ ) {
+			Author author = new Author( i, "author-" + i );
+			s.persist( author );
+			s.persist( new Review( i, "review-" + i, author ) );
+		}
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		PersistenceContext persistenceContext = ( (SessionImplementor) s ).getPersistenceContext();
+		ScrollableResults results = s.createQuery( "from Review order by id" ).scroll( ScrollMode.STREAMING );
+		Author added = new Author( COUNT + 1L, "added while scrolling" );
+		Author previous = null;
+		int count = 0;
+		while ( results.next() ) {
+			Review review = (Review) results.get( 0 );
+			assertEquals( Long.valueOf( ++count ), review.getId() );
+			// loaded by a secondary select
+			assertTrue( Hibernate.isInitialized( review.getAuthor() ) );
+			assertTrue( s.contains( review.getAuthor() ) );
+			assertEquals( "author-" + count, review.getAuthor().getName() );
+			if ( previous != null ) {
+				assertFalse( s.contains( previous ) );
+			}
+			if ( count == 1 ) {
+				s.persist( added );
+			}
+			// the current review, its author and the author persisted while scrolling
+			assertTrue( persistenceContext.getEntityEntries().size() <= 3 );
+			previous = review.getAuthor();
+		}
+		results.close();
+		assertEquals( COUNT, count );
+		// entities not inserted yet stay managed
+		assertTrue( s.contains( added ) );
+		s.getTransaction().commit();
+		s.close();
+
+		cleanup();
+	}
+
+	@Test
+	public void testStatelessSession() {
+		createDocuments();
+
+		StatelessSession ss = sessionFactory().openStatelessSession();
+		ss.beginTransaction();
+		ScrollableResults results = ss.createQuery( "from Document order by id" ).scroll( ScrollMode.STREAMING );
+		int count = 0;
+		while ( results.next() ) {
+			assertEquals( Long.valueOf( ++count ), ( (Document) results.get( 0 ) ).getId() );
+		}
+		results.close();
+		assertEquals( COUNT, count );
+		ss.getTransaction().commit();
+		ss.close();
+
+		cleanup();
+	}
+
+	@Test
+	public void testForwardOnlyWithReusedRows() {
+		createDocuments();
+
+		Session s = openSession();
+		s.beginTransaction();
+		ScrollableResults results = s.createQuery( "select d.title from Document d order by d.id" )
+				.scroll( ScrollMode.STREAMING );
+		assertTrue( results.next() );
+		assertTrue( results.isFirst() );
+		Object[] row = results.get();
+		assertEquals( "doc-1", row[0] );
+		assertTrue( results.scroll( 4 ) );
+		assertEquals( 4, results.getRowNumber() );
+		assertSame( row, results.get() );
+		assertEquals( "doc-5", results.getString( 0 ) );
+		try {
+			results.previous();
+			fail( "streaming results should not move backwards" );
+		}
+		catch ( UnsupportedOperationException expected ) {
+		}
+		assertFalse( results.scroll( COUNT ) );
+		assertFalse( results.next() );
+		results.close();
+		s.getTransaction().commit();
+		s.close();
+
+		cleanup();
+	}
+
+	private void assertStreamsDetachedRows(Session s, ScrollableResults results, Document kept) {
+		PersistenceContext persistenceContext = ( (SessionImplementor) s ).getPersistenceContext();
+		Document previous = null;
+		int count = 0;
+		while ( results.next() ) {
+			Document document = (Document) results.get( 0 );
+			assertEquals( Long.valueOf( ++count ), document.getId() );
+			assertTrue( s.contains( document ) );
+			if ( document != kept ) {
+				assertTrue( s.isReadOnly( document ) );
+				// the lazy tags are still usable while the row is current
+				assertEquals( 1, document.getTags().size() );
+			}
+			if ( previous != null && previous != kept ) {
+				assertFalse( s.contains( previous ) );
+			}
+			// the entity loaded before scrolling, and the current row
+			assertTrue( persistenceContext.getEntityEntries().size() <= 2 );
+			assertTrue( persistenceContext.getCollectionEntries().size() <= 2 );
+			previous = document;
+		}
+		results.close();
+		assertEquals( COUNT, count );
+		assertTrue( s.contains( kept ) );
+		assertFalse( s.isReadOnly( kept ) );
+	}
+
+	private void createDocuments() {
+		Session s = openSession();
+		s.beginTransaction();
+		for ( long i = 1; i <= COUNT; i++ ) {
+			s.persist( new Document( i, "doc-" + i ) );
+		}
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	private void cleanup() {
+		Session s = openSession();
+		s.beginTransaction();
+		for ( Object review : s.createQuery( "from Review" ).list() ) {
+			s.delete( review );
+		}
+		for ( Object document : s.createQuery( "from Document" ).list() ) {
+			s.delete( document );
+		}
+		for ( Object author : s.createQuery( "from Author" ).list() ) {
+			s.delete( author );
+		}
+		s.getTransaction().commit();
+		s.close();
+	}
+}
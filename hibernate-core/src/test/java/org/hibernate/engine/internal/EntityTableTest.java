@@ -0,0 +1,201 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.engine.internal;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+import org.hibernate.EntityMode;
+import org.hibernate.LockMode;
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.EntityKey;
+import org.hibernate.engine.spi.Status;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.type.LongType;
+
+import org.hibernate.testing.junit4.BaseUnitTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit tests of the {@link EntityTable} backing {@link StatefulPersistenceContext}
+ */
+public class EntityTableTest extends BaseUnitTestCase {
+	private static final EntityPersister PERSISTER = (EntityPersister) Proxy.newProxyInstance(
+			EntityTableTest.class.getClassLoader(),
+			new Class[] { EntityPersister.class },
+			new InvocationHandler() {
+				public Object invoke(Object proxy, Method method, Object[] args) {
+					final String name = method.getName();
+					if ( "getEntityName".equals( name ) || "getRootEntityName".equals( name ) ) {
+						return "Thing";
+					}
+					if ( "getIdentifierType".equals( name ) ) {
+						return LongType.INSTANCE;
+					}
+					if ( "isBatchLoadable".equals( name ) ) {
+						return Boolean.FALSE;
+					}
+					return null;
+				}
+			}
+	);
+
+	private static EntityKey key(long id) {
+		return new EntityKey( id, PERSISTER, null );
+	}
+
+	private static EntityEntry entry(long id) {
+		return new EntityEntry(
+				Status.MANAGED, null, null, id, null, LockMode.NONE, true, PERSISTER, EntityMode.POJO, null, false, false
+		);
+	}
+
+	@Test
+	public void testKeyAndEntryShareInstance() {
+		EntityTable table = new EntityTable();
+		Object entity = new Object();
+		EntityEntry entry = entry( 1 );
+		table.putEntry( entity, entry, null );
+		table.putEntity( key( 1 ), entity );
+
+		assertSame( entity, table.getEntity( key( 1 ) ) );
+		assertSame( entry, table.getEntry( entity ) );
+		assertEquals( 1, table.entryCount() );
+		assertEquals( 1, table.keyedView( EntityTable.ENTITIES ).size() );
+
+		// the entry outlives the key registration
+		assertSame( entity, table.removeEntity( key( 1 ) ) );
+		assertNull( table.getEntity( key( 1 ) ) );
+		assertSame( entry, table.getEntry( entity ) );
+
+		assertSame( entry, table.removeEntry( entity ) );
+		assertNull( table.getEntry( entity ) );
+		assertEquals( 0, table.entryCount() );
+	}
+
+	@Test
+	public void testProxyAndSnapshotFollowKey() {
+		EntityTable table = new EntityTable();
+		Object proxy = new Object();
+		Object[] snapshot = new Object[0];
+		table.putProxy( key( 1 ), proxy );
+		table.putSnapshot( key( 1 ), snapshot );
+
+		Object entity = new Object();
+		table.putEntry( entity, entry( 1 ), null );
+		table.putEntity( key( 1 ), entity );
+		assertSame( proxy, table.getProxy( key( 1 ) ) );
+		assertSame( snapshot, table.getSnapshot( key( 1 ) ) );
+		assertTrue( table.containsProxy( proxy ) );
+
+		table.removeEntity( key( 1 ) );
+		assertNull( table.getEntity( key( 1 ) ) );
+		assertSame( proxy, table.getProxy( key( 1 ) ) );
+		assertSame( snapshot, table.getSnapshot( key( 1 ) ) );
+		assertTrue( table.getEntry( entity ) != null );
+
+		assertSame( proxy, table.removeProxy( key( 1 ) ) );
+		table.removeSnapshot( key( 1 ) );
+		assertFalse( table.containsProxy( proxy ) );
+		assertNull( table.getSnapshot( key( 1 ) ) );
+		assertEquals( 0, table.keyedView( EntityTable.PROXIES ).size() );
+	}
+
+	@Test
+	public void testEntryArrayIsSnapshot() {
+		EntityTable table = new EntityTable();
+		Object first = new Object();
+		table.putEntry( first, entry( 1 ), null );
+		Map.Entry[] entries = table.entryArray();
+		table.putEntry( new Object(), entry( 2 ), null );
+		table.removeEntry( first );
+		assertEquals( 1, entries.length );
+		assertSame( first, entries[0].getKey() );
+		assertEquals( 1, table.entryArray().length );
+	}
+
+	@Test
+	public void testAgainstReferenceMaps() {
+		EntityTable table = new EntityTable();
+		Map<EntityKey,Object> entities = new HashMap<EntityKey,Object>();
+		Map<Object,EntityEntry> entries = new IdentityHashMap<Object,EntityEntry>();
+		List<Object> order = new ArrayList<Object>();
+		Object[] instances = new Object[500];
+		for ( int i = 0; i < instances.length; i++ ) {
+			instances[i] = new Object();
+		}
+
+		Random random = new Random( 42 );
+		for ( int step = 0; step < 50000; step++ ) {
+			final int id = random.nextInt( instances.length );
+			final Object instance = instances[id];
+			switch ( random.nextInt( 4 ) ) {
+				case 0:
+					// now and then register an instance under some other key
+					final Object entity = random.nextInt( 10 ) == 0 ? instances[random.nextInt( instances.length )] : instance;
+					assertSame( entities.put( key( id ), entity ), table.putEntity( key( id ), entity ) );
+					break;
+				case 1:
+					assertSame( entities.remove( key( id ) ), table.removeEntity( key( id ) ) );
+					break;
+				case 2:
+					EntityEntry entry = entry( id );
+					if ( !entries.containsKey( instance ) ) {
+						order.add( instance );
+					}
+					assertSame( entries.put( instance, entry ), table.putEntry( instance, entry, key( id ) ) );
+					break;
+				default:
+					order.remove( instance );
+					assertSame( entries.remove( instance ), table.removeEntry( instance ) );
+			}
+		}
+
+		assertEquals( entities, new HashMap( table.keyedView( EntityTable.ENTITIES ) ) );
+		for ( Map.Entry<EntityKey,Object> me : entities.entrySet() ) {
+			assertSame( me.getValue(), table.getEntity( me.getKey() ) );
+		}
+		Map.Entry[] actual = table.entryArray();
+		assertEquals( order.size(), actual.length );
+		for ( int i = 0; i < actual.length; i++ ) {
+			assertSame( order.get( i ), actual[i].getKey() );
+			assertSame( entries.get( order.get( i ) ), actual[i].getValue() );
+			assertSame( actual[i].getValue(), table.getEntry( order.get( i ) ) );
+		}
+	}
+}
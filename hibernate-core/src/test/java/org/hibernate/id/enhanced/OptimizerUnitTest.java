@@ -23,6 +23,11 @@
  */
 package org.hibernate.id.enhanced;
 
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.hibernate.id.IdentifierGeneratorHelper;
 import org.hibernate.id.IntegralDataTypeHolder;
 
@@ -255,6 +260,68 @@ public class OptimizerUnitTest extends BaseUnitTestCase {
 		assertEquals( 4, sequence.getCurrentValue() );
 	}
 
+	@Test
+	public void testBasicPooledConcurrentOptimizerUsage() {
+		final SourceMock sequence = new SourceMock( 1, 10 );
+		final Optimizer optimizer = OptimizerFactory.buildOptimizer( OptimizerFactory.POOL_CONCURRENT, Long.class, 10, 1 );
+		for ( int i = 1; i < 6; i++ ) {
+			final Long next = ( Long ) optimizer.generate( sequence );
+			assertEquals( i, next.intValue() );
+		}
+		assertEquals( 2, sequence.getTimesCalled() ); // twice to initialize state
+		assertEquals( 11, sequence.getCurrentValue() );
+
+		// half way through the range the next one is read ahead
+		Long next = ( Long ) optimizer.generate( sequence );
+		assertEquals( 6, next.intValue() );
+		assertEquals( 3, sequence.getTimesCalled() );
+		assertEquals( 21, sequence.getCurrentValue() );
+
+		for ( int i = 7; i < 11; i++ ) {
+			next = ( Long ) optimizer.generate( sequence );
+			assertEquals( i, next.intValue() );
+		}
+		// "clock over" onto the range already read
+		next = ( Long ) optimizer.generate( sequence );
+		assertEquals( 11, next.intValue() );
+		assertEquals( 3, sequence.getTimesCalled() );
+		assertEquals( 21, sequence.getCurrentValue() );
+	}
+
+	@Test
+	public void testConcurrentPooledConcurrentOptimizerUsage() throws Exception {
+		final SourceMock source = new SourceMock( 1, 50 );
+		final AccessCallback sequence = new AccessCallback() {
+			public synchronized IntegralDataTypeHolder getNextValue() {
+				return source.getNextValue();
+			}
+		};
+		final Optimizer optimizer = OptimizerFactory.buildOptimizer( OptimizerFactory.POOL_CONCURRENT, Long.class, 50, 1 );
+		final Set<Long> values = Collections.newSetFromMap( new ConcurrentHashMap<Long, Boolean>() );
+		final int threadCount = 8;
+		final int perThread = 5000;
+		final AtomicInteger duplicates = new AtomicInteger();
+		Thread[] threads = new Thread[threadCount];
+		for ( int t = 0; t < threadCount; t++ ) {
+			threads[t] = new Thread() {
+				@Override
+				public void run() {
+					for ( int i = 0; i < perThread; i++ ) {
+						if ( !values.add( ( Long ) optimizer.generate( sequence ) ) ) {
+							duplicates.incrementAndGet();
+						}
+					}
+				}
+			};
+			threads[t].start();
+		}
+		for ( Thread thread : threads ) {
+			thread.join();
+		}
+		assertEquals( 0, duplicates.get() );
+		assertEquals( threadCount * perThread, values.size() );
+	}
+
 	private static class SourceMock implements AccessCallback {
 		private IdentifierGeneratorHelper.BasicHolder value = new IdentifierGeneratorHelper.BasicHolder( Long.class );
 		private long initialValue;
@@ -203,6 +203,17 @@ public class SequenceStyleConfigUnitTest extends BaseUnitTestCase {
 		assertClassAssignability( OptimizerFactory.PooledOptimizer.class, generator.getOptimizer().getClass() );
 		assertEquals( 20, generator.getOptimizer().getIncrementSize() );
 		assertEquals( 20, generator.getDatabaseStructure().getIncrementSize() );
+
+		// optimizer=pooled-concurrent w/ increment > 1 => table, same as pooled
+		props = buildGeneratorPropertiesBase();
+		props.setProperty( SequenceStyleGenerator.OPT_PARAM, OptimizerFactory.POOL_CONCURRENT );
+		props.setProperty( SequenceStyleGenerator.INCREMENT_PARAM, "20" );
+		generator = new SequenceStyleGenerator();
+		generator.configure( StandardBasicTypes.LONG, props, dialect );
+		assertClassAssignability( TableStructure.class, generator.getDatabaseStructure().getClass() );
+		assertClassAssignability( OptimizerFactory.PooledConcurrentOptimizer.class, generator.getOptimizer().getClass() );
+		assertEquals( 20, generator.getOptimizer().getIncrementSize() );
+		assertEquals( 20, generator.getDatabaseStructure().getIncrementSize() );
 	}
 
 	@Test
@@ -0,0 +1,121 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.stat.internal;
+
+import org.junit.Test;
+
+import org.hibernate.stat.HistogramQueryStatistics;
+import org.hibernate.stat.HistogramSnapshot;
+
+import org.hibernate.testing.junit4.BaseUnitTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit tests of the {@link StripedStatisticsImpl} building blocks
+ */
+public class StripedStatisticsTest extends BaseUnitTestCase {
+	@Test
+	public void testCounterUnderContention() throws Exception {
+		final StripedCounter counter = new StripedCounter();
+		final int perThread = 100000;
+		Thread[] threads = new Thread[8];
+		for ( int t = 0; t < threads.length; t++ ) {
+			threads[t] = new Thread() {
+				@Override
+				public void run() {
+					for ( int i = 0; i < perThread; i++ ) {
+						counter.increment();
+					}
+				}
+			};
+			threads[t].start();
+		}
+		for ( Thread thread : threads ) {
+			thread.join();
+		}
+		assertEquals( threads.length * perThread, counter.get() );
+		counter.reset();
+		assertEquals( 0, counter.get() );
+	}
+
+	@Test
+	public void testHistogramBuckets() {
+		int previous = -1;
+		for ( long value = 0; value < 100000; value++ ) {
+			final int bucket = LatencyHistogram.bucketOf( value );
+			assertTrue( bucket == previous || bucket == previous + 1 );
+			final long reported = LatencyHistogram.highestValueIn( bucket );
+			assertTrue( reported >= value );
+			assertTrue( reported - value <= value / 16 );
+			previous = bucket;
+		}
+		assertEquals( LatencyHistogram.BUCKET_COUNT - 1, LatencyHistogram.bucketOf( Long.MAX_VALUE ) );
+	}
+
+	@Test
+	public void testQueryPercentiles() {
+		StripedStatisticsImpl statistics = new StripedStatisticsImpl();
+		for ( int i = 1; i <= 1000; i++ ) {
+			statistics.queryExecuted( "from Thing", 1, i );
+		}
+		HistogramQueryStatistics queryStatistics = (HistogramQueryStatistics) statistics.getQueryStatistics( "from Thing" );
+		assertEquals( 1000, queryStatistics.getExecutionCount() );
+		assertEquals( 1, queryStatistics.getExecutionMinTime() );
+		assertEquals( 1000, queryStatistics.getExecutionMaxTime() );
+		assertEquals( 500, queryStatistics.getExecutionAvgTime() );
+		assertEquals( 1000, statistics.getQueryExecutionMaxTime() );
+
+		HistogramSnapshot histogram = queryStatistics.getExecutionTimeHistogram();
+		assertEquals( 1000, histogram.getCount() );
+		assertWithin( 500, histogram.getMedian() );
+		assertWithin( 990, histogram.get99thPercentile() );
+		assertEquals( 1000, histogram.get999thPercentile() );
+		assertEquals( 1000, histogram.getValueAtPercentile( 100 ) );
+
+		statistics.clear();
+		assertEquals( 0, statistics.getQueryExecutionCount() );
+		assertEquals( 0, statistics.getQueries().length );
+	}
+
+	@Test
+	public void testCategoryStatisticsUseStripedCounters() {
+		StripedStatisticsImpl statistics = new StripedStatisticsImpl();
+		statistics.loadEntity( "Thing" );
+		statistics.loadEntity( "Thing" );
+		statistics.updateCollection( "Thing.parts" );
+		assertEquals( 2, statistics.getEntityLoadCount() );
+		assertEquals( 2, statistics.getEntityStatistics( "Thing" ).getLoadCount() );
+		assertEquals( 1, statistics.getCollectionStatistics( "Thing.parts" ).getUpdateCount() );
+
+		statistics.clear();
+		assertEquals( 0, statistics.getEntityLoadCount() );
+		assertEquals( 0, statistics.getEntityStatistics( "Thing" ).getLoadCount() );
+	}
+
+	private static void assertWithin(long expected, long actual) {
+		assertTrue( "expected about " + expected + " but was " + actual, actual >= expected && actual <= expected + expected / 16 );
+	}
+}
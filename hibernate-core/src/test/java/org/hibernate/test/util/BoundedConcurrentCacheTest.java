@@ -0,0 +1,139 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.util;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import org.hibernate.internal.util.collections.BoundedConcurrentCache;
+import org.hibernate.testing.junit4.BaseUnitTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link BoundedConcurrentCache}
+ */
+public class BoundedConcurrentCacheTest extends BaseUnitTestCase {
+	@Test
+	public void testBasicOperations() {
+		BoundedConcurrentCache<String,String> cache = new BoundedConcurrentCache<String,String>( 16 );
+		assertNull( cache.get( "a" ) );
+		assertNull( cache.put( "a", "1" ) );
+		assertEquals( "1", cache.get( "a" ) );
+		assertEquals( "1", cache.put( "a", "2" ) );
+		assertEquals( "2", cache.putIfAbsent( "a", "3" ) );
+		assertEquals( "2", cache.get( "a" ) );
+		assertEquals( 1, cache.size() );
+		assertEquals( "2", cache.remove( "a" ) );
+		assertNull( cache.get( "a" ) );
+		cache.put( "b", "1" );
+		cache.clear();
+		assertEquals( 0, cache.size() );
+		assertNull( cache.get( "b" ) );
+	}
+
+	@Test
+	public void testSizeIsBounded() {
+		final AtomicInteger evictions = new AtomicInteger();
+		BoundedConcurrentCache<Integer,Integer> cache = new BoundedConcurrentCache<Integer,Integer>(
+				64,
+				BoundedConcurrentCache.DEFAULT_CONCURRENCY_LEVEL,
+				new BoundedConcurrentCache.EvictionListener<Integer,Integer>() {
+					public void onEviction(Integer key, Integer value) {
+						evictions.incrementAndGet();
+					}
+				}
+		);
+		for ( int i = 0; i < 1000; i++ ) {
+			cache.put( i, i );
+			assertTrue( cache.size() <= cache.getMaxSize() );
+		}
+		assertEquals( 1000 - cache.size(), evictions.get() );
+	}
+
+	@Test
+	public void testFrequentlyUsedEntriesSurviveScans() {
+		BoundedConcurrentCache<Integer,Integer> cache = new BoundedConcurrentCache<Integer,Integer>( 10, 1, null );
+		for ( int i = 0; i < 5; i++ ) {
+			cache.put( i, i );
+		}
+		// hit the first entries repeatedly so they get promoted out of probation
+		for ( int round = 0; round < 100; round++ ) {
+			for ( int i = 0; i < 5; i++ ) {
+				assertNotNull( cache.get( i ) );
+			}
+		}
+		// a scan of one-off entries
+		for ( int i = 100; i < 200; i++ ) {
+			cache.put( i, i );
+		}
+		for ( int i = 0; i < 5; i++ ) {
+			assertEquals( Integer.valueOf( i ), cache.get( i ) );
+		}
+	}
+
+	@Test
+	public void testConcurrentAccess() throws Exception {
+		final BoundedConcurrentCache<Integer,Integer> cache = new BoundedConcurrentCache<Integer,Integer>( 100 );
+		final CountDownLatch start = new CountDownLatch( 1 );
+		final AtomicInteger failures = new AtomicInteger();
+		Thread[] threads = new Thread[8];
+		for ( int t = 0; t < threads.length; t++ ) {
+			final int seed = t;
+			threads[t] = new Thread() {
+				@Override
+				public void run() {
+					try {
+						start.await();
+						for ( int i = 0; i < 10000; i++ ) {
+							final Integer key = ( i * 31 + seed ) % 500;
+							final Integer value = cache.get( key );
+							if ( value == null ) {
+								cache.putIfAbsent( key, key );
+							}
+							else if ( !value.equals( key ) ) {
+								failures.incrementAndGet();
+							}
+						}
+					}
+					catch ( Throwable e ) {
+						failures.incrementAndGet();
+					}
+				}
+			};
+			threads[t].start();
+		}
+		start.countDown();
+		for ( Thread thread : threads ) {
+			thread.join();
+		}
+		assertEquals( 0, failures.get() );
+		assertTrue( cache.size() <= cache.getMaxSize() );
+	}
+}
@@ -77,5 +77,10 @@ public interface EhCacheMessageLogger extends CoreMessageLogger {
                         + "If this happens regularly you should consider increasing the cache timeouts and/or capacity limits", id = 20008 )
     void softLockedCacheExpired( String regionName, Object key, String lock);
 
+    @LogMessage( level = WARN )
+    @Message( value = "Cache[%s] does not support atomic operations; its optimistic read/write access strategy falls back "
+                        + "to locking cache keys", id = 20009 )
+    void atomicOperationsNotSupported( String regionName );
+
 
 }
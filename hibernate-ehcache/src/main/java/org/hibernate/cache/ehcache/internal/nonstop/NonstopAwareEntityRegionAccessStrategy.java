@@ -23,6 +23,10 @@
  */
 package org.hibernate.cache.ehcache.internal.nonstop;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+
 import net.sf.ehcache.constructs.nonstop.NonStopCacheException;
 
 import org.hibernate.cache.CacheException;
@@ -138,6 +142,21 @@ public class NonstopAwareEntityRegionAccessStrategy implements EntityRegionAcces
 		}
 	}
 
+	/**
+	 * {@inheritDoc}
+	 *
+	 * @see org.hibernate.cache.spi.access.EntityRegionAccessStrategy#getAll(java.util.Collection, long)
+	 */
+	public Map getAll(Collection keys, long txTimestamp) throws CacheException {
+		try {
+			return actualStrategy.getAll( keys, txTimestamp );
+		}
+		catch ( NonStopCacheException nonStopCacheException ) {
+			hibernateNonstopExceptionHandler.handleNonstopCacheException( nonStopCacheException );
+			return Collections.EMPTY_MAP;
+		}
+	}
+
 	/**
 	 * {@inheritDoc}
 	 *
@@ -28,6 +28,9 @@ import net.sf.ehcache.Ehcache;
 import org.hibernate.cache.ehcache.internal.strategy.EhcacheAccessStrategyFactory;
 import org.hibernate.cache.spi.TimestampsRegion;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Properties;
 
 /**
@@ -47,4 +50,18 @@ public class EhcacheTimestampsRegion extends EhcacheGeneralDataRegion implements
 	public EhcacheTimestampsRegion(EhcacheAccessStrategyFactory accessStrategyFactory, Ehcache underlyingCache, Properties properties) {
 		super(accessStrategyFactory, underlyingCache, properties);
 	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public Map getAll(Collection keys) {
+		Map result = new HashMap();
+		for ( Object key : keys ) {
+			Object value = get( key );
+			if ( value != null ) {
+				result.put( key, value );
+			}
+		}
+		return result;
+	}
 }
\ No newline at end of file
@@ -54,6 +54,8 @@ public class EhcacheTransactionalDataRegion extends EhcacheDataRegion implements
 
 	private static final int LOCAL_LOCK_PROVIDER_CONCURRENCY = 128;
 
+	private static final String OPTIMISTIC_READ_WRITE_PROPERTY = "net.sf.ehcache.hibernate.optimistic_read_write";
+
 	/**
 	 * Hibernate settings associated with the persistence unit.
 	 */
@@ -66,6 +68,8 @@ public class EhcacheTransactionalDataRegion extends EhcacheDataRegion implements
 
 	private final CacheLockProvider lockProvider;
 
+	private final boolean optimisticReadWrite;
+
 	/**
 	 * Construct an transactional Hibernate cache region around the given Ehcache instance.
 	 */
@@ -82,6 +86,10 @@ public class EhcacheTransactionalDataRegion extends EhcacheDataRegion implements
 		else {
 			this.lockProvider = new StripedReadWriteLockSync( LOCAL_LOCK_PROVIDER_CONCURRENCY );
 		}
+
+		this.optimisticReadWrite = Boolean.parseBoolean(
+				properties.getProperty( OPTIMISTIC_READ_WRITE_PROPERTY, Boolean.FALSE.toString() )
+		);
 	}
 
 	/**
@@ -107,6 +115,14 @@ public class EhcacheTransactionalDataRegion extends EhcacheDataRegion implements
 		return metadata;
 	}
 
+	/**
+	 * Returns <code>true</code> if read/write access strategies of this region should update entries with atomic
+	 * compare-and-swap operations instead of taking key locks.
+	 */
+	public boolean isOptimisticReadWrite() {
+		return optimisticReadWrite;
+	}
+
 	/**
 	 * Get the value mapped to this key, or null if no value is mapped to this key.
 	 */
@@ -157,6 +173,61 @@ public class EhcacheTransactionalDataRegion extends EhcacheDataRegion implements
 		}
 	}
 
+	/**
+	 * Map the given value to the given key if no value is mapped to this key.
+	 *
+	 * @return the value already mapped to this key, or <code>null</code> if the given value was mapped
+	 *
+	 * @throws UnsupportedOperationException if the underlying store does not support atomic operations
+	 */
+	public final Object putIfAbsent(Object key, Object value) throws CacheException {
+		try {
+			Element element = cache.putIfAbsent( new Element( key, value ) );
+			return element == null ? null : element.getObjectValue();
+		}
+		catch ( IllegalStateException e ) {
+			throw new CacheException( e );
+		}
+		catch ( net.sf.ehcache.CacheException e ) {
+			if ( e instanceof NonStopCacheException ) {
+				HibernateNonstopCacheExceptionHandler.getInstance()
+						.handleNonstopCacheException( (NonStopCacheException) e );
+				// as for put(), behave as if the value was mapped
+				return null;
+			}
+			else {
+				throw new CacheException( e );
+			}
+		}
+	}
+
+	/**
+	 * Map the given value to the given key if the value currently mapped to this key is equal to the expected one.
+	 *
+	 * @return <code>true</code> if the given value was mapped
+	 *
+	 * @throws UnsupportedOperationException if the underlying store does not support atomic operations
+	 */
+	public final boolean replace(Object key, Object expectedValue, Object value) throws CacheException {
+		try {
+			return cache.replace( new Element( key, expectedValue ), new Element( key, value ) );
+		}
+		catch ( IllegalStateException e ) {
+			throw new CacheException( e );
+		}
+		catch ( net.sf.ehcache.CacheException e ) {
+			if ( e instanceof NonStopCacheException ) {
+				HibernateNonstopCacheExceptionHandler.getInstance()
+						.handleNonstopCacheException( (NonStopCacheException) e );
+				// as for put(), behave as if the value was mapped
+				return true;
+			}
+			else {
+				throw new CacheException( e );
+			}
+		}
+	}
+
 	/**
 	 * Remove the mapping for this key (if any exists).
 	 */
@@ -23,6 +23,10 @@
  */
 package org.hibernate.cache.ehcache.internal.strategy;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
 import org.hibernate.cache.CacheException;
 import org.hibernate.cache.ehcache.internal.regions.EhcacheTransactionalDataRegion;
 import org.hibernate.cache.spi.access.SoftLock;
@@ -55,6 +59,33 @@ abstract class AbstractEhcacheAccessStrategy<T extends EhcacheTransactionalDataR
 		this.settings = settings;
 	}
 
+	/**
+	 * This method is a placeholder for method signatures supplied by interfaces pulled in further down the class
+	 * hierarchy.
+	 *
+	 * @see org.hibernate.cache.spi.access.EntityRegionAccessStrategy#get(java.lang.Object, long)
+	 * @see org.hibernate.cache.spi.access.CollectionRegionAccessStrategy#get(java.lang.Object, long)
+	 */
+	public abstract Object get(Object key, long txTimestamp) throws CacheException;
+
+	/**
+	 * Ehcache 2.4 has no bulk read, so each key goes through {@link #get(Object, long)}, which keeps the
+	 * locking and visibility rules of the concrete strategy.
+	 *
+	 * @see org.hibernate.cache.spi.access.EntityRegionAccessStrategy#getAll(java.util.Collection, long)
+	 * @see org.hibernate.cache.spi.access.CollectionRegionAccessStrategy#getAll(java.util.Collection, long)
+	 */
+	public Map getAll(Collection keys, long txTimestamp) throws CacheException {
+		Map result = new HashMap();
+		for ( Object key : keys ) {
+			Object value = get( key, txTimestamp );
+			if ( value != null ) {
+				result.put( key, value );
+			}
+		}
+		return result;
+	}
+
 	/**
 	 * This method is a placeholder for method signatures supplied by interfaces pulled in further down the class
 	 * hierarchy.
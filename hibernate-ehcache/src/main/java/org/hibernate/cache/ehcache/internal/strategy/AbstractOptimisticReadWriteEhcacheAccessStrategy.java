@@ -0,0 +1,504 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cache.ehcache.internal.strategy;
+
+import java.io.Serializable;
+import java.util.Comparator;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jboss.logging.Logger;
+
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.ehcache.EhCacheMessageLogger;
+import org.hibernate.cache.ehcache.internal.regions.EhcacheTransactionalDataRegion;
+import org.hibernate.cache.spi.access.SoftLock;
+import org.hibernate.cfg.Settings;
+
+/**
+ * Superclass for the optimistic Ehcache read/write AccessStrategy implementations.
+ * <p/>
+ * Follows the same protocol as {@link AbstractReadWriteEhcacheAccessStrategy}, but never takes key locks: cache
+ * entries are immutable, and each modification replaces the entry it was computed from with an atomic
+ * compare-and-swap operation, retrying when the entry was concurrently modified.  Every entry carries a stamp unique
+ * to the write which created it, which is all entries are compared by, so the swap does not depend on the equality
+ * of cached values and also works for caches storing copies.  When the store of the cache does not support atomic
+ * operations, the compare-and-swap operations are emulated under key locks.
+ *
+ * @param <T> the type of the enclosed cache region
+ */
+abstract class AbstractOptimisticReadWriteEhcacheAccessStrategy<T extends EhcacheTransactionalDataRegion>
+        extends AbstractEhcacheAccessStrategy<T> {
+
+    private static final EhCacheMessageLogger LOG = Logger.getMessageLogger(
+            EhCacheMessageLogger.class,
+            AbstractOptimisticReadWriteEhcacheAccessStrategy.class.getName()
+    );
+    private final UUID uuid = UUID.randomUUID();
+    private final AtomicLong nextLockId = new AtomicLong();
+    private final AtomicLong nextEntryId = new AtomicLong();
+
+    private final Comparator versionComparator;
+
+    private volatile boolean atomicOperationsSupported = true;
+
+    /**
+     * Creates an optimistic read/write cache access strategy around the given cache region.
+     */
+    public AbstractOptimisticReadWriteEhcacheAccessStrategy(T region, Settings settings) {
+        super( region, settings );
+        this.versionComparator = region.getCacheDataDescription().getVersionComparator();
+    }
+
+    /**
+     * Returns <code>null</code> if the item is not readable.  Locked items are not readable, nor are items created
+     * after the start of this transaction.
+     *
+     * @see org.hibernate.cache.spi.access.EntityRegionAccessStrategy#get(java.lang.Object, long)
+     * @see org.hibernate.cache.spi.access.CollectionRegionAccessStrategy#get(java.lang.Object, long)
+     */
+    public final Object get(Object key, long txTimestamp) throws CacheException {
+        Lockable item = (Lockable) region.get( key );
+        return item != null && item.isReadable( txTimestamp ) ? item.getValue() : null;
+    }
+
+    /**
+     * Returns <code>false</code> and fails to put the value if there is an existing un-writeable item mapped to this
+     * key, or if the mapping of this key is concurrently modified.
+     *
+     * @see org.hibernate.cache.spi.access.EntityRegionAccessStrategy#putFromLoad(java.lang.Object, java.lang.Object, long, java.lang.Object, boolean)
+     * @see org.hibernate.cache.spi.access.CollectionRegionAccessStrategy#putFromLoad(java.lang.Object, java.lang.Object, long, java.lang.Object, boolean)
+     */
+    @Override
+    public final boolean putFromLoad(Object key, Object value, long txTimestamp, Object version, boolean minimalPutOverride)
+            throws CacheException {
+        Lockable item = (Lockable) region.get( key );
+        if ( item == null ) {
+            return putIfAbsent( key, newItem( value, version ) );
+        }
+        else if ( item.isWriteable( txTimestamp, version, versionComparator ) ) {
+            return replace( key, item, newItem( value, version ) );
+        }
+        else {
+            return false;
+        }
+    }
+
+    /**
+     * Soft-lock a cache item.
+     *
+     * @see org.hibernate.cache.spi.access.EntityRegionAccessStrategy#lockItem(java.lang.Object, java.lang.Object)
+     * @see org.hibernate.cache.spi.access.CollectionRegionAccessStrategy#lockItem(java.lang.Object, java.lang.Object)
+     */
+    public final SoftLock lockItem(Object key, Object version) throws CacheException {
+        for ( ; ; ) {
+            Lockable item = (Lockable) region.get( key );
+            long timeout = region.nextTimestamp() + region.getTimeout();
+            if ( item == null ) {
+                Lock lock = new Lock( uuid, nextEntryId(), uuid, nextLockId(), version, timeout );
+                if ( putIfAbsent( key, lock ) ) {
+                    return lock;
+                }
+            }
+            else {
+                Lock lock = item.lock( uuid, nextEntryId(), nextLockId(), timeout );
+                if ( replace( key, item, lock ) ) {
+                    return lock;
+                }
+            }
+        }
+    }
+
+    /**
+     * Soft-unlock a cache item.
+     *
+     * @see org.hibernate.cache.spi.access.EntityRegionAccessStrategy#unlockItem(java.lang.Object, org.hibernate.cache.spi.access.SoftLock)
+     * @see org.hibernate.cache.spi.access.CollectionRegionAccessStrategy#unlockItem(java.lang.Object, org.hibernate.cache.spi.access.SoftLock)
+     */
+    public final void unlockItem(Object key, SoftLock lock) throws CacheException {
+        for ( ; ; ) {
+            Lockable item = (Lockable) region.get( key );
+            if ( item != null && item.isUnlockable( lock ) ) {
+                if ( replace( key, item, unlock( (Lock) item ) ) ) {
+                    return;
+                }
+            }
+            else {
+                handleLockExpiry( key, item );
+                return;
+            }
+        }
+    }
+
+    /**
+     * Creates an unlocked item wrapping the given value.
+     */
+    protected Item newItem(Object value, Object version) {
+        return new Item( uuid, nextEntryId(), value, version, region.nextTimestamp() );
+    }
+
+    /**
+     * Returns a copy of the given lock, unlocked once.
+     */
+    protected Lock unlock(Lock lock) {
+        return lock.unlock( uuid, nextEntryId(), region.nextTimestamp() );
+    }
+
+    /**
+     * Handle the timeout of a previous lock mapped to this key
+     */
+    protected void handleLockExpiry(Object key, Lockable lock) {
+        LOG.softLockedCacheExpired( region.getName(), key, lock == null ? "(null)" : lock.toString() );
+
+        long ts = region.nextTimestamp() + region.getTimeout();
+        // create new lock that times out immediately
+        Lock newLock = new Lock( uuid, nextEntryId(), uuid, nextLockId(), null, ts ).unlock( uuid, nextEntryId(), ts );
+        // if the entry changed meanwhile, it was locked or replaced again, and needs no handling anymore
+        if ( lock == null ) {
+            putIfAbsent( key, newLock );
+        }
+        else {
+            replace( key, lock, newLock );
+        }
+    }
+
+    /**
+     * Maps the given entry to the given key, if no entry is mapped to this key.
+     *
+     * @return <code>true</code> if the entry was mapped
+     */
+    protected boolean putIfAbsent(Object key, Lockable entry) {
+        if ( atomicOperationsSupported ) {
+            try {
+                return region.putIfAbsent( key, entry ) == null;
+            }
+            catch ( UnsupportedOperationException e ) {
+                disableAtomicOperations();
+            }
+        }
+
+        region.writeLock( key );
+        try {
+            if ( region.get( key ) == null ) {
+                region.put( key, entry );
+                return true;
+            }
+            else {
+                return false;
+            }
+        }
+        finally {
+            region.writeUnlock( key );
+        }
+    }
+
+    /**
+     * Maps the given entry to the given key, if the entry mapped to this key is still the expected one.
+     *
+     * @return <code>true</code> if the entry was mapped
+     */
+    protected boolean replace(Object key, Lockable expected, Lockable entry) {
+        if ( atomicOperationsSupported ) {
+            try {
+                return region.replace( key, expected, entry );
+            }
+            catch ( UnsupportedOperationException e ) {
+                disableAtomicOperations();
+            }
+        }
+
+        region.writeLock( key );
+        try {
+            if ( expected.equals( region.get( key ) ) ) {
+                region.put( key, entry );
+                return true;
+            }
+            else {
+                return false;
+            }
+        }
+        finally {
+            region.writeUnlock( key );
+        }
+    }
+
+    private void disableAtomicOperations() {
+        if ( atomicOperationsSupported ) {
+            atomicOperationsSupported = false;
+            LOG.atomicOperationsNotSupported( region.getName() );
+        }
+    }
+
+    private long nextLockId() {
+        return nextLockId.getAndIncrement();
+    }
+
+    private long nextEntryId() {
+        return nextEntryId.getAndIncrement();
+    }
+
+    /**
+     * Interface type implemented by all wrapper objects in the cache.
+     */
+    protected static interface Lockable {
+
+        /**
+         * Returns <code>true</code> if the enclosed value can be read by a transaction started at the given time.
+         */
+        public boolean isReadable(long txTimestamp);
+
+        /**
+         * Returns <code>true</code> if the enclosed value can be replaced with one of the given version by a
+         * transaction started at the given time.
+         */
+        public boolean isWriteable(long txTimestamp, Object version, Comparator versionComparator);
+
+        /**
+         * Returns the enclosed value.
+         */
+        public Object getValue();
+
+        /**
+         * Returns <code>true</code> if the given lock can be unlocked using the given SoftLock instance as a handle.
+         */
+        public boolean isUnlockable(SoftLock lock);
+
+        /**
+         * Returns a locked copy of this entry, stamped with the given UUID and entry id.  The lock is identified by
+         * the given lock id unless this entry is already locked, and times out at the specified time.
+         */
+        public Lock lock(UUID writerUuid, long entryId, long lockId, long timeout);
+    }
+
+    /**
+     * Superclass of the immutable wrapper objects in the cache, which are equal only to copies of themselves.
+     */
+    protected abstract static class Entry implements Serializable, Lockable {
+
+        private static final long serialVersionUID = 1L;
+        private final UUID writerUuid;
+        private final long entryId;
+
+        Entry(UUID writerUuid, long entryId) {
+            this.writerUuid = writerUuid;
+            this.entryId = entryId;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public final boolean equals(Object o) {
+            if ( o == this ) {
+                return true;
+            }
+            else if ( o instanceof Entry ) {
+                return entryId == ( (Entry) o ).entryId && writerUuid.equals( ( (Entry) o ).writerUuid );
+            }
+            else {
+                return false;
+            }
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public final int hashCode() {
+            return writerUuid.hashCode() ^ (int) ( entryId ^ ( entryId >>> 32 ) );
+        }
+    }
+
+    /**
+     * Wrapper type representing unlocked items.
+     */
+    protected final static class Item extends Entry {
+
+        private static final long serialVersionUID = 1L;
+        private final Object value;
+        private final Object version;
+        private final long timestamp;
+
+        /**
+         * Creates an unlocked item wrapping the given value with a version and creation timestamp.
+         */
+        Item(UUID writerUuid, long entryId, Object value, Object version, long timestamp) {
+            super( writerUuid, entryId );
+            this.value = value;
+            this.version = version;
+            this.timestamp = timestamp;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public boolean isReadable(long txTimestamp) {
+            return txTimestamp > timestamp;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public boolean isWriteable(long txTimestamp, Object newVersion, Comparator versionComparator) {
+            return version != null && versionComparator.compare( version, newVersion ) < 0;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public Object getValue() {
+            return value;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public boolean isUnlockable(SoftLock lock) {
+            return false;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public Lock lock(UUID writerUuid, long entryId, long lockId, long timeout) {
+            return new Lock( writerUuid, entryId, writerUuid, lockId, version, timeout );
+        }
+    }
+
+    /**
+     * Wrapper type representing locked items.  Locking or unlocking an item again creates a new entry, which keeps
+     * the identity of the lock, so that the lock can still be used as a handle to unlock the item.
+     */
+    protected final static class Lock extends Entry implements SoftLock {
+
+        private static final long serialVersionUID = 1L;
+
+        private final UUID sourceUuid;
+        private final long lockId;
+        private final Object version;
+
+        private final long timeout;
+        private final boolean concurrent;
+        private final int multiplicity;
+        private final long unlockTimestamp;
+
+        /**
+         * Creates a locked item with the given identifiers and object version.
+         */
+        Lock(UUID writerUuid, long entryId, UUID sourceUuid, long lockId, Object version, long timeout) {
+            this( writerUuid, entryId, sourceUuid, lockId, version, timeout, false, 1, 0 );
+        }
+
+        private Lock(UUID writerUuid, long entryId, UUID sourceUuid, long lockId, Object version, long timeout,
+                     boolean concurrent, int multiplicity, long unlockTimestamp) {
+            super( writerUuid, entryId );
+            this.sourceUuid = sourceUuid;
+            this.lockId = lockId;
+            this.version = version;
+            this.timeout = timeout;
+            this.concurrent = concurrent;
+            this.multiplicity = multiplicity;
+            this.unlockTimestamp = unlockTimestamp;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public boolean isReadable(long txTimestamp) {
+            return false;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public boolean isWriteable(long txTimestamp, Object newVersion, Comparator versionComparator) {
+            if ( txTimestamp > timeout ) {
+                // if timedout then allow write
+                return true;
+            }
+            if ( multiplicity > 0 ) {
+                // if still locked then disallow write
+                return false;
+            }
+            return version == null ? txTimestamp > unlockTimestamp : versionComparator.compare(
+                    version,
+                    newVersion
+            ) < 0;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public Object getValue() {
+            return null;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public boolean isUnlockable(SoftLock lock) {
+            if ( lock instanceof Lock ) {
+                return lockId == ( (Lock) lock ).lockId && sourceUuid.equals( ( (Lock) lock ).sourceUuid );
+            }
+            else {
+                return false;
+            }
+        }
+
+        /**
+         * Returns true if this Lock has been concurrently locked by more than one transaction.
+         */
+        public boolean wasLockedConcurrently() {
+            return concurrent;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        public Lock lock(UUID writerUuid, long entryId, long lockId, long timeout) {
+            return new Lock(
+                    writerUuid, entryId, sourceUuid, this.lockId, version, timeout, true, multiplicity + 1, unlockTimestamp
+            );
+        }
+
+        /**
+         * Returns an unlocked copy of this Lock, with the unlock event timestamped if no other lock is held.
+         */
+        public Lock unlock(UUID writerUuid, long entryId, long timestamp) {
+            int newMultiplicity = multiplicity - 1;
+            return new Lock(
+                    writerUuid, entryId, sourceUuid, lockId, version, timeout, concurrent, newMultiplicity,
+                    newMultiplicity == 0 ? timestamp : unlockTimestamp
+            );
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String toString() {
+            return "Lock Source-UUID:" + sourceUuid + " Lock-ID:" + lockId;
+        }
+    }
+}
@@ -56,6 +56,12 @@ public class EhcacheAccessStrategyFactoryImpl implements EhcacheAccessStrategyFa
                 }
                 return new ReadOnlyEhcacheEntityRegionAccessStrategy( entityRegion, entityRegion.getSettings() );
             case READ_WRITE:
+                if ( entityRegion.isOptimisticReadWrite() ) {
+                    return new OptimisticReadWriteEhcacheEntityRegionAccessStrategy(
+                            entityRegion,
+                            entityRegion.getSettings()
+                    );
+                }
                 return new ReadWriteEhcacheEntityRegionAccessStrategy( entityRegion, entityRegion.getSettings() );
 
             case NONSTRICT_READ_WRITE:
@@ -92,6 +98,12 @@ public class EhcacheAccessStrategyFactoryImpl implements EhcacheAccessStrategyFa
                         collectionRegion.getSettings()
                 );
             case READ_WRITE:
+                if ( collectionRegion.isOptimisticReadWrite() ) {
+                    return new OptimisticReadWriteEhcacheCollectionRegionAccessStrategy(
+                            collectionRegion,
+                            collectionRegion.getSettings()
+                    );
+                }
                 return new ReadWriteEhcacheCollectionRegionAccessStrategy(
                         collectionRegion,
                         collectionRegion.getSettings()
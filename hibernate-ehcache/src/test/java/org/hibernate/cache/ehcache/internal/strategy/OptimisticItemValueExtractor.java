@@ -0,0 +1,27 @@
+package org.hibernate.cache.ehcache.internal.strategy;
+
+import org.hibernate.cache.ehcache.internal.regions.EhcacheTransactionalDataRegion;
+import org.hibernate.cfg.Settings;
+
+
+/**
+ * Exposes the values of the entries cached by the optimistic read/write access strategies.
+ */
+public class OptimisticItemValueExtractor extends AbstractOptimisticReadWriteEhcacheAccessStrategy {
+
+
+	/**
+	 * Creates an optimistic read/write cache access strategy around the given cache region.
+	 */
+	public OptimisticItemValueExtractor(EhcacheTransactionalDataRegion region, Settings settings) {
+		super(region, settings);
+	}
+
+
+	public static <T> T getValue(final Object entry) {
+		if(!(entry instanceof Item)) {
+			throw new IllegalArgumentException("Entry needs to be of type " + Item.class.getName());
+		}
+		return (T)((Item)entry).getValue();
+	}
+}
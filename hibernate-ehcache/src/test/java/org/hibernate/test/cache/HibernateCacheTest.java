@@ -6,9 +6,12 @@ import org.hibernate.HibernateException;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
 import org.hibernate.Transaction;
+import org.hibernate.cache.ehcache.internal.regions.EhcacheTimestampsRegion;
 import org.hibernate.cache.ehcache.internal.strategy.ItemValueExtractor;
+import org.hibernate.cache.spi.TimestampsRegion;
 import org.hibernate.cache.spi.access.SoftLock;
 import org.hibernate.cfg.Configuration;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.stat.QueryStatistics;
 import org.hibernate.stat.SecondLevelCacheStatistics;
 import org.hibernate.stat.Statistics;
@@ -23,6 +26,7 @@ import org.junit.AfterClass;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
@@ -128,6 +132,24 @@ public class HibernateCacheTest {
 		assertThat( cacheEntries.size(), equalTo( 0 ) );
 	}
 
+	@Test
+	public void testTimestampsRegionGetAll() {
+		TimestampsRegion region = ( (SessionFactoryImplementor) getSessionFactory() ).getUpdateTimestampsCache()
+				.getRegion();
+		assertThat( region instanceof EhcacheTimestampsRegion, equalTo( true ) );
+		region.put( "getAll.a", 1L );
+		region.put( "getAll.b", 2L );
+
+		Map timestamps = region.getAll( Arrays.asList( "getAll.a", "getAll.b", "getAll.c" ) );
+		assertThat( timestamps.size(), equalTo( 2 ) );
+		assertThat( (Long) timestamps.get( "getAll.a" ), equalTo( 1L ) );
+		assertThat( (Long) timestamps.get( "getAll.b" ), equalTo( 2L ) );
+		assertThat( timestamps.containsKey( "getAll.c" ), equalTo( false ) );
+
+		region.evict( "getAll.a" );
+		region.evict( "getAll.b" );
+	}
+
 	@Test
 	public void testStaleWritesLeaveCacheConsistent() {
 		Session s = getSessionFactory().openSession();
@@ -0,0 +1,34 @@
+package org.hibernate.test.cache.ehcache;
+
+import org.hibernate.cache.ehcache.EhCacheRegionFactory;
+import org.hibernate.cache.ehcache.internal.strategy.OptimisticItemValueExtractor;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.cfg.Environment;
+
+import java.util.Map;
+
+/**
+ * Runs the region tests against the optimistic read/write access strategies.
+ */
+public class OptimisticEhCacheRegionTest extends EhCacheTest {
+	@Override
+	protected void configCache(final Configuration cfg) {
+		cfg.setProperty( Environment.CACHE_REGION_FACTORY, EhCacheRegionFactory.class.getName() );
+		cfg.setProperty( Environment.CACHE_PROVIDER_CONFIG, "ehcache.xml" );
+		cfg.setProperty( "net.sf.ehcache.hibernate.optimistic_read_write", "true" );
+	}
+
+	@Override
+	protected Map getMapFromCacheEntry(final Object entry) {
+		final Map map;
+		if ( entry.getClass()
+				.getName()
+				.equals( "org.hibernate.cache.ehcache.internal.strategy.AbstractOptimisticReadWriteEhcacheAccessStrategy$Item" ) ) {
+			map = OptimisticItemValueExtractor.getValue( entry );
+		}
+		else {
+			map = (Map) entry;
+		}
+		return map;
+	}
+}
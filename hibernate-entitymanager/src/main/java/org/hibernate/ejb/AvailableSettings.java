@@ -288,6 +288,15 @@ public class AvailableSettings {
 	//Use the org.hibernate prefix. instead of hibernate. as it is a query hint se QueryHints
 	public static final String FLUSH_MODE = "org.hibernate.flushMode";
 
+	/**
+	 * How literals of criteria queries are rendered, either <tt>auto</tt> (default) or <tt>bind</tt>.
+	 * <tt>bind</tt> also binds the numeric literals of where and having clauses, which lets criteria queries
+	 * only differing in those values share one query plan instead of each being parsed again.
+	 *
+	 * @see org.hibernate.ejb.criteria.LiteralHandlingMode
+	 */
+	public static final String CRITERIA_LITERAL_HANDLING_MODE = "hibernate.ejb.criteria.literal_handling_mode";
+
 	/**
 	 * Pass an implementation of {@link org.hibernate.ejb.packaging.Scanner}:
 	 *  - preferably an actual instance
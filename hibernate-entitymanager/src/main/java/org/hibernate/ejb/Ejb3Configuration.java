@@ -347,6 +347,12 @@ public class Ejb3Configuration implements Serializable, Referenceable {
 								scanner = buildScanner( metadata.getProps(), integration );
 								jarURL = JarVisitorFactory.getJarURLFromURLEntry( url, "/META-INF/persistence.xml" );
 							}
+							List<URL> otherJarURLs = new ArrayList<URL>( metadata.getJarFiles().size() );
+							for ( String jarFile : metadata.getJarFiles() ) {
+								otherJarURLs.add( JarVisitorFactory.getURLFromPath( jarFile ) );
+							}
+							visitJars( scanner, jarURL, otherJarURLs );
+
 							//scan main JAR
 							ScanningContext mainJarScanCtx = new ScanningContext()
 									.scanner( scanner )
@@ -363,8 +369,8 @@ public class Ejb3Configuration implements Serializable, Referenceable {
 									.searchOrm( true );
 							setDetectedArtifactsOnScanningContext( otherJarScanCtx, metadata.getProps(), integration,
 																				false );
-							for ( String jarFile : metadata.getJarFiles() ) {
-								otherJarScanCtx.url( JarVisitorFactory.getURLFromPath( jarFile ) );
+							for ( URL otherJarURL : otherJarURLs ) {
+								otherJarScanCtx.url( otherJarURL );
 								addMetadataFromScan( otherJarScanCtx, metadata );
 							}
 							return configure( metadata, integration );
@@ -384,6 +390,19 @@ public class Ejb3Configuration implements Serializable, Referenceable {
 		}
 	}
 
+	/**
+	 * Let the native scanner read all the jars of a persistence unit concurrently before they are scanned one
+	 * after the other. Custom scanners are not expected to be thread safe and are left alone.
+	 */
+	private static void visitJars(Scanner scanner, URL rootURL, List<URL> jarURLs) {
+		if ( scanner instanceof NativeScanner ) {
+			List<URL> urls = new ArrayList<URL>( jarURLs.size() + 1 );
+			urls.add( rootURL );
+			urls.addAll( jarURLs );
+			( (NativeScanner) scanner ).visitAll( urls );
+		}
+	}
+
 	private Scanner buildScanner(Properties properties, Map<?,?> integration) {
 		//read the String or Instance from the integration map first and use the properties as a backup.
 		Object scanner = integration.get( AvailableSettings.SCANNER );
@@ -580,6 +599,7 @@ public class Ejb3Configuration implements Serializable, Referenceable {
 			context.scanner( buildScanner( copyOfProperties, integration ) )
 					.searchOrm( searchForORMFiles )
 					.explicitMappingFiles( null ); //URLs provided by the container already
+			visitJars( context.scanner, info.getPersistenceUnitRootUrl(), info.getJarFileUrls() );
 
 			//context for other JARs
 			setDetectedArtifactsOnScanningContext(context, info.getProperties(), null, false );
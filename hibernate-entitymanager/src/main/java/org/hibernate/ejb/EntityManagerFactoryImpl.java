@@ -40,6 +40,7 @@ import org.hibernate.Hibernate;
 import org.hibernate.SessionFactory;
 import org.hibernate.cfg.Configuration;
 import org.hibernate.ejb.criteria.CriteriaBuilderImpl;
+import org.hibernate.ejb.criteria.LiteralHandlingMode;
 import org.hibernate.ejb.metamodel.MetamodelImpl;
 import org.hibernate.ejb.util.PersistenceUtilHelper;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
@@ -63,6 +64,7 @@ public class EntityManagerFactoryImpl implements HibernateEntityManagerFactory {
 	private final Metamodel metamodel;
 	private final HibernatePersistenceUnitUtil util;
 	private final Map<String,Object> properties;
+	private final LiteralHandlingMode criteriaLiteralHandlingMode;
 
 	private final PersistenceUtilHelper.MetadataCache cache = new PersistenceUtilHelper.MetadataCache();
 
@@ -92,6 +94,9 @@ public class EntityManagerFactoryImpl implements HibernateEntityManagerFactory {
 		addAll( props, ( (SessionFactoryImplementor) sessionFactory ).getProperties() );
 		addAll( props, cfg.getProperties() );
 		this.properties = Collections.unmodifiableMap( props );
+		this.criteriaLiteralHandlingMode = LiteralHandlingMode.interpret(
+				props.get( AvailableSettings.CRITERIA_LITERAL_HANDLING_MODE )
+		);
 	}
 
 	private static void addAll(HashMap<String, Object> propertyMap, Properties properties) {
@@ -130,6 +135,10 @@ public class EntityManagerFactoryImpl implements HibernateEntityManagerFactory {
 		return properties;
 	}
 
+	public LiteralHandlingMode getCriteriaLiteralHandlingMode() {
+		return criteriaLiteralHandlingMode;
+	}
+
 	public Cache getCache() {
 		// TODO : cache the cache reference?
 		if ( ! isOpen() ) {
@@ -24,10 +24,14 @@
 package org.hibernate.ejb.criteria;
 
 import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -118,6 +122,27 @@ public class CriteriaQueryCompiler implements Serializable {
 		 */
 		public String registerLiteralParameterBinding(Object literal, Class javaType);
 
+		/**
+		 * Signals the start or end of rendering a where or having clause.  Bound numeric literals can be typed
+		 * from the expressions they are compared with there, but not in a select, group by or order by clause.
+		 *
+		 * @param restriction Whether a where or having clause is being rendered from now on
+		 *
+		 * @return The previous state, to be restored once the clause has been rendered
+		 */
+		public boolean setRenderingRestriction(boolean restriction);
+
+		/**
+		 * Should the given numeric literal be bound as a parameter rather than inlined at this point of the query?
+		 *
+		 * @param literal The numeric literal value
+		 *
+		 * @return {@code true} if the literal is bound
+		 *
+		 * @see org.hibernate.ejb.AvailableSettings#CRITERIA_LITERAL_HANDLING_MODE
+		 */
+		public boolean isBindNumericLiteral(Object literal);
+
 		/**
 		 * Given a java type, determine the proper cast type name.
 		 *
@@ -143,15 +168,28 @@ public class CriteriaQueryCompiler implements Serializable {
 	public <T> TypedQuery<T> compile(CriteriaQuery<T> criteriaQuery) {
 		CriteriaQueryImpl<T> criteriaQueryImpl = ( CriteriaQueryImpl<T> ) criteriaQuery;
 		criteriaQueryImpl.validate();
+		return compile( criteriaQueryImpl, Collections.newSetFromMap( new IdentityHashMap<Object, Boolean>() ) );
+	}
 
+	/**
+	 * @param inlinedNumericLiterals Numeric literals to inline even when numeric literals are bound, because their
+	 * value cannot be converted exactly to the type they are compared with.
+	 */
+	private <T> TypedQuery<T> compile(CriteriaQueryImpl<T> criteriaQueryImpl, final Set<Object> inlinedNumericLiterals) {
 		final Map<ParameterExpression<?>,String> explicitParameterMapping = new HashMap<ParameterExpression<?>,String>();
 		final Map<String,ParameterExpression<?>> explicitParameterNameMapping = new HashMap<String,ParameterExpression<?>>();
 		final List<ImplicitParameterBinding> implicitParameterBindings = new ArrayList<ImplicitParameterBinding>();
 		final Map<String,Class> implicitParameterTypes = new HashMap<String, Class>();
+		final Map<String,Object> boundNumericLiterals = new HashMap<String, Object>();
+
+		final LiteralHandlingMode literalHandlingMode = criteriaQueryImpl.criteriaBuilder()
+				.getEntityManagerFactory()
+				.getCriteriaLiteralHandlingMode();
 
 		RenderingContext renderingContext = new RenderingContext() {
 			private int aliasCount = 0;
 			private int explicitParameterCount = 0;
+			private boolean renderingRestriction;
 
 			public String generateAlias() {
 				return "generatedAlias" + aliasCount++;
@@ -191,15 +229,40 @@ public class CriteriaQueryCompiler implements Serializable {
 					}
 
 					public void bind(TypedQuery typedQuery) {
-						typedQuery.setParameter( parameterName, literal );
+						Object value = literal;
+						if ( ValueHandlerFactory.isNumeric( literal ) ) {
+							// a bound numeric literal takes the type of the expression it is compared with, the
+							// conversion is known to be exact (see isExactlyConvertible)
+							final Class expectedType = typedQuery.getParameter( parameterName ).getParameterType();
+							if ( expectedType != null && !expectedType.isInstance( literal )
+									&& ValueHandlerFactory.isNumeric( expectedType ) ) {
+								value = ValueHandlerFactory.convert( literal, expectedType );
+							}
+						}
+						typedQuery.setParameter( parameterName, value );
 					}
 				};
 
 				implicitParameterBindings.add( binding );
+				if ( ValueHandlerFactory.isNumeric( literal ) ) {
+					boundNumericLiterals.put( parameterName, literal );
+				}
 				implicitParameterTypes.put( parameterName, javaType );
 				return parameterName;
 			}
 
+			public boolean setRenderingRestriction(boolean restriction) {
+				final boolean previous = renderingRestriction;
+				renderingRestriction = restriction;
+				return previous;
+			}
+
+			public boolean isBindNumericLiteral(Object literal) {
+				return renderingRestriction
+						&& literalHandlingMode == LiteralHandlingMode.BIND
+						&& !inlinedNumericLiterals.contains( literal );
+			}
+
 			public String getCastType(Class javaType) {
 				SessionFactoryImplementor factory =
 						( SessionFactoryImplementor ) entityManager.getFactory().getSessionFactory();
@@ -226,8 +289,8 @@ public class CriteriaQueryCompiler implements Serializable {
 
 		TypedQuery<T> jpaqlQuery = entityManager.createQuery(
 				renderedCriteriaQuery.getQueryString(),
-				criteriaQuery.getResultType(),
-				criteriaQuery.getSelection(),
+				criteriaQueryImpl.getResultType(),
+				criteriaQueryImpl.getSelection(),
 				new HibernateEntityManagerImplementor.Options() {
 					public List<ValueHandlerFactory.ValueHandler> getValueHandlers() {
 						return renderedCriteriaQuery.getValueHandlers();
@@ -243,6 +306,19 @@ public class CriteriaQueryCompiler implements Serializable {
 				}
 		);
 
+		// a literal whose value would change when converted to the type it is compared with (1.5 against an
+		// integer property) is inlined instead, as it would be without binding
+		final int inlinedCount = inlinedNumericLiterals.size();
+		for ( Map.Entry<String,Object> boundNumericLiteral : boundNumericLiterals.entrySet() ) {
+			final Class expectedType = jpaqlQuery.getParameter( boundNumericLiteral.getKey() ).getParameterType();
+			if ( !isExactlyConvertible( boundNumericLiteral.getValue(), expectedType ) ) {
+				inlinedNumericLiterals.add( boundNumericLiteral.getValue() );
+			}
+		}
+		if ( inlinedNumericLiterals.size() > inlinedCount ) {
+			return compile( criteriaQueryImpl, inlinedNumericLiterals );
+		}
+
 		for ( ImplicitParameterBinding implicitParameterBinding : implicitParameterBindings ) {
 			implicitParameterBinding.bind( jpaqlQuery );
 		}
@@ -250,6 +326,39 @@ public class CriteriaQueryCompiler implements Serializable {
 		return wrap( jpaqlQuery, explicitParameterMapping, explicitParameterNameMapping );
 	}
 
+	private static boolean isExactlyConvertible(Object literal, Class expectedType) {
+		if ( expectedType == null || expectedType.isInstance( literal ) || !ValueHandlerFactory.isNumeric( expectedType ) ) {
+			return true;
+		}
+		final Object converted;
+		try {
+			converted = ValueHandlerFactory.convert( literal, expectedType );
+		}
+		catch ( IllegalArgumentException e ) {
+			return false;
+		}
+		final BigDecimal original = toBigDecimal( (Number) literal );
+		final BigDecimal result = toBigDecimal( (Number) converted );
+		return original != null && result != null && original.compareTo( result ) == 0;
+	}
+
+	private static BigDecimal toBigDecimal(Number value) {
+		if ( value instanceof BigDecimal ) {
+			return (BigDecimal) value;
+		}
+		if ( value instanceof BigInteger ) {
+			return new BigDecimal( (BigInteger) value );
+		}
+		if ( value instanceof Double || value instanceof Float ) {
+			final double doubleValue = value.doubleValue();
+			// NaN and infinities have no exact counterpart in any other numeric type
+			return Double.isNaN( doubleValue ) || Double.isInfinite( doubleValue )
+					? null
+					: new BigDecimal( doubleValue );
+		}
+		return BigDecimal.valueOf( value.longValue() );
+	}
+
 	private <X> TypedQuery<X> wrap(
 			final TypedQuery<X> jpaqlQuery,
 			final Map<ParameterExpression<?>, String> explicitParameterMapping,
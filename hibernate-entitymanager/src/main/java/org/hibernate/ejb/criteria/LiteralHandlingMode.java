@@ -0,0 +1,54 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.ejb.criteria;
+
+/**
+ * How literal values of a criteria query are rendered into the JPA-QL the query is compiled to.
+ *
+ * @see org.hibernate.ejb.AvailableSettings#CRITERIA_LITERAL_HANDLING_MODE
+ */
+public enum LiteralHandlingMode {
+	/**
+	 * Numeric literals are inlined, all other literals are bound as parameters.
+	 */
+	AUTO,
+
+	/**
+	 * Numeric literals of where and having clauses are bound as parameters too, so that criteria queries
+	 * differing only in those values compile to the same JPA-QL and share a single query plan. Numeric
+	 * literals elsewhere, and those which cannot be converted exactly to the type of the expression they are
+	 * compared with, stay inlined.
+	 */
+	BIND;
+
+	public static LiteralHandlingMode interpret(Object value) {
+		if ( value == null ) {
+			return AUTO;
+		}
+		if ( value instanceof LiteralHandlingMode ) {
+			return (LiteralHandlingMode) value;
+		}
+		return valueOf( value.toString().trim().toUpperCase() );
+	}
+}
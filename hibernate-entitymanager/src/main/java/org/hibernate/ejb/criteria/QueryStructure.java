@@ -239,6 +239,8 @@ public class QueryStructure<T> implements Serializable {
 
 	@SuppressWarnings({ "unchecked" })
 	public void render(StringBuilder jpaqlQuery, CriteriaQueryCompiler.RenderingContext renderingContext) {
+		// a subquery may be rendered as part of an enclosing restriction, yet its own select clause is not one
+		final boolean wasRenderingRestriction = renderingContext.setRenderingRestriction( false );
 		jpaqlQuery.append( "select " );
 		if ( isDistinct() ) {
 			jpaqlQuery.append( "distinct " );
@@ -253,8 +255,10 @@ public class QueryStructure<T> implements Serializable {
 		renderFromClause( jpaqlQuery, renderingContext );
 
 		if ( getRestriction() != null) {
+			renderingContext.setRenderingRestriction( true );
 			jpaqlQuery.append( " where " )
 					.append( ( (Renderable) getRestriction() ).render( renderingContext ) );
+			renderingContext.setRenderingRestriction( false );
 		}
 
 		if ( ! getGroupings().isEmpty() ) {
@@ -267,10 +271,13 @@ public class QueryStructure<T> implements Serializable {
 			}
 
 			if ( getHaving() != null ) {
+				renderingContext.setRenderingRestriction( true );
 				jpaqlQuery.append( " having " )
 						.append( ( (Renderable) getHaving() ).render( renderingContext ) );
+				renderingContext.setRenderingRestriction( false );
 			}
 		}
+		renderingContext.setRenderingRestriction( wasRenderingRestriction );
 	}
 
 	private FromImplementor locateImplicitSelection() {
@@ -61,7 +61,7 @@ public class LiteralExpression<T> extends ExpressionImpl<T> implements Serializa
 
 	@SuppressWarnings({ "unchecked" })
 	public String render(CriteriaQueryCompiler.RenderingContext renderingContext) {
-		if ( ValueHandlerFactory.isNumeric( literal ) ) {
+		if ( ValueHandlerFactory.isNumeric( literal ) && !renderingContext.isBindNumericLiteral( literal ) ) {
 			return ValueHandlerFactory.determineAppropriateHandler( (Class) literal.getClass() ).render( literal );
 		}
 
@@ -20,7 +20,6 @@
  * Boston, MA  02110-1301  USA
  */
 package org.hibernate.ejb.packaging;
-import java.io.DataInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
@@ -28,17 +27,24 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
-import javassist.bytecode.AnnotationsAttribute;
-import javassist.bytecode.ClassFile;
 
 import org.hibernate.ejb.internal.EntityManagerMessageLogger;
 
+import org.jboss.jandex.AnnotationInstance;
+import org.jboss.jandex.ClassInfo;
+import org.jboss.jandex.DotName;
+import org.jboss.jandex.Index;
+import org.jboss.jandex.IndexReader;
 import org.jboss.logging.Logger;
 
 /**
  * Parse a JAR of any form (zip file, exploded directory, ...)
  * apply a set of filters (File filter, Class filter, Package filter)
  * and return the appropriate matching sets of elements
+ * <p/>
+ * When the archive contains a pre-built Jandex annotation index ({@value #ANNOTATION_INDEX}), the annotations
+ * of the classes it knows about are taken from it instead of from the class files. The index must therefore be
+ * rebuilt whenever the classes change; classes it does not list are still read from their class file.
  *
  * @author Emmanuel Bernard
  */
@@ -46,6 +52,11 @@ public abstract class AbstractJarVisitor implements JarVisitor {
 
 	//TODO shortcut when filters are null or empty
 
+	/**
+	 * Location of the Jandex annotation index within an archive
+	 */
+	public static final String ANNOTATION_INDEX = "META-INF/jandex.idx";
+
     private static final EntityManagerMessageLogger LOG = Logger.getMessageLogger(EntityManagerMessageLogger.class,
                                                                            AbstractJarVisitor.class.getName());
 
@@ -57,6 +68,7 @@ public abstract class AbstractJarVisitor implements JarVisitor {
 	private Set<JavaElementFilter> classFilters = new HashSet<JavaElementFilter>();
 	private Set<JavaElementFilter> packageFilters = new HashSet<JavaElementFilter>();
 	private Set[] entries;
+	private Index annotationIndex;
 
 
 
@@ -142,10 +154,17 @@ public abstract class AbstractJarVisitor implements JarVisitor {
 	 * @return array of Set of JarVisitor.Entry
 	 * @throws IOException if something went wrong
 	 */
-	public Set[] getMatchingEntries() throws IOException {
+	public synchronized Set[] getMatchingEntries() throws IOException {
 		if ( !done ) {
 			//avoid url access and so on
-			if ( filters.size() > 0 ) doProcessElements();
+			if ( filters.size() > 0 ) {
+				try {
+					doProcessElements();
+				}
+				finally {
+					annotationIndex = null;
+				}
+			}
 			done = true;
 		}
 		return entries;
@@ -153,6 +172,30 @@ public abstract class AbstractJarVisitor implements JarVisitor {
 
 	protected abstract void doProcessElements() throws IOException;
 
+	/**
+	 * Use the given annotation index for the class entries visited afterwards. Visitors able to access the
+	 * {@value #ANNOTATION_INDEX} entry ahead of the other entries call it from {@link #doProcessElements()}.
+	 *
+	 * @param is the index content, closed by this method
+	 * @throws IOException if the stream cannot be closed
+	 */
+	protected final void useAnnotationIndex(InputStream is) throws IOException {
+		try {
+			annotationIndex = new IndexReader( is ).read();
+			LOG.debugf( "Using annotation index of jar/par: %s", jarUrl );
+		}
+		catch ( IOException e ) {
+			LOG.debugf( "Unable to read annotation index of %s, reading class files instead: %s", jarUrl, e.getMessage() );
+		}
+		catch ( RuntimeException e ) {
+			//UnsupportedVersion for indexes written by a newer Jandex, IllegalArgumentException for other content
+			LOG.debugf( "Unable to read annotation index of %s, reading class files instead: %s", jarUrl, e );
+		}
+		finally {
+			is.close();
+		}
+	}
+
 	//TODO avoid 2 input stream when not needed
 	protected final void addElement(String entryName, InputStream is, InputStream secondIs) throws IOException {
 		int entryNameLength = entryName.length();
@@ -164,12 +207,12 @@ public abstract class AbstractJarVisitor implements JarVisitor {
 			else {
 				name = entryName.substring( 0, entryNameLength - ".package-info.class".length() ).replace( '/', '.' );
 			}
-			executeJavaElementFilter( name, packageFilters, is, secondIs );
+			executeJavaElementFilter( name, entryName, packageFilters, is, secondIs );
 		}
 		else if ( entryName.endsWith( ".class" ) ) {
 			String name = entryName.substring( 0, entryNameLength - ".class".length() ).replace( '/', '.' );
             LOG.debugf("Filtering: %s", name);
-			executeJavaElementFilter( name, classFilters, is, secondIs );
+			executeJavaElementFilter( name, entryName, classFilters, is, secondIs );
 		}
 		else {
 			String name = entryName;
@@ -201,14 +244,14 @@ public abstract class AbstractJarVisitor implements JarVisitor {
 	}
 
 	private void executeJavaElementFilter(
-			String name, Set<JavaElementFilter> filters, InputStream is, InputStream secondIs
+			String name, String entryName, Set<JavaElementFilter> filters, InputStream is, InputStream secondIs
 	) throws IOException {
 		boolean accepted = false;
 		for ( JavaElementFilter filter : filters ) {
 			if ( filter.accept( name ) ) {
 				//FIXME cannot currently have a class filtered twice but matching once
 				// need to copy the is
-				boolean match = checkAnnotationMatching( is, filter );
+				boolean match = checkAnnotationMatching( entryName, is, filter );
 				if ( match ) {
 					accepted = true;
 					InputStream localIs;
@@ -233,29 +276,40 @@ public abstract class AbstractJarVisitor implements JarVisitor {
 		}
 	}
 
-	private boolean checkAnnotationMatching(InputStream is, JavaElementFilter filter) throws IOException {
+	private boolean checkAnnotationMatching(String entryName, InputStream is, JavaElementFilter filter) throws IOException {
 		if ( filter.getAnnotations().length == 0 ) {
 			is.close();
 			return true;
 		}
-		DataInputStream dstream = new DataInputStream( is );
-		ClassFile cf = null;
-
+		if ( annotationIndex != null ) {
+			String className = entryName.substring( 0, entryName.length() - ".class".length() ).replace( '/', '.' );
+			ClassInfo classInfo = annotationIndex.getClassByName( DotName.createSimple( className ) );
+			if ( classInfo != null ) {
+				is.close();
+				return isAnnotated( classInfo, filter.getAnnotations() );
+			}
+			//not part of the index (stale or partial index), read the class file
+		}
 		try {
-			cf = new ClassFile( dstream );
+			return ClassAnnotationReader.isAnnotated( is, filter.getAnnotations() );
 		}
 		finally {
-			dstream.close();
 			is.close();
 		}
-		boolean match = false;
-		AnnotationsAttribute visible = (AnnotationsAttribute) cf.getAttribute( AnnotationsAttribute.visibleTag );
-		if ( visible != null ) {
-			for ( Class annotation : filter.getAnnotations() ) {
-				match = visible.getAnnotation( annotation.getName() ) != null;
-				if ( match ) break;
+	}
+
+	private static boolean isAnnotated(ClassInfo classInfo, Class[] annotations) {
+		for ( Class annotation : annotations ) {
+			List<AnnotationInstance> instances = classInfo.annotations().get( DotName.createSimple( annotation.getName() ) );
+			if ( instances != null ) {
+				for ( AnnotationInstance instance : instances ) {
+					//the index also lists the annotations of fields and methods
+					if ( instance.target() instanceof ClassInfo ) {
+						return true;
+					}
+				}
 			}
 		}
-		return match;
+		return false;
 	}
 }
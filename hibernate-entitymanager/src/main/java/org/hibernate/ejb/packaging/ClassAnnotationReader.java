@@ -0,0 +1,231 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.ejb.packaging;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+
+/**
+ * Reads the runtime visible class level annotations out of a class file without building a model of it.
+ * <p/>
+ * The constant pool is scanned first for the descriptors of the requested annotations; classes which do not
+ * reference any of them (the vast majority in a typical archive) are rejected without reading further.
+ */
+final class ClassAnnotationReader {
+	private static final Charset UTF_8 = Charset.forName( "UTF-8" );
+	private static final int MAGIC = 0xCAFEBABE;
+	private static final byte[] RUNTIME_VISIBLE_ANNOTATIONS = utf8( "RuntimeVisibleAnnotations" );
+
+	private ClassAnnotationReader() {
+	}
+
+	/**
+	 * Does the class read from the given stream carry one of the given annotations?
+	 *
+	 * @param is The class file content; not closed by this method
+	 * @param annotations The annotation types to look for
+	 *
+	 * @return true if the class is annotated with at least one of the annotations
+	 *
+	 * @throws IOException if the stream cannot be read or does not contain a class file
+	 */
+	static boolean isAnnotated(InputStream is, Class[] annotations) throws IOException {
+		byte[][] descriptors = new byte[annotations.length][];
+		for ( int i = 0; i < annotations.length; i++ ) {
+			descriptors[i] = utf8( 'L' + annotations[i].getName().replace( '.', '/' ) + ';' );
+		}
+
+		DataInputStream in = new DataInputStream( is );
+		if ( in.readInt() != MAGIC ) {
+			throw new IOException( "Not a class file" );
+		}
+		skipFully( in, 4 );
+
+		int constantPoolCount = in.readUnsignedShort();
+		boolean[] matchingConstants = new boolean[constantPoolCount];
+		boolean referenced = false;
+		int annotationsAttributeIndex = -1;
+		byte[] buffer = new byte[64];
+		for ( int i = 1; i < constantPoolCount; i++ ) {
+			int tag = in.readUnsignedByte();
+			switch ( tag ) {
+				case 1: {
+					int length = in.readUnsignedShort();
+					if ( buffer.length < length ) {
+						buffer = new byte[length];
+					}
+					in.readFully( buffer, 0, length );
+					if ( equals( RUNTIME_VISIBLE_ANNOTATIONS, buffer, length ) ) {
+						annotationsAttributeIndex = i;
+					}
+					else {
+						for ( byte[] descriptor : descriptors ) {
+							if ( equals( descriptor, buffer, length ) ) {
+								matchingConstants[i] = true;
+								referenced = true;
+								break;
+							}
+						}
+					}
+					break;
+				}
+				case 7:
+				case 8:
+				case 16:
+				case 19:
+				case 20:
+					skipFully( in, 2 );
+					break;
+				case 15:
+					skipFully( in, 3 );
+					break;
+				case 3:
+				case 4:
+				case 9:
+				case 10:
+				case 11:
+				case 12:
+				case 17:
+				case 18:
+					skipFully( in, 4 );
+					break;
+				case 5:
+				case 6:
+					skipFully( in, 8 );
+					//long and double take two slots
+					i++;
+					break;
+				default:
+					throw new IOException( "Unknown constant pool tag: " + tag );
+			}
+		}
+		if ( !referenced || annotationsAttributeIndex == -1 ) {
+			return false;
+		}
+
+		//access flags, this class and super class
+		skipFully( in, 6 );
+		skipFully( in, 2 * in.readUnsignedShort() );
+		//fields and methods
+		skipMembers( in );
+		skipMembers( in );
+
+		int attributeCount = in.readUnsignedShort();
+		for ( int i = 0; i < attributeCount; i++ ) {
+			int nameIndex = in.readUnsignedShort();
+			int length = in.readInt();
+			if ( nameIndex != annotationsAttributeIndex ) {
+				skipFully( in, length );
+				continue;
+			}
+			int annotationCount = in.readUnsignedShort();
+			for ( int j = 0; j < annotationCount; j++ ) {
+				if ( matchingConstants[ in.readUnsignedShort() ] ) {
+					return true;
+				}
+				skipAnnotationValues( in );
+			}
+			return false;
+		}
+		return false;
+	}
+
+	private static void skipMembers(DataInputStream in) throws IOException {
+		int memberCount = in.readUnsignedShort();
+		for ( int i = 0; i < memberCount; i++ ) {
+			//access flags, name and descriptor
+			skipFully( in, 6 );
+			int attributeCount = in.readUnsignedShort();
+			for ( int j = 0; j < attributeCount; j++ ) {
+				skipFully( in, 2 );
+				skipFully( in, in.readInt() );
+			}
+		}
+	}
+
+	private static void skipAnnotationValues(DataInputStream in) throws IOException {
+		int pairCount = in.readUnsignedShort();
+		for ( int i = 0; i < pairCount; i++ ) {
+			skipFully( in, 2 );
+			skipElementValue( in );
+		}
+	}
+
+	private static void skipElementValue(DataInputStream in) throws IOException {
+		int tag = in.readUnsignedByte();
+		switch ( tag ) {
+			case 'e':
+				skipFully( in, 4 );
+				break;
+			case '@':
+				skipFully( in, 2 );
+				skipAnnotationValues( in );
+				break;
+			case '[': {
+				int valueCount = in.readUnsignedShort();
+				for ( int i = 0; i < valueCount; i++ ) {
+					skipElementValue( in );
+				}
+				break;
+			}
+			default:
+				//constant values and class literals
+				skipFully( in, 2 );
+		}
+	}
+
+	private static void skipFully(DataInputStream in, int length) throws IOException {
+		int remaining = length;
+		while ( remaining > 0 ) {
+			int skipped = in.skipBytes( remaining );
+			if ( skipped <= 0 ) {
+				//skipBytes does not distinguish the end of the stream, read() does
+				if ( in.read() == -1 ) {
+					throw new IOException( "Unexpected end of class file" );
+				}
+				skipped = 1;
+			}
+			remaining -= skipped;
+		}
+	}
+
+	private static boolean equals(byte[] expected, byte[] buffer, int length) {
+		if ( expected.length != length ) {
+			return false;
+		}
+		for ( int i = length - 1; i >= 0; i-- ) {
+			if ( expected[i] != buffer[i] ) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static byte[] utf8(String value) {
+		//modified UTF-8 only differs from UTF-8 for NUL and supplementary characters, none of which appear in names
+		return value.getBytes( UTF_8 );
+	}
+}
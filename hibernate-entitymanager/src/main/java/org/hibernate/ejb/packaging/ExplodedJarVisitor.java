@@ -88,6 +88,10 @@ public class ExplodedJarVisitor extends AbstractJarVisitor {
 			rootFile = jarFile;
 		}
 		if ( rootFile.isDirectory() ) {
+			File indexFile = new File( rootFile, ANNOTATION_INDEX );
+			if ( indexFile.isFile() ) {
+				useAnnotationIndex( new BufferedInputStream( new FileInputStream( indexFile ) ) );
+			}
 			getClassNamesInTree( rootFile, null );
 		}
 		else {
@@ -100,6 +104,10 @@ public class ExplodedJarVisitor extends AbstractJarVisitor {
 	//TODO long term fix is to introduce a process interface (closure like) to addElements and then share the code
 	private void processZippedRoot(File rootFile) throws IOException {
 		JarFile jarFile = new JarFile(rootFile);
+		ZipEntry indexEntry = jarFile.getEntry( ANNOTATION_INDEX );
+		if ( indexEntry != null ) {
+			useAnnotationIndex( new BufferedInputStream( jarFile.getInputStream( indexEntry ) ) );
+		}
 		Enumeration<? extends ZipEntry> entries = jarFile.entries();
 		while ( entries.hasMoreElements() ) {
 			ZipEntry zipEntry = entries.nextElement();
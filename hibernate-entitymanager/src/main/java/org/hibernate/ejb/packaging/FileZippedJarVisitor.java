@@ -81,6 +81,15 @@ public class FileZippedJarVisitor extends AbstractJarVisitor {
 		if ( entry != null && entry.length() == 1 ) entry = null; //no entry
 		if ( entry != null && entry.startsWith( "/" ) ) entry = entry.substring( 1 ); //remove '/' header
 
+		String indexName = ANNOTATION_INDEX;
+		if ( entry != null && entry.length() > 0 ) {
+			indexName = ( entry.endsWith( "/" ) ? entry : entry + "/" ) + ANNOTATION_INDEX;
+		}
+		ZipEntry indexEntry = jarFile.getEntry( indexName );
+		if ( indexEntry != null ) {
+			useAnnotationIndex( new BufferedInputStream( jarFile.getInputStream( indexEntry ) ) );
+		}
+
 		Enumeration<? extends ZipEntry> entries = jarFile.entries();
 		while ( entries.hasMoreElements() ) {
 			ZipEntry zipEntry = entries.nextElement();
@@ -23,10 +23,19 @@ package org.hibernate.ejb.packaging;
 import java.io.IOException;
 import java.lang.annotation.Annotation;
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
 import javax.persistence.Embeddable;
 import javax.persistence.Entity;
 import javax.persistence.MappedSuperclass;
@@ -74,6 +83,63 @@ public class NativeScanner implements Scanner {
 		return packages;
 	}
 
+	/**
+	 * Visit the given jars concurrently, so that the lookups done afterwards for each of them are served
+	 * from the already read entries. Failures are left for these lookups to report.
+	 *
+	 * @param jarsToScan the jars about to be scanned
+	 */
+	public void visitAll(Collection<URL> jarsToScan) {
+		final List<JarVisitor> jarVisitors = new ArrayList<JarVisitor>( jarsToScan.size() );
+		for ( URL jar : jarsToScan ) {
+			if ( jar != null && !visitors.containsKey( jar ) ) {
+				jarVisitors.add( getVisitor( jar ) );
+			}
+		}
+		int threadCount = Math.min( jarVisitors.size(), Runtime.getRuntime().availableProcessors() );
+		if ( threadCount < 2 ) {
+			return;
+		}
+		ExecutorService executor = Executors.newFixedThreadPool(
+				threadCount,
+				new ThreadFactory() {
+					public Thread newThread(Runnable runnable) {
+						Thread thread = new Thread( runnable, "Hibernate persistence unit scanner" );
+						thread.setDaemon( true );
+						return thread;
+					}
+				}
+		);
+		try {
+			List<Future<Set[]>> results = new ArrayList<Future<Set[]>>( jarVisitors.size() );
+			for ( final JarVisitor jarVisitor : jarVisitors ) {
+				results.add(
+						executor.submit(
+								new Callable<Set[]>() {
+									public Set[] call() throws IOException {
+										return jarVisitor.getMatchingEntries();
+									}
+								}
+						)
+				);
+			}
+			for ( Future<Set[]> result : results ) {
+				try {
+					result.get();
+				}
+				catch ( ExecutionException e ) {
+					//reported again when the jar is actually read
+				}
+			}
+		}
+		catch ( InterruptedException e ) {
+			Thread.currentThread().interrupt();
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
 	/**
 	 * Build a JarVisitor with some assumptions wrt the scanning
 	 * This helps do one scan instead of several
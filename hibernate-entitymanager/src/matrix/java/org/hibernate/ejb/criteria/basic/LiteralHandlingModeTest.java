@@ -0,0 +1,136 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.ejb.criteria.basic;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import javax.persistence.EntityManager;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Root;
+
+import org.hibernate.cfg.Environment;
+import org.hibernate.ejb.AvailableSettings;
+import org.hibernate.ejb.EntityManagerFactoryImpl;
+import org.hibernate.ejb.metamodel.AbstractMetamodelSpecificTest;
+import org.hibernate.ejb.metamodel.Product;
+import org.hibernate.ejb.metamodel.Product_;
+import org.hibernate.stat.Statistics;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests that criteria queries differing only in numeric literals share one query when literals are bound.
+ */
+public class LiteralHandlingModeTest extends AbstractMetamodelSpecificTest {
+	@Override
+	@SuppressWarnings({ "unchecked" })
+	protected void addConfigOptions(Map options) {
+		options.put( AvailableSettings.CRITERIA_LITERAL_HANDLING_MODE, "bind" );
+		options.put( Environment.GENERATE_STATISTICS, "true" );
+	}
+
+	@Test
+	public void testNumericLiteralsAreBound() {
+		EntityManager em = getOrCreateEntityManager();
+		em.getTransaction().begin();
+		for ( int i = 1; i <= 3; i++ ) {
+			Product product = new Product();
+			product.setId( "product" + i );
+			product.setName( "widget" );
+			product.setQuantity( i );
+			product.setPartNumber( i );
+			em.persist( product );
+		}
+		em.getTransaction().commit();
+
+		Statistics statistics = ( (EntityManagerFactoryImpl) entityManagerFactory() ).getSessionFactory()
+				.getStatistics();
+		statistics.clear();
+
+		CriteriaBuilder builder = entityManagerFactory().getCriteriaBuilder();
+		em.getTransaction().begin();
+		for ( int i = 0; i <= 3; i++ ) {
+			CriteriaQuery<Product> criteria = builder.createQuery( Product.class );
+			Root<Product> root = criteria.from( Product.class );
+			criteria.where(
+					builder.gt( root.get( Product_.quantity ), i ),
+					builder.lessThan( root.get( Product_.partNumber ), 10L ),
+					builder.equal( root.get( Product_.name ), "widget" )
+			);
+			List<Product> result = em.createQuery( criteria ).getResultList();
+			assertEquals( 3 - i, result.size() );
+		}
+
+		String[] queries = statistics.getQueries();
+		assertEquals( Arrays.toString( queries ), 1, queries.length );
+		assertTrue( queries[0], !queries[0].contains( "10" ) );
+		assertEquals( 4, statistics.getQueryStatistics( queries[0] ).getExecutionCount() );
+
+		em.createQuery( "delete Product" ).executeUpdate();
+		em.getTransaction().commit();
+		em.close();
+	}
+
+	@Test
+	public void testInexactNumericLiteralsAreNotTruncated() {
+		EntityManager em = getOrCreateEntityManager();
+		em.getTransaction().begin();
+		for ( int i = 1; i <= 2; i++ ) {
+			Product product = new Product();
+			product.setId( "product" + i );
+			product.setName( "widget" );
+			product.setQuantity( i );
+			product.setPartNumber( i );
+			em.persist( product );
+		}
+		em.getTransaction().commit();
+
+		CriteriaBuilder builder = entityManagerFactory().getCriteriaBuilder();
+		em.getTransaction().begin();
+		CriteriaQuery<Product> criteria = builder.createQuery( Product.class );
+		Root<Product> root = criteria.from( Product.class );
+		criteria.where( builder.equal( root.get( Product_.quantity ), builder.literal( 1.5 ) ) );
+		assertEquals( 0, em.createQuery( criteria ).getResultList().size() );
+
+		criteria = builder.createQuery( Product.class );
+		root = criteria.from( Product.class );
+		criteria.where( builder.lt( root.get( Product_.quantity ), builder.literal( 1.5 ) ) );
+		assertEquals( 1, em.createQuery( criteria ).getResultList().size() );
+
+		// exact conversions are still bound
+		criteria = builder.createQuery( Product.class );
+		root = criteria.from( Product.class );
+		criteria.where( builder.lt( root.get( Product_.quantity ), builder.literal( 2.0 ) ) );
+		assertEquals( 1, em.createQuery( criteria ).getResultList().size() );
+
+		em.createQuery( "delete Product" ).executeUpdate();
+		em.getTransaction().commit();
+		em.close();
+	}
+}
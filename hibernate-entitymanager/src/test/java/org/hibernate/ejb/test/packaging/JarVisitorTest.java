@@ -26,12 +26,31 @@ package org.hibernate.ejb.test.packaging;
 import javax.persistence.Embeddable;
 import javax.persistence.Entity;
 import javax.persistence.MappedSuperclass;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.lang.reflect.Modifier;
 import java.net.URL;
 import java.net.URLConnection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
+import org.jboss.jandex.AnnotationInstance;
+import org.jboss.jandex.ClassInfo;
+import org.jboss.jandex.DotName;
+import org.jboss.jandex.Index;
+import org.jboss.jandex.IndexWriter;
+import org.jboss.shrinkwrap.api.ArchivePaths;
+import org.jboss.shrinkwrap.api.ShrinkWrap;
+import org.jboss.shrinkwrap.api.asset.ByteArrayAsset;
+import org.jboss.shrinkwrap.api.exporter.ZipExporter;
+import org.jboss.shrinkwrap.api.spec.JavaArchive;
+
+import org.hibernate.ejb.packaging.AbstractJarVisitor;
 import org.hibernate.ejb.packaging.ClassFilter;
 import org.hibernate.ejb.packaging.Entry;
 import org.hibernate.ejb.packaging.ExplodedJarVisitor;
@@ -195,6 +214,78 @@ public class JarVisitorTest extends PackagingTestCase {
 		}
 	}
 
+	@Test
+	public void testZippedJarWithAnnotationIndex() throws Exception {
+		// the index knows ApplicationServer, without its annotations, but not Version
+		DotName applicationServer = DotName.createSimple( ApplicationServer.class.getName() );
+		Map<DotName, ClassInfo> classes = new HashMap<DotName, ClassInfo>();
+		classes.put(
+				applicationServer,
+				ClassInfo.create(
+						applicationServer,
+						DotName.createSimple( Object.class.getName() ),
+						(short) Modifier.PUBLIC,
+						new DotName[0],
+						new HashMap<DotName, List<AnnotationInstance>>()
+				)
+		);
+		Index index = Index.create(
+				new HashMap<DotName, List<AnnotationInstance>>(),
+				new HashMap<DotName, List<ClassInfo>>(),
+				new HashMap<DotName, List<ClassInfo>>(),
+				classes
+		);
+		ByteArrayOutputStream indexContent = new ByteArrayOutputStream();
+		new IndexWriter( indexContent ).write( index );
+
+		String fileName = "indexedpar.par";
+		JavaArchive archive = ShrinkWrap.create( JavaArchive.class, fileName );
+		archive.addClasses( ApplicationServer.class, org.hibernate.ejb.test.pack.defaultpar.Version.class );
+		archive.add(
+				new ByteArrayAsset( indexContent.toByteArray() ),
+				ArchivePaths.create( AbstractJarVisitor.ANNOTATION_INDEX )
+		);
+		File indexedPar = new File( packageTargetDir, fileName );
+		archive.as( ZipExporter.class ).exportTo( indexedPar, true );
+
+		JarVisitor jarVisitor = new FileZippedJarVisitor( indexedPar.toURL(), getFilters(), "" );
+		Set entries = jarVisitor.getMatchingEntries()[1];
+		assertEquals( 1, entries.size() );
+		Entry entry = new Entry( org.hibernate.ejb.test.pack.defaultpar.Version.class.getName(), null );
+		assertTrue( entries.contains( entry ) );
+	}
+
+	@Test
+	public void testExplodedJarWithUnreadableAnnotationIndex() throws Exception {
+		File explodedPar = buildExplodedPar();
+		addPackageToClasspath( explodedPar );
+
+		// an index written by a newer Jandex version
+		File indexFile = new File( explodedPar, AbstractJarVisitor.ANNOTATION_INDEX );
+		DataOutputStream indexContent = new DataOutputStream( new FileOutputStream( indexFile ) );
+		try {
+			indexContent.writeInt( 0xBABE1F15 );
+			indexContent.writeByte( 9 );
+		}
+		finally {
+			indexContent.close();
+		}
+
+		try {
+			String dirPath = explodedPar.toURL().toExternalForm();
+			if ( dirPath.endsWith( "/" ) ) {
+				dirPath = dirPath.substring( 0, dirPath.length() - 1 );
+			}
+			JarVisitor jarVisitor = new ExplodedJarVisitor( dirPath, getFilters() );
+			Set entries = jarVisitor.getMatchingEntries()[1];
+			assertEquals( 1, entries.size() );
+			assertTrue( entries.contains( new Entry( Carpet.class.getName(), null ) ) );
+		}
+		finally {
+			indexFile.delete();
+		}
+	}
+
 	@Test
 	public void testExplodedJar() throws Exception {
 		File explodedPar = buildExplodedPar();
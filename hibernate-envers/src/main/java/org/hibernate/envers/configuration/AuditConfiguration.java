@@ -36,6 +36,8 @@ import org.hibernate.envers.revisioninfo.RevisionInfoQueryCreator;
 import org.hibernate.envers.strategy.AuditStrategy;
 import org.hibernate.envers.strategy.ValidityAuditStrategy;
 import org.hibernate.envers.synchronization.AuditProcessManager;
+import org.hibernate.envers.reader.HistoricEntityCache;
+import org.hibernate.envers.synchronization.BatchedAuditInserts;
 import org.hibernate.envers.tools.reflection.ReflectionTools;
 import org.hibernate.property.Getter;
 
@@ -47,6 +49,8 @@ public class AuditConfiguration {
     private final GlobalConfiguration globalCfg;
     private final AuditEntitiesConfiguration auditEntCfg;
     private final AuditProcessManager auditProcessManager;
+    private final BatchedAuditInserts batchedAuditInserts;
+    private final HistoricEntityCache historicEntityCache;
     private final AuditStrategy auditStrategy;
     private final EntitiesConfigurations entCfg;
     private final RevisionInfoQueryCreator revisionInfoQueryCreator;
@@ -85,6 +89,20 @@ public class AuditConfiguration {
         return auditStrategy;
     }
 
+    /**
+     * @return The pending audit rows of all sessions, if audit rows should be batched; {@code null} otherwise.
+     */
+    public BatchedAuditInserts getBatchedAuditInserts() {
+        return batchedAuditInserts;
+    }
+
+    /**
+     * @return The historic entity states shared by all audit readers, if enabled; {@code null} otherwise.
+     */
+    public HistoricEntityCache getHistoricEntityCache() {
+        return historicEntityCache;
+    }
+
     public AuditConfiguration(Configuration cfg) {
         Properties properties = cfg.getProperties();
 
@@ -93,12 +111,18 @@ public class AuditConfiguration {
         RevisionInfoConfiguration revInfoCfg = new RevisionInfoConfiguration(globalCfg);
         RevisionInfoConfigurationResult revInfoCfgResult = revInfoCfg.configure(cfg, reflectionManager);
         auditEntCfg = new AuditEntitiesConfiguration(properties, revInfoCfgResult.getRevisionInfoEntityName());
-        auditProcessManager = new AuditProcessManager(revInfoCfgResult.getRevisionInfoGenerator());
         revisionInfoQueryCreator = revInfoCfgResult.getRevisionInfoQueryCreator();
         revisionInfoNumberReader = revInfoCfgResult.getRevisionInfoNumberReader();
         modifiedEntityNamesReader = revInfoCfgResult.getModifiedEntityNamesReader();
         auditStrategy = initializeAuditStrategy(revInfoCfgResult.getRevisionInfoClass(),
         		revInfoCfgResult.getRevisionInfoTimestampData());
+        batchedAuditInserts = globalCfg.isBatchAuditInserts() ? new BatchedAuditInserts() : null;
+        auditProcessManager = new AuditProcessManager(revInfoCfgResult.getRevisionInfoGenerator(), auditStrategy,
+                batchedAuditInserts);
+        historicEntityCache = globalCfg.getHistoricCacheSize() > 0
+                ? new HistoricEntityCache(globalCfg.getHistoricCacheSize(), globalCfg.getHistoricCacheSettleTime(),
+                        auditEntCfg, revisionInfoQueryCreator, auditProcessManager)
+                : null;
         entCfg = new EntitiesConfigurator().configure(cfg, reflectionManager, globalCfg, auditEntCfg, auditStrategy,
                 revInfoCfgResult.getRevisionInfoXmlMapping(), revInfoCfgResult.getRevisionInfoRelationMapping());
     }
@@ -52,6 +52,19 @@ public class GlobalConfiguration {
     // Should Envers track (persist) entity names that have been changed during each revision.
     private boolean trackEntitiesChangedInRevisionEnabled;
 
+    // Should audit rows be written directly with JDBC batches, bypassing the persistence context.
+    private final boolean batchAuditInserts;
+
+    // Maximum number of lazy to-one relations to the same entity and revision initialized with a single query.
+    private final int defaultBatchFetchSize;
+
+    // Maximum number of historic entity states cached across all audit readers, 0 if disabled.
+    private final int historicCacheSize;
+
+    // Milliseconds for which the revisions up to a revision number must not change before states read at that
+    // revision are put in the historic cache.
+    private final long historicCacheSettleTime;
+
     // Revision listener class name.
     private final Class<? extends RevisionListener> revisionListenerClass;
 
@@ -94,6 +107,30 @@ public class GlobalConfiguration {
         		"false");
         trackEntitiesChangedInRevisionEnabled = Boolean.parseBoolean(trackEntitiesChangedInRevisionEnabledStr);
 
+        String batchAuditInsertsStr = getProperty(properties,
+                "org.hibernate.envers.batch_audit_inserts",
+                "org.hibernate.envers.batch_audit_inserts",
+                "false");
+        batchAuditInserts = Boolean.parseBoolean(batchAuditInsertsStr);
+
+        String defaultBatchFetchSizeStr = getProperty(properties,
+                "org.hibernate.envers.default_batch_fetch_size",
+                "org.hibernate.envers.default_batch_fetch_size",
+                "1");
+        defaultBatchFetchSize = Integer.parseInt(defaultBatchFetchSizeStr);
+
+        String historicCacheSizeStr = getProperty(properties,
+                "org.hibernate.envers.historic_cache_size",
+                "org.hibernate.envers.historic_cache_size",
+                "0");
+        historicCacheSize = Integer.parseInt(historicCacheSizeStr);
+
+        String historicCacheSettleTimeStr = getProperty(properties,
+                "org.hibernate.envers.historic_cache_settle_time",
+                "org.hibernate.envers.historic_cache_settle_time",
+                "60000");
+        historicCacheSettleTime = Long.parseLong(historicCacheSettleTimeStr);
+
         String revisionListenerClassName = properties.getProperty("org.hibernate.envers.revision_listener", null);
         if (revisionListenerClassName != null) {
             try {
@@ -138,6 +175,41 @@ public class GlobalConfiguration {
         this.trackEntitiesChangedInRevisionEnabled = trackEntitiesChangedInRevisionEnabled;
     }
 
+    /**
+     * @return If audit rows should be inserted directly through the persisters of the audit entities, grouped by
+     * audit table into JDBC batches, instead of being saved through the session. Save event listeners and
+     * interceptors are not invoked for audit rows in this mode.
+     */
+    public boolean isBatchAuditInserts() {
+        return batchAuditInserts;
+    }
+
+    /**
+     * @return Maximum number of uninitialized to-one relations, pointing to the same audited entity at the same
+     * revision, which are loaded together when one of them is first accessed. Values lower than 2 disable
+     * batch fetching.
+     */
+    public int getDefaultBatchFetchSize() {
+        return defaultBatchFetchSize;
+    }
+
+    /**
+     * @return Maximum number of historic entity states shared by all audit readers of the session factory, or 0
+     * if historic states are only cached in the first level cache of each reader.
+     */
+    public int getHistoricCacheSize() {
+        return historicCacheSize;
+    }
+
+    /**
+     * @return Number of milliseconds for which the revisions up to a revision number must stay unchanged before
+     * states read at that revision are put in the historic cache. It must exceed the time a transaction may take to
+     * commit once its revision number has been assigned, so that revisions committed out of order are seen.
+     */
+    public long getHistoricCacheSettleTime() {
+        return historicCacheSettleTime;
+    }
+
     public Class<? extends RevisionListener> getRevisionListenerClass() {
         return revisionListenerClass;
     }
@@ -98,6 +98,11 @@ public class ToOneIdMapper implements PropertyMapper {
 
                 Class<?> entityClass = ReflectionTools.loadClass(entCfg.getEntityClassName());
 
+                if (verCfg.getEntCfg().isVersioned(referencedEntityName)
+                        && verCfg.getGlobalCfg().getDefaultBatchFetchSize() > 1) {
+                    versionsReader.getBatchFetchQueue().addEntityId(referencedEntityName, revision, entityId);
+                }
+
                 value = versionsReader.getSessionImplementor().getFactory().getEntityPersister(referencedEntityName).
                         createProxy((Serializable)entityId, new ToOneDelegateSessionImplementor(versionsReader, entityClass, entityId, revision, verCfg));
             }
@@ -60,7 +60,7 @@ public abstract class AbstractAuditQuery implements AuditQuery {
     protected boolean hasOrder;
 
     protected final AuditConfiguration verCfg;
-    private final AuditReaderImplementor versionsReader;
+    protected final AuditReaderImplementor versionsReader;
 
     protected AbstractAuditQuery(AuditConfiguration verCfg, AuditReaderImplementor versionsReader,
                                     Class<?> cls) {
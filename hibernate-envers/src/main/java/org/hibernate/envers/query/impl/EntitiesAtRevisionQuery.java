@@ -25,12 +25,15 @@ package org.hibernate.envers.query.impl;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import org.hibernate.Query;
 import org.hibernate.envers.RevisionType;
 import org.hibernate.envers.configuration.AuditConfiguration;
 import org.hibernate.envers.configuration.AuditEntitiesConfiguration;
 import org.hibernate.envers.entities.mapper.relation.MiddleIdData;
+import org.hibernate.envers.entities.mapper.id.IdMapper;
 import org.hibernate.envers.query.criteria.AuditCriterion;
+import org.hibernate.envers.reader.HistoricEntityCache;
 import org.hibernate.envers.reader.AuditReaderImplementor;
 
 /**
@@ -104,7 +107,16 @@ public class EntitiesAtRevisionQuery extends AbstractAuditQuery {
         if (hasProjection) {
             return queryResult;
         } else {
-            List result = new ArrayList();
+            HistoricEntityCache historicCache = verCfg.getHistoricEntityCache();
+            if (historicCache != null && historicCache.isCacheable(revision, versionsReader)) {
+                IdMapper idMapper = verCfg.getEntCfg().get(entityName).getIdMapper();
+                for (Map versionsEntity : (List<Map>) queryResult) {
+                    historicCache.put(entityName, revision,
+                            idMapper.mapToIdFromMap((Map) versionsEntity.get(originalIdPropertyName)), versionsEntity);
+                }
+            }
+
+            List result = new ArrayList(queryResult.size());
             entityInstantiator.addInstancesFromVersionsEntities(entityName, result, queryResult, revision);
 
             return result;
@@ -25,6 +25,7 @@ package org.hibernate.envers.reader;
 import static org.hibernate.envers.tools.ArgumentsTools.checkNotNull;
 import static org.hibernate.envers.tools.ArgumentsTools.checkPositive;
 import static org.hibernate.envers.tools.Tools.getTargetClassIfProxied;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -39,11 +40,14 @@ import org.hibernate.Session;
 import org.hibernate.engine.spi.SessionImplementor;
 import org.hibernate.envers.CrossTypeRevisionChangesReader;
 import org.hibernate.envers.configuration.AuditConfiguration;
+import org.hibernate.envers.entities.EntityInstantiator;
+import org.hibernate.envers.entities.mapper.id.IdMapper;
 import org.hibernate.envers.exception.AuditException;
 import org.hibernate.envers.exception.NotAuditedException;
 import org.hibernate.envers.exception.RevisionDoesNotExistException;
 import org.hibernate.envers.query.AuditEntity;
 import org.hibernate.envers.query.AuditQueryCreator;
+import org.hibernate.envers.query.criteria.AuditDisjunction;
 import org.hibernate.envers.synchronization.AuditProcess;
 import org.hibernate.event.spi.EventSource;
 import org.hibernate.proxy.HibernateProxy;
@@ -58,6 +62,7 @@ public class AuditReaderImpl implements AuditReaderImplementor {
     private final SessionImplementor sessionImplementor;
     private final Session session;
     private final FirstLevelCache firstLevelCache;
+    private final BatchFetchQueue batchFetchQueue;
     private final CrossTypeRevisionChangesReader crossTypeRevisionChangesReader;
 
     public AuditReaderImpl(AuditConfiguration verCfg, Session session,
@@ -67,6 +72,7 @@ public class AuditReaderImpl implements AuditReaderImplementor {
         this.session = session;
 
         firstLevelCache = new FirstLevelCache();
+        batchFetchQueue = new BatchFetchQueue();
         crossTypeRevisionChangesReader = new CrossTypeRevisionChangesReaderImpl(this, verCfg);
     }
 
@@ -88,6 +94,10 @@ public class AuditReaderImpl implements AuditReaderImplementor {
         return firstLevelCache;
     }
 
+    public BatchFetchQueue getBatchFetchQueue() {
+        return batchFetchQueue;
+    }
+
     public <T> T find(Class<T> cls, Object primaryKey, Number revision) throws
             IllegalArgumentException, NotAuditedException, IllegalStateException {
     	cls = getTargetClassIfProxied(cls);
@@ -113,6 +123,19 @@ public class AuditReaderImpl implements AuditReaderImplementor {
             return (T) firstLevelCache.get(entityName, revision, primaryKey);
         }
 
+        List<Object> idsToLoad = resolveFromHistoricCache(entityName, revision,
+                batchFetchQueue.removeEntityIdBatch(entityName, revision, primaryKey,
+                        verCfg.getGlobalCfg().getDefaultBatchFetchSize()));
+
+        // Reading a single entity is left to the query below, as for non-batched reads
+        if (idsToLoad.size() > (idsToLoad.contains(primaryKey) ? 1 : 0)) {
+            loadBatch(cls, entityName, revision, idsToLoad);
+        }
+
+        if (firstLevelCache.contains(entityName, revision, primaryKey)) {
+            return (T) firstLevelCache.get(entityName, revision, primaryKey);
+        }
+
         Object result;
         try {
             // The result is put into the cache by the entity instantiator called from the query
@@ -125,7 +148,53 @@ public class AuditReaderImpl implements AuditReaderImplementor {
         }
 
         return (T) result;
-    }    
+    }
+
+    /**
+     * Creates the entities whose state at the given revision is held by the historic cache, if it is enabled, and
+     * puts them into the first level cache.
+     * @return Ids of the entities which are neither in the first level cache nor in the historic cache.
+     */
+    private List<Object> resolveFromHistoricCache(String entityName, Number revision, List<Object> ids) {
+        HistoricEntityCache historicCache = verCfg.getHistoricEntityCache();
+        List<Object> idsToLoad = new ArrayList<Object>(ids.size());
+        for (Object id : ids) {
+            if (firstLevelCache.contains(entityName, revision, id)) {
+                continue;
+            }
+
+            Map versionsEntity = historicCache == null ? null : historicCache.get(entityName, revision, id);
+            if (versionsEntity == null) {
+                idsToLoad.add(id);
+            } else {
+                Object entity = new EntityInstantiator(verCfg, this).createInstanceFromVersionsEntity(entityName,
+                        versionsEntity, revision);
+                firstLevelCache.put(entityName, revision, id, entity);
+            }
+        }
+
+        return idsToLoad;
+    }
+
+    /**
+     * Reads the given entities at the given revision with a single query, and puts them into the first level cache.
+     */
+    @SuppressWarnings({"unchecked"})
+    private void loadBatch(Class<?> cls, String entityName, Number revision, List<Object> ids) {
+        AuditDisjunction idsRestriction = AuditEntity.disjunction();
+        for (Object id : ids) {
+            idsRestriction.add(AuditEntity.id().eq(id));
+        }
+
+        List<Object> entities = createQuery().forEntitiesAtRevision(cls, entityName, revision)
+                .add(idsRestriction).getResultList();
+
+        // The entity instantiator caches subclass instances by their own entity name
+        IdMapper idMapper = verCfg.getEntCfg().get(entityName).getIdMapper();
+        for (Object entity : entities) {
+            firstLevelCache.put(entityName, revision, idMapper.mapToIdFromEntity(entity), entity);
+        }
+    }
 
     public List<Number> getRevisions(Class<?> cls, Object primaryKey)
             throws IllegalArgumentException, NotAuditedException, IllegalStateException {
@@ -34,4 +34,5 @@ public interface AuditReaderImplementor extends AuditReader {
     SessionImplementor getSessionImplementor();
     Session getSession();
     FirstLevelCache getFirstLevelCache();
+    BatchFetchQueue getBatchFetchQueue();
 }
@@ -0,0 +1,89 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.envers.reader;
+import static org.hibernate.envers.tools.Tools.newHashMap;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.hibernate.envers.tools.Pair;
+
+/**
+ * Ids of audited entities referenced by uninitialized to-one relations, versions reader-scoped. When one of the
+ * relations is initialized, the other entities with the same name at the same revision can be loaded by the
+ * same query.
+ */
+public class BatchFetchQueue {
+    private final Map<Pair<String, Number>, Set<Object>> pendingIds;
+
+    public BatchFetchQueue() {
+        pendingIds = newHashMap();
+    }
+
+    public void addEntityId(String entityName, Number revision, Object id) {
+        Pair<String, Number> key = Pair.make(entityName, revision);
+        Set<Object> ids = pendingIds.get(key);
+        if (ids == null) {
+            ids = new LinkedHashSet<Object>();
+            pendingIds.put(key, ids);
+        }
+
+        ids.add(id);
+    }
+
+    /**
+     * Removes a batch of pending ids from the queue.
+     * @param entityName Name of the entity.
+     * @param revision Revision at which the entities are read.
+     * @param id Id of the entity which has to be loaded; always the first element of the batch.
+     * @param batchSize Maximum number of ids in the batch.
+     * @return The given id, followed by at most {@code batchSize - 1} other ids pending for the same entity name
+     * and revision, in the order in which they were added.
+     */
+    public List<Object> removeEntityIdBatch(String entityName, Number revision, Object id, int batchSize) {
+        List<Object> batch = new ArrayList<Object>();
+        batch.add(id);
+
+        Pair<String, Number> key = Pair.make(entityName, revision);
+        Set<Object> ids = pendingIds.get(key);
+        if (ids == null) {
+            return batch;
+        }
+
+        ids.remove(id);
+        Iterator<Object> iter = ids.iterator();
+        while (batch.size() < batchSize && iter.hasNext()) {
+            batch.add(iter.next());
+            iter.remove();
+        }
+
+        if (ids.isEmpty()) {
+            pendingIds.remove(key);
+        }
+
+        return batch;
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.envers.reader;
+import static org.hibernate.envers.tools.Triple.make;
+import java.lang.reflect.Array;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import org.hibernate.Session;
+import org.hibernate.envers.configuration.AuditEntitiesConfiguration;
+import org.hibernate.envers.revisioninfo.RevisionInfoQueryCreator;
+import org.hibernate.envers.synchronization.AuditProcessManager;
+import org.hibernate.envers.tools.Triple;
+import org.hibernate.internal.util.collections.BoundedConcurrentCache;
+
+/**
+ * Cache of historic entity states, shared by all audit readers of a session factory. Each state is a snapshot of
+ * the audit entity data read for an entity at a revision. As audit rows are never modified once their revision has
+ * been committed, entries never have to be invalidated; the cache is only bounded in size.
+ * <p/>
+ * This only holds for revisions below which no other revision can commit any more: the state of an entity at a
+ * revision changes whenever a revision up to that number is committed, and revision numbers taken from a sequence
+ * or an identity column may commit out of order. States are therefore only cached when read at or below a watermark
+ * revision. A revision becomes the watermark once the number of revisions up to it has stayed the same for the
+ * configured settle time, which must exceed the time a transaction may take to commit after its revision number
+ * was assigned. States read by a session which writes audit data itself, and so may read its own uncommitted rows,
+ * are not cached either.
+ * <p/>
+ * Snapshots are copied both when they are stored and when they are read, so entity instances created from them by
+ * different readers never share mutable state. References to revision entities are not kept, as they belong to
+ * the session which read them.
+ */
+public class HistoricEntityCache {
+    private final BoundedConcurrentCache<Triple<String, Number, Object>, Map> cache;
+    private final long settleTime;
+    private final String revisionFieldName;
+    private final String revisionEndFieldName;
+    private final RevisionInfoQueryCreator revisionInfoQueryCreator;
+    private final AuditProcessManager auditProcessManager;
+
+    // Highest revision at or below which no revision is expected to commit any more.
+    private volatile long watermark = Long.MIN_VALUE;
+
+    // Revision which becomes the watermark if the number of revisions up to it doesn't change for the settle time.
+    private Number candidate;
+    private long candidateRevisionCount;
+    private long candidateTime;
+
+    public HistoricEntityCache(int maxSize, long settleTime, AuditEntitiesConfiguration auditEntCfg,
+                               RevisionInfoQueryCreator revisionInfoQueryCreator,
+                               AuditProcessManager auditProcessManager) {
+        cache = new BoundedConcurrentCache<Triple<String, Number, Object>, Map>(maxSize);
+        this.settleTime = settleTime;
+        revisionFieldName = auditEntCfg.getRevisionFieldName();
+        revisionEndFieldName = auditEntCfg.getRevisionEndFieldName();
+        this.revisionInfoQueryCreator = revisionInfoQueryCreator;
+        this.auditProcessManager = auditProcessManager;
+    }
+
+    /**
+     * @param revision Revision at which entity states were read.
+     * @param versionsReader Reader which read them.
+     * @return True if the states may be cached: the revision is not above the watermark, and the reader's session
+     * doesn't write audit data. The revision table is only queried when the given revision is above the watermark,
+     * and then no more often than once per settle time.
+     */
+    public boolean isCacheable(Number revision, AuditReaderImplementor versionsReader) {
+        if (auditProcessManager.isAuditing(versionsReader.getSession())) {
+            return false;
+        }
+
+        if (revision.longValue() > watermark) {
+            advanceWatermark(versionsReader.getSession());
+        }
+
+        return revision.longValue() <= watermark;
+    }
+
+    private synchronized void advanceWatermark(Session session) {
+        long now = System.currentTimeMillis();
+        if (candidate != null) {
+            if (now - candidateTime < settleTime) {
+                return;
+            }
+
+            if (countRevisions(session, candidate) == candidateRevisionCount) {
+                watermark = candidate.longValue();
+            }
+
+            // Either settled, or a revision up to the candidate has committed since it was observed: a new
+            // candidate has to be observed for the settle time again
+            candidate = null;
+        }
+
+        Number max = (Number) revisionInfoQueryCreator.getMaxRevisionNumberQuery(session).uniqueResult();
+        if (max != null && max.longValue() > watermark) {
+            candidate = max;
+            candidateRevisionCount = countRevisions(session, max);
+            candidateTime = now;
+        }
+    }
+
+    private long countRevisions(Session session, Number maxRevision) {
+        return ((Number) revisionInfoQueryCreator.getRevisionCountQuery(session, maxRevision).uniqueResult())
+                .longValue();
+    }
+
+    /**
+     * @param entityName Name of the entity.
+     * @param revision Revision at which the entity was read.
+     * @param id Id of the entity.
+     * @return A copy of the cached audit entity data, or {@code null} if the state of the entity at the given
+     * revision is not cached.
+     */
+    public Map get(String entityName, Number revision, Object id) {
+        Map snapshot = cache.get(make(entityName, revision, id));
+        return snapshot == null ? null : copy(snapshot);
+    }
+
+    /**
+     * @param entityName Name of the entity.
+     * @param revision Revision at which the entity was read.
+     * @param id Id of the entity.
+     * @param versionsEntity Audit entity data holding the state of the entity at the given revision.
+     */
+    public void put(String entityName, Number revision, Object id, Map versionsEntity) {
+        cache.put(make(entityName, revision, id), copy(versionsEntity));
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    public void clear() {
+        cache.clear();
+    }
+
+    @SuppressWarnings({"unchecked"})
+    private Map copy(Map data) {
+        Map copy = new HashMap(data.size());
+        for (Object o : data.entrySet()) {
+            Map.Entry entry = (Map.Entry) o;
+            if (revisionFieldName.equals(entry.getKey()) || revisionEndFieldName.equals(entry.getKey())) {
+                continue;
+            }
+
+            copy.put(entry.getKey(), copyValue(entry.getValue()));
+        }
+
+        return copy;
+    }
+
+    private Object copyValue(Object value) {
+        if (value instanceof Map) {
+            return copy((Map) value);
+        } else if (value instanceof Date) {
+            return ((Date) value).clone();
+        } else if (value != null && value.getClass().isArray()) {
+            int length = Array.getLength(value);
+            Object copy = Array.newInstance(value.getClass().getComponentType(), length);
+            System.arraycopy(value, 0, copy, 0, length);
+            return copy;
+        }
+
+        return value;
+    }
+}
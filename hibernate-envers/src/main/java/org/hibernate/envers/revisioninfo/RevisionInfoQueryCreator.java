@@ -59,6 +59,15 @@ public class RevisionInfoQueryCreator {
                                                              .add(Restrictions.le(revisionInfoTimestampName, timestampAsDate ? date : date.getTime()));
     }
 
+    public Criteria getMaxRevisionNumberQuery(Session session) {
+        return session.createCriteria(revisionInfoEntityName).setProjection(Projections.max(revisionInfoIdName));
+    }
+
+    public Criteria getRevisionCountQuery(Session session, Number maxRevision) {
+        return session.createCriteria(revisionInfoEntityName).setProjection(Projections.rowCount())
+                                                             .add(Restrictions.le(revisionInfoIdName, maxRevision));
+    }
+
     public Criteria getRevisionsQuery(Session session, Set<Number> revisions) {
         return session.createCriteria(revisionInfoEntityName).add(Restrictions.in(revisionInfoIdName, revisions));
     }
@@ -8,6 +8,7 @@ import org.hibernate.envers.configuration.GlobalConfiguration;
 import org.hibernate.envers.entities.mapper.PersistentCollectionChangeData;
 import org.hibernate.envers.entities.mapper.relation.MiddleComponentData;
 import org.hibernate.envers.entities.mapper.relation.MiddleIdData;
+import org.hibernate.envers.synchronization.BatchedAuditInserts;
 import org.hibernate.envers.synchronization.SessionCacheCleaner;
 import org.hibernate.envers.tools.query.Parameters;
 import org.hibernate.envers.tools.query.QueryBuilder;
@@ -28,17 +29,26 @@ public class DefaultAuditStrategy implements AuditStrategy {
 
     public void perform(Session session, String entityName, AuditConfiguration auditCfg, Serializable id, Object data,
                         Object revision) {
-        session.save(auditCfg.getAuditEntCfg().getAuditEntityName(entityName), data);
-        sessionCacheCleaner.scheduleAuditDataRemoval(session, data);
+        saveAuditData(session, auditCfg, auditCfg.getAuditEntCfg().getAuditEntityName(entityName), data);
     }
 
     public void performCollectionChange(Session session, AuditConfiguration auditCfg,
                                         PersistentCollectionChangeData persistentCollectionChangeData, Object revision) {
-        session.save(persistentCollectionChangeData.getEntityName(), persistentCollectionChangeData.getData());
-        sessionCacheCleaner.scheduleAuditDataRemoval(session, persistentCollectionChangeData.getData());
+        saveAuditData(session, auditCfg, persistentCollectionChangeData.getEntityName(),
+                persistentCollectionChangeData.getData());
     }
 
     
+    private void saveAuditData(Session session, AuditConfiguration auditCfg, String auditEntityName, Object data) {
+        BatchedAuditInserts batchedAuditInserts = auditCfg.getBatchedAuditInserts();
+        if (batchedAuditInserts != null) {
+            batchedAuditInserts.add(session, auditEntityName, data);
+        } else {
+            session.save(auditEntityName, data);
+            sessionCacheCleaner.scheduleAuditDataRemoval(session, data);
+        }
+    }
+
 	public void addEntityAtRevisionRestriction(GlobalConfiguration globalCfg, QueryBuilder rootQueryBuilder, String revisionProperty,
 			String revisionEndProperty, boolean addAlias, MiddleIdData idData, String revisionPropertyPath, 
 			String originalIdPropertyName, String alias1, String alias2) {
@@ -0,0 +1,257 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.envers.strategy;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.Session;
+import org.hibernate.action.internal.BulkOperationCleanupAction;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.envers.configuration.AuditEntitiesConfiguration;
+import org.hibernate.envers.entities.mapper.id.QueryParameterData;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.hibernate.persister.entity.Queryable;
+import org.hibernate.type.Type;
+
+/**
+ * End revisions of previous audit rows, collected during a single audit process of the {@link ValidityAuditStrategy}.
+ * Instead of loading and re-saving each previous row, the rows are closed with set-based updates, grouped by the
+ * audit entity:
+ * <code>update audited_ent set end_rev = ? where end_rev is null and not (rev = ?) and id in (...)</code>.
+ * Rows of the current revision are excluded, so the updates may be executed before or after the new audit data
+ * is flushed.
+ */
+class RevisionEndUpdates {
+    /**
+     * Maximum number of id parameters bound in a single update statement.
+     */
+    private static final int MAX_ID_PARAMETERS = 1000;
+
+    private final AuditEntitiesConfiguration audEntCfg;
+    private final Object revision;
+    private final Date revisionEndTimestamp;
+
+    private final Map<String, Batch> batches;
+
+    RevisionEndUpdates(AuditEntitiesConfiguration audEntCfg, Object revision, Date revisionEndTimestamp) {
+        this.audEntCfg = audEntCfg;
+        this.revision = revision;
+        this.revisionEndTimestamp = revisionEndTimestamp;
+
+        batches = new LinkedHashMap<String, Batch>();
+    }
+
+    /**
+     * Schedules the update of the end revision of the current audit row with the given id.
+     * @param auditedEntityName Name of the audit entity.
+     * @param id Id of the audited entity, used only in error messages.
+     * @param idData Restrictions identifying the audit row, with property names including the original id prefix.
+     * @param previousRequired If an exception should be thrown when there is no current row with the given id.
+     */
+    void add(String auditedEntityName, Object id, List<QueryParameterData> idData, boolean previousRequired) {
+        Batch batch = batches.get(auditedEntityName);
+        if (batch == null) {
+            batch = new Batch(auditedEntityName, previousRequired);
+            batches.put(auditedEntityName, batch);
+        }
+
+        batch.ids.add(id);
+        batch.idDatas.add(idData);
+    }
+
+    void execute(Session session) {
+        SessionImplementor sessionImplementor = (SessionImplementor) session;
+        for (Batch batch : batches.values()) {
+            Queryable persister = (Queryable) sessionImplementor.getFactory().getEntityPersister(
+                    batch.auditedEntityName);
+
+            // The end revision is mapped by the root audit entity: stored in the root table in case of joined
+            // inheritance or secondary tables, and repeated in each table of a table-per-class hierarchy
+            String tableName = ((AbstractEntityPersister) persister).getRootTableName();
+            Queryable rootPersister = (Queryable) sessionImplementor.getFactory().getEntityPersister(
+                    persister.getRootEntityName());
+
+            int start = 0;
+            while (start < batch.idDatas.size()) {
+                int size = Math.max(1, MAX_ID_PARAMETERS / batch.idDatas.get(start).size());
+                int end = Math.min(start + size, batch.idDatas.size());
+
+                int updated = executeUpdate(sessionImplementor, tableName, rootPersister,
+                        batch.idDatas.subList(start, end));
+
+                if (batch.previousRequired && updated != end - start) {
+                    throw new RuntimeException("Cannot find previous revision for entity " + batch.auditedEntityName +
+                            " and ids " + batch.ids.subList(start, end));
+                }
+
+                start = end;
+            }
+
+            // Same as for HQL bulk updates: invalidating cached audit data and queries
+            BulkOperationCleanupAction cleanupAction = new BulkOperationCleanupAction(sessionImplementor,
+                    new Queryable[] { persister });
+            ((EventSource) session).getActionQueue().addAction(cleanupAction);
+        }
+    }
+
+    /**
+     * The update is issued directly against the table holding the end revision column, as HQL bulk updates of
+     * multi-table entities require temporary tables.
+     */
+    private int executeUpdate(SessionImplementor session, String tableName, Queryable persister,
+                              List<List<QueryParameterData>> idDatas) {
+        String revisionEndFieldName = audEntCfg.getRevisionEndFieldName();
+        String revisionFieldPath = audEntCfg.getOriginalIdPropName() + "." + audEntCfg.getRevisionFieldName();
+
+        List<Type> types = new ArrayList<Type>();
+        List<Object> values = new ArrayList<Object>();
+
+        // update audited_ent set end_rev = ? [, end_rev_timestamp = ?]
+        StringBuilder sql = new StringBuilder("update ").append(tableName).append(" set ");
+        appendColumns(sql, persister.toColumns(revisionEndFieldName), " = ?", ", ");
+        types.add(persister.toType(revisionEndFieldName));
+        values.add(revision);
+        if (revisionEndTimestamp != null) {
+            String revisionEndTimestampFieldName = audEntCfg.getRevisionEndTimestampFieldName();
+            sql.append(", ");
+            appendColumns(sql, persister.toColumns(revisionEndTimestampFieldName), " = ?", ", ");
+            types.add(persister.toType(revisionEndTimestampFieldName));
+            values.add(revisionEndTimestamp);
+        }
+
+        // where end_rev is null and not (rev = ?)
+        sql.append(" where ");
+        appendColumns(sql, persister.toColumns(revisionEndFieldName), " is null", " and ");
+        sql.append(" and not (");
+        appendColumns(sql, persister.toColumns(revisionFieldPath), " = ?", " and ");
+        sql.append(")");
+        types.add(persister.toType(revisionFieldPath));
+        values.add(revision);
+
+        String singleProperty = getSingleProperty(idDatas);
+        if (singleProperty != null && persister.toColumns(singleProperty).length == 1) {
+            // and id in (?, ...)
+            sql.append(" and ").append(persister.toColumns(singleProperty)[0]).append(" in (");
+            Type type = persister.toType(singleProperty);
+            for (int i = 0; i < idDatas.size(); i++) {
+                sql.append(i == 0 ? "?" : ", ?");
+                types.add(type);
+                values.add(idDatas.get(i).get(0).getValue());
+            }
+            sql.append(")");
+        } else {
+            // and ((id1 = ? and id2 = ?) or (...))
+            sql.append(" and (");
+            for (int i = 0; i < idDatas.size(); i++) {
+                sql.append(i == 0 ? "(" : " or (");
+                boolean first = true;
+                for (QueryParameterData paramData : idDatas.get(i)) {
+                    String property = paramData.getProperty(null);
+                    if (!first) {
+                        sql.append(" and ");
+                    }
+                    first = false;
+
+                    if (paramData.getValue() == null) {
+                        appendColumns(sql, persister.toColumns(property), " is null", " and ");
+                    } else {
+                        appendColumns(sql, persister.toColumns(property), " = ?", " and ");
+                        types.add(persister.toType(property));
+                        values.add(paramData.getValue());
+                    }
+                }
+                sql.append(")");
+            }
+            sql.append(")");
+        }
+
+        try {
+            PreparedStatement ps = session.getTransactionCoordinator().getJdbcCoordinator().getStatementPreparer()
+                    .prepareStatement(sql.toString(), false);
+            try {
+                int index = 1;
+                for (int i = 0; i < types.size(); i++) {
+                    types.get(i).nullSafeSet(ps, values.get(i), index, session);
+                    index += types.get(i).getColumnSpan(session.getFactory());
+                }
+
+                return ps.executeUpdate();
+            } finally {
+                ps.close();
+            }
+        } catch (SQLException e) {
+            throw session.getFactory().getSQLExceptionHelper().convert(e,
+                    "could not update end revisions of " + persister.getEntityName(), sql.toString());
+        }
+    }
+
+    private void appendColumns(StringBuilder sql, String[] columns, String suffix, String separator) {
+        for (int i = 0; i < columns.length; i++) {
+            if (i != 0) {
+                sql.append(separator);
+            }
+            sql.append(columns[i]).append(suffix);
+        }
+    }
+
+    /**
+     * @return The name of the only id property, if all rows are identified by a single, non-null value of the same
+     * property; {@code null} otherwise.
+     */
+    private String getSingleProperty(List<List<QueryParameterData>> idDatas) {
+        String property = null;
+        for (List<QueryParameterData> idData : idDatas) {
+            if (idData.size() != 1 || idData.get(0).getValue() == null) {
+                return null;
+            }
+
+            String current = idData.get(0).getProperty(null);
+            if (property == null) {
+                property = current;
+            } else if (!property.equals(current)) {
+                return null;
+            }
+        }
+
+        return property;
+    }
+
+    private static class Batch {
+        private final String auditedEntityName;
+        private final boolean previousRequired;
+        private final List<Object> ids = new ArrayList<Object>();
+        private final List<List<QueryParameterData>> idDatas = new ArrayList<List<QueryParameterData>>();
+
+        private Batch(String auditedEntityName, boolean previousRequired) {
+            this.auditedEntityName = auditedEntityName;
+            this.previousRequired = previousRequired;
+        }
+    }
+}
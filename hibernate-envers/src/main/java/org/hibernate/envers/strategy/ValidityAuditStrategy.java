@@ -1,10 +1,11 @@
 package org.hibernate.envers.strategy;
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
-import org.hibernate.LockOptions;
 import org.hibernate.Session;
 import org.hibernate.envers.RevisionType;
 import org.hibernate.envers.configuration.AuditConfiguration;
@@ -12,8 +13,10 @@ import org.hibernate.envers.configuration.AuditEntitiesConfiguration;
 import org.hibernate.envers.configuration.GlobalConfiguration;
 import org.hibernate.envers.entities.mapper.PersistentCollectionChangeData;
 import org.hibernate.envers.entities.mapper.id.IdMapper;
+import org.hibernate.envers.entities.mapper.id.QueryParameterData;
 import org.hibernate.envers.entities.mapper.relation.MiddleComponentData;
 import org.hibernate.envers.entities.mapper.relation.MiddleIdData;
+import org.hibernate.envers.synchronization.BatchedAuditInserts;
 import org.hibernate.envers.synchronization.SessionCacheCleaner;
 import org.hibernate.envers.tools.query.Parameters;
 import org.hibernate.envers.tools.query.QueryBuilder;
@@ -33,7 +36,8 @@ import org.hibernate.property.Getter;
  *  <p>
  *  This has a few important consequences that need to be judged against against each other:
  *  <ul>
- *  <li>Persisting audit information is a bit slower, because an extra row is updated</li>
+ *  <li>Persisting audit information is a bit slower, because an extra row is updated (the previous rows are
+ *  updated with set-based statements per audit entity, see {@link #performRevisionEndUpdates(Session)})</li>
  *  <li>Retrieving audit information is a lot faster</li>
  *  </ul>
  *  </p>
@@ -48,8 +52,12 @@ public class ValidityAuditStrategy implements AuditStrategy {
 
     private final SessionCacheCleaner sessionCacheCleaner;
 
+    /** end revisions of previous audit rows, collected per session until the audit process completes */
+    private final Map<Session, RevisionEndUpdates> revisionEndUpdates;
+
     public ValidityAuditStrategy() {
         sessionCacheCleaner = new SessionCacheCleaner();
+        revisionEndUpdates = new ConcurrentHashMap<Session, RevisionEndUpdates>();
     }
 
     public void perform(Session session, String entityName, AuditConfiguration auditCfg, Serializable id, Object data,
@@ -59,66 +67,88 @@ public class ValidityAuditStrategy implements AuditStrategy {
 
         // Update the end date of the previous row if this operation is expected to have a previous row
         if (getRevisionType(auditCfg, data) != RevisionType.ADD) {
-            /*
-             Constructing a query:
-             select e from audited_ent e where e.end_rev is null and e.id = :id
-             */
-
-            QueryBuilder qb = new QueryBuilder(auditedEntityName, "e");
-
-            // e.id = :id
             IdMapper idMapper = auditCfg.getEntCfg().get(entityName).getIdMapper();
-            idMapper.addIdEqualsToQuery(qb.getRootParameters(), id, auditCfg.getAuditEntCfg().getOriginalIdPropName(), true);
-
-            addEndRevisionNullRestriction(auditCfg, qb);
-
-            @SuppressWarnings({"unchecked"})
-            List<Object> l = qb.toQuery(session).setLockOptions(LockOptions.UPGRADE).list();
+            List<QueryParameterData> idData = new ArrayList<QueryParameterData>();
+            for (QueryParameterData paramData : idMapper.mapToQueryParametersFromId(id)) {
+                idData.add(new QueryParameterData(paramData.getProperty(audEntCfg.getOriginalIdPropName()),
+                        paramData.getValue()));
+            }
 
-            updateLastRevision(session, auditCfg, l, id, auditedEntityName, revision);
+            getRevisionEndUpdates(session, auditCfg, revision).add(auditedEntityName, id, idData, true);
         }
 
         // Save the audit data
-        session.save(auditedEntityName, data);
-        sessionCacheCleaner.scheduleAuditDataRemoval(session, data);
+        saveAuditData(session, auditCfg, auditedEntityName, data);
     }
 
     @SuppressWarnings({"unchecked"})
     public void performCollectionChange(Session session, AuditConfiguration auditCfg,
                                         PersistentCollectionChangeData persistentCollectionChangeData, Object revision) {
-
-        final QueryBuilder qb = new QueryBuilder(persistentCollectionChangeData.getEntityName(), "e");
-
-        // Adding a parameter for each id component, except the rev number
+        // Adding a restriction for each id component, except the rev number
         final String originalIdPropName = auditCfg.getAuditEntCfg().getOriginalIdPropName();
         final Map<String, Object> originalId = (Map<String, Object>) persistentCollectionChangeData.getData().get(
                 originalIdPropName);
+        final List<QueryParameterData> idData = new ArrayList<QueryParameterData>();
         for (Map.Entry<String, Object> originalIdEntry : originalId.entrySet()) {
             if (!auditCfg.getAuditEntCfg().getRevisionFieldName().equals(originalIdEntry.getKey())) {
-                qb.getRootParameters().addWhereWithParam(originalIdPropName + "." + originalIdEntry.getKey(),
-                        true, "=", originalIdEntry.getValue());
+                idData.add(new QueryParameterData(originalIdPropName + "." + originalIdEntry.getKey(),
+                        originalIdEntry.getValue()));
             }
         }
 
-        addEndRevisionNullRestriction(auditCfg, qb);
-
-        final List<Object> l = qb.toQuery(session).setLockOptions(LockOptions.UPGRADE).list();
-
         // Update the last revision if one exists.
         // HHH-5967: with collections, the same element can be added and removed multiple times. So even if it's an
         // ADD, we may need to update the last revision.
-        if (l.size() > 0) {
-            updateLastRevision(session, auditCfg, l, originalId, persistentCollectionChangeData.getEntityName(), revision);
-        }
+        getRevisionEndUpdates(session, auditCfg, revision).add(persistentCollectionChangeData.getEntityName(),
+                originalId, idData, false);
 
         // Save the audit data
-        session.save(persistentCollectionChangeData.getEntityName(), persistentCollectionChangeData.getData());
-        sessionCacheCleaner.scheduleAuditDataRemoval(session, persistentCollectionChangeData.getData());
+        saveAuditData(session, auditCfg, persistentCollectionChangeData.getEntityName(),
+                persistentCollectionChangeData.getData());
+    }
+
+    /**
+     * Closes the previous audit rows of all changes performed in the given session, using one set-based update per
+     * audit entity (and per up to 1000 ids), instead of loading and re-saving each previous row.
+     * Should be called once all work units of the audit process are performed.
+     * @param session Session, in which the changes were performed.
+     */
+    public void performRevisionEndUpdates(Session session) {
+        RevisionEndUpdates updates = revisionEndUpdates.remove(session);
+        if (updates != null) {
+            // The current revision, referenced by the end revision columns, has to be inserted first
+            session.flush();
+            updates.execute(session);
+        }
     }
 
-    private void addEndRevisionNullRestriction(AuditConfiguration auditCfg, QueryBuilder qb) {
-        // e.end_rev is null
-        qb.getRootParameters().addWhere(auditCfg.getAuditEntCfg().getRevisionEndFieldName(), true, "is", "null", false);
+    /**
+     * Discards the previous audit rows collected for the given session, if any, e.g. after a failed audit process.
+     * @param session Session, in which the changes were performed.
+     */
+    public void discardRevisionEndUpdates(Session session) {
+        revisionEndUpdates.remove(session);
+    }
+
+    private RevisionEndUpdates getRevisionEndUpdates(Session session, AuditConfiguration auditCfg, Object revision) {
+        RevisionEndUpdates updates = revisionEndUpdates.get(session);
+        if (updates == null) {
+            updates = new RevisionEndUpdates(auditCfg.getAuditEntCfg(), revision,
+                    getRevisionEndTimestamp(auditCfg, revision));
+            revisionEndUpdates.put(session, updates);
+        }
+
+        return updates;
+    }
+
+    private void saveAuditData(Session session, AuditConfiguration auditCfg, String auditEntityName, Object data) {
+        BatchedAuditInserts batchedAuditInserts = auditCfg.getBatchedAuditInserts();
+        if (batchedAuditInserts != null) {
+            batchedAuditInserts.add(session, auditEntityName, data);
+        } else {
+            session.save(auditEntityName, data);
+            sessionCacheCleaner.scheduleAuditDataRemoval(session, data);
+        }
     }
 
     public void addEntityAtRevisionRestriction(GlobalConfiguration globalCfg, QueryBuilder rootQueryBuilder,
@@ -156,40 +186,19 @@ public class ValidityAuditStrategy implements AuditStrategy {
         return (RevisionType) ((Map<String, Object>) data).get(auditCfg.getAuditEntCfg().getRevisionTypePropName());
     }
 
-    @SuppressWarnings({"unchecked"})
-    private void updateLastRevision(Session session, AuditConfiguration auditCfg, List<Object> l,
-                                    Object id, String auditedEntityName, Object revision) {
-
-        // There should be one entry
-        if (l.size() == 1) {
-            // Setting the end revision to be the current rev
-            Object previousData = l.get(0);
-            String revisionEndFieldName = auditCfg.getAuditEntCfg().getRevisionEndFieldName();
-            ((Map<String, Object>) previousData).put(revisionEndFieldName, revision);
-
-            if (auditCfg.getAuditEntCfg().isRevisionEndTimestampEnabled()) {
-                // Determine the value of the revision property annotated with @RevisionTimestamp
-            	Date revisionEndTimestamp;
-            	String revEndTimestampFieldName = auditCfg.getAuditEntCfg().getRevisionEndTimestampFieldName();
-            	Object revEndTimestampObj = this.revisionTimestampGetter.get(revision);
-
-            	// convert to a java.util.Date
-            	if (revEndTimestampObj instanceof Date) {
-            		revisionEndTimestamp = (Date) revEndTimestampObj;
-            	} else {
-            		revisionEndTimestamp = new Date((Long) revEndTimestampObj);
-            	}
-
-            	// Setting the end revision timestamp
-            	((Map<String, Object>) previousData).put(revEndTimestampFieldName, revisionEndTimestamp);
-            }
-            
-            // Saving the previous version
-            session.save(auditedEntityName, previousData);
-            sessionCacheCleaner.scheduleAuditDataRemoval(session, previousData);
+    private Date getRevisionEndTimestamp(AuditConfiguration auditCfg, Object revision) {
+        if (!auditCfg.getAuditEntCfg().isRevisionEndTimestampEnabled()) {
+            return null;
+        }
+
+        // Determine the value of the revision property annotated with @RevisionTimestamp
+        Object revEndTimestampObj = this.revisionTimestampGetter.get(revision);
+
+        // convert to a java.util.Date
+        if (revEndTimestampObj instanceof Date) {
+            return (Date) revEndTimestampObj;
         } else {
-            throw new RuntimeException("Cannot find previous revision for entity " + auditedEntityName + " and id " + id);
+            return new Date((Long) revEndTimestampObj);
         }
     }
 }
-
@@ -32,6 +32,8 @@ import org.hibernate.Session;
 import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
 import org.hibernate.engine.spi.SessionImplementor;
 import org.hibernate.envers.revisioninfo.RevisionInfoGenerator;
+import org.hibernate.envers.strategy.AuditStrategy;
+import org.hibernate.envers.strategy.ValidityAuditStrategy;
 import org.hibernate.envers.synchronization.work.AuditWorkUnit;
 import org.hibernate.envers.tools.Pair;
 
@@ -40,6 +42,8 @@ import org.hibernate.envers.tools.Pair;
  */
 public class AuditProcess implements BeforeTransactionCompletionProcess {
     private final RevisionInfoGenerator revisionInfoGenerator;
+    private final AuditStrategy auditStrategy;
+    private final BatchedAuditInserts batchedAuditInserts;
     private final SessionImplementor session;
 
     private final LinkedList<AuditWorkUnit> workUnits;
@@ -49,8 +53,11 @@ public class AuditProcess implements BeforeTransactionCompletionProcess {
 
     private Object revisionData;
 
-    public AuditProcess(RevisionInfoGenerator revisionInfoGenerator, SessionImplementor session) {
+    public AuditProcess(RevisionInfoGenerator revisionInfoGenerator, AuditStrategy auditStrategy,
+                        BatchedAuditInserts batchedAuditInserts, SessionImplementor session) {
         this.revisionInfoGenerator = revisionInfoGenerator;
+        this.auditStrategy = auditStrategy;
+        this.batchedAuditInserts = batchedAuditInserts;
         this.session = session;
 
         workUnits = new LinkedList<AuditWorkUnit>();
@@ -110,6 +117,32 @@ public class AuditProcess implements BeforeTransactionCompletionProcess {
             vwu.undo(session);
         }
 
+        try {
+            performWorkUnits(session, currentRevisionData);
+
+            if (batchedAuditInserts != null) {
+                // The revision data has to be inserted before the audit rows referencing it
+                session.flush();
+                batchedAuditInserts.perform(session);
+            }
+
+            if (auditStrategy instanceof ValidityAuditStrategy) {
+                // Closing the previous audit rows of all performed work units, grouped by audit entity
+                ((ValidityAuditStrategy) auditStrategy).performRevisionEndUpdates(session);
+            }
+        } finally {
+            if (batchedAuditInserts != null) {
+                batchedAuditInserts.discard(session);
+            }
+
+            if (auditStrategy instanceof ValidityAuditStrategy) {
+                ((ValidityAuditStrategy) auditStrategy).discardRevisionEndUpdates(session);
+            }
+        }
+    }
+
+    private void performWorkUnits(Session session, Object currentRevisionData) {
+        AuditWorkUnit vwu;
         while ((vwu = workUnits.poll()) != null) {
             vwu.perform(session, revisionData);
             entityChangeNotifier.entityChanged(session, currentRevisionData, vwu);
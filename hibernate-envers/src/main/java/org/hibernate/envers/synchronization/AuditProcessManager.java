@@ -24,10 +24,12 @@
 package org.hibernate.envers.synchronization;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import org.hibernate.Session;
 import org.hibernate.Transaction;
 import org.hibernate.action.spi.AfterTransactionCompletionProcess;
 import org.hibernate.engine.spi.SessionImplementor;
 import org.hibernate.envers.revisioninfo.RevisionInfoGenerator;
+import org.hibernate.envers.strategy.AuditStrategy;
 import org.hibernate.event.spi.EventSource;
 
 /**
@@ -36,11 +38,16 @@ import org.hibernate.event.spi.EventSource;
 public class AuditProcessManager {
     private final Map<Transaction, AuditProcess> auditProcesses;
     private final RevisionInfoGenerator revisionInfoGenerator;
+    private final AuditStrategy auditStrategy;
+    private final BatchedAuditInserts batchedAuditInserts;
 
-    public AuditProcessManager(RevisionInfoGenerator revisionInfoGenerator) {
+    public AuditProcessManager(RevisionInfoGenerator revisionInfoGenerator, AuditStrategy auditStrategy,
+                               BatchedAuditInserts batchedAuditInserts) {
         auditProcesses = new ConcurrentHashMap<Transaction, AuditProcess>();
 
         this.revisionInfoGenerator = revisionInfoGenerator;
+        this.auditStrategy = auditStrategy;
+        this.batchedAuditInserts = batchedAuditInserts;
     }
 
     public AuditProcess get(EventSource session) {
@@ -49,7 +56,7 @@ public class AuditProcessManager {
         AuditProcess auditProcess = auditProcesses.get(transaction);
         if (auditProcess == null) {
             // No worries about registering a transaction twice - a transaction is single thread
-            auditProcess = new AuditProcess(revisionInfoGenerator, session);
+            auditProcess = new AuditProcess(revisionInfoGenerator, auditStrategy, batchedAuditInserts, session);
             auditProcesses.put(transaction, auditProcess);
 
             session.getActionQueue().registerProcess(auditProcess);
@@ -63,4 +70,11 @@ public class AuditProcessManager {
 
         return auditProcess;
     }
+
+    /**
+     * @return True if audit data is being written in the current transaction of the given session.
+     */
+    public boolean isAuditing(Session session) {
+        return auditProcesses.containsKey(session.getTransaction());
+    }
 }
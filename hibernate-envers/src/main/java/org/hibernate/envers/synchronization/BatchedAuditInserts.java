@@ -0,0 +1,101 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.envers.synchronization;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+
+/**
+ * Audit rows, collected per session while the work units of an audit process are performed, and then written
+ * directly with the insert statements of the audit entities' persisters. The rows never enter the persistence
+ * context and bypass the save event listeners and interceptors. Rows are grouped by audit entity, so that
+ * consecutive inserts into an audit table end up in the same JDBC batch (when {@code hibernate.jdbc.batch_size}
+ * is set).
+ * @see org.hibernate.envers.configuration.GlobalConfiguration#isBatchAuditInserts()
+ */
+public class BatchedAuditInserts {
+    private final Map<Session, Map<String, List<Object>>> pendingInserts;
+
+    public BatchedAuditInserts() {
+        pendingInserts = new ConcurrentHashMap<Session, Map<String, List<Object>>>();
+    }
+
+    /**
+     * Schedules the insert of an audit row.
+     * @param session Session, in which the audit process is executed.
+     * @param auditEntityName Name of the audit entity.
+     * @param data Audit data of the row.
+     */
+    public void add(Session session, String auditEntityName, Object data) {
+        Map<String, List<Object>> inserts = pendingInserts.get(session);
+        if (inserts == null) {
+            inserts = new LinkedHashMap<String, List<Object>>();
+            pendingInserts.put(session, inserts);
+        }
+
+        List<Object> rows = inserts.get(auditEntityName);
+        if (rows == null) {
+            rows = new ArrayList<Object>();
+            inserts.put(auditEntityName, rows);
+        }
+
+        rows.add(data);
+    }
+
+    /**
+     * Writes all audit rows scheduled in the given session. The revision entity, referenced by the rows, must
+     * already be flushed.
+     * @param session Session, in which the audit process is executed.
+     */
+    public void perform(Session session) {
+        Map<String, List<Object>> inserts = pendingInserts.remove(session);
+        if (inserts == null) {
+            return;
+        }
+
+        SessionImplementor sessionImplementor = (SessionImplementor) session;
+        for (Map.Entry<String, List<Object>> entityInserts : inserts.entrySet()) {
+            EntityPersister persister = sessionImplementor.getFactory().getEntityPersister(entityInserts.getKey());
+            for (Object data : entityInserts.getValue()) {
+                persister.insert(persister.getIdentifier(data, sessionImplementor), persister.getPropertyValues(data),
+                        data, sessionImplementor);
+            }
+        }
+
+        sessionImplementor.getTransactionCoordinator().getJdbcCoordinator().executeBatch();
+    }
+
+    /**
+     * Discards the audit rows scheduled in the given session, if any, e.g. after a failed audit process.
+     * @param session Session, in which the audit process is executed.
+     */
+    public void discard(Session session) {
+        pendingInserts.remove(session);
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.envers.test.integration.cache;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.persistence.EntityManager;
+
+import org.hibernate.Session;
+import org.hibernate.ejb.Ejb3Configuration;
+import org.hibernate.envers.test.AbstractEntityTest;
+import org.hibernate.envers.test.Priority;
+import org.hibernate.envers.test.entities.onetomany.SetRefEdEntity;
+import org.hibernate.envers.test.entities.onetomany.SetRefIngEntity;
+import org.hibernate.proxy.HibernateProxy;
+import org.hibernate.stat.Statistics;
+import org.junit.Test;
+
+/**
+ * Tests batch fetching of to-one relations and the historic entity cache shared by all audit readers.
+ */
+@SuppressWarnings({"ObjectEquality"})
+public class BatchFetchHistoricCache extends AbstractEntityTest {
+    private static final int ED_COUNT = 4;
+    private static final int ING_COUNT = 8;
+
+    public void configure(Ejb3Configuration cfg) {
+        cfg.addAnnotatedClass(SetRefEdEntity.class);
+        cfg.addAnnotatedClass(SetRefIngEntity.class);
+
+        cfg.setProperty("org.hibernate.envers.default_batch_fetch_size", "10");
+        cfg.setProperty("org.hibernate.envers.historic_cache_size", "100");
+        cfg.setProperty("org.hibernate.envers.historic_cache_settle_time", "0");
+        cfg.setProperty("hibernate.generate_statistics", "true");
+    }
+
+    @Test
+    @Priority(10)
+    public void initData() {
+        EntityManager em = getEntityManager();
+
+        // Revision 1
+        em.getTransaction().begin();
+        SetRefEdEntity[] eds = new SetRefEdEntity[ED_COUNT];
+        for (int i = 0; i < ED_COUNT; i++) {
+            eds[i] = new SetRefEdEntity(i + 1, "ed_" + i);
+            em.persist(eds[i]);
+        }
+        for (int i = 0; i < ING_COUNT; i++) {
+            em.persist(new SetRefIngEntity(i + 1, "ing_" + i, eds[i % ED_COUNT]));
+        }
+        em.getTransaction().commit();
+
+        // Revision 2
+        em.getTransaction().begin();
+        for (int i = 0; i < ED_COUNT; i++) {
+            em.find(SetRefEdEntity.class, i + 1).setData("ed_" + i + "_changed");
+        }
+        em.getTransaction().commit();
+    }
+
+    @Test
+    public void testReferencesLoadedInOneQuery() {
+        settleHistoricCache();
+
+        Statistics statistics = getStatistics();
+        statistics.clear();
+
+        List<SetRefIngEntity> ings = getAuditReader().createQuery()
+                .forEntitiesAtRevision(SetRefIngEntity.class, 1).getResultList();
+        assert ings.size() == ING_COUNT;
+        assert statistics.getQueryExecutionCount() == 1;
+
+        Map<Integer, Object> references = new HashMap<Integer, Object>();
+        for (SetRefIngEntity ing : ings) {
+            int edIndex = (ing.getId() - 1) % ED_COUNT;
+            assert ("ed_" + edIndex).equals(ing.getReference().getData());
+
+            // All proxies of the same entity are initialized with the same object
+            Object implementation = ((HibernateProxy) ing.getReference()).getHibernateLazyInitializer()
+                    .getImplementation();
+            assert !references.containsKey(edIndex) || references.get(edIndex) == implementation;
+            references.put(edIndex, implementation);
+        }
+        assert statistics.getQueryExecutionCount() == 2;
+    }
+
+    @Test
+    public void testHistoricStatesSharedByReaders() {
+        settleHistoricCache();
+        SetRefEdEntity[] eds = new SetRefEdEntity[ED_COUNT];
+        for (int i = 0; i < ED_COUNT; i++) {
+            eds[i] = getAuditReader().find(SetRefEdEntity.class, i + 1, 2);
+        }
+
+        newEntityManager();
+        Statistics statistics = getStatistics();
+        statistics.clear();
+
+        for (int i = 0; i < ED_COUNT; i++) {
+            SetRefEdEntity ed = getAuditReader().find(SetRefEdEntity.class, i + 1, 2);
+            assert ed != eds[i];
+            assert ("ed_" + i + "_changed").equals(ed.getData());
+
+            // Changing an entity read earlier doesn't affect the cached state
+            eds[i].setData("modified");
+            assert ("ed_" + i + "_changed").equals(
+                    getAuditReader().find(SetRefEdEntity.class, i + 1, 2).getData());
+        }
+        assert statistics.getQueryExecutionCount() == 0;
+
+        // Collections are still read from the database
+        assert getAuditReader().find(SetRefEdEntity.class, 1, 2).getReffering().size() == ING_COUNT / ED_COUNT;
+    }
+
+    @Test
+    public void testStatesAboveLatestRevisionNotCached() {
+        // Revision 3 doesn't exist yet
+        assert "ed_0_changed".equals(getAuditReader().find(SetRefEdEntity.class, 1, 3).getData());
+
+        // Revision 3
+        EntityManager em = getEntityManager();
+        em.getTransaction().begin();
+        em.find(SetRefEdEntity.class, 1).setData("ed_0_revision_3");
+        em.getTransaction().commit();
+
+        newEntityManager();
+        assert "ed_0_revision_3".equals(getAuditReader().find(SetRefEdEntity.class, 1, 3).getData());
+    }
+
+    /**
+     * Lets the historic cache observe the latest revision twice, after which states read up to it are cached.
+     */
+    private void settleHistoricCache() {
+        for (int i = 0; i < 2; i++) {
+            newEntityManager();
+            getAuditReader().find(SetRefEdEntity.class, 1, 2);
+        }
+        newEntityManager();
+    }
+
+    private Statistics getStatistics() {
+        return ((Session) getEntityManager().getDelegate()).getSessionFactory().getStatistics();
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.envers.test.integration.cache;
+
+import javax.persistence.EntityManager;
+
+import org.hibernate.Session;
+import org.hibernate.ejb.Ejb3Configuration;
+import org.hibernate.envers.test.AbstractEntityTest;
+import org.hibernate.envers.test.Priority;
+import org.hibernate.envers.test.entities.StrTestEntity;
+import org.hibernate.stat.Statistics;
+import org.junit.Test;
+
+/**
+ * Tests that the historic entity cache doesn't keep states which change when a revision with a lower number
+ * commits after a higher one, as revisions taken from a sequence may.
+ */
+public class HistoricCacheOutOfOrderRevisions extends AbstractEntityTest {
+    private static final long SETTLE_TIME = 200;
+
+    private Integer id;
+
+    public void configure(Ejb3Configuration cfg) {
+        cfg.addAnnotatedClass(StrTestEntity.class);
+
+        cfg.setProperty("org.hibernate.envers.historic_cache_size", "100");
+        cfg.setProperty("org.hibernate.envers.historic_cache_settle_time", String.valueOf(SETTLE_TIME));
+        cfg.setProperty("hibernate.generate_statistics", "true");
+    }
+
+    @Test
+    @Priority(10)
+    public void initData() {
+        EntityManager em = getEntityManager();
+
+        // Revision 1
+        em.getTransaction().begin();
+        StrTestEntity entity = new StrTestEntity("a");
+        em.persist(entity);
+        em.getTransaction().commit();
+        id = entity.getId();
+
+        // Revision 3 commits while revision 2 is still in flight
+        em.getTransaction().begin();
+        insertRevision(em, 3);
+        em.getTransaction().commit();
+    }
+
+    @Test
+    public void testStateChangedByLateRevisionNotCached() throws InterruptedException {
+        assert "a".equals(getAuditReader().find(StrTestEntity.class, id, 3).getStr());
+
+        // Revision 2 commits after revision 3 and changes the state at revision 3
+        EntityManager em = getEntityManager();
+        em.getTransaction().begin();
+        insertRevision(em, 2);
+        em.createNativeQuery("insert into StrTestEntity_AUD (id, REV, REVTYPE, str) values (?, 2, 1, 'b')")
+                .setParameter(1, id).executeUpdate();
+        if (getAuditStrategy() != null) {
+            // The validity audit strategy also closes the previous audit row
+            em.createNativeQuery("update StrTestEntity_AUD set REVEND = 2 where id = ? and REV = 1")
+                    .setParameter(1, id).executeUpdate();
+        }
+        em.getTransaction().commit();
+
+        Thread.sleep(SETTLE_TIME + 50);
+        newEntityManager();
+        assert "b".equals(getAuditReader().find(StrTestEntity.class, id, 3).getStr());
+
+        // Once no revision up to 3 has committed for the settle time, states at revision 3 are cached
+        Thread.sleep(SETTLE_TIME + 50);
+        newEntityManager();
+        assert "b".equals(getAuditReader().find(StrTestEntity.class, id, 3).getStr());
+
+        newEntityManager();
+        Statistics statistics = ((Session) getEntityManager().getDelegate()).getSessionFactory().getStatistics();
+        statistics.clear();
+        assert "b".equals(getAuditReader().find(StrTestEntity.class, id, 3).getStr());
+        assert statistics.getQueryExecutionCount() == 0;
+    }
+
+    private void insertRevision(EntityManager em, int revision) {
+        em.createNativeQuery("insert into REVINFO (REV, REVTSTMP) values (?, ?)")
+                .setParameter(1, revision).setParameter(2, System.currentTimeMillis()).executeUpdate();
+    }
+}
@@ -5,6 +5,7 @@ import org.hibernate.envers.CrossTypeRevisionChangesReader;
 import org.hibernate.envers.test.AbstractEntityTest;
 import org.hibernate.envers.test.Priority;
 import org.hibernate.envers.test.entities.StrTestEntity;
+import org.hibernate.envers.test.tools.TestTools;
 import org.junit.Test;
 
 import javax.persistence.EntityManager;
@@ -60,7 +61,8 @@ public class TrackingEntitiesMultipleChangesTest extends AbstractEntityTest {
         StrTestEntity ste1 = new StrTestEntity("x", steId1);
         StrTestEntity ste2 = new StrTestEntity("y", steId2);
 
-        assert Arrays.asList(ste1, ste2).equals(getCrossTypeRevisionChangesReader().findEntities(1));
+        // The audit rows are not read in a defined order
+        assert TestTools.checkList(getCrossTypeRevisionChangesReader().findEntities(1), ste1, ste2);
     }
 
     @Test
@@ -68,7 +70,7 @@ public class TrackingEntitiesMultipleChangesTest extends AbstractEntityTest {
         StrTestEntity ste1 = new StrTestEntity("z", steId1);
         StrTestEntity ste2 = new StrTestEntity(null, steId2);
 
-        assert Arrays.asList(ste1, ste2).equals(getCrossTypeRevisionChangesReader().findEntities(2));
+        assert TestTools.checkList(getCrossTypeRevisionChangesReader().findEntities(2), ste1, ste2);
     }
 
     @Test
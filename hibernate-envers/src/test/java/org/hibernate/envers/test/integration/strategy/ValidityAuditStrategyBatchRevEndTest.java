@@ -0,0 +1,131 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.envers.test.integration.strategy;
+
+import java.util.Arrays;
+import javax.persistence.EntityManager;
+
+import org.hibernate.ejb.Ejb3Configuration;
+import org.hibernate.envers.test.AbstractEntityTest;
+import org.hibernate.envers.test.Priority;
+import org.hibernate.envers.test.entities.StrTestEntity;
+import org.hibernate.envers.test.entities.ids.EmbId;
+import org.hibernate.envers.test.entities.ids.EmbIdTestEntity;
+import org.junit.Test;
+
+/**
+ * Tests that the end revisions of many previous audit rows, closed with set-based updates by the
+ * {@link org.hibernate.envers.strategy.ValidityAuditStrategy}, are set only on the rows of the changed entities.
+ */
+public class ValidityAuditStrategyBatchRevEndTest extends AbstractEntityTest {
+    private static final int COUNT = 30;
+
+    private Integer[] ids = new Integer[COUNT];
+    private EmbId embId1;
+    private EmbId embId2;
+
+    public void configure(Ejb3Configuration cfg) {
+        cfg.addAnnotatedClass(StrTestEntity.class);
+        cfg.addAnnotatedClass(EmbIdTestEntity.class);
+
+        cfg.setProperty("org.hibernate.envers.audit_strategy", "org.hibernate.envers.strategy.ValidityAuditStrategy");
+    }
+
+    @Test
+    @Priority(10)
+    public void initData() {
+        EntityManager em = getEntityManager();
+
+        // Revision 1
+        em.getTransaction().begin();
+        for (int i = 0; i < COUNT; i++) {
+            StrTestEntity entity = new StrTestEntity("x" + i);
+            em.persist(entity);
+            ids[i] = entity.getId();
+        }
+        embId1 = new EmbId(1, 2);
+        embId2 = new EmbId(1, 3);
+        em.persist(new EmbIdTestEntity(embId1, "a"));
+        em.persist(new EmbIdTestEntity(embId2, "b"));
+        em.getTransaction().commit();
+
+        // Revision 2 - modifying every second entity and one of the composite id entities
+        em.getTransaction().begin();
+        for (int i = 0; i < COUNT; i += 2) {
+            em.find(StrTestEntity.class, ids[i]).setStr("y" + i);
+        }
+        em.find(EmbIdTestEntity.class, embId1).setStr1("c");
+        em.getTransaction().commit();
+
+        // Revision 3 - modifying all entities, removing the first one
+        em.getTransaction().begin();
+        for (int i = 1; i < COUNT; i++) {
+            em.find(StrTestEntity.class, ids[i]).setStr("z" + i);
+        }
+        em.remove(em.find(StrTestEntity.class, ids[0]));
+        em.find(EmbIdTestEntity.class, embId1).setStr1("d");
+        em.find(EmbIdTestEntity.class, embId2).setStr1("e");
+        em.getTransaction().commit();
+    }
+
+    @Test
+    public void testOpenRows() {
+        // Only the last row of each entity has no end revision
+        assert countRows("StrTestEntity_AUD", "REVEND is null") == COUNT;
+        assert countRows("StrTestEntity_AUD", "REVEND is null and REV = 3") == COUNT;
+        assert countRows("EmbIdTestEntity_AUD", "REVEND is null and REV = 3") == 2;
+    }
+
+    @Test
+    public void testClosedRows() {
+        assert countRows("StrTestEntity_AUD", "REV = 1 and REVEND = 2") == COUNT / 2;
+        assert countRows("StrTestEntity_AUD", "REV = 1 and REVEND = 3") == COUNT / 2;
+        assert countRows("StrTestEntity_AUD", "REV = 2 and REVEND = 3") == COUNT / 2;
+        assert countRows("EmbIdTestEntity_AUD", "REV = 1 and REVEND = 2") == 1;
+        assert countRows("EmbIdTestEntity_AUD", "REV = 1 and REVEND = 3") == 1;
+        assert countRows("EmbIdTestEntity_AUD", "REV = 2 and REVEND = 3") == 1;
+    }
+
+    @Test
+    public void testRevisionsCounts() {
+        assert Arrays.asList(1, 2, 3).equals(getAuditReader().getRevisions(StrTestEntity.class, ids[0]));
+        assert Arrays.asList(1, 3).equals(getAuditReader().getRevisions(StrTestEntity.class, ids[1]));
+        assert Arrays.asList(1, 2, 3).equals(getAuditReader().getRevisions(EmbIdTestEntity.class, embId1));
+        assert Arrays.asList(1, 3).equals(getAuditReader().getRevisions(EmbIdTestEntity.class, embId2));
+    }
+
+    @Test
+    public void testHistory() {
+        assert "y2".equals(getAuditReader().find(StrTestEntity.class, ids[2], 2).getStr());
+        assert "x1".equals(getAuditReader().find(StrTestEntity.class, ids[1], 2).getStr());
+        assert getAuditReader().find(StrTestEntity.class, ids[0], 3) == null;
+        assert "c".equals(getAuditReader().find(EmbIdTestEntity.class, embId1, 2).getStr1());
+        assert "b".equals(getAuditReader().find(EmbIdTestEntity.class, embId2, 2).getStr1());
+    }
+
+    private int countRows(String table, String condition) {
+        return ((Number) getEntityManager().createNativeQuery("select count(*) from " + table + " where " + condition)
+                .getSingleResult()).intValue();
+    }
+}
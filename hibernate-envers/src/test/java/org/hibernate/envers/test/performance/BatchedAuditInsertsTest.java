@@ -0,0 +1,133 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.envers.test.performance;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import javax.persistence.EntityManager;
+
+import org.hibernate.ejb.Ejb3Configuration;
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.envers.test.AbstractEntityTest;
+import org.hibernate.envers.test.Priority;
+import org.hibernate.envers.test.entities.StrTestEntity;
+import org.hibernate.envers.test.entities.manytomany.SetOwnedEntity;
+import org.hibernate.envers.test.entities.manytomany.SetOwningEntity;
+import org.hibernate.envers.test.tools.TestTools;
+import org.junit.Test;
+
+/**
+ * Tests writing audit rows directly in JDBC batches, bypassing the persistence context.
+ */
+public class BatchedAuditInsertsTest extends AbstractEntityTest {
+    private static final int COUNT = 25;
+
+    private Integer[] ids = new Integer[COUNT];
+    private Integer ing_id;
+    private Integer ed1_id;
+    private Integer ed2_id;
+
+    public void configure(Ejb3Configuration cfg) {
+        cfg.addAnnotatedClass(StrTestEntity.class);
+        cfg.addAnnotatedClass(SetOwningEntity.class);
+        cfg.addAnnotatedClass(SetOwnedEntity.class);
+
+        cfg.setProperty("org.hibernate.envers.batch_audit_inserts", "true");
+        cfg.setProperty("hibernate.jdbc.batch_size", "10");
+    }
+
+    @Test
+    @Priority(10)
+    public void initData() {
+        EntityManager em = getEntityManager();
+
+        // Revision 1
+        em.getTransaction().begin();
+        for (int i = 0; i < COUNT; i++) {
+            StrTestEntity entity = new StrTestEntity("x" + i);
+            em.persist(entity);
+            ids[i] = entity.getId();
+        }
+        SetOwnedEntity ed1 = new SetOwnedEntity(1, "ed1");
+        SetOwnedEntity ed2 = new SetOwnedEntity(2, "ed2");
+        SetOwningEntity ing = new SetOwningEntity(3, "ing");
+        ing.setReferences(new HashSet<SetOwnedEntity>(Arrays.asList(ed1, ed2)));
+        em.persist(ed1);
+        em.persist(ed2);
+        em.persist(ing);
+        em.getTransaction().commit();
+
+        ing_id = ing.getId();
+        ed1_id = ed1.getId();
+        ed2_id = ed2.getId();
+
+        checkNoAuditData(em);
+
+        // Revision 2
+        em.getTransaction().begin();
+        for (int i = 1; i < COUNT; i++) {
+            em.find(StrTestEntity.class, ids[i]).setStr("y" + i);
+        }
+        em.remove(em.find(StrTestEntity.class, ids[0]));
+        ing = em.find(SetOwningEntity.class, ing_id);
+        ing.getReferences().remove(em.find(SetOwnedEntity.class, ed1_id));
+        em.getTransaction().commit();
+
+        checkNoAuditData(em);
+    }
+
+    @Test
+    public void testRevisionsCounts() {
+        for (int i = 0; i < COUNT; i++) {
+            assert Arrays.asList(1, 2).equals(getAuditReader().getRevisions(StrTestEntity.class, ids[i]));
+        }
+        assert Arrays.asList(1, 2).equals(getAuditReader().getRevisions(SetOwningEntity.class, ing_id));
+        assert Arrays.asList(1, 2).equals(getAuditReader().getRevisions(SetOwnedEntity.class, ed1_id));
+        assert Arrays.asList(1).equals(getAuditReader().getRevisions(SetOwnedEntity.class, ed2_id));
+    }
+
+    @Test
+    public void testHistory() {
+        for (int i = 1; i < COUNT; i++) {
+            assert ("x" + i).equals(getAuditReader().find(StrTestEntity.class, ids[i], 1).getStr());
+            assert ("y" + i).equals(getAuditReader().find(StrTestEntity.class, ids[i], 2).getStr());
+        }
+        assert getAuditReader().find(StrTestEntity.class, ids[0], 2) == null;
+
+        SetOwnedEntity ed1 = getEntityManager().find(SetOwnedEntity.class, ed1_id);
+        SetOwnedEntity ed2 = getEntityManager().find(SetOwnedEntity.class, ed2_id);
+        assert getAuditReader().find(SetOwningEntity.class, ing_id, 1).getReferences().equals(
+                TestTools.makeSet(ed1, ed2));
+        assert getAuditReader().find(SetOwningEntity.class, ing_id, 2).getReferences().equals(
+                TestTools.makeSet(ed2));
+    }
+
+    private void checkNoAuditData(EntityManager em) {
+        SessionImplementor session = (SessionImplementor) em.getDelegate();
+        for (Object entry : session.getPersistenceContext().getEntityEntries().values()) {
+            assert !((EntityEntry) entry).getEntityName().endsWith("_AUD");
+        }
+    }
+}
@@ -24,12 +24,14 @@
 package org.hibernate.cache.infinispan.access;
 import java.lang.ref.WeakReference;
 import java.util.HashMap;
-import java.util.LinkedList;
-import java.util.List;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import javax.transaction.SystemException;
@@ -75,6 +77,14 @@ import org.hibernate.cache.CacheException;
  * call.
  * </p>
  *
+ * <p>
+ * None of the bookkeeping is guarded by a lock shared by all keys: pending puts and recent
+ * removals are tracked in concurrent maps, and the queues used to clean them out are lock-free.
+ * Housekeeping of the pending put queues is done by one thread at a time; other threads skip it
+ * rather than wait. The only locks are the per-key locks ordering a putFromLoad with invalidations
+ * of the same key.
+ * </p>
+ *
  * @author Brian Stansberry
  * 
  * @version $Revision: $
@@ -114,29 +124,34 @@ public class PutFromLoadValidator {
     */
    private final ConcurrentMap<Object, PendingPutMap> pendingPuts = new ConcurrentHashMap<Object, PendingPutMap>();
    /**
-    * List of pending puts. Used to ensure we don't leak memory via the pendingPuts map
+    * Queue of pending puts. Used to ensure we don't leak memory via the pendingPuts map
     */
-   private final List<WeakReference<PendingPut>> pendingQueue = new LinkedList<WeakReference<PendingPut>>();
+   private final Queue<WeakReference<PendingPut>> pendingQueue = new ConcurrentLinkedQueue<WeakReference<PendingPut>>();
    /**
-    * Separate list of pending puts that haven't been resolved within PENDING_PUT_OVERAGE_PERIOD.
+    * Separate queue of pending puts that haven't been resolved within PENDING_PUT_OVERAGE_PERIOD.
     * Used to ensure we don't leak memory via the pendingPuts map. Tracked separately from more
     * recent pending puts for efficiency reasons.
     */
-   private final List<WeakReference<PendingPut>> overagePendingQueue = new LinkedList<WeakReference<PendingPut>>();
-   /** Lock controlling access to pending put queues */
-   private final Lock pendingLock = new ReentrantLock();
-   private final ConcurrentMap<Object, Long> recentRemovals = new ConcurrentHashMap<Object, Long>();
+   private final Queue<WeakReference<PendingPut>> overagePendingQueue = new ConcurrentLinkedQueue<WeakReference<PendingPut>>();
    /**
-    * List of recent removals. Used to ensure we don't leak memory via the recentRemovals map
+    * Held by the thread cleaning the pending put queues. Never waited for; a thread finding it
+    * held leaves the housekeeping to its holder.
     */
-   private final List<RecentRemoval> removalsQueue = new LinkedList<RecentRemoval>();
+   private final Lock pendingCleanupLock = new ReentrantLock();
    /**
-    * The time when the first element in removalsQueue will expire. No reason to do housekeeping on
-    * the queue before this time.
+    * Keys removed recently, mapped to the time until which naked puts of the key are rejected.
     */
-   private volatile long earliestRemovalTimestamp;
-   /** Lock controlling access to removalsQueue */
-   private final Lock removalsLock = new ReentrantLock();
+   private final ConcurrentMap<Object, Long> recentRemovals = new ConcurrentHashMap<Object, Long>();
+   /**
+    * Queue of recent removals, in the order of their expiration. Used to ensure we don't leak
+    * memory via the recentRemovals map
+    */
+   private final Queue<RecentRemoval> removalsQueue = new ConcurrentLinkedQueue<RecentRemoval>();
+
+   /** Number of calls to acquirePutFromLoadLock() which returned <code>false</code> */
+   private final AtomicLong rejectedPutCount = new AtomicLong();
+   /** Number of calls to acquirePutFromLoadLock() allowed without a registered pending put */
+   private final AtomicLong nakedPutCount = new AtomicLong();
 
    /**
     * The time of the last call to regionRemoved(), plus NAKED_PUT_INVALIDATION_PERIOD. All naked
@@ -185,13 +200,21 @@ public class PutFromLoadValidator {
     *         can proceed; <code>false</code> if the data should not be cached
     */
 	public boolean acquirePutFromLoadLock(Object key) {
+      boolean valid = doAcquirePutFromLoadLock(key);
+      if (!valid) {
+         rejectedPutCount.incrementAndGet();
+      }
+      return valid;
+   }
+
+   private boolean doAcquirePutFromLoadLock(Object key) {
       boolean valid = false;
       boolean locked = false;
       long now = System.currentTimeMillis();
 
       // Important: Do cleanup before we acquire any locks so we
       // don't deadlock with invalidateRegion
-      cleanOutdatedPendingPuts(now, true);
+      cleanOutdatedPendingPuts(now);
 
       try {
          PendingPutMap pending = pendingPuts.get(key);
@@ -224,8 +247,11 @@ public class PutFromLoadValidator {
                   // To do this we basically simulate a normal "register
                   // then acquire lock" pattern
                   registerPendingPut(key);
-                  locked = acquirePutFromLoadLock(key);
+                  locked = doAcquirePutFromLoadLock(key);
                   valid = locked;
+                  if (valid) {
+                     nakedPutCount.incrementAndGet();
+                  }
                }
             }
          }
@@ -305,35 +331,10 @@ public class PutFromLoadValidator {
       // Record when this occurred to invalidate later naked puts
       RecentRemoval removal = new RecentRemoval(key, this.nakedPutInvalidationPeriod);
       recentRemovals.put(key, removal.timestamp);
+      removalsQueue.add(removal);
 
       // Don't let recentRemovals map become a memory leak
-      RecentRemoval toClean = null;
-      boolean attemptClean = removal.timestamp.longValue() > earliestRemovalTimestamp;
-      removalsLock.lock();
-      try {
-         removalsQueue.add(removal);
-
-         if (attemptClean) {
-            if (removalsQueue.size() > 1) { // we have at least one as we
-               // just added it
-               toClean = removalsQueue.remove(0);
-            }
-            earliestRemovalTimestamp = removalsQueue.get(0).timestamp.longValue();
-         }
-      } finally {
-         removalsLock.unlock();
-      }
-
-      if (toClean != null) {
-         Long cleaned = recentRemovals.get(toClean.key);
-         if (cleaned != null && cleaned.equals(toClean.timestamp)) {
-            cleaned = recentRemovals.remove(toClean.key);
-            if (cleaned != null && cleaned.equals(toClean.timestamp) == false) {
-               // Oops; removed the wrong timestamp; restore it
-               recentRemovals.putIfAbsent(toClean.key, cleaned);
-            }
-         }
-      }
+      cleanExpiredRemovals(System.currentTimeMillis());
 
       return success;
    }
@@ -370,23 +371,14 @@ public class PutFromLoadValidator {
             }
          }
 
-         removalsLock.lock();
-         try {
-            recentRemovals.clear();
-            removalsQueue.clear();
-
-            ok = true;
+         recentRemovals.clear();
+         removalsQueue.clear();
 
-         } finally {
-            removalsLock.unlock();
-         }
+         ok = true;
       }
       catch (Exception e) {
          ok = false;
       }
-      finally {
-         earliestRemovalTimestamp = invalidationTimestamp;
-      }
 
       return ok;
 	}
@@ -435,36 +427,37 @@ public class PutFromLoadValidator {
       preventOutdatedPendingPuts(pendingPut);
    }
 
+   /**
+    * @return the number of calls to {@link #acquirePutFromLoadLock(Object)} which returned
+    *         <code>false</code>, i.e. of putFromLoad calls which were not allowed to update the cache
+    */
+   public long getRejectedPutCount() {
+      return rejectedPutCount.get();
+   }
+
+   /**
+    * @return the number of calls to {@link #acquirePutFromLoadLock(Object)} which were allowed
+    *         although no pending put had been {@link #registerPendingPut(Object) registered} for them
+    */
+   public long getNakedPutCount() {
+      return nakedPutCount.get();
+   }
+
    // -------------------------------------------------------------- Protected
 
    /** Only for use by unit tests; may be removed at any time */
    protected int getPendingPutQueueLength() {
-      pendingLock.lock();
-      try {
-         return pendingQueue.size();
-      } finally {
-         pendingLock.unlock();
-      }
+      return pendingQueue.size();
    }
 
    /** Only for use by unit tests; may be removed at any time */
    protected int getOveragePendingPutQueueLength() {
-      pendingLock.lock();
-      try {
-         return overagePendingQueue.size();
-      } finally {
-         pendingLock.unlock();
-      }
+      return overagePendingQueue.size();
    }
 
    /** Only for use by unit tests; may be removed at any time */
    protected int getRemovalQueueLength() {
-      removalsLock.lock();
-      try {
-         return removalsQueue.size();
-      } finally {
-         removalsLock.unlock();
-      }
+      return removalsQueue.size();
    }
 
    // ---------------------------------------------------------------- Private
@@ -483,37 +476,33 @@ public class PutFromLoadValidator {
    }
 
    private void preventOutdatedPendingPuts(PendingPut pendingPut) {
-      pendingLock.lock();
-      try {
-         pendingQueue.add(new WeakReference<PendingPut>(pendingPut));
-         if (pendingQueue.size() > 1) {
-            cleanOutdatedPendingPuts(pendingPut.timestamp, false);
-         }
-      } finally {
-         pendingLock.unlock();
-      }
+      pendingQueue.add(new WeakReference<PendingPut>(pendingPut));
+      cleanOutdatedPendingPuts(pendingPut.timestamp);
    }
 
-   private void cleanOutdatedPendingPuts(long now, boolean lock) {
+   private void cleanOutdatedPendingPuts(long now) {
 
-      PendingPut toClean = null;
-      if (lock) {
-         pendingLock.lock();
+      // Only one thread cleans the queues at a time; the others needn't wait for it
+      if (!pendingCleanupLock.tryLock()) {
+         return;
       }
+
+      PendingPut toClean = null;
       try {
          // Clean items out of the basic queue
          long overaged = now - this.pendingPutOveragePeriod;
          long recent = now - this.pendingPutRecentPeriod;
 
          int pos = 0;
-         while (pendingQueue.size() > pos) {
-            WeakReference<PendingPut> ref = pendingQueue.get(pos);
+         Iterator<WeakReference<PendingPut>> iter = pendingQueue.iterator();
+         while (iter.hasNext()) {
+            WeakReference<PendingPut> ref = iter.next();
             PendingPut item = ref.get();
             if (item == null || item.completed) {
-               pendingQueue.remove(pos);
+               iter.remove();
             } else if (item.timestamp < overaged) {
                // Potential leak; move to the overaged queued
-               pendingQueue.remove(pos);
+               iter.remove();
                overagePendingQueue.add(ref);
             } else if (item.timestamp >= recent) {
                // Don't waste time on very recent items
@@ -531,23 +520,21 @@ public class PutFromLoadValidator {
          // or an incomplete item that hasn't aged out
          long mustCleanTime = now - this.maxPendingPutDelay;
 
-         while (overagePendingQueue.size() > 0) {
-            WeakReference<PendingPut> ref = overagePendingQueue.get(0);
+         WeakReference<PendingPut> ref;
+         while ((ref = overagePendingQueue.peek()) != null) {
             PendingPut item = ref.get();
             if (item == null || item.completed) {
-               overagePendingQueue.remove(0);
+               overagePendingQueue.poll();
             } else {
                if (item.timestamp < mustCleanTime) {
-                  overagePendingQueue.remove(0);
+                  overagePendingQueue.poll();
                   toClean = item;
                }
                break;
             }
          }
       } finally {
-         if (lock) {
-            pendingLock.unlock();
-         }
+         pendingCleanupLock.unlock();
       }
 
       // We've found a pendingPut that never happened; clean it up
@@ -581,17 +568,22 @@ public class PutFromLoadValidator {
    }
 
    private void restorePendingPut(PendingPut toRestore) {
-      pendingLock.lock();
-      try {
-         // Give it a new lease on life so it's not out of order. We could
-         // scan the queue and put toRestore back at the front, but then
-         // we'll just immediately try removing it again; instead we
-         // let it cycle through the queue again
-         toRestore.refresh();
-         pendingQueue.add(new WeakReference<PendingPut>(toRestore));
-      }
-      finally {
-         pendingLock.unlock();
+      // Give it a new lease on life so it's not out of order. We could
+      // scan the queue and put toRestore back at the front, but then
+      // we'll just immediately try removing it again; instead we
+      // let it cycle through the queue again
+      toRestore.refresh();
+      pendingQueue.add(new WeakReference<PendingPut>(toRestore));
+   }
+
+   private void cleanExpiredRemovals(long now) {
+      RecentRemoval removal;
+      while ((removal = removalsQueue.peek()) != null && removal.timestamp.longValue() < now) {
+         // A concurrent caller may have dequeued the same removal
+         if (removalsQueue.remove(removal)) {
+            // Leaves the entry alone if the key has been removed again since
+            recentRemovals.remove(removal.key, removal.timestamp);
+         }
       }
    }
 
@@ -677,7 +669,7 @@ public class PutFromLoadValidator {
    private static class PendingPut {
       private final Object key;
       private final Object owner;
-      private long timestamp = System.currentTimeMillis();
+      private volatile long timestamp = System.currentTimeMillis();
       private volatile boolean completed;
 
       private PendingPut(Object key, Object owner) {
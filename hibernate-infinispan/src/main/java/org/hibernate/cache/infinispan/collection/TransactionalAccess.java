@@ -1,4 +1,6 @@
 package org.hibernate.cache.infinispan.collection;
+import java.util.Collection;
+import java.util.Map;
 import org.hibernate.cache.CacheException;
 import org.hibernate.cache.spi.CollectionRegion;
 import org.hibernate.cache.spi.access.CollectionRegionAccessStrategy;
@@ -35,6 +37,10 @@ class TransactionalAccess implements CollectionRegionAccessStrategy {
       return delegate.get(key, txTimestamp);
    }
 
+   public Map getAll(Collection keys, long txTimestamp) throws CacheException {
+      return delegate.getAll(keys, txTimestamp);
+   }
+
    public boolean putFromLoad(Object key, Object value, long txTimestamp, Object version) throws CacheException {
       return delegate.putFromLoad(key, value, txTimestamp, version);
    }
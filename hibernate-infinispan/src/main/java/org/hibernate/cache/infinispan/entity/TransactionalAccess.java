@@ -1,4 +1,6 @@
 package org.hibernate.cache.infinispan.entity;
+import java.util.Collection;
+import java.util.Map;
 import org.hibernate.cache.CacheException;
 import org.hibernate.cache.spi.EntityRegion;
 import org.hibernate.cache.spi.access.EntityRegionAccessStrategy;
@@ -35,6 +37,10 @@ class TransactionalAccess implements EntityRegionAccessStrategy {
       return delegate.get(key, txTimestamp);
    }
 
+   public Map getAll(Collection keys, long txTimestamp) throws CacheException {
+      return delegate.getAll(keys, txTimestamp);
+   }
+
    public EntityRegion getRegion() {
       return this.region;
    }
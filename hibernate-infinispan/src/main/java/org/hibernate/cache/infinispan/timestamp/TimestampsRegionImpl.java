@@ -1,4 +1,6 @@
 package org.hibernate.cache.infinispan.timestamp;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -74,6 +76,17 @@ public class TimestampsRegionImpl extends BaseGeneralDataRegion implements Times
       return value;
    }
 
+   public Map getAll(Collection keys) throws CacheException {
+      // timestamps are normally served from the local copy, so no remote batching is attempted
+      Map result = new HashMap();
+      for (Object key : keys) {
+         Object value = get(key);
+         if (value != null)
+            result.put(key, value);
+      }
+      return result;
+   }
+
    public void put(Object key, Object value) throws CacheException {
       // Don't hold the JBC node lock throughout the tx, as that
       // prevents reads and other updates
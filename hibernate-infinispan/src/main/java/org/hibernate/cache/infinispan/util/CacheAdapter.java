@@ -21,6 +21,7 @@
  * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
  */
 package org.hibernate.cache.infinispan.util;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -89,6 +90,17 @@ public interface CacheAdapter {
     */
    Object get(Object key) throws CacheException;
 
+   /**
+    * Retrieves several keys at once, issuing the reads asynchronously so that remote
+    * lookups overlap instead of running one after the other.  Exceptions are wrapped
+    * in a {@link CacheException}.
+    *
+    * @param keys keys to retrieve
+    * @return the values found, keyed by their key; missing keys have no mapping
+    * @throws CacheException
+    */
+   Map getAll(Collection keys) throws CacheException;
+
    /**
     * Performs an <code>get(Object)</code> on the cache ignoring any {@link TimeoutException} 
     * and wrapping any other exception in a {@link CacheException}.
@@ -21,9 +21,14 @@
  * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
  */
 package org.hibernate.cache.infinispan.util;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import org.hibernate.cache.CacheException;
 import org.infinispan.Cache;
 import org.infinispan.config.Configuration;
@@ -81,6 +86,28 @@ public class CacheAdapterImpl implements CacheAdapter {
       }
    }
 
+   public Map getAll(Collection keys) throws CacheException {
+      try {
+         Map<Object, Future> futures = new LinkedHashMap<Object, Future>();
+         for (Object key : keys)
+            futures.put(key, cache.getAsync(key));
+         Map result = new HashMap();
+         for (Map.Entry<Object, Future> entry : futures.entrySet()) {
+            Object value = entry.getValue().get();
+            if (value != null)
+               result.put(entry.getKey(), value);
+         }
+         return result;
+      } catch (ExecutionException e) {
+         throw new CacheException(e.getCause());
+      } catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+         throw new CacheException(e);
+      } catch (Exception e) {
+         throw new CacheException(e);
+      }
+   }
+
    public Object getAllowingTimeout(Object key) throws CacheException {
       try {
          return getFailSilentCache().get(key);
@@ -96,6 +96,31 @@ public class PutFromLoadValidatorUnitTestCase {
       }
    }
    @Test
+   public void testPutCounts() throws Exception {
+      PutFromLoadValidator testee = new PutFromLoadValidator(null);
+
+      // Naked put
+      assertTrue(testee.acquirePutFromLoadLock(KEY1));
+      testee.releasePutFromLoadLock(KEY1);
+
+      // Registered put
+      testee.registerPendingPut(KEY1);
+      assertTrue(testee.acquirePutFromLoadLock(KEY1));
+      testee.releasePutFromLoadLock(KEY1);
+
+      // Naked put after a removal
+      testee.invalidateKey(KEY1);
+      assertFalse(testee.acquirePutFromLoadLock(KEY1));
+
+      // Registered put with an intervening removal
+      testee.registerPendingPut(KEY1);
+      testee.invalidateKey(KEY1);
+      assertFalse(testee.acquirePutFromLoadLock(KEY1));
+
+      assertEquals(1, testee.getNakedPutCount());
+      assertEquals(2, testee.getRejectedPutCount());
+   }
+   @Test
    public void testRegisteredPut() throws Exception {
       registeredPutTest(false);
    }
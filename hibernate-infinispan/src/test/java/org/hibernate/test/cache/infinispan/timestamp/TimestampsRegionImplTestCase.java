@@ -23,6 +23,8 @@
  */
 package org.hibernate.test.cache.infinispan.timestamp;
 
+import java.util.Arrays;
+import java.util.Map;
 import java.util.Properties;
 
 import org.infinispan.AdvancedCache;
@@ -40,6 +42,7 @@ import org.infinispan.notifications.cachelistener.event.Event;
 
 import org.hibernate.cache.spi.CacheDataDescription;
 import org.hibernate.cache.spi.Region;
+import org.hibernate.cache.spi.TimestampsRegion;
 import org.hibernate.cache.spi.UpdateTimestampsCache;
 import org.hibernate.cache.infinispan.InfinispanRegionFactory;
 import org.hibernate.cache.infinispan.impl.ClassLoaderAwareCache;
@@ -50,12 +53,17 @@ import org.hibernate.cache.infinispan.util.FlagAdapter;
 import org.hibernate.cfg.Configuration;
 import org.hibernate.service.ServiceRegistryBuilder;
 
+import org.junit.Test;
+
 import org.hibernate.test.cache.infinispan.AbstractGeneralDataRegionTestCase;
 import org.hibernate.test.cache.infinispan.functional.classloader.Account;
 import org.hibernate.test.cache.infinispan.functional.classloader.AccountHolder;
 import org.hibernate.test.cache.infinispan.functional.classloader.SelectedClassnameClassLoader;
 import org.hibernate.test.cache.infinispan.util.CacheTestUtil;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
 /**
  * Tests of TimestampsRegionImpl.
  * 
@@ -79,6 +87,28 @@ public class TimestampsRegionImplTestCase extends AbstractGeneralDataRegionTestC
       return CacheAdapterImpl.newInstance(regionFactory.getCacheManager().getCache("timestamps"));
    }
 
+   @Test
+   public void testGetAll() throws Exception {
+      Configuration cfg = createConfiguration();
+      InfinispanRegionFactory regionFactory = CacheTestUtil.startRegionFactory(
+			  new ServiceRegistryBuilder().applySettings( cfg.getProperties() ).buildServiceRegistry(),
+			  cfg,
+			  getCacheTestSupport()
+	  );
+      // Sleep a bit to avoid concurrent FLUSH problem
+      avoidConcurrentFlush();
+
+      TimestampsRegion region = regionFactory.buildTimestampsRegion(getStandardRegionName(REGION_PREFIX), cfg.getProperties());
+      region.put("A", 1L);
+      region.put("B", 2L);
+
+      Map timestamps = region.getAll(Arrays.asList("A", "B", "C"));
+      assertEquals(2, timestamps.size());
+      assertEquals(Long.valueOf(1), timestamps.get("A"));
+      assertEquals(Long.valueOf(2), timestamps.get("B"));
+      assertFalse(timestamps.containsKey("C"));
+   }
+
    public void testClearTimestampsRegionInIsolated() throws Exception {
       Configuration cfg = createConfiguration();
       InfinispanRegionFactory regionFactory = CacheTestUtil.startRegionFactory(
@@ -0,0 +1,210 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.service.jdbc.connections.internal;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Lock-free container of the {@link PoolEntry entries} of a {@link ConnectionPool}.
+ * <p/>
+ * Borrowing first looks at the entries the current thread returned most recently (they are likely to still be
+ * free and their memory cached), then scans the shared list claiming an entry through compare-and-set.  Threads which
+ * have to wait are handed entries directly by the returning threads.  Closing the bag hands them a marker instead,
+ * so that they stop waiting.
+ */
+final class ConnectionBag {
+	private static final int MAX_THREAD_LOCAL_ENTRIES = 16;
+
+	private final CopyOnWriteArrayList<PoolEntry> sharedEntries = new CopyOnWriteArrayList<PoolEntry>();
+	private final ThreadLocal<List<WeakReference<PoolEntry>>> threadEntries = new ThreadLocal<List<WeakReference<PoolEntry>>>() {
+		@Override
+		protected List<WeakReference<PoolEntry>> initialValue() {
+			return new ArrayList<WeakReference<PoolEntry>>( MAX_THREAD_LOCAL_ENTRIES );
+		}
+	};
+	private static final Object CLOSED = new Object();
+
+	// holds PoolEntry instances, or CLOSED once the bag is closed
+	private final SynchronousQueue<Object> handoffQueue = new SynchronousQueue<Object>( true );
+	private final AtomicInteger waiters = new AtomicInteger();
+	private volatile boolean closed;
+
+	/**
+	 * Claim a free entry without waiting.
+	 *
+	 * @return The claimed entry (now {@link PoolEntry#STATE_IN_USE in use}), or null if none is free.
+	 */
+	PoolEntry tryBorrow() {
+		final List<WeakReference<PoolEntry>> recent = threadEntries.get();
+		for ( int i = recent.size() - 1; i >= 0; i-- ) {
+			final PoolEntry entry = recent.remove( i ).get();
+			if ( entry != null && entry.compareAndSetState( PoolEntry.STATE_NOT_IN_USE, PoolEntry.STATE_IN_USE ) ) {
+				return entry;
+			}
+		}
+		return scan();
+	}
+
+	/**
+	 * Wait for an entry to become free.
+	 *
+	 * @param timeout The maximum time to wait, in nanoseconds
+	 *
+	 * @return The claimed entry, or null if none became free in time or the bag was closed.
+	 *
+	 * @throws InterruptedException If interrupted while waiting
+	 */
+	PoolEntry borrow(long timeout) throws InterruptedException {
+		waiters.incrementAndGet();
+		try {
+			// an entry may have been returned before we registered as waiter
+			PoolEntry entry = scan();
+			if ( entry != null ) {
+				return entry;
+			}
+			long remaining = timeout;
+			while ( remaining > 0 && !closed ) {
+				final long start = System.nanoTime();
+				final Object handed = handoffQueue.poll( remaining, TimeUnit.NANOSECONDS );
+				if ( handed == null || handed == CLOSED ) {
+					return null;
+				}
+				entry = (PoolEntry) handed;
+				if ( entry.compareAndSetState( PoolEntry.STATE_NOT_IN_USE, PoolEntry.STATE_IN_USE ) ) {
+					return entry;
+				}
+				remaining -= System.nanoTime() - start;
+			}
+			return null;
+		}
+		finally {
+			waiters.decrementAndGet();
+		}
+	}
+
+	/**
+	 * Stop the threads waiting in {@link #borrow}, and make those arriving later return at once.
+	 */
+	void close() {
+		closed = true;
+		for ( int i = 0; waiters.get() > 0; i++ ) {
+			if ( !handoffQueue.offer( CLOSED ) ) {
+				pause( i );
+			}
+		}
+	}
+
+	/**
+	 * Make an entry available again, handing it directly to a waiting thread if there is one.
+	 *
+	 * @param entry The entry to return
+	 */
+	void requite(PoolEntry entry) {
+		entry.setState( PoolEntry.STATE_NOT_IN_USE );
+		handoff( entry );
+		final List<WeakReference<PoolEntry>> recent = threadEntries.get();
+		if ( recent.size() < MAX_THREAD_LOCAL_ENTRIES ) {
+			recent.add( new WeakReference<PoolEntry>( entry ) );
+		}
+	}
+
+	/**
+	 * Add a newly created entry.  Entries added {@link PoolEntry#STATE_NOT_IN_USE free} are offered to waiting
+	 * threads.
+	 *
+	 * @param entry The entry to add
+	 */
+	void add(PoolEntry entry) {
+		sharedEntries.add( entry );
+		handoff( entry );
+	}
+
+	/**
+	 * Release an entry {@link PoolEntry#STATE_RESERVED reserved} by the pool (during validation, e.g.).
+	 *
+	 * @param entry The entry to release
+	 */
+	void unreserve(PoolEntry entry) {
+		if ( entry.compareAndSetState( PoolEntry.STATE_RESERVED, PoolEntry.STATE_NOT_IN_USE ) ) {
+			handoff( entry );
+		}
+	}
+
+	boolean remove(PoolEntry entry) {
+		entry.setState( PoolEntry.STATE_REMOVED );
+		return sharedEntries.remove( entry );
+	}
+
+	List<PoolEntry> values() {
+		return sharedEntries;
+	}
+
+	int getWaitingThreadCount() {
+		return waiters.get();
+	}
+
+	int count(int state) {
+		int count = 0;
+		for ( PoolEntry entry : sharedEntries ) {
+			if ( entry.getState() == state ) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	private PoolEntry scan() {
+		for ( PoolEntry entry : sharedEntries ) {
+			if ( entry.compareAndSetState( PoolEntry.STATE_NOT_IN_USE, PoolEntry.STATE_IN_USE ) ) {
+				return entry;
+			}
+		}
+		return null;
+	}
+
+	private void handoff(PoolEntry entry) {
+		for ( int i = 0; waiters.get() > 0; i++ ) {
+			if ( entry.getState() != PoolEntry.STATE_NOT_IN_USE || handoffQueue.offer( entry ) ) {
+				return;
+			}
+			pause( i );
+		}
+	}
+
+	private static void pause(int attempt) {
+		if ( ( attempt & 0xff ) == 0xff ) {
+			LockSupport.parkNanos( TimeUnit.MICROSECONDS.toNanos( 10 ) );
+		}
+		else {
+			Thread.yield();
+		}
+	}
+}
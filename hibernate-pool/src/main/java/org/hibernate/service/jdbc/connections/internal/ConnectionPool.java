@@ -0,0 +1,440 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.service.jdbc.connections.internal;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.jboss.logging.Logger;
+
+import org.hibernate.cfg.Environment;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+import org.hibernate.stat.ConnectionPoolStatistics;
+
+/**
+ * The connection pool behind {@link PooledConnectionProvider}.
+ * <p/>
+ * Borrowing is lock-free (see {@link ConnectionBag}); a borrower finding no free connection opens a new one if the
+ * pool is below its maximum size and otherwise waits, at most {@link Environment#POOL_ACQUIRE_TIMEOUT}, for one to be
+ * returned.  A background task closes connections which exceeded their idle timeout or maximum lifetime, validates
+ * idle connections, reports connections held longer than the leak detection threshold and keeps the pool at its
+ * minimum size.
+ */
+final class ConnectionPool implements ConnectionPoolStatistics {
+	private static final PoolMessageLogger LOG = Logger.getMessageLogger( PoolMessageLogger.class, ConnectionPool.class.getName() );
+
+	private static final long DEFAULT_HOUSEKEEPING_PERIOD = 30000L;
+	private static final long MIN_HOUSEKEEPING_PERIOD = 100L;
+
+	private final String url;
+	private final Properties connectionProps;
+	private final Integer isolation;
+	private final boolean autocommit;
+
+	private final int minSize;
+	private final int maxSize;
+	private final long acquireTimeout;
+	private final long idleTimeout;
+	private final long maxLifetime;
+	private final long validationInterval;
+	private final int validationTimeout;
+	private final int statementCacheSize;
+	private final long leakDetectionThreshold;
+
+	private final ConnectionBag bag = new ConnectionBag();
+	private final AtomicInteger totalConnections = new AtomicInteger();
+	private final ScheduledExecutorService housekeeper;
+	private volatile boolean closed;
+
+	private final AtomicLong acquisitionCount = new AtomicLong();
+	private final AtomicLong acquisitionTimeoutCount = new AtomicLong();
+	private final AtomicLong connectionCreationCount = new AtomicLong();
+	private final AtomicLong leakedConnectionCount = new AtomicLong();
+	private final AtomicLong maxAcquisitionWaitTime = new AtomicLong();
+	private final AtomicLongArray waitTimeHistogram = new AtomicLongArray( WAIT_TIME_HISTOGRAM_BUCKETS );
+
+	ConnectionPool(String url, Properties connectionProps, Integer isolation, boolean autocommit, Map configurationValues) {
+		this.url = url;
+		this.connectionProps = connectionProps;
+		this.isolation = isolation;
+		this.autocommit = autocommit;
+
+		final int poolSize = ConfigurationHelper.getInt( Environment.POOL_SIZE, configurationValues, 20 );
+		this.maxSize = Math.max( 1, ConfigurationHelper.getInt( Environment.POOL_MAX_SIZE, configurationValues, poolSize ) );
+		this.minSize = Math.min( maxSize, ConfigurationHelper.getInt( Environment.POOL_MIN_SIZE, configurationValues, 0 ) );
+		this.acquireTimeout = getLong( Environment.POOL_ACQUIRE_TIMEOUT, configurationValues, 30000L );
+		this.idleTimeout = getLong( Environment.POOL_IDLE_TIMEOUT, configurationValues, 600000L );
+		this.maxLifetime = getLong( Environment.POOL_MAX_LIFETIME, configurationValues, 1800000L );
+		this.validationInterval = getLong( Environment.POOL_VALIDATION_INTERVAL, configurationValues, DEFAULT_HOUSEKEEPING_PERIOD );
+		this.validationTimeout = ConfigurationHelper.getInt( Environment.POOL_VALIDATION_TIMEOUT, configurationValues, 5 );
+		this.statementCacheSize = ConfigurationHelper.getInt( Environment.POOL_STATEMENT_CACHE_SIZE, configurationValues, 0 );
+		this.leakDetectionThreshold = getLong( Environment.POOL_LEAK_DETECTION_THRESHOLD, configurationValues, 0L );
+		LOG.poolSizes( minSize, maxSize, acquireTimeout );
+
+		this.housekeeper = Executors.newSingleThreadScheduledExecutor(
+				new ThreadFactory() {
+					public Thread newThread(Runnable runnable) {
+						Thread thread = new Thread( runnable, "Hibernate pool housekeeper [" + ConnectionPool.this.url + "]" );
+						thread.setDaemon( true );
+						return thread;
+					}
+				}
+		);
+		fillPool();
+		long period = validationInterval > 0 ? validationInterval : DEFAULT_HOUSEKEEPING_PERIOD;
+		if ( leakDetectionThreshold > 0 ) {
+			period = Math.min( period, leakDetectionThreshold );
+		}
+		period = Math.max( period, MIN_HOUSEKEEPING_PERIOD );
+		housekeeper.scheduleWithFixedDelay(
+				new Runnable() {
+					public void run() {
+						houseKeep();
+					}
+				},
+				period,
+				period,
+				TimeUnit.MILLISECONDS
+		);
+	}
+
+	private static long getLong(String name, Map values, long defaultValue) {
+		final Object value = values.get( name );
+		if ( value == null ) {
+			return defaultValue;
+		}
+		if ( value instanceof Number ) {
+			return ( (Number) value ).longValue();
+		}
+		return Long.parseLong( value.toString().trim() );
+	}
+
+	/**
+	 * Check a connection out of the pool.
+	 *
+	 * @return The pooled connection handle
+	 *
+	 * @throws SQLException If no connection could be obtained within the acquire timeout
+	 */
+	Connection getConnection() throws SQLException {
+		if ( closed ) {
+			throw poolClosed();
+		}
+		final long start = System.nanoTime();
+		final long deadline = start + TimeUnit.MILLISECONDS.toNanos( acquireTimeout );
+		try {
+			while ( true ) {
+				PoolEntry entry = bag.tryBorrow();
+				if ( entry == null && reserveSlot() ) {
+					entry = createEntry( PoolEntry.STATE_IN_USE );
+				}
+				if ( entry == null ) {
+					final long remaining = deadline - System.nanoTime();
+					entry = remaining > 0 ? bag.borrow( remaining ) : null;
+					if ( entry == null && closed ) {
+						throw poolClosed();
+					}
+					if ( entry == null ) {
+						acquisitionTimeoutCount.incrementAndGet();
+						throw new SQLTransientConnectionException(
+								"Unable to acquire a JDBC connection from the Hibernate pool within " + acquireTimeout + "ms"
+						);
+					}
+				}
+				if ( closed ) {
+					// closed while this thread was borrowing or creating the connection
+					destroy( entry );
+					throw poolClosed();
+				}
+				final long now = System.currentTimeMillis();
+				if ( isExpired( entry, now ) || !isValid( entry, now ) ) {
+					destroy( entry );
+					continue;
+				}
+				entry.borrowed( now, leakDetectionThreshold > 0 );
+				recordAcquisition( System.nanoTime() - start );
+				return new PooledConnection( entry, this );
+			}
+		}
+		catch ( InterruptedException e ) {
+			Thread.currentThread().interrupt();
+			throw new SQLException( "Interrupted while waiting for a JDBC connection from the Hibernate pool", e );
+		}
+	}
+
+	/**
+	 * Return a connection to the pool.  The {@link PooledConnection} handle has already reset it to its initial state.
+	 *
+	 * @param entry The entry of the returned connection
+	 */
+	void release(PoolEntry entry) {
+		final long now = System.currentTimeMillis();
+		entry.returned( now );
+		if ( closed || isExpired( entry, now ) ) {
+			destroy( entry );
+			return;
+		}
+		bag.requite( entry );
+	}
+
+	/**
+	 * Take a returned connection out of circulation because it could not be reset to its initial state.
+	 *
+	 * @param entry The entry of the returned connection
+	 * @param e The failure resetting the connection
+	 */
+	void discard(PoolEntry entry, SQLException e) {
+		LOG.unableToResetPooledConnection( e );
+		entry.returned( System.currentTimeMillis() );
+		destroy( entry );
+	}
+
+	/**
+	 * Close the pool.  Idle connections are closed immediately, connections in use once they are returned.  Threads
+	 * waiting for a connection fail at once.
+	 */
+	void close() {
+		closed = true;
+		housekeeper.shutdownNow();
+		bag.close();
+		for ( PoolEntry entry : bag.values() ) {
+			if ( entry.compareAndSetState( PoolEntry.STATE_NOT_IN_USE, PoolEntry.STATE_RESERVED ) ) {
+				destroy( entry );
+			}
+		}
+	}
+
+	private static SQLException poolClosed() {
+		return new SQLException( "Hibernate pool has been closed" );
+	}
+
+	private boolean reserveSlot() {
+		while ( true ) {
+			final int total = totalConnections.get();
+			if ( total >= maxSize ) {
+				return false;
+			}
+			if ( totalConnections.compareAndSet( total, total + 1 ) ) {
+				return true;
+			}
+		}
+	}
+
+	private PoolEntry createEntry(int initialState) throws SQLException {
+		final PoolEntry entry;
+		Connection connection = null;
+		try {
+			LOG.debugf( "Opening new JDBC connection" );
+			connection = DriverManager.getConnection( url, connectionProps );
+			if ( isolation != null ) {
+				connection.setTransactionIsolation( isolation.intValue() );
+			}
+			if ( connection.getAutoCommit() != autocommit ) {
+				connection.setAutoCommit( autocommit );
+			}
+			entry = new PoolEntry( connection, statementCacheSize, initialState );
+		}
+		catch ( SQLException e ) {
+			totalConnections.decrementAndGet();
+			closeQuietly( connection );
+			throw e;
+		}
+		catch ( RuntimeException e ) {
+			totalConnections.decrementAndGet();
+			closeQuietly( connection );
+			throw e;
+		}
+		connectionCreationCount.incrementAndGet();
+		bag.add( entry );
+		return entry;
+	}
+
+	private void closeQuietly(Connection connection) {
+		if ( connection != null ) {
+			try {
+				connection.close();
+			}
+			catch ( SQLException e ) {
+				LOG.unableToClosePooledConnection( e );
+			}
+		}
+	}
+
+	private void destroy(PoolEntry entry) {
+		if ( !bag.remove( entry ) ) {
+			return;
+		}
+		totalConnections.decrementAndGet();
+		if ( entry.getStatementCache() != null ) {
+			entry.getStatementCache().close();
+		}
+		closeQuietly( entry.getConnection() );
+		if ( !closed && bag.getWaitingThreadCount() > 0 ) {
+			// make up for the lost connection without making the waiting threads wait for it
+			housekeeper.execute(
+					new Runnable() {
+						public void run() {
+							fillPool();
+						}
+					}
+			);
+		}
+	}
+
+	private boolean isExpired(PoolEntry entry, long now) {
+		return maxLifetime > 0 && now - entry.getCreationTime() > maxLifetime;
+	}
+
+	private boolean isValid(PoolEntry entry, long now) {
+		if ( now - entry.getLastAccessTime() < validationInterval ) {
+			return true;
+		}
+		try {
+			return entry.getConnection().isValid( validationTimeout );
+		}
+		catch ( SQLException e ) {
+			LOG.debugf( "Pooled connection failed validation [%s]", e.getMessage() );
+			return false;
+		}
+	}
+
+	private void houseKeep() {
+		final long now = System.currentTimeMillis();
+		for ( PoolEntry entry : bag.values() ) {
+			if ( entry.compareAndSetState( PoolEntry.STATE_NOT_IN_USE, PoolEntry.STATE_RESERVED ) ) {
+				final boolean idleTooLong = idleTimeout > 0
+						&& now - entry.getLastAccessTime() > idleTimeout
+						&& totalConnections.get() > minSize;
+				if ( idleTooLong || isExpired( entry, now ) || !isValid( entry, now ) ) {
+					destroy( entry );
+				}
+				else {
+					bag.unreserve( entry );
+				}
+			}
+			else if ( leakDetectionThreshold > 0
+					&& entry.getState() == PoolEntry.STATE_IN_USE
+					&& !entry.isLeakReported()
+					&& now - entry.getBorrowTime() > leakDetectionThreshold ) {
+				final Throwable acquisitionSite = entry.getAcquisitionSite();
+				if ( acquisitionSite != null ) {
+					entry.markLeakReported();
+					leakedConnectionCount.incrementAndGet();
+					LOG.connectionLeakDetected( leakDetectionThreshold, acquisitionSite );
+				}
+			}
+		}
+		fillPool();
+	}
+
+	private void fillPool() {
+		while ( !closed
+				&& ( totalConnections.get() < minSize || bag.getWaitingThreadCount() > 0 )
+				&& reserveSlot() ) {
+			try {
+				createEntry( PoolEntry.STATE_NOT_IN_USE );
+			}
+			catch ( SQLException e ) {
+				LOG.unableToOpenPooledConnection( e );
+				return;
+			}
+		}
+	}
+
+	private void recordAcquisition(long waitNanos) {
+		acquisitionCount.incrementAndGet();
+		final long waitMillis = TimeUnit.NANOSECONDS.toMillis( waitNanos );
+		long max = maxAcquisitionWaitTime.get();
+		while ( waitMillis > max && !maxAcquisitionWaitTime.compareAndSet( max, waitMillis ) ) {
+			max = maxAcquisitionWaitTime.get();
+		}
+		int bucket = 0;
+		for ( long bound = 1; waitMillis >= bound && bucket < WAIT_TIME_HISTOGRAM_BUCKETS - 1; bound *= 10 ) {
+			bucket++;
+		}
+		waitTimeHistogram.incrementAndGet( bucket );
+	}
+
+	// ConnectionPoolStatistics ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	public int getActiveConnectionCount() {
+		return bag.count( PoolEntry.STATE_IN_USE );
+	}
+
+	public int getIdleConnectionCount() {
+		return bag.count( PoolEntry.STATE_NOT_IN_USE );
+	}
+
+	public int getPendingAcquisitionCount() {
+		return bag.getWaitingThreadCount();
+	}
+
+	public long getAcquisitionCount() {
+		return acquisitionCount.get();
+	}
+
+	public long getAcquisitionTimeoutCount() {
+		return acquisitionTimeoutCount.get();
+	}
+
+	public long getConnectionCreationCount() {
+		return connectionCreationCount.get();
+	}
+
+	public long getLeakedConnectionCount() {
+		return leakedConnectionCount.get();
+	}
+
+	public long getMaxAcquisitionWaitTime() {
+		return maxAcquisitionWaitTime.get();
+	}
+
+	public long[] getAcquisitionWaitTimeHistogram() {
+		final long[] histogram = new long[WAIT_TIME_HISTOGRAM_BUCKETS];
+		for ( int i = 0; i < histogram.length; i++ ) {
+			histogram[i] = waitTimeHistogram.get( i );
+		}
+		return histogram;
+	}
+
+	@Override
+	public String toString() {
+		return "ConnectionPool[url=" + url
+				+ ",active=" + getActiveConnectionCount()
+				+ ",idle=" + getIdleConnectionCount()
+				+ ",waiting=" + getPendingAcquisitionCount()
+				+ ']';
+	}
+}
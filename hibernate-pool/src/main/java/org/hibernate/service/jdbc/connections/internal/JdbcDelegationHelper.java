@@ -0,0 +1,68 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.service.jdbc.connections.internal;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+
+/**
+ * Helper for delegating JDBC methods introduced after JDBC 4.0 which therefore cannot be called directly from
+ * the pooled connection and statement wrappers.
+ */
+final class JdbcDelegationHelper {
+	private JdbcDelegationHelper() {
+	}
+
+	static Object invoke(Object target, Class jdbcInterface, String methodName, Class[] argumentTypes, Object[] arguments)
+			throws SQLException {
+		final Method method;
+		try {
+			method = jdbcInterface.getMethod( methodName, argumentTypes );
+		}
+		catch ( NoSuchMethodException e ) {
+			throw new SQLFeatureNotSupportedException( jdbcInterface.getName() + "#" + methodName + " is not supported" );
+		}
+		try {
+			return method.invoke( target, arguments );
+		}
+		catch ( InvocationTargetException e ) {
+			final Throwable cause = e.getTargetException();
+			if ( cause instanceof SQLException ) {
+				throw ( SQLException ) cause;
+			}
+			if ( cause instanceof RuntimeException ) {
+				throw ( RuntimeException ) cause;
+			}
+			if ( cause instanceof Error ) {
+				throw ( Error ) cause;
+			}
+			throw new SQLException( cause );
+		}
+		catch ( IllegalAccessException e ) {
+			throw new SQLException( e );
+		}
+	}
+}
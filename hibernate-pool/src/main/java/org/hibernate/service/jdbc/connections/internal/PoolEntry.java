@@ -0,0 +1,139 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.service.jdbc.connections.internal;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A physical connection held by the {@link ConnectionPool}, together with its pooling state.  The state is only ever
+ * changed through compare-and-set so that borrowing never needs a lock.
+ * <p/>
+ * The auto-commit, isolation and read-only settings the connection had once the pool configured it are kept so that
+ * {@link PooledConnection#close()} can restore them before the connection goes back to the pool.
+ */
+final class PoolEntry {
+	static final int STATE_NOT_IN_USE = 0;
+	static final int STATE_IN_USE = 1;
+	static final int STATE_RESERVED = -1;
+	static final int STATE_REMOVED = -2;
+
+	private final AtomicInteger state;
+	private final Connection connection;
+	private final StatementCache statementCache;
+	private final long creationTime;
+	private final boolean initialAutoCommit;
+	private final int initialTransactionIsolation;
+	private final boolean initialReadOnly;
+
+	private volatile long lastAccessTime;
+	private volatile long borrowTime;
+	private volatile Throwable acquisitionSite;
+	private volatile boolean leakReported;
+
+	PoolEntry(Connection connection, int statementCacheSize, int initialState) throws SQLException {
+		this.connection = connection;
+		this.initialAutoCommit = connection.getAutoCommit();
+		this.initialTransactionIsolation = connection.getTransactionIsolation();
+		this.initialReadOnly = connection.isReadOnly();
+		this.statementCache = statementCacheSize > 0 ? new StatementCache( statementCacheSize ) : null;
+		this.state = new AtomicInteger( initialState );
+		this.creationTime = System.currentTimeMillis();
+		this.lastAccessTime = creationTime;
+	}
+
+	Connection getConnection() {
+		return connection;
+	}
+
+	StatementCache getStatementCache() {
+		return statementCache;
+	}
+
+	boolean getInitialAutoCommit() {
+		return initialAutoCommit;
+	}
+
+	int getInitialTransactionIsolation() {
+		return initialTransactionIsolation;
+	}
+
+	boolean isInitialReadOnly() {
+		return initialReadOnly;
+	}
+
+	int getState() {
+		return state.get();
+	}
+
+	boolean compareAndSetState(int expected, int newState) {
+		return state.compareAndSet( expected, newState );
+	}
+
+	void setState(int newState) {
+		state.set( newState );
+	}
+
+	long getCreationTime() {
+		return creationTime;
+	}
+
+	long getLastAccessTime() {
+		return lastAccessTime;
+	}
+
+	long getBorrowTime() {
+		return borrowTime;
+	}
+
+	Throwable getAcquisitionSite() {
+		return acquisitionSite;
+	}
+
+	boolean isLeakReported() {
+		return leakReported;
+	}
+
+	void markLeakReported() {
+		leakReported = true;
+	}
+
+	void borrowed(long now, boolean trackAcquisitionSite) {
+		borrowTime = now;
+		lastAccessTime = now;
+		leakReported = false;
+		acquisitionSite = trackAcquisitionSite ? new Throwable( "Connection acquisition site" ) : null;
+	}
+
+	void returned(long now) {
+		lastAccessTime = now;
+		acquisitionSite = null;
+	}
+
+	@Override
+	public String toString() {
+		return "PoolEntry[" + connection + ", state=" + state.get() + "]";
+	}
+}
@@ -0,0 +1,70 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.service.jdbc.connections.internal;
+
+import static org.jboss.logging.Logger.Level.INFO;
+import static org.jboss.logging.Logger.Level.WARN;
+import java.sql.SQLException;
+
+import org.hibernate.internal.CoreMessageLogger;
+
+import org.jboss.logging.Cause;
+import org.jboss.logging.LogMessage;
+import org.jboss.logging.Message;
+import org.jboss.logging.MessageLogger;
+
+/**
+ * The jboss-logging {@link MessageLogger} for the hibernate-pool module.  It reserves message ids ranging from
+ * 35001 to 40000 inclusively.
+ * <p/>
+ * New messages must be added after the last message defined to ensure message codes are unique.
+ */
+@MessageLogger( projectCode = "HHH" )
+public interface PoolMessageLogger extends CoreMessageLogger {
+
+	@LogMessage( level = INFO )
+	@Message( value = "Hibernate pool using driver: %s at URL: %s", id = 35001 )
+	void poolUsingDriver(String jdbcDriverClass, String jdbcUrl);
+
+	@LogMessage( level = INFO )
+	@Message( value = "Hibernate pool sizes: min %s, max %s; acquire timeout: %sms", id = 35002 )
+	void poolSizes(int minSize, int maxSize, long acquireTimeout);
+
+	@LogMessage( level = WARN )
+	@Message( value = "Unable to open JDBC connection for the Hibernate pool", id = 35003 )
+	void unableToOpenPooledConnection(@Cause SQLException e);
+
+	@LogMessage( level = WARN )
+	@Message( value = "Connection leak detected: a JDBC connection has been checked out for more than %sms; "
+			+ "the stack trace shows where it was acquired", id = 35004 )
+	void connectionLeakDetected(long leakDetectionThreshold, @Cause Throwable acquisitionSite);
+
+	@LogMessage( level = INFO )
+	@Message( value = "Closing Hibernate pool for URL: %s", id = 35005 )
+	void closingPool(String jdbcUrl);
+
+	@LogMessage( level = WARN )
+	@Message( value = "Unable to reset returned JDBC connection, discarding it", id = 35006 )
+	void unableToResetPooledConnection(@Cause SQLException e);
+}
@@ -0,0 +1,454 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.service.jdbc.connections.internal;
+
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.CallableStatement;
+import java.sql.Clob;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.NClob;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLClientInfoException;
+import java.sql.SQLException;
+import java.sql.SQLWarning;
+import java.sql.SQLXML;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.sql.Struct;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.Executor;
+
+/**
+ * The handle to a {@link PoolEntry pooled} connection given out by the {@link ConnectionPool}.  Closing it returns
+ * the connection to the pool, after which the handle is unusable.  Prepared statements are served from the
+ * {@link StatementCache} of the connection when statement caching is enabled.
+ * <p/>
+ * Before the connection goes back to the pool, the statements created through the handle and left open are closed,
+ * uncommitted work is rolled back and the auto-commit, isolation and read-only settings changed through the handle
+ * are restored.  A connection which cannot be reset that way is discarded instead.
+ */
+final class PooledConnection implements Connection {
+	private static final Class[] NO_ARG_TYPES = new Class[0];
+	private static final Object[] NO_ARGS = new Object[0];
+
+	private static final int MIN_STATEMENT_TRACKING_LIMIT = 16;
+
+	private final ConnectionPool pool;
+	private volatile PoolEntry entry;
+
+	// the statements created through this handle; closed ones are pruned whenever the list reaches the limit
+	private final List<Statement> statements = new ArrayList<Statement>();
+	private int statementTrackingLimit = MIN_STATEMENT_TRACKING_LIMIT;
+
+	// the settings as changed through this handle
+	private boolean autoCommit;
+	private boolean transactionIsolationChanged;
+	private int transactionIsolation;
+	private boolean readOnlyChanged;
+	private boolean readOnly;
+
+	PooledConnection(PoolEntry entry, ConnectionPool pool) {
+		this.entry = entry;
+		this.pool = pool;
+		this.autoCommit = entry.getInitialAutoCommit();
+	}
+
+	private Connection delegate() throws SQLException {
+		final PoolEntry current = entry;
+		if ( current == null ) {
+			throw new SQLException( "Connection is closed" );
+		}
+		return current.getConnection();
+	}
+
+	private Connection clientInfoDelegate() throws SQLClientInfoException {
+		final PoolEntry current = entry;
+		if ( current == null ) {
+			throw new SQLClientInfoException( "Connection is closed", null );
+		}
+		return current.getConnection();
+	}
+
+	boolean isHandleOpen() {
+		return entry != null;
+	}
+
+	public void close() throws SQLException {
+		final PoolEntry current = entry;
+		if ( current == null ) {
+			return;
+		}
+		SQLException resetFailure = null;
+		try {
+			// while the handle is still open, so that cached statements go back to the cache
+			closeStatements();
+			reset( current );
+		}
+		catch ( SQLException e ) {
+			resetFailure = e;
+		}
+		finally {
+			entry = null;
+		}
+		if ( resetFailure == null ) {
+			pool.release( current );
+		}
+		else {
+			pool.discard( current, resetFailure );
+		}
+	}
+
+	private <T extends Statement> T track(T statement) throws SQLException {
+		if ( statements.size() >= statementTrackingLimit ) {
+			final Iterator<Statement> tracked = statements.iterator();
+			while ( tracked.hasNext() ) {
+				if ( tracked.next().isClosed() ) {
+					tracked.remove();
+				}
+			}
+			statementTrackingLimit = Math.max( MIN_STATEMENT_TRACKING_LIMIT, statements.size() * 2 );
+		}
+		statements.add( statement );
+		return statement;
+	}
+
+	private void closeStatements() throws SQLException {
+		SQLException failure = null;
+		for ( Statement statement : statements ) {
+			try {
+				statement.close();
+			}
+			catch ( SQLException e ) {
+				failure = e;
+			}
+		}
+		statements.clear();
+		if ( failure != null ) {
+			throw failure;
+		}
+	}
+
+	private void reset(PoolEntry current) throws SQLException {
+		final Connection connection = current.getConnection();
+		if ( !autoCommit ) {
+			connection.rollback();
+		}
+		if ( autoCommit != current.getInitialAutoCommit() ) {
+			connection.setAutoCommit( current.getInitialAutoCommit() );
+		}
+		if ( transactionIsolationChanged && transactionIsolation != current.getInitialTransactionIsolation() ) {
+			connection.setTransactionIsolation( current.getInitialTransactionIsolation() );
+		}
+		if ( readOnlyChanged && readOnly != current.isInitialReadOnly() ) {
+			connection.setReadOnly( current.isInitialReadOnly() );
+		}
+	}
+
+	public boolean isClosed() throws SQLException {
+		final PoolEntry current = entry;
+		return current == null || current.getConnection().isClosed();
+	}
+
+	public <T> T unwrap(Class<T> iface) throws SQLException {
+		if ( iface.isInstance( this ) ) {
+			return iface.cast( this );
+		}
+		return delegate().unwrap( iface );
+	}
+
+	public boolean isWrapperFor(Class<?> iface) throws SQLException {
+		return iface.isInstance( this ) || delegate().isWrapperFor( iface );
+	}
+
+	// prepared statements, served from the statement cache ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	public PreparedStatement prepareStatement(String sql) throws SQLException {
+		final StatementCache cache = entryStatementCache();
+		if ( cache == null ) {
+			return track( delegate().prepareStatement( sql ) );
+		}
+		final StatementCache.Key key = new StatementCache.Key(
+				sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY, Statement.NO_GENERATED_KEYS
+		);
+		PreparedStatement statement = cache.take( key );
+		if ( statement == null ) {
+			statement = delegate().prepareStatement( sql );
+		}
+		return track( new PooledPreparedStatement( statement, key, cache, this ) );
+	}
+
+	public PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency)
+			throws SQLException {
+		final StatementCache cache = entryStatementCache();
+		if ( cache == null ) {
+			return track( delegate().prepareStatement( sql, resultSetType, resultSetConcurrency ) );
+		}
+		final StatementCache.Key key = new StatementCache.Key(
+				sql, resultSetType, resultSetConcurrency, Statement.NO_GENERATED_KEYS
+		);
+		PreparedStatement statement = cache.take( key );
+		if ( statement == null ) {
+			statement = delegate().prepareStatement( sql, resultSetType, resultSetConcurrency );
+		}
+		return track( new PooledPreparedStatement( statement, key, cache, this ) );
+	}
+
+	public PreparedStatement prepareStatement(String sql, int autoGeneratedKeys) throws SQLException {
+		final StatementCache cache = entryStatementCache();
+		if ( cache == null ) {
+			return track( delegate().prepareStatement( sql, autoGeneratedKeys ) );
+		}
+		final StatementCache.Key key = new StatementCache.Key(
+				sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY, autoGeneratedKeys
+		);
+		PreparedStatement statement = cache.take( key );
+		if ( statement == null ) {
+			statement = delegate().prepareStatement( sql, autoGeneratedKeys );
+		}
+		return track( new PooledPreparedStatement( statement, key, cache, this ) );
+	}
+
+	public PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency, int resultSetHoldability)
+			throws SQLException {
+		return track( delegate().prepareStatement( sql, resultSetType, resultSetConcurrency, resultSetHoldability ) );
+	}
+
+	public PreparedStatement prepareStatement(String sql, int[] columnIndexes) throws SQLException {
+		return track( delegate().prepareStatement( sql, columnIndexes ) );
+	}
+
+	public PreparedStatement prepareStatement(String sql, String[] columnNames) throws SQLException {
+		return track( delegate().prepareStatement( sql, columnNames ) );
+	}
+
+	private StatementCache entryStatementCache() throws SQLException {
+		final PoolEntry current = entry;
+		if ( current == null ) {
+			throw new SQLException( "Connection is closed" );
+		}
+		return current.getStatementCache();
+	}
+
+	// JDBC 4.1 methods, delegated reflectively ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	public void setSchema(String schema) throws SQLException {
+		JdbcDelegationHelper.invoke(
+				delegate(), Connection.class, "setSchema", new Class[] { String.class }, new Object[] { schema }
+		);
+	}
+
+	public String getSchema() throws SQLException {
+		return (String) JdbcDelegationHelper.invoke( delegate(), Connection.class, "getSchema", NO_ARG_TYPES, NO_ARGS );
+	}
+
+	public void abort(Executor executor) throws SQLException {
+		JdbcDelegationHelper.invoke(
+				delegate(), Connection.class, "abort", new Class[] { Executor.class }, new Object[] { executor }
+		);
+	}
+
+	public void setNetworkTimeout(Executor executor, int milliseconds) throws SQLException {
+		JdbcDelegationHelper.invoke(
+				delegate(),
+				Connection.class,
+				"setNetworkTimeout",
+				new Class[] { Executor.class, int.class },
+				new Object[] { executor, milliseconds }
+		);
+	}
+
+	public int getNetworkTimeout() throws SQLException {
+		return (Integer) JdbcDelegationHelper.invoke( delegate(), Connection.class, "getNetworkTimeout", NO_ARG_TYPES, NO_ARGS );
+	}
+
+	// java.sql.Connection ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
+
+	public Statement createStatement() throws SQLException {
+		return track( delegate().createStatement() );
+	}
+
+	public CallableStatement prepareCall(String sql) throws SQLException {
+		return track( delegate().prepareCall( sql ) );
+	}
+
+	public String nativeSQL(String sql) throws SQLException {
+		return delegate().nativeSQL( sql );
+	}
+
+	public void setAutoCommit(boolean autoCommit) throws SQLException {
+		delegate().setAutoCommit( autoCommit );
+		this.autoCommit = autoCommit;
+	}
+
+	public boolean getAutoCommit() throws SQLException {
+		return delegate().getAutoCommit();
+	}
+
+	public void commit() throws SQLException {
+		delegate().commit();
+	}
+
+	public void rollback() throws SQLException {
+		delegate().rollback();
+	}
+
+	public DatabaseMetaData getMetaData() throws SQLException {
+		return delegate().getMetaData();
+	}
+
+	public void setReadOnly(boolean readOnly) throws SQLException {
+		delegate().setReadOnly( readOnly );
+		this.readOnlyChanged = true;
+		this.readOnly = readOnly;
+	}
+
+	public boolean isReadOnly() throws SQLException {
+		return delegate().isReadOnly();
+	}
+
+	public void setCatalog(String catalog) throws SQLException {
+		delegate().setCatalog( catalog );
+	}
+
+	public String getCatalog() throws SQLException {
+		return delegate().getCatalog();
+	}
+
+	public void setTransactionIsolation(int level) throws SQLException {
+		delegate().setTransactionIsolation( level );
+		this.transactionIsolationChanged = true;
+		this.transactionIsolation = level;
+	}
+
+	public int getTransactionIsolation() throws SQLException {
+		return delegate().getTransactionIsolation();
+	}
+
+	public SQLWarning getWarnings() throws SQLException {
+		return delegate().getWarnings();
+	}
+
+	public void clearWarnings() throws SQLException {
+		delegate().clearWarnings();
+	}
+
+	public Statement createStatement(int resultSetType, int resultSetConcurrency) throws SQLException {
+		return track( delegate().createStatement( resultSetType, resultSetConcurrency ) );
+	}
+
+	public CallableStatement prepareCall(String sql, int resultSetType, int resultSetConcurrency) throws SQLException {
+		return track( delegate().prepareCall( sql, resultSetType, resultSetConcurrency ) );
+	}
+
+	public Map<String,Class<?>> getTypeMap() throws SQLException {
+		return delegate().getTypeMap();
+	}
+
+	public void setTypeMap(Map<String,Class<?>> map) throws SQLException {
+		delegate().setTypeMap( map );
+	}
+
+	public void setHoldability(int holdability) throws SQLException {
+		delegate().setHoldability( holdability );
+	}
+
+	public int getHoldability() throws SQLException {
+		return delegate().getHoldability();
+	}
+
+	public Savepoint setSavepoint() throws SQLException {
+		return delegate().setSavepoint();
+	}
+
+	public Savepoint setSavepoint(String name) throws SQLException {
+		return delegate().setSavepoint( name );
+	}
+
+	public void rollback(Savepoint savepoint) throws SQLException {
+		delegate().rollback( savepoint );
+	}
+
+	public void releaseSavepoint(Savepoint savepoint) throws SQLException {
+		delegate().releaseSavepoint( savepoint );
+	}
+
+	public Statement createStatement(int resultSetType, int resultSetConcurrency, int resultSetHoldability) throws SQLException {
+		return track( delegate().createStatement( resultSetType, resultSetConcurrency, resultSetHoldability ) );
+	}
+
+	public CallableStatement prepareCall(String sql, int resultSetType, int resultSetConcurrency, int resultSetHoldability) throws SQLException {
+		return track( delegate().prepareCall( sql, resultSetType, resultSetConcurrency, resultSetHoldability ) );
+	}
+
+	public Clob createClob() throws SQLException {
+		return delegate().createClob();
+	}
+
+	public Blob createBlob() throws SQLException {
+		return delegate().createBlob();
+	}
+
+	public NClob createNClob() throws SQLException {
+		return delegate().createNClob();
+	}
+
+	public SQLXML createSQLXML() throws SQLException {
+		return delegate().createSQLXML();
+	}
+
+	public boolean isValid(int timeout) throws SQLException {
+		return delegate().isValid( timeout );
+	}
+
+	public void setClientInfo(String name, String value) throws SQLClientInfoException {
+		clientInfoDelegate().setClientInfo( name, value );
+	}
+
+	public void setClientInfo(Properties properties) throws SQLClientInfoException {
+		clientInfoDelegate().setClientInfo( properties );
+	}
+
+	public String getClientInfo(String name) throws SQLException {
+		return delegate().getClientInfo( name );
+	}
+
+	public Properties getClientInfo() throws SQLException {
+		return delegate().getClientInfo();
+	}
+
+	public Array createArrayOf(String typeName, Object[] elements) throws SQLException {
+		return delegate().createArrayOf( typeName, elements );
+	}
+
+	public Struct createStruct(String typeName, Object[] attributes) throws SQLException {
+		return delegate().createStruct( typeName, attributes );
+	}
+}
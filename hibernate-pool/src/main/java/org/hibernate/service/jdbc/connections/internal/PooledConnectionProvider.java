@@ -0,0 +1,161 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.service.jdbc.connections.internal;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.Properties;
+
+import org.hibernate.HibernateException;
+import org.hibernate.cfg.Environment;
+import org.hibernate.internal.util.ReflectHelper;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+import org.hibernate.service.UnknownUnwrapTypeException;
+import org.hibernate.service.jdbc.connections.spi.ConnectionProvider;
+import org.hibernate.service.spi.Configurable;
+import org.hibernate.service.spi.Stoppable;
+import org.hibernate.stat.ConnectionPoolStatistics;
+
+import org.jboss.logging.Logger;
+
+/**
+ * A connection provider backed by the Hibernate connection pool.  Hibernate will use this by default if the
+ * <tt>hibernate.pool.*</tt> properties are set and this module is on the classpath.
+ * <p/>
+ * The pool statistics are available by unwrapping this provider as {@link ConnectionPoolStatistics}, which is how
+ * {@link org.hibernate.stat.Statistics#getConnectionPoolStatistics()} exposes them.
+ *
+ * @see ConnectionPool
+ */
+public class PooledConnectionProvider implements ConnectionProvider, Configurable, Stoppable {
+
+	private static final PoolMessageLogger LOG = Logger.getMessageLogger( PoolMessageLogger.class, PooledConnectionProvider.class.getName() );
+
+	private String url;
+	private ConnectionPool pool;
+
+	@Override
+	public boolean isUnwrappableAs(Class unwrapType) {
+		return ConnectionProvider.class.equals( unwrapType ) ||
+				PooledConnectionProvider.class.isAssignableFrom( unwrapType ) ||
+				ConnectionPoolStatistics.class.equals( unwrapType );
+	}
+
+	@Override
+	@SuppressWarnings( {"unchecked"})
+	public <T> T unwrap(Class<T> unwrapType) {
+		if ( ConnectionProvider.class.equals( unwrapType ) ||
+				PooledConnectionProvider.class.isAssignableFrom( unwrapType ) ) {
+			return (T) this;
+		}
+		else if ( ConnectionPoolStatistics.class.equals( unwrapType ) ) {
+			return (T) pool;
+		}
+		else {
+			throw new UnknownUnwrapTypeException( unwrapType );
+		}
+	}
+
+	@Override
+	public void configure(Map configurationValues) {
+		String driverClassName = (String) configurationValues.get( Environment.DRIVER );
+		if ( driverClassName == null ) {
+			LOG.jdbcDriverNotSpecified( Environment.DRIVER );
+		}
+		else {
+			try {
+				// trying via forName() first to be as close to DriverManager's semantics
+				Class.forName( driverClassName );
+			}
+			catch ( ClassNotFoundException cnfe ) {
+				try {
+					ReflectHelper.classForName( driverClassName );
+				}
+				catch ( ClassNotFoundException e ) {
+					throw new HibernateException( "Specified JDBC Driver " + driverClassName + " class not found", e );
+				}
+			}
+		}
+
+		url = (String) configurationValues.get( Environment.URL );
+		if ( url == null ) {
+			String msg = LOG.jdbcUrlNotSpecified( Environment.URL );
+			LOG.error( msg );
+			throw new HibernateException( msg );
+		}
+
+		boolean autocommit = ConfigurationHelper.getBoolean( Environment.AUTOCOMMIT, configurationValues );
+		LOG.autoCommitMode( autocommit );
+
+		Integer isolation = ConfigurationHelper.getInteger( Environment.ISOLATION, configurationValues );
+		if ( isolation != null ) {
+			LOG.jdbcIsolationLevel( Environment.isolationLevelToString( isolation.intValue() ) );
+		}
+
+		Properties connectionProps = ConnectionProviderInitiator.getConnectionProperties( configurationValues );
+
+		LOG.poolUsingDriver( driverClassName, url );
+		// if debug level is enabled, then log the password, otherwise mask it
+		if ( LOG.isDebugEnabled() ) {
+			LOG.connectionProperties( connectionProps );
+		}
+		else {
+			LOG.connectionProperties( ConfigurationHelper.maskOut( connectionProps, "password" ) );
+		}
+
+		pool = new ConnectionPool( url, connectionProps, isolation, autocommit, configurationValues );
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		return pool.getConnection();
+	}
+
+	@Override
+	public void closeConnection(Connection conn) throws SQLException {
+		conn.close();
+	}
+
+	@Override
+	public boolean supportsAggressiveRelease() {
+		return false;
+	}
+
+	@Override
+	public void stop() {
+		close();
+	}
+
+	/**
+	 * Close the underlying connection pool.
+	 */
+	public void close() {
+		if ( pool != null ) {
+			LOG.closingPool( url );
+			pool.close();
+			pool = null;
+		}
+	}
+}
@@ -0,0 +1,146 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.service.jdbc.connections.internal;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.jboss.logging.Logger;
+
+/**
+ * LRU cache of the idle prepared statements of one pooled connection.  Statements leave the cache while in use, so
+ * a statement can never be handed out twice.
+ * <p/>
+ * Only ever accessed by the thread currently holding the connection (or by the pool once the connection is out of
+ * circulation), hence no synchronization.
+ */
+final class StatementCache {
+	private static final PoolMessageLogger LOG = Logger.getMessageLogger( PoolMessageLogger.class, StatementCache.class.getName() );
+
+	private final LinkedHashMap<Key,PreparedStatement> idleStatements;
+
+	StatementCache(final int maxSize) {
+		this.idleStatements = new LinkedHashMap<Key,PreparedStatement>( 16, 0.75f, true ) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Key,PreparedStatement> eldest) {
+				if ( size() > maxSize ) {
+					closeQuietly( eldest.getValue() );
+					return true;
+				}
+				return false;
+			}
+		};
+	}
+
+	PreparedStatement take(Key key) {
+		return idleStatements.remove( key );
+	}
+
+	void offer(Key key, PreparedStatement statement) {
+		try {
+			statement.clearParameters();
+			statement.clearWarnings();
+		}
+		catch ( SQLException e ) {
+			LOG.debugf( "Unable to reset cached statement, closing it [%s]", e.getMessage() );
+			closeQuietly( statement );
+			return;
+		}
+		PreparedStatement previous = idleStatements.put( key, statement );
+		if ( previous != null ) {
+			// the same statement had been prepared twice concurrently; keep only one of them
+			closeQuietly( previous );
+		}
+	}
+
+	int size() {
+		return idleStatements.size();
+	}
+
+	void close() {
+		Iterator<PreparedStatement> statements = idleStatements.values().iterator();
+		while ( statements.hasNext() ) {
+			closeQuietly( statements.next() );
+			statements.remove();
+		}
+	}
+
+	private static void closeQuietly(PreparedStatement statement) {
+		try {
+			statement.close();
+		}
+		catch ( SQLException e ) {
+			LOG.debugf( "Unable to close cached statement [%s]", e.getMessage() );
+		}
+	}
+
+	/**
+	 * Identifies a prepared statement by its SQL and the options it was prepared with.
+	 */
+	static final class Key {
+		private final String sql;
+		private final int resultSetType;
+		private final int resultSetConcurrency;
+		private final int autoGeneratedKeys;
+
+		Key(String sql, int resultSetType, int resultSetConcurrency, int autoGeneratedKeys) {
+			this.sql = sql;
+			this.resultSetType = resultSetType;
+			this.resultSetConcurrency = resultSetConcurrency;
+			this.autoGeneratedKeys = autoGeneratedKeys;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if ( this == o ) {
+				return true;
+			}
+			if ( !( o instanceof Key ) ) {
+				return false;
+			}
+			Key that = (Key) o;
+			return resultSetType == that.resultSetType
+					&& resultSetConcurrency == that.resultSetConcurrency
+					&& autoGeneratedKeys == that.autoGeneratedKeys
+					&& sql.equals( that.sql );
+		}
+
+		@Override
+		public int hashCode() {
+			int result = sql.hashCode();
+			result = 31 * result + resultSetType;
+			result = 31 * result + resultSetConcurrency;
+			result = 31 * result + autoGeneratedKeys;
+			return result;
+		}
+
+		@Override
+		public String toString() {
+			return sql;
+		}
+	}
+}
@@ -0,0 +1,239 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.service.jdbc.connections.internal;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.hibernate.cfg.Environment;
+import org.hibernate.testing.junit4.BaseUnitTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ConnectionPoolTest extends BaseUnitTestCase {
+	private static final String URL = "jdbc:h2:mem:pool;DB_CLOSE_DELAY=-1";
+
+	private ConnectionPool pool;
+
+	@Before
+	public void createPool() throws Exception {
+		Class.forName( "org.h2.Driver" );
+		Map cfg = new HashMap();
+		cfg.put( Environment.POOL_MAX_SIZE, "2" );
+		cfg.put( Environment.POOL_ACQUIRE_TIMEOUT, "200" );
+		cfg.put( Environment.POOL_STATEMENT_CACHE_SIZE, "5" );
+		Properties connectionProps = new Properties();
+		connectionProps.setProperty( "user", "sa" );
+		pool = new ConnectionPool( URL, connectionProps, null, false, cfg );
+	}
+
+	@After
+	public void closePool() {
+		pool.close();
+	}
+
+	@Test
+	public void testConnectionsAreReused() throws SQLException {
+		Connection first = pool.getConnection();
+		assertEquals( 1, pool.getActiveConnectionCount() );
+		first.close();
+		assertTrue( first.isClosed() );
+		assertEquals( 0, pool.getActiveConnectionCount() );
+		assertEquals( 1, pool.getIdleConnectionCount() );
+
+		Connection second = pool.getConnection();
+		assertEquals( 1, pool.getConnectionCreationCount() );
+		assertEquals( 2, pool.getAcquisitionCount() );
+		second.close();
+	}
+
+	@Test
+	public void testAcquireTimeout() throws SQLException {
+		Connection first = pool.getConnection();
+		Connection second = pool.getConnection();
+		try {
+			pool.getConnection();
+			fail( "expecting the acquisition to time out" );
+		}
+		catch ( SQLTransientConnectionException expected ) {
+		}
+		assertEquals( 1, pool.getAcquisitionTimeoutCount() );
+		assertEquals( 2, pool.getActiveConnectionCount() );
+		assertTrue( pool.getMaxAcquisitionWaitTime() >= 0 );
+
+		// once a connection is returned it can be borrowed again
+		first.close();
+		Connection third = pool.getConnection();
+		third.close();
+		second.close();
+		assertEquals( 2, pool.getIdleConnectionCount() );
+	}
+
+	@Test
+	public void testPreparedStatementsAreCached() throws SQLException {
+		Connection connection = pool.getConnection();
+		PreparedStatement statement = connection.prepareStatement( "select 1" );
+		statement.executeQuery().close();
+		PreparedStatement physical = ( (PooledPreparedStatement) statement ).getDelegate();
+		statement.close();
+		assertTrue( statement.isClosed() );
+
+		PreparedStatement again = connection.prepareStatement( "select 1" );
+		assertSame( physical, ( (PooledPreparedStatement) again ).getDelegate() );
+		PreparedStatement other = connection.prepareStatement( "select 2" );
+		assertNotSame( physical, ( (PooledPreparedStatement) other ).getDelegate() );
+		again.close();
+		other.close();
+		connection.close();
+
+		// the cache belongs to the physical connection, so it survives the connection being returned
+		connection = pool.getConnection();
+		PreparedStatement reused = connection.prepareStatement( "select 1" );
+		assertSame( physical, ( (PooledPreparedStatement) reused ).getDelegate() );
+		// returning the connection closes the statements left open, handing cached ones back to the cache
+		connection.close();
+		assertTrue( reused.isClosed() );
+		assertFalse( physical.isClosed() );
+		reused.close();
+		assertFalse( physical.isClosed() );
+	}
+
+	@Test
+	public void testClosedHandleIsUnusable() throws SQLException {
+		Connection connection = pool.getConnection();
+		connection.close();
+		try {
+			connection.createStatement();
+			fail( "expecting the closed handle to be rejected" );
+		}
+		catch ( SQLException expected ) {
+		}
+		// closing twice must not return the connection twice
+		connection.close();
+		assertEquals( 1, pool.getIdleConnectionCount() );
+	}
+
+	@Test
+	public void testReturnedConnectionIsReset() throws SQLException {
+		Connection connection = pool.getConnection();
+		final boolean initialAutoCommit = connection.getAutoCommit();
+		final int initialIsolation = connection.getTransactionIsolation();
+		Statement ddl = connection.createStatement();
+		ddl.execute( "create table pooled_reset (id int)" );
+		ddl.close();
+		try {
+			connection.setAutoCommit( false );
+			connection.setTransactionIsolation( Connection.TRANSACTION_SERIALIZABLE );
+			Statement statement = connection.createStatement();
+			statement.executeUpdate( "insert into pooled_reset values (1)" );
+			PreparedStatement cached = connection.prepareStatement( "select count(*) from pooled_reset" );
+			PreparedStatement physical = ( (PooledPreparedStatement) cached ).getDelegate();
+			connection.close();
+
+			// statements left open are closed, cached ones go back to the cache
+			assertTrue( statement.isClosed() );
+			assertTrue( cached.isClosed() );
+			assertFalse( physical.isClosed() );
+			assertEquals( 1, pool.getIdleConnectionCount() );
+
+			connection = pool.getConnection();
+			assertEquals( 1, pool.getConnectionCreationCount() );
+			assertEquals( initialAutoCommit, connection.getAutoCommit() );
+			assertEquals( initialIsolation, connection.getTransactionIsolation() );
+			PreparedStatement count = connection.prepareStatement( "select count(*) from pooled_reset" );
+			assertSame( physical, ( (PooledPreparedStatement) count ).getDelegate() );
+			ResultSet rs = count.executeQuery();
+			rs.next();
+			assertEquals( "the uncommitted insert should have been rolled back", 0, rs.getInt( 1 ) );
+			rs.close();
+			count.close();
+		}
+		finally {
+			ddl = connection.createStatement();
+			ddl.execute( "drop table pooled_reset" );
+			ddl.close();
+			connection.close();
+		}
+	}
+
+	@Test
+	public void testCloseFailsWaitingThreads() throws Exception {
+		Map cfg = new HashMap();
+		cfg.put( Environment.POOL_MAX_SIZE, "1" );
+		cfg.put( Environment.POOL_ACQUIRE_TIMEOUT, "30000" );
+		Properties connectionProps = new Properties();
+		connectionProps.setProperty( "user", "sa" );
+		final ConnectionPool waitedOn = new ConnectionPool( URL, connectionProps, null, false, cfg );
+		Connection held = waitedOn.getConnection();
+
+		final CountDownLatch done = new CountDownLatch( 1 );
+		final AtomicReference<SQLException> failure = new AtomicReference<SQLException>();
+		Thread waiter = new Thread() {
+			@Override
+			public void run() {
+				try {
+					waitedOn.getConnection().close();
+				}
+				catch ( SQLException e ) {
+					failure.set( e );
+				}
+				finally {
+					done.countDown();
+				}
+			}
+		};
+		waiter.start();
+		while ( waitedOn.getPendingAcquisitionCount() == 0 ) {
+			Thread.sleep( 10 );
+		}
+
+		waitedOn.close();
+		assertTrue( "the waiting thread should fail as soon as the pool is closed", done.await( 5, TimeUnit.SECONDS ) );
+		assertTrue( failure.get().getMessage().contains( "closed" ) );
+		assertEquals( 0, waitedOn.getAcquisitionTimeoutCount() );
+
+		// the connection in use is closed once it is returned
+		held.close();
+		assertEquals( 0, waitedOn.getIdleConnectionCount() );
+	}
+}
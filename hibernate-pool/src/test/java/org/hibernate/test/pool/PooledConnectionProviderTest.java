@@ -0,0 +1,70 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.pool;
+
+import org.junit.Test;
+
+import org.hibernate.Session;
+import org.hibernate.engine.jdbc.spi.JdbcServices;
+import org.hibernate.service.jdbc.connections.internal.PooledConnectionProvider;
+import org.hibernate.service.jdbc.connections.spi.ConnectionProvider;
+import org.hibernate.stat.ConnectionPoolStatistics;
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+public class PooledConnectionProviderTest extends BaseCoreFunctionalTestCase {
+
+	@Test
+	public void testPooledProviderIsDefaultWhenThereArePoolProperties() {
+		JdbcServices jdbcServices = serviceRegistry().getService( JdbcServices.class );
+		ConnectionProvider provider = jdbcServices.getConnectionProvider();
+		assertTrue( provider instanceof PooledConnectionProvider );
+	}
+
+	@Test
+	public void testPoolStatisticsAreExposed() {
+		ConnectionPoolStatistics poolStatistics = sessionFactory().getStatistics().getConnectionPoolStatistics();
+		assertNotNull( poolStatistics );
+		long acquisitions = poolStatistics.getAcquisitionCount();
+
+		Session s = openSession();
+		s.beginTransaction();
+		s.createSQLQuery( "select 1" ).uniqueResult();
+		assertEquals( 1, poolStatistics.getActiveConnectionCount() );
+		s.getTransaction().commit();
+		s.close();
+
+		assertEquals( 0, poolStatistics.getActiveConnectionCount() );
+		assertTrue( poolStatistics.getIdleConnectionCount() >= 1 );
+		assertTrue( poolStatistics.getAcquisitionCount() > acquisitions );
+		long histogramTotal = 0;
+		for ( long count : poolStatistics.getAcquisitionWaitTimeHistogram() ) {
+			histogramTotal += count;
+		}
+		assertEquals( poolStatistics.getAcquisitionCount(), histogramTotal );
+	}
+}
@@ -50,6 +50,12 @@ abstract public class DialectChecks {
 		}
 	}
 
+	public static class SupportsBatchedIdentityInserts implements DialectCheck {
+		public boolean isMatch(Dialect dialect) {
+			return dialect.supportsIdentityColumns() && dialect.supportsBatchedIdentityInserts();
+		}
+	}
+
 	public static class SupportsColumnCheck implements DialectCheck {
 		public boolean isMatch(Dialect dialect) {
 			return dialect.supportsColumnCheck();
@@ -23,6 +23,10 @@
  */
 package org.hibernate.testing.cache;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
 import org.jboss.logging.Logger;
 
 import org.hibernate.cache.CacheException;
@@ -46,6 +50,18 @@ abstract class BaseRegionAccessStrategy implements RegionAccessStrategy {
 		return getInternalRegion().get( key );
 	}
 
+	@Override
+	public Map getAll(Collection keys, long txTimestamp) throws CacheException {
+		Map result = new HashMap();
+		for ( Object key : keys ) {
+			Object value = get( key, txTimestamp );
+			if ( value != null ) {
+				result.put( key, value );
+			}
+		}
+		return result;
+	}
+
 	@Override
 	public boolean putFromLoad(Object key, Object value, long txTimestamp, Object version) throws CacheException {
 		return putFromLoad( key, value, txTimestamp, version, isDefaultMinimalPutOverride() );
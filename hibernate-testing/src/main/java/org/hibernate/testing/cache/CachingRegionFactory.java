@@ -23,6 +23,9 @@
  */
 package org.hibernate.testing.cache;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Properties;
 
 import org.jboss.logging.Logger;
@@ -112,5 +115,23 @@ public class CachingRegionFactory implements RegionFactory {
 		TimestampsRegionImpl(String name) {
 			super( name );
 		}
+
+		@Override
+		public int getTimeout() {
+			// the timeout of BaseRegion overflows, which would date pre-invalidations in the past
+			return Timestamper.ONE_MS * 60000;
+		}
+
+		@Override
+		public Map getAll(Collection keys) throws CacheException {
+			Map result = new HashMap();
+			for ( Object key : keys ) {
+				Object value = get( key );
+				if ( value != null ) {
+					result.put( key, value );
+				}
+			}
+			return result;
+		}
 	}
 }